@@ -0,0 +1,139 @@
+package com.sagarv.webclient.benchmarks;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.sagarv.webclient.ConnectionPoolGauges;
+import com.sagarv.webclient.HttpClientProperties;
+import com.sagarv.webclient.RequestBuilder;
+import com.sagarv.webclient.WebClientConfig;
+import com.sagarv.webclient.api.ResponseParser;
+import com.sagarv.webclient.impl.AsyncRequestExecutorImpl;
+import com.sagarv.webclient.impl.StreamingRequestExecutorImpl;
+import com.sagarv.webclient.impl.SyncRequestExecutorImpl;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of every executor against the in-process {@link StubServer}. Throughput and
+ * sampled latency (p50/p99/p999) are reported per {@link Payload} size; add {@code -prof gc} for the
+ * allocation rate and {@code -t <threads>} to measure under concurrency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExecutorBenchmark {
+
+    private static final Map<String, String> HEADERS = Map.of("Accept", "application/json");
+    private static final ParameterizedTypeReference<List<User>> USER_LIST = new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<UserPage> USER_PAGE = new ParameterizedTypeReference<>() {};
+    // Counts fields named "id" without binding any object.
+    private static final ResponseParser<Integer> ID_COUNT = parser -> {
+        int ids = 0;
+        for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+            if (token == JsonToken.FIELD_NAME && "id".equals(parser.currentName())) {
+                ids++;
+            }
+        }
+        return ids;
+    };
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private Payload payload;
+
+    private StubServer server;
+    private ConnectionProvider connectionProvider;
+    private LoopResources loopResources;
+    private WebClient webClient;
+    private SyncRequestExecutorImpl syncExecutor;
+    private AsyncRequestExecutorImpl asyncExecutor;
+    private StreamingRequestExecutorImpl streamingExecutor;
+    private String pageUrl;
+    private String listUrl;
+    private String streamUrl;
+
+    @Setup
+    public void setUp() {
+        server = new StubServer();
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setMaxInMemorySize(16 * 1024 * 1024);
+        connectionProvider = WebClientConfig.buildConnectionProvider(properties, new ConnectionPoolGauges());
+        loopResources = WebClientConfig.buildLoopResources(properties);
+        webClient = WebClientConfig.buildWebClient(properties, connectionProvider, loopResources);
+
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("benchmark");
+        syncExecutor = new SyncRequestExecutorImpl(webClient, circuitBreaker);
+        asyncExecutor = new AsyncRequestExecutorImpl(webClient, circuitBreaker);
+        streamingExecutor = new StreamingRequestExecutorImpl(webClient, circuitBreaker);
+
+        pageUrl = server.baseUrl() + "/page" + payload.path();
+        listUrl = server.baseUrl() + "/list" + payload.path();
+        streamUrl = server.baseUrl() + "/stream" + payload.path();
+    }
+
+    @TearDown
+    public void tearDown() {
+        connectionProvider.dispose();
+        loopResources.dispose();
+        server.close();
+    }
+
+    @Benchmark
+    public UserPage syncExecutor() {
+        return syncExecutor.execute(HttpMethod.GET, pageUrl, HEADERS, UserPage.class);
+    }
+
+    @Benchmark
+    public List<User> syncListExecutor() {
+        return syncExecutor.execute(HttpMethod.GET, listUrl, HEADERS, USER_LIST);
+    }
+
+    @Benchmark
+    public UserPage asyncExecutor() {
+        return asyncExecutor.execute(HttpMethod.GET, pageUrl, HEADERS, UserPage.class).block();
+    }
+
+    @Benchmark
+    public UserPage asyncTypedExecutor() {
+        return asyncExecutor.execute(HttpMethod.GET, pageUrl, HEADERS, USER_PAGE).block();
+    }
+
+    @Benchmark
+    public Integer asyncParserExecutor() {
+        return asyncExecutor.execute(HttpMethod.GET, pageUrl, HEADERS, ID_COUNT).block();
+    }
+
+    @Benchmark
+    public Long streamingExecutor() {
+        return streamingExecutor.execute(HttpMethod.GET, streamUrl, HEADERS, User.class).count().block();
+    }
+
+    @Benchmark
+    public UserPage requestBuilder() {
+        return new RequestBuilder(webClient, HttpMethod.GET, pageUrl)
+                .headers(HEADERS)
+                .executeReactive(UserPage.class)
+                .block();
+    }
+}
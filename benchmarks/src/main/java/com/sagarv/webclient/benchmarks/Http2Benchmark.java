@@ -0,0 +1,107 @@
+package com.sagarv.webclient.benchmarks;
+
+import com.sagarv.webclient.ConnectionPoolGauges;
+import com.sagarv.webclient.HttpClientProperties;
+import com.sagarv.webclient.WebClientConfig;
+import com.sagarv.webclient.api.AsyncRequestExecutor;
+import com.sagarv.webclient.common.ExecutorOptions;
+import com.sagarv.webclient.common.RestClientFacade;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time for {@code concurrency} simultaneous requests to the stub server over HTTP/1.1 and over
+ * cleartext HTTP/2. The number of sockets the server has accepted is reported as the
+ * {@code socketsAccepted} secondary result: HTTP/1.1 needs one per concurrent request, while HTTP/2 multiplexes them over a connection per
+ * {@code maxConcurrentStreams} requests. Concurrency stays within the default per-host bulkhead (500).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class Http2Benchmark {
+
+    private static final Map<String, String> HEADERS = Map.of("Accept", "application/json");
+
+    @Param({"100", "500"})
+    private int concurrency;
+
+    @Param({"HTTP_1_1", "H2C_PRIOR_KNOWLEDGE"})
+    private HttpClientProperties.Protocol protocol;
+
+    private StubServer server;
+    private ConnectionProvider connectionProvider;
+    private LoopResources loopResources;
+    private AsyncRequestExecutor executor;
+    private String pageUrl;
+
+    @Setup
+    public void setUp() {
+        server = new StubServer();
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setProtocol(protocol);
+        properties.setMaxConnections(concurrency);
+        properties.setPendingAcquireMaxCount(-1);
+        properties.setMaxConcurrentStreams(100);
+        connectionProvider = WebClientConfig.buildConnectionProvider(properties, new ConnectionPoolGauges());
+        loopResources = WebClientConfig.buildLoopResources(properties);
+        WebClient webClient = WebClientConfig.buildWebClient(properties, connectionProvider, loopResources);
+        executor = new RestClientFacade(webClient, ExecutorOptions.defaults()).getAsyncExecutor();
+        pageUrl = server.baseUrl() + "/page" + Payload.SMALL.path();
+    }
+
+    @TearDown
+    public void tearDown() {
+        connectionProvider.dispose();
+        loopResources.dispose();
+        server.close();
+    }
+
+    @Benchmark
+    public long concurrentRequests(Sockets sockets) {
+        return Flux.range(0, concurrency)
+                .flatMap(i -> executor.execute(HttpMethod.GET, pageUrl, HEADERS, UserPage.class), concurrency)
+                .count()
+                .block();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Sockets {
+
+        private StubServer server;
+
+        @Setup
+        public void setUp(Http2Benchmark benchmark) {
+            server = benchmark.server;
+        }
+
+        /**
+         * Sockets the stub server has accepted since the trial started.
+         */
+        public long socketsAccepted() {
+            return server.connections();
+        }
+    }
+}
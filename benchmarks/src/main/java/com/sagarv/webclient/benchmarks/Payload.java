@@ -0,0 +1,64 @@
+package com.sagarv.webclient.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JSON payload sizes served by {@link StubServer}; the user count drives the body size
+ * (roughly 100 bytes per user).
+ */
+public enum Payload {
+    SMALL(1),
+    MEDIUM(100),
+    LARGE(5_000);
+
+    private final int users;
+
+    Payload(int users) {
+        this.users = users;
+    }
+
+    public int users() {
+        return users;
+    }
+
+    public String path() {
+        return "/" + name().toLowerCase();
+    }
+
+    List<User> userList() {
+        List<User> list = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            User user = new User();
+            user.setId(i);
+            user.setName("User " + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setActive(i % 2 == 0);
+            list.add(user);
+        }
+        return list;
+    }
+
+    byte[] pageJson(ObjectMapper mapper) throws JsonProcessingException {
+        UserPage page = new UserPage();
+        page.setUsers(userList());
+        page.setTotal(users);
+        return mapper.writeValueAsBytes(page);
+    }
+
+    byte[] arrayJson(ObjectMapper mapper) throws JsonProcessingException {
+        return mapper.writeValueAsBytes(userList());
+    }
+
+    byte[] ndjson(ObjectMapper mapper) throws JsonProcessingException {
+        StringBuilder lines = new StringBuilder();
+        for (User user : userList()) {
+            lines.append(mapper.writeValueAsString(user)).append('\n');
+        }
+        return lines.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,99 @@
+package com.sagarv.webclient.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.sagarv.webclient.RequestBuilder;
+import com.sagarv.webclient.event.AsyncRequestEventListener;
+import com.sagarv.webclient.event.LoggingRequestEventListener;
+import com.sagarv.webclient.event.RequestEventListener;
+import com.sagarv.webclient.event.SamplingRequestEventListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead of request events. The exchange is answered in memory so the listener is a
+ * visible share of the cost:
+ * <ul>
+ *     <li>{@code OFF} - no listener</li>
+ *     <li>{@code LEVEL_DISABLED} - logging listener whose logger level is above the event levels</li>
+ *     <li>{@code ALL} - every start/success event written synchronously to a file</li>
+ *     <li>{@code SAMPLED} - 1% of requests written synchronously</li>
+ *     <li>{@code ASYNC} - every event handed to a background writer</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class RequestEventBenchmark {
+
+    private static final String USER_JSON = "{\"id\":42,\"name\":\"John Doe\",\"email\":\"john@example.com\",\"active\":true}";
+
+    @Param({"OFF", "LEVEL_DISABLED", "ALL", "SAMPLED", "ASYNC"})
+    private String mode;
+
+    private WebClient webClient;
+    private RequestEventListener listener;
+
+    @Setup
+    public void setUp() {
+        webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header("Content-Type", "application/json")
+                        .body(USER_JSON)
+                        .build()))
+                .build();
+
+        Logger requestLogger = (Logger) LoggerFactory.getLogger(LoggingRequestEventListener.DEFAULT_LOGGER);
+        requestLogger.setLevel("LEVEL_DISABLED".equals(mode) ? Level.WARN : Level.TRACE);
+        LoggingRequestEventListener logging = new LoggingRequestEventListener();
+        switch (mode) {
+            case "OFF":
+                listener = RequestEventListener.NOOP;
+                break;
+            case "SAMPLED":
+                listener = new SamplingRequestEventListener(logging, 0.01);
+                break;
+            case "ASYNC":
+                listener = new AsyncRequestEventListener(logging, 8192);
+                break;
+            default:
+                listener = logging;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (listener instanceof AsyncRequestEventListener) {
+            ((AsyncRequestEventListener) listener).close();
+        }
+    }
+
+    @Benchmark
+    public User request() {
+        return new RequestBuilder(webClient, HttpMethod.GET, "http://localhost:8080/users/42")
+                .eventListener(listener)
+                .executeReactive(User.class)
+                .block();
+    }
+}
@@ -0,0 +1,90 @@
+package com.sagarv.webclient.benchmarks;
+
+import com.sagarv.webclient.RequestBuilder;
+import com.sagarv.webclient.RequestTemplate;
+import com.sagarv.webclient.client.ApiClientFactory;
+import com.sagarv.webclient.client.Get;
+import com.sagarv.webclient.client.Headers;
+import com.sagarv.webclient.client.Path;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side cost of building and running one request through {@link RequestBuilder} versus a
+ * precompiled {@link RequestTemplate} and an {@link ApiClientFactory} interface client. The exchange is answered in memory so only request
+ * preparation, decoding and the operator chain are measured; run with {@code -prof gc} to compare
+ * allocations per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestTemplateBenchmark {
+
+    private static final String BASE_URL = "http://localhost:8080";
+    private static final String USER_JSON = "{\"id\":42,\"name\":\"John Doe\",\"email\":\"john@example.com\",\"active\":true}";
+    private static final Map<String, String> HEADERS = Map.of(
+            "Accept", "application/json",
+            "X-Client", "benchmark");
+
+    private WebClient webClient;
+    private RequestTemplate template;
+    private UserApi userApi;
+    private long id = 42;
+
+    @Setup
+    public void setUp() {
+        webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header("Content-Type", "application/json")
+                        .body(USER_JSON)
+                        .build()))
+                .build();
+        template = RequestTemplate.builder(webClient, HttpMethod.GET, BASE_URL + "/users/{id}")
+                .headers(HEADERS)
+                .build();
+        userApi = ApiClientFactory.builder(webClient).baseUrl(BASE_URL).build().create(UserApi.class);
+    }
+
+    @Benchmark
+    public User requestBuilder() {
+        return new RequestBuilder(webClient, HttpMethod.GET, BASE_URL + "/users/" + id)
+                .headers(HEADERS)
+                .executeReactive(User.class)
+                .block();
+    }
+
+    @Benchmark
+    public User requestTemplate() {
+        return template.executeReactive(User.class, id).block();
+    }
+
+    @Benchmark
+    public User interfaceClient() {
+        return userApi.user(id).block();
+    }
+
+    @Headers({"Accept: application/json", "X-Client: benchmark"})
+    public interface UserApi {
+        @Get("/users/{id}")
+        Mono<User> user(@Path("id") long id);
+    }
+}
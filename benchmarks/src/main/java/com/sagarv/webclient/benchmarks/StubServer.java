@@ -0,0 +1,86 @@
+package com.sagarv.webclient.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRoutes;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process Reactor Netty server that answers every {@link Payload} with pre-encoded bodies, so
+ * benchmarks measure the client rather than the server. It accepts HTTP/1.1 and cleartext HTTP/2:
+ * <ul>
+ *     <li>{@code /page/{size}} - a single JSON object wrapping the users</li>
+ *     <li>{@code /list/{size}} - a top-level JSON array</li>
+ *     <li>{@code /stream/{size}} - newline-delimited JSON</li>
+ * </ul>
+ */
+public class StubServer implements AutoCloseable {
+
+    private final DisposableServer server;
+    private final AtomicInteger connections = new AtomicInteger();
+
+    public StubServer() {
+        ObjectMapper mapper = new ObjectMapper();
+        this.server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .doOnChannelInit((observer, channel, address) -> connections.incrementAndGet())
+                .route(routes -> {
+                    for (Payload payload : Payload.values()) {
+                        register(routes, "/page" + payload.path(), "application/json", encode(() -> payload.pageJson(mapper)));
+                        register(routes, "/list" + payload.path(), "application/json", encode(() -> payload.arrayJson(mapper)));
+                        register(routes, "/stream" + payload.path(), "application/x-ndjson", encode(() -> payload.ndjson(mapper)));
+                    }
+                })
+                .bindNow();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.port();
+    }
+
+    /**
+     * TCP connections accepted since the server started.
+     */
+    public int connections() {
+        return connections.get();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private static void register(HttpServerRoutes routes, String path, String contentType, ByteBuf body) {
+        routes.get(path, (request, response) -> response
+                .header("Content-Type", contentType)
+                .header("Content-Length", String.valueOf(body.readableBytes()))
+                .send(Mono.fromSupplier(body::retainedDuplicate)));
+        routes.post(path, (request, response) -> request.receive().then(response
+                .header("Content-Type", contentType)
+                .header("Content-Length", String.valueOf(body.readableBytes()))
+                .send(Mono.fromSupplier(body::retainedDuplicate))
+                .then()));
+    }
+
+    private static ByteBuf encode(JsonSupplier supplier) {
+        try {
+            return Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(supplier.get()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode stub payload", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface JsonSupplier {
+        byte[] get() throws JsonProcessingException;
+    }
+}
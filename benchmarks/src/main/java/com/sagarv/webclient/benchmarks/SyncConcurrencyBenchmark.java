@@ -0,0 +1,107 @@
+package com.sagarv.webclient.benchmarks;
+
+import com.sagarv.webclient.ConnectionPoolGauges;
+import com.sagarv.webclient.HttpClientProperties;
+import com.sagarv.webclient.WebClientConfig;
+import com.sagarv.webclient.api.SyncRequestExecutor;
+import com.sagarv.webclient.common.ExecutorOptions;
+import com.sagarv.webclient.common.RestClientFacade;
+import com.sagarv.webclient.common.SyncTransport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time for {@code callers} concurrent synchronous calls to complete, comparing the {@code block()}
+ * based executor with the JDK HttpClient transport. Callers run on virtual threads when the JVM
+ * supports them (Java 21+) and on a fixed pool of up to 2000 platform threads otherwise; throughput
+ * is {@code callers} divided by the reported time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SyncConcurrencyBenchmark {
+
+    private static final Map<String, String> HEADERS = Map.of("Accept", "application/json");
+
+    @Param({"100", "10000"})
+    private int callers;
+
+    @Param({"WEB_CLIENT", "HTTP_CLIENT"})
+    private SyncTransport transport;
+
+    private StubServer server;
+    private ConnectionProvider connectionProvider;
+    private LoopResources loopResources;
+    private SyncRequestExecutor executor;
+    private ExecutorService callerThreads;
+    private String pageUrl;
+
+    @Setup
+    public void setUp() {
+        server = new StubServer();
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setPendingAcquireMaxCount(-1);
+        connectionProvider = WebClientConfig.buildConnectionProvider(properties, new ConnectionPoolGauges());
+        loopResources = WebClientConfig.buildLoopResources(properties);
+        WebClient webClient = WebClientConfig.buildWebClient(properties, connectionProvider, loopResources);
+        executor = new RestClientFacade(webClient, ExecutorOptions.defaults().syncTransport(transport), properties, null, null).getSyncExecutor();
+        callerThreads = callerThreads(callers);
+        pageUrl = server.baseUrl() + "/page" + Payload.SMALL.path();
+    }
+
+    @TearDown
+    public void tearDown() {
+        callerThreads.shutdownNow();
+        connectionProvider.dispose();
+        loopResources.dispose();
+        server.close();
+    }
+
+    @Benchmark
+    public int concurrentCalls() throws Exception {
+        List<Future<UserPage>> calls = new ArrayList<>(callers);
+        for (int i = 0; i < callers; i++) {
+            calls.add(callerThreads.submit(() -> executor.execute(HttpMethod.GET, pageUrl, HEADERS, UserPage.class)));
+        }
+        int completed = 0;
+        for (Future<UserPage> call : calls) {
+            if (call.get() != null) {
+                completed++;
+            }
+        }
+        return completed;
+    }
+
+    private static ExecutorService callerThreads(int callers) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.min(callers, 2000));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.sagarv.webclient;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects the live pool metrics reactor-netty publishes for every remote host so the pool can be
+ * sized from observed active/idle/pending counts. When bound to a {@link MeterRegistry} the totals
+ * and every per-host pool are published as {@code http.client.pool.*} gauges.
+ */
+public class ConnectionPoolGauges implements ConnectionProvider.MeterRegistrar, MeterBinder {
+
+    public static final String ACTIVE_METRIC = "http.client.pool.active";
+    public static final String IDLE_METRIC = "http.client.pool.idle";
+    public static final String PENDING_METRIC = "http.client.pool.pending";
+
+    private final Map<String, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+    private final Map<String, List<Meter>> hostMeters = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder(ACTIVE_METRIC, this, ConnectionPoolGauges::active).tag("remote", "all").register(registry);
+        Gauge.builder(IDLE_METRIC, this, ConnectionPoolGauges::idle).tag("remote", "all").register(registry);
+        Gauge.builder(PENDING_METRIC, this, ConnectionPoolGauges::pending).tag("remote", "all").register(registry);
+        pools.forEach(this::registerHostMeters);
+    }
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+        String key = key(poolName, remoteAddress);
+        pools.put(key, metrics);
+        registerHostMeters(key, metrics);
+    }
+
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        String key = key(poolName, remoteAddress);
+        pools.remove(key);
+        List<Meter> meters = hostMeters.remove(key);
+        MeterRegistry current = registry;
+        if (meters != null && current != null) {
+            meters.forEach(current::remove);
+        }
+    }
+
+    private void registerHostMeters(String key, ConnectionPoolMetrics metrics) {
+        MeterRegistry current = registry;
+        if (current == null) {
+            return;
+        }
+        Tags tags = Tags.of("remote", key);
+        List<Meter> meters = new ArrayList<>(3);
+        meters.add(Gauge.builder(ACTIVE_METRIC, metrics, ConnectionPoolMetrics::acquiredSize).tags(tags).register(current));
+        meters.add(Gauge.builder(IDLE_METRIC, metrics, ConnectionPoolMetrics::idleSize).tags(tags).register(current));
+        meters.add(Gauge.builder(PENDING_METRIC, metrics, ConnectionPoolMetrics::pendingAcquireSize).tags(tags).register(current));
+        hostMeters.put(key, meters);
+    }
+
+    public int active() {
+        return pools.values().stream().mapToInt(ConnectionPoolMetrics::acquiredSize).sum();
+    }
+
+    public int idle() {
+        return pools.values().stream().mapToInt(ConnectionPoolMetrics::idleSize).sum();
+    }
+
+    public int pending() {
+        return pools.values().stream().mapToInt(ConnectionPoolMetrics::pendingAcquireSize).sum();
+    }
+
+    public Map<String, PoolStats> snapshot() {
+        Map<String, PoolStats> snapshot = new LinkedHashMap<>();
+        pools.forEach((key, metrics) -> snapshot.put(key, new PoolStats(metrics)));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    private static String key(String poolName, SocketAddress remoteAddress) {
+        return poolName + "|" + remoteAddress;
+    }
+
+    public static class PoolStats {
+        private final int active;
+        private final int idle;
+        private final int pending;
+        private final int allocated;
+        private final int maxAllocated;
+        private final int maxPending;
+
+        PoolStats(ConnectionPoolMetrics metrics) {
+            this.active = metrics.acquiredSize();
+            this.idle = metrics.idleSize();
+            this.pending = metrics.pendingAcquireSize();
+            this.allocated = metrics.allocatedSize();
+            this.maxAllocated = metrics.maxAllocatedSize();
+            this.maxPending = metrics.maxPendingAcquireSize();
+        }
+
+        public int getActive() {
+            return active;
+        }
+
+        public int getIdle() {
+            return idle;
+        }
+
+        public int getPending() {
+            return pending;
+        }
+
+        public int getAllocated() {
+            return allocated;
+        }
+
+        public int getMaxAllocated() {
+            return maxAllocated;
+        }
+
+        public int getMaxPending() {
+            return maxPending;
+        }
+
+        @Override
+        public String toString() {
+            return "PoolStats{active=" + active + ", idle=" + idle + ", pending=" + pending
+                    + ", allocated=" + allocated + "/" + maxAllocated + ", maxPending=" + maxPending + "}";
+        }
+    }
+}
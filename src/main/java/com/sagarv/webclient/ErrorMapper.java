@@ -1,20 +1,254 @@
 package com.sagarv.webclient;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
+/**
+ * Maps error responses to exceptions through a table indexed by status code that is compiled once
+ * when the mapper is built, so lookups take no lock and box nothing. Exact status rules win over
+ * range rules, which are matched in registration order; anything else becomes a
+ * {@link RestClientException} whose message decodes the error body only when it is read, and only up
+ * to {@code maxBodyBytes}. Rules may also receive the error body deserialized to a type.
+ * <p>
+ * Build one mapper per set of rules and share it: {@link #apply(Mono)} adds a single operator with a
+ * preallocated mapping function, so successful responses cost nothing beyond that operator.
+ */
 public class ErrorMapper {
-    private final Map<Integer, Function<WebClientResponseException, RuntimeException>> exceptionMappings = new HashMap<>();
 
-    public ErrorMapper map(int statusCode, Function<WebClientResponseException, RuntimeException> exceptionSupplier) {
-        exceptionMappings.put(statusCode, exceptionSupplier);
+    private static final int STATUS_LIMIT = 600;
+    private static final ErrorMapper DEFAULT = builder().build();
+
+    private final Function<WebClientResponseException, ? extends RuntimeException>[] byStatus;
+    private final Function<WebClientResponseException, ? extends RuntimeException> fallback;
+    private final Function<WebClientResponseException, Throwable> mapping = this::mapException;
+    private final Builder source;
+    private final boolean mutable;
+
+    /**
+     * An empty mapper configured through {@link #map(int, Function)}.
+     *
+     * @deprecated use {@link #builder()}; built mappers are immutable and safe to share
+     */
+    @Deprecated
+    public ErrorMapper() {
+        this(new Builder(), true);
+    }
+
+    private ErrorMapper(Builder builder) {
+        this(builder, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ErrorMapper(Builder builder, boolean mutable) {
+        this.source = builder.copy();
+        this.mutable = mutable;
+        int maxBodyBytes = builder.maxBodyBytes;
+        this.fallback = builder.fallback != null ? builder.fallback : e -> new RestClientException(e, maxBodyBytes);
+        this.byStatus = (Function<WebClientResponseException, ? extends RuntimeException>[]) new Function<?, ?>[STATUS_LIMIT];
+        for (Rule rule : builder.ranges) {
+            for (int status = rule.from; status <= rule.to; status++) {
+                if (byStatus[status] == null) {
+                    byStatus[status] = rule.compile(builder);
+                }
+            }
+        }
+        for (Rule rule : builder.exact) {
+            byStatus[rule.from] = rule.compile(builder);
+        }
+        for (int status = 0; status < STATUS_LIMIT; status++) {
+            if (byStatus[status] == null) {
+                byStatus[status] = fallback;
+            }
+        }
+    }
+
+    /**
+     * The shared mapper without rules, turning every error response into a {@link RestClientException}.
+     */
+    public static ErrorMapper defaults() {
+        return DEFAULT;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * A builder holding this mapper's rules, to derive a mapper with more.
+     */
+    public Builder toBuilder() {
+        return source.copy();
+    }
+
+    /**
+     * Maps {@code statusCode} on a mapper created with {@link #ErrorMapper()}; configure it before
+     * sharing it between threads.
+     *
+     * @deprecated use {@link Builder#status(int, Function)}
+     * @throws UnsupportedOperationException if this mapper was built by a {@link Builder}
+     */
+    @Deprecated
+    public ErrorMapper map(int statusCode, Function<WebClientResponseException, ? extends RuntimeException> exceptionSupplier) {
+        if (!mutable) {
+            throw new UnsupportedOperationException("Built mappers are immutable; derive one with toBuilder()");
+        }
+        source.status(statusCode, exceptionSupplier);
+        byStatus[statusCode] = exceptionSupplier;
         return this;
     }
 
     public RuntimeException mapException(WebClientResponseException e) {
-        return exceptionMappings.getOrDefault(e.getRawStatusCode(), ex -> new RestClientException("Unexpected error: " + e.getResponseBodyAsString(), e)).apply(e);
+        int status = e.getRawStatusCode();
+        Function<WebClientResponseException, ? extends RuntimeException> mapper = status >= 0 && status < STATUS_LIMIT ? byStatus[status] : fallback;
+        return mapper.apply(e);
+    }
+
+    public <R> Mono<R> apply(Mono<R> response) {
+        return response.onErrorMap(WebClientResponseException.class, mapping);
+    }
+
+    public <R> Flux<R> apply(Flux<R> response) {
+        return response.onErrorMap(WebClientResponseException.class, mapping);
+    }
+
+    private static final class Rule {
+        private final int from;
+        private final int to;
+        private final Function<WebClientResponseException, ? extends RuntimeException> mapper;
+        private final Class<?> bodyType;
+        private final BiFunction<WebClientResponseException, Object, ? extends RuntimeException> bodyMapper;
+
+        Rule(int from, int to, Function<WebClientResponseException, ? extends RuntimeException> mapper,
+             Class<?> bodyType, BiFunction<WebClientResponseException, Object, ? extends RuntimeException> bodyMapper) {
+            if (from < 0 || to >= STATUS_LIMIT || from > to) {
+                throw new IllegalArgumentException("Invalid status range " + from + "-" + to);
+            }
+            this.from = from;
+            this.to = to;
+            this.mapper = mapper;
+            this.bodyType = bodyType;
+            this.bodyMapper = bodyMapper;
+        }
+
+        Function<WebClientResponseException, ? extends RuntimeException> compile(Builder builder) {
+            if (bodyType == null) {
+                return mapper;
+            }
+            ObjectReader reader = builder.objectMapper.readerFor(bodyType);
+            int maxBodyBytes = builder.maxBodyBytes;
+            return e -> bodyMapper.apply(e, readBody(reader, e, maxBodyBytes));
+        }
+
+        /**
+         * The body as the rule's type, or {@code null} when it is empty, over the size cap or malformed.
+         */
+        private static Object readBody(ObjectReader reader, WebClientResponseException e, int maxBodyBytes) {
+            byte[] body = e.getResponseBodyAsByteArray();
+            if (body.length == 0 || body.length > maxBodyBytes) {
+                return null;
+            }
+            try {
+                return reader.readValue(body);
+            } catch (IOException malformed) {
+                return null;
+            }
+        }
+    }
+
+    public static class Builder {
+        private final List<Rule> exact = new ArrayList<>();
+        private final List<Rule> ranges = new ArrayList<>();
+        private Function<WebClientResponseException, ? extends RuntimeException> fallback;
+        private ObjectMapper objectMapper = ObjectMapperConfig.jsonMapper();
+        private int maxBodyBytes = 8192;
+
+        private Builder() {
+        }
+
+        public Builder status(int statusCode, Function<WebClientResponseException, ? extends RuntimeException> mapper) {
+            this.exact.removeIf(rule -> rule.from == statusCode);
+            this.exact.add(new Rule(statusCode, statusCode, mapper, null, null));
+            return this;
+        }
+
+        /**
+         * Maps {@code statusCode} with the error body read as {@code bodyType}; the body is {@code null}
+         * when it is empty, larger than {@code maxBodyBytes} or cannot be read.
+         */
+        @SuppressWarnings("unchecked")
+        public <B> Builder status(int statusCode, Class<B> bodyType, BiFunction<WebClientResponseException, B, ? extends RuntimeException> mapper) {
+            this.exact.removeIf(rule -> rule.from == statusCode);
+            this.exact.add(new Rule(statusCode, statusCode, null, bodyType, (BiFunction<WebClientResponseException, Object, ? extends RuntimeException>) mapper));
+            return this;
+        }
+
+        /**
+         * Maps every status from {@code from} to {@code to} inclusive that has no exact rule.
+         */
+        public Builder range(int from, int to, Function<WebClientResponseException, ? extends RuntimeException> mapper) {
+            this.ranges.add(new Rule(from, to, mapper, null, null));
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <B> Builder range(int from, int to, Class<B> bodyType, BiFunction<WebClientResponseException, B, ? extends RuntimeException> mapper) {
+            this.ranges.add(new Rule(from, to, null, bodyType, (BiFunction<WebClientResponseException, Object, ? extends RuntimeException>) mapper));
+            return this;
+        }
+
+        /**
+         * Maps a whole series, e.g. {@code CLIENT_ERROR} for 4xx.
+         */
+        public Builder series(HttpStatus.Series series, Function<WebClientResponseException, ? extends RuntimeException> mapper) {
+            return range(series.value() * 100, series.value() * 100 + 99, mapper);
+        }
+
+        /**
+         * Replaces the default {@link RestClientException} for statuses without a rule.
+         */
+        public Builder fallback(Function<WebClientResponseException, ? extends RuntimeException> fallback) {
+            this.fallback = fallback;
+            return this;
+        }
+
+        /**
+         * Reads typed error bodies; {@link ObjectMapperConfig#jsonMapper()} by default.
+         */
+        public Builder objectMapper(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+            return this;
+        }
+
+        /**
+         * The largest error body that is decoded into a message or a typed body; 8 KB by default.
+         */
+        public Builder maxBodyBytes(int maxBodyBytes) {
+            this.maxBodyBytes = maxBodyBytes;
+            return this;
+        }
+
+        public ErrorMapper build() {
+            return new ErrorMapper(this);
+        }
+
+        private Builder copy() {
+            Builder copy = new Builder();
+            copy.exact.addAll(exact);
+            copy.ranges.addAll(ranges);
+            copy.fallback = fallback;
+            copy.objectMapper = objectMapper;
+            copy.maxBodyBytes = maxBodyBytes;
+            return copy;
+        }
     }
-}
\ No newline at end of file
+}
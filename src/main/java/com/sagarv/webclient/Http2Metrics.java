@@ -0,0 +1,92 @@
+package com.sagarv.webclient;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelId;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts responses by negotiated protocol and tracks the HTTP/2 connections and streams of an
+ * {@link HttpClient} instrumented with {@link #instrument(HttpClient)}, so the effect of HTTP/2 and of
+ * a fallback to HTTP/1.1 is visible. When bound to a {@link MeterRegistry} it publishes
+ * {@code http.client.protocol.responses}, {@code http.client.http2.connections},
+ * {@code http.client.http2.streams.active} and {@code http.client.http2.streams}.
+ */
+public class Http2Metrics implements MeterBinder {
+
+    public static final String RESPONSES_METRIC = "http.client.protocol.responses";
+    public static final String CONNECTIONS_METRIC = "http.client.http2.connections";
+    public static final String ACTIVE_STREAMS_METRIC = "http.client.http2.streams.active";
+    public static final String STREAMS_METRIC = "http.client.http2.streams";
+
+    public static final String HTTP_1_1 = "HTTP/1.1";
+    public static final String HTTP_2 = "HTTP/2.0";
+
+    private final Map<String, LongAdder> responses = new ConcurrentHashMap<>();
+    private final Map<ChannelId, Boolean> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger activeStreams = new AtomicInteger();
+    private final LongAdder streams = new LongAdder();
+
+    public HttpClient instrument(HttpClient httpClient) {
+        return httpClient
+                .doOnRequest((request, connection) -> onRequest(connection.channel()))
+                .doOnResponse((response, connection) -> responses(response.version().text()).increment());
+    }
+
+    private void onRequest(Channel channel) {
+        if (!(channel instanceof Http2StreamChannel)) {
+            return;
+        }
+        streams.increment();
+        activeStreams.incrementAndGet();
+        channel.closeFuture().addListener(future -> activeStreams.decrementAndGet());
+        Channel parent = channel.parent();
+        if (connections.putIfAbsent(parent.id(), Boolean.TRUE) == null) {
+            parent.closeFuture().addListener(future -> connections.remove(parent.id()));
+        }
+    }
+
+    private LongAdder responses(String protocol) {
+        LongAdder counter = responses.get(protocol);
+        return counter != null ? counter : responses.computeIfAbsent(protocol, p -> new LongAdder());
+    }
+
+    /**
+     * Responses received over {@code protocol}, e.g. {@link #HTTP_2}.
+     */
+    public long getResponseCount(String protocol) {
+        LongAdder counter = responses.get(protocol);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    public int getActiveStreamCount() {
+        return activeStreams.get();
+    }
+
+    public long getStreamCount() {
+        return streams.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String protocol : new String[]{HTTP_1_1, HTTP_2}) {
+            FunctionCounter.builder(RESPONSES_METRIC, responses(protocol), LongAdder::sum).tag("protocol", protocol).register(registry);
+        }
+        Gauge.builder(CONNECTIONS_METRIC, this, Http2Metrics::getConnectionCount).register(registry);
+        Gauge.builder(ACTIVE_STREAMS_METRIC, this, Http2Metrics::getActiveStreamCount).register(registry);
+        FunctionCounter.builder(STREAMS_METRIC, this, Http2Metrics::getStreamCount).register(registry);
+    }
+}
@@ -0,0 +1,289 @@
+package com.sagarv.webclient;
+
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+public class HttpClientProperties {
+
+    // Connection pool
+    private String poolName = "rest-client";
+    private int maxConnections = ConnectionProvider.DEFAULT_POOL_MAX_CONNECTIONS;
+    private int pendingAcquireMaxCount = ConnectionProvider.DEFAULT_POOL_MAX_CONNECTIONS * 2;
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+    private Duration evictInBackground = Duration.ofSeconds(30);
+    private boolean lifo = false;
+    private final Map<String, HostPool> hosts = new HashMap<>();
+
+    // Transport
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration responseTimeout = Duration.ofSeconds(10);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    private Duration writeTimeout = Duration.ofSeconds(10);
+    private boolean tcpNoDelay = true;
+    private boolean keepAlive = true;
+    private boolean responseCompression = true;
+
+    // HTTP/2
+    private Protocol protocol = Protocol.HTTP_1_1;
+    private int maxConcurrentStreams = 100;
+    private int minConnections = 1;
+
+    // Event loops
+    private String loopThreadPrefix = "rest-client";
+    private int ioWorkerCount = LoopResources.DEFAULT_IO_WORKER_COUNT;
+    private boolean preferNative = true;
+
+    // Codecs
+    private int maxInMemorySize = 1024 * 1024;
+
+    // Observability
+    private boolean phaseTimings = false;
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public void setPoolName(String poolName) {
+        this.poolName = poolName;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getPendingAcquireMaxCount() {
+        return pendingAcquireMaxCount;
+    }
+
+    public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) {
+        this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+    }
+
+    public Duration getPendingAcquireTimeout() {
+        return pendingAcquireTimeout;
+    }
+
+    public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+        this.pendingAcquireTimeout = pendingAcquireTimeout;
+    }
+
+    public Duration getMaxIdleTime() {
+        return maxIdleTime;
+    }
+
+    public void setMaxIdleTime(Duration maxIdleTime) {
+        this.maxIdleTime = maxIdleTime;
+    }
+
+    public Duration getMaxLifeTime() {
+        return maxLifeTime;
+    }
+
+    public void setMaxLifeTime(Duration maxLifeTime) {
+        this.maxLifeTime = maxLifeTime;
+    }
+
+    public Duration getEvictInBackground() {
+        return evictInBackground;
+    }
+
+    public void setEvictInBackground(Duration evictInBackground) {
+        this.evictInBackground = evictInBackground;
+    }
+
+    public boolean isLifo() {
+        return lifo;
+    }
+
+    public void setLifo(boolean lifo) {
+        this.lifo = lifo;
+    }
+
+    /**
+     * Per-host pool overrides keyed by {@code host:port}.
+     */
+    public Map<String, HostPool> getHosts() {
+        return hosts;
+    }
+
+    public HttpClientProperties host(String hostAndPort, int maxConnections, int pendingAcquireMaxCount) {
+        this.hosts.put(hostAndPort, new HostPool(maxConnections, pendingAcquireMaxCount));
+        return this;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getResponseTimeout() {
+        return responseTimeout;
+    }
+
+    public void setResponseTimeout(Duration responseTimeout) {
+        this.responseTimeout = responseTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public Duration getWriteTimeout() {
+        return writeTimeout;
+    }
+
+    public void setWriteTimeout(Duration writeTimeout) {
+        this.writeTimeout = writeTimeout;
+    }
+
+    public boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    public void setTcpNoDelay(boolean tcpNoDelay) {
+        this.tcpNoDelay = tcpNoDelay;
+    }
+
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    public void setKeepAlive(boolean keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    /**
+     * Whether to send {@code Accept-Encoding} and decompress gzip/deflate responses (and brotli/zstd when
+     * their Netty codecs are on the classpath) transparently.
+     */
+    public boolean isResponseCompression() {
+        return responseCompression;
+    }
+
+    public void setResponseCompression(boolean responseCompression) {
+        this.responseCompression = responseCompression;
+    }
+
+    public Protocol getProtocol() {
+        return protocol;
+    }
+
+    public void setProtocol(Protocol protocol) {
+        this.protocol = protocol;
+    }
+
+    /**
+     * Streams one HTTP/2 connection carries before another connection to the host is opened; the
+     * server's own {@code SETTINGS_MAX_CONCURRENT_STREAMS} applies when it is lower.
+     */
+    public int getMaxConcurrentStreams() {
+        return maxConcurrentStreams;
+    }
+
+    public void setMaxConcurrentStreams(int maxConcurrentStreams) {
+        this.maxConcurrentStreams = maxConcurrentStreams;
+    }
+
+    /**
+     * HTTP/2 connections kept open per host. With HTTP/2 {@code maxConnections} (and the per-host
+     * overrides) caps the connections per host, which matters when a server falls back to HTTP/1.1.
+     */
+    public int getMinConnections() {
+        return minConnections;
+    }
+
+    public void setMinConnections(int minConnections) {
+        this.minConnections = minConnections;
+    }
+
+    public String getLoopThreadPrefix() {
+        return loopThreadPrefix;
+    }
+
+    public void setLoopThreadPrefix(String loopThreadPrefix) {
+        this.loopThreadPrefix = loopThreadPrefix;
+    }
+
+    public int getIoWorkerCount() {
+        return ioWorkerCount;
+    }
+
+    public void setIoWorkerCount(int ioWorkerCount) {
+        this.ioWorkerCount = ioWorkerCount;
+    }
+
+    public boolean isPreferNative() {
+        return preferNative;
+    }
+
+    public void setPreferNative(boolean preferNative) {
+        this.preferNative = preferNative;
+    }
+
+    public int getMaxInMemorySize() {
+        return maxInMemorySize;
+    }
+
+    public void setMaxInMemorySize(int maxInMemorySize) {
+        this.maxInMemorySize = maxInMemorySize;
+    }
+
+    /**
+     * Records DNS, connect, TLS, pool acquire, time-to-first-byte and body phases on each observed request.
+     */
+    public boolean isPhaseTimings() {
+        return phaseTimings;
+    }
+
+    public void setPhaseTimings(boolean phaseTimings) {
+        this.phaseTimings = phaseTimings;
+    }
+
+    public enum Protocol {
+        HTTP_1_1,
+        /**
+         * HTTP/2 negotiated with ALPN over TLS ({@code h2}) or with an upgrade over cleartext
+         * ({@code h2c}), staying on HTTP/1.1 when the server does not support it.
+         */
+        HTTP_2,
+        /**
+         * Cleartext HTTP/2 from the first byte, for servers known to support it; there is no fallback.
+         */
+        H2C_PRIOR_KNOWLEDGE
+    }
+
+    public static class HostPool {
+        private final int maxConnections;
+        private final int pendingAcquireMaxCount;
+
+        public HostPool(int maxConnections, int pendingAcquireMaxCount) {
+            this.maxConnections = maxConnections;
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public int getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+    }
+}
@@ -2,7 +2,13 @@ package com.sagarv.webclient;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.sagarv.webclient.codec.Codecs;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -11,21 +17,41 @@ public class ObjectMapperConfig {
 
     @Bean
     public ObjectMapper objectMapper() {
-        // Create a new ObjectMapper instance
-        ObjectMapper mapper = new ObjectMapper();
+        return configure(new ObjectMapper());
+    }
 
-        // Register the JavaTimeModule to handle Java 8 date/time types
-        mapper.registerModule(new JavaTimeModule());
+    /**
+     * JSON only by default; define a {@link Codecs} bean with Smile or CBOR enabled to negotiate binary formats.
+     */
+    @Bean
+    public Codecs codecs(ObjectProvider<ObjectMapper> objectMapper) {
+        return Codecs.builder().objectMapper(objectMapper.getIfAvailable(ObjectMapperConfig::jsonMapper)).build();
+    }
 
-        // Enable or disable various features
-        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    public static ObjectMapper jsonMapper() {
+        return configure(new ObjectMapper());
+    }
 
-        // Add any custom serializers/deserializers if needed
-        // Example: mapper.registerModule(new MyCustomModule());
+    public static ObjectMapper smileMapper() {
+        return configure(new ObjectMapper(new SmileFactory()));
+    }
+
+    public static ObjectMapper cborMapper() {
+        return configure(new ObjectMapper(new CBORFactory()));
+    }
 
-        // Configure other ObjectMapper features as required
-        // Example: mapper.enable(SerializationFeature.INDENT_OUTPUT);
+    /**
+     * Applies the shared settings to a mapper of any format.
+     */
+    public static ObjectMapper configure(ObjectMapper mapper) {
+        // Java 8 date/time and Optional types
+        mapper.registerModule(new JavaTimeModule());
+        mapper.registerModule(new Jdk8Module());
+
+        // Generates bytecode accessors through method handles instead of reflection
+        mapper.registerModule(new BlackbirdModule());
 
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         return mapper;
     }
 }
@@ -1,31 +1,53 @@
 package com.sagarv.webclient;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sagarv.webclient.api.ResponseParser;
+import com.sagarv.webclient.codec.Codecs;
+import com.sagarv.webclient.event.RequestEventListener;
+import com.sagarv.webclient.event.RequestObservation;
+import com.sagarv.webclient.resilience.Deadline;
+import com.sagarv.webclient.resilience.HedgePolicy;
+import com.sagarv.webclient.resilience.RetryPolicy;
+import com.sagarv.webclient.stream.JsonStreamDecoder;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.web.reactive.function.BodyInserter;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.lang.reflect.Type;
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
 public class RequestBuilder {
 
-    private static final Logger logger = LoggerFactory.getLogger(RequestBuilder.class);
-
     private final WebClient webClient;
     private final HttpMethod method;
     private final String url;
     private final Map<String, String> headers = new HashMap<>();
-    private final Map<Integer, Function<WebClientResponseException, ? extends RuntimeException>> exceptionMappings = new HashMap<>();
+    private ErrorMapper errorMapper = ErrorMapper.defaults();
+    private ErrorMapper.Builder errorMappings;
     private Object body;
+    private BodyInserter<?, ? super ClientHttpRequest> bodyInserter;
     private Duration timeout = Duration.ofSeconds(10); // Default timeout
-    private int retryCount = 0;
+    private Duration deadline;
+    private RetryPolicy retryPolicy;
+    private HedgePolicy hedgePolicy;
+    private RequestEventListener eventListener = RequestEventListener.NOOP;
 
     public RequestBuilder(WebClient webClient, HttpMethod method, String url) {
         this.webClient = webClient;
@@ -48,13 +70,48 @@ public class RequestBuilder {
         return this;
     }
 
+    /**
+     * Writes the body with {@code inserter}, e.g. a publisher of data buffers; replaces {@link #body(Object)}.
+     */
+    public RequestBuilder body(BodyInserter<?, ? super ClientHttpRequest> inserter) {
+        this.bodyInserter = inserter;
+        return this;
+    }
+
     public RequestBuilder timeout(Duration timeout) {
         this.timeout = timeout;
         return this;
     }
 
+    /**
+     * Bounds the whole call, including retries and hedges, to {@code deadline} from subscription. Each
+     * attempt still times out after {@link #timeout(Duration)} but never outlives the deadline, and an
+     * earlier deadline set by an enclosing call is kept.
+     */
+    public RequestBuilder deadline(Duration deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    /**
+     * Retries up to {@code count} times using {@link RetryPolicy#defaults()}: jittered backoff, idempotent
+     * methods only, and only for transient failures.
+     */
     public RequestBuilder retry(int count) {
-        this.retryCount = count;
+        this.retryPolicy = count > 0 ? RetryPolicy.defaults().withMaxRetries(count) : null;
+        return this;
+    }
+
+    public RequestBuilder retryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        return this;
+    }
+
+    /**
+     * Hedges single-value responses of idempotent requests; streamed responses are never hedged.
+     */
+    public RequestBuilder hedgePolicy(HedgePolicy hedgePolicy) {
+        this.hedgePolicy = hedgePolicy;
         return this;
     }
 
@@ -64,14 +121,33 @@ public class RequestBuilder {
     }
 
     public RequestBuilder exceptionMapping(int statusCode, Function<WebClientResponseException, ? extends RuntimeException> exceptionSupplier) {
-        this.exceptionMappings.put(statusCode, exceptionSupplier);
+        if (this.errorMappings == null) {
+            this.errorMappings = errorMapper.toBuilder();
+        }
+        this.errorMappings.status(statusCode, exceptionSupplier);
+        return this;
+    }
+
+    /**
+     * Uses a shared, prebuilt mapper; later {@link #exceptionMapping} calls add to a copy of it.
+     */
+    public RequestBuilder errorMapper(ErrorMapper errorMapper) {
+        this.errorMapper = errorMapper;
+        this.errorMappings = null;
+        return this;
+    }
+
+    public RequestBuilder eventListener(RequestEventListener eventListener) {
+        this.eventListener = eventListener;
         return this;
     }
 
     private WebClient.RequestHeadersSpec<?> prepareRequest() {
         WebClient.RequestHeadersSpec<?> requestSpec = webClient.method(method).uri(url);
         headers.forEach(requestSpec::header);
-        if (body != null) {
+        if (bodyInserter != null) {
+            requestSpec = ((WebClient.RequestBodySpec) requestSpec).body(bodyInserter);
+        } else if (body != null) {
             requestSpec = ((WebClient.RequestBodySpec) requestSpec).bodyValue(body);
         }
         return requestSpec;
@@ -85,44 +161,128 @@ public class RequestBuilder {
         return executeRequest(prepareRequest().retrieve().bodyToMono(responseType));
     }
 
+    public <R> Mono<ResponseEntity<R>> executeForEntity(Class<R> responseType) {
+        return executeRequest(prepareRequest().retrieve().toEntity(responseType));
+    }
+
+    public <R> Mono<ResponseEntity<R>> executeForEntity(ParameterizedTypeReference<R> responseType) {
+        return executeRequest(prepareRequest().retrieve().toEntity(responseType));
+    }
+
+    /**
+     * Reads the body with {@code codecs}' reader for {@code responseType} and the response format,
+     * bypassing the per-call type resolution of the {@code WebClient} decoders. The body is buffered
+     * within the codec's in-memory limit.
+     */
+    public <R> Mono<R> executeReactive(JavaType responseType, Codecs codecs) {
+        return executeRequest(prepareRequest().retrieve().toEntity(DataBuffer.class)
+                .handle((entity, sink) -> {
+                    R body = read(entity, (buffer, contentType) -> codecs.reader(contentType, responseType).readValue(buffer.asInputStream()));
+                    if (body != null) {
+                        sink.next(body);
+                    }
+                }));
+    }
+
+    public <R> Mono<ResponseEntity<R>> executeForEntity(JavaType responseType, Codecs codecs) {
+        return executeRequest(prepareRequest().retrieve().toEntity(DataBuffer.class)
+                .map(entity -> new ResponseEntity<>(read(entity, (buffer, contentType) ->
+                        codecs.<R>reader(contentType, responseType).readValue(buffer.asInputStream())), entity.getHeaders(), entity.getStatusCode())));
+    }
+
+    /**
+     * Passes a parser over the buffered body to {@code parser}; see {@link ResponseParser}.
+     */
+    public <R> Mono<R> executeReactive(ResponseParser<R> parser, Codecs codecs) {
+        return executeRequest(prepareRequest().retrieve().toEntity(DataBuffer.class)
+                .handle((entity, sink) -> {
+                    R body = read(entity, (buffer, contentType) -> {
+                        ObjectMapper mapper = codecs.mapperFor(contentType);
+                        if (mapper == null) {
+                            throw new DecodingException("No codec enabled for " + contentType);
+                        }
+                        try (JsonParser jsonParser = mapper.getFactory().createParser(buffer.asInputStream())) {
+                            return parser.parse(jsonParser);
+                        }
+                    });
+                    if (body != null) {
+                        sink.next(body);
+                    }
+                }));
+    }
+
     public <R> Flux<R> executeReactiveAsFlux(Class<R> responseType) {
         return executeRequest(prepareRequest().retrieve().bodyToFlux(responseType));
     }
 
+    /**
+     * The response headers with the raw body buffers, which the caller must consume or release. The
+     * timeout only covers the arrival of the response headers, not the body transfer.
+     */
+    public Mono<ResponseEntity<Flux<DataBuffer>>> executeForBody() {
+        return executeRequest(prepareRequest().retrieve().toEntityFlux(DataBuffer.class));
+    }
+
+    /**
+     * Streams the response elements as they are decoded, without the in-memory codec limit applying to
+     * the whole body; see {@link JsonStreamDecoder}.
+     */
+    public <R> Flux<R> executeReactiveAsStream(Type elementType, JsonStreamDecoder decoder) {
+        return executeRequest(prepareRequest().retrieve().toEntityFlux(DataBuffer.class)
+                .flatMapMany(entity -> decoder.<R>decode(entity.getBody(), entity.getHeaders().getContentType(), elementType)));
+    }
+
+    /**
+     * Decodes a streamed array into a list. Unlike collecting {@link #executeReactiveAsStream}, a
+     * failed attempt is retried as a whole, so a body cut off part way is never partly repeated.
+     */
+    public <R> Mono<List<R>> executeReactiveAsList(Type elementType, JsonStreamDecoder decoder) {
+        return executeRequest(prepareRequest().retrieve().toEntityFlux(DataBuffer.class)
+                .flatMap(entity -> decoder.<R>decode(entity.getBody(), entity.getHeaders().getContentType(), elementType).collectList()));
+    }
+
     private <R> Mono<R> executeRequest(Mono<R> responseMono) {
-        return responseMono
-                .timeout(timeout)
-                .retry(retryCount)
-                .doOnSubscribe(sub -> logger.info("Executing {} request to {}", method, url))
-                .doOnSuccess(resp -> logger.info("Request to {} was successful", url))
-                .doOnError(error -> logger.error("Request to {} failed", url, error))
-                .onErrorResume(WebClientResponseException.class, this::mapException);
+        Mono<R> request = Deadline.bound(responseMono, timeout);
+        if (hedgePolicy != null) {
+            request = hedgePolicy.apply(request, method, url);
+        }
+        if (retryPolicy != null) {
+            request = retryPolicy.apply(request, method, url);
+        }
+        return Deadline.within(RequestObservation.observe(errorMapper().apply(request), eventListener, method, url), deadline);
     }
 
     private <R> Flux<R> executeRequest(Flux<R> responseFlux) {
-        return responseFlux
-                .timeout(timeout)
-                .retry(retryCount)
-                .doOnSubscribe(sub -> logger.info("Executing {} request to {}", method, url))
-                .doOnError(error -> logger.error("Request to {} failed", url, error))
-                .onErrorResume(WebClientResponseException.class, this::mapException);
-    }
-
-    private <T> Mono<T> mapException(WebClientResponseException e) {
-        Function<WebClientResponseException, ? extends RuntimeException> exceptionSupplier = exceptionMappings.get(e.getRawStatusCode());
-        if (exceptionSupplier != null) {
-            return Mono.error(exceptionSupplier.apply(e));
-        } else {
-            return Mono.error(new RestClientException("Unexpected error: " + e.getResponseBodyAsString(), e));
+        Flux<R> request = Deadline.bound(responseFlux, timeout);
+        if (retryPolicy != null) {
+            request = retryPolicy.apply(request, method, url);
         }
+        return Deadline.within(RequestObservation.observe(errorMapper().apply(request), eventListener, method, url), deadline);
+    }
+
+    private static <R> R read(ResponseEntity<DataBuffer> entity, BodyReader<R> reader) {
+        DataBuffer buffer = entity.getBody();
+        if (buffer == null) {
+            return null;
+        }
+        try {
+            return reader.read(buffer, entity.getHeaders().getContentType());
+        } catch (IOException e) {
+            throw new DecodingException("Body decoding error: " + e.getMessage(), e);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private interface BodyReader<R> {
+        R read(DataBuffer buffer, MediaType contentType) throws IOException;
     }
 
-    private <T> Flux<T> mapExceptionFlux(WebClientResponseException e) {
-        Function<WebClientResponseException, ? extends RuntimeException> exceptionSupplier = exceptionMappings.get(e.getRawStatusCode());
-        if (exceptionSupplier != null) {
-            return Flux.error(exceptionSupplier.apply(e));
-        } else {
-            return Flux.error(new RestClientException("Unexpected error: " + e.getResponseBodyAsString(), e));
+    private ErrorMapper errorMapper() {
+        if (errorMappings != null) {
+            errorMapper = errorMappings.build();
+            errorMappings = null;
         }
+        return errorMapper;
     }
-}
\ No newline at end of file
+}
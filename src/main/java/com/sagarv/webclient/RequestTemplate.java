@@ -0,0 +1,377 @@
+package com.sagarv.webclient;
+
+import com.sagarv.webclient.event.RequestEventListener;
+import com.sagarv.webclient.event.RequestObservation;
+import com.sagarv.webclient.resilience.Deadline;
+import com.sagarv.webclient.resilience.HedgePolicy;
+import com.sagarv.webclient.resilience.RetryPolicy;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A request whose method, URI template, static headers, timeout and error mappings are parsed once
+ * and then executed many times with only the variable parts (path variables, query parameters, body).
+ */
+public class RequestTemplate {
+
+    private final WebClient webClient;
+    private final HttpMethod method;
+    private final String uriTemplate;
+    private final String[] literals;
+    private final String[] variableNames;
+    // Variables after the '?' are query values, which must not leave '&', '=' or '+' unescaped.
+    private final boolean[] queryVariables;
+    private final boolean absolute;
+    private final boolean hasQuery;
+    private final URI fixedUri;
+    private final String[] headerNames;
+    private final String[] headerValues;
+    private final Duration timeout;
+    private final Duration deadline;
+    private final RetryPolicy retryPolicy;
+    private final HedgePolicy hedgePolicy;
+    private final RequestEventListener eventListener;
+    private final ErrorMapper errorMapper;
+
+    private RequestTemplate(Builder builder) {
+        this.webClient = builder.webClient;
+        this.method = builder.method;
+        this.uriTemplate = builder.baseUrl == null ? builder.uriTemplate : builder.baseUrl + builder.uriTemplate;
+
+        List<String> literalParts = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int position = 0;
+        int open;
+        while ((open = uriTemplate.indexOf('{', position)) >= 0) {
+            int close = uriTemplate.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed variable in URI template " + uriTemplate);
+            }
+            literalParts.add(uriTemplate.substring(position, open));
+            names.add(uriTemplate.substring(open + 1, close));
+            position = close + 1;
+        }
+        literalParts.add(uriTemplate.substring(position));
+        this.literals = literalParts.toArray(new String[0]);
+        this.variableNames = names.toArray(new String[0]);
+        this.queryVariables = new boolean[variableNames.length];
+        boolean inQuery = false;
+        for (int i = 0; i < variableNames.length; i++) {
+            inQuery |= literals[i].indexOf('?') >= 0;
+            queryVariables[i] = inQuery;
+        }
+        this.absolute = uriTemplate.contains("://");
+        this.hasQuery = uriTemplate.indexOf('?') >= 0;
+        this.fixedUri = absolute && variableNames.length == 0 ? URI.create(uriTemplate) : null;
+
+        this.headerNames = builder.headers.keySet().toArray(new String[0]);
+        this.headerValues = builder.headers.values().toArray(new String[0]);
+        this.timeout = builder.timeout;
+        this.deadline = builder.deadline;
+        this.retryPolicy = builder.retryPolicy;
+        this.hedgePolicy = builder.hedgePolicy;
+        this.eventListener = builder.eventListener;
+        this.errorMapper = builder.errorMappings != null ? builder.errorMappings.build() : builder.errorMapper;
+    }
+
+    public static Builder builder(WebClient webClient, HttpMethod method, String uriTemplate) {
+        return new Builder(webClient, method, uriTemplate);
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    public String getUriTemplate() {
+        return uriTemplate;
+    }
+
+    /**
+     * The template's variables in the order path variables are passed.
+     */
+    public List<String> getVariableNames() {
+        return List.of(variableNames);
+    }
+
+    public Call newCall() {
+        return new Call();
+    }
+
+    public <R> Mono<R> executeReactive(Class<R> responseType, Object... pathVariables) {
+        return applyPolicies(execute(pathVariables, null, null, null).bodyToMono(responseType));
+    }
+
+    public <R> Mono<R> executeReactive(Object body, Class<R> responseType, Object... pathVariables) {
+        return applyPolicies(execute(pathVariables, null, null, body).bodyToMono(responseType));
+    }
+
+    private WebClient.ResponseSpec execute(Object[] pathVariables, List<Object> query, Map<String, String> extraHeaders, Object body) {
+        WebClient.RequestBodySpec spec = uri(webClient.method(method), pathVariables, query);
+        for (int i = 0; i < headerNames.length; i++) {
+            spec.header(headerNames[i], headerValues[i]);
+        }
+        if (extraHeaders != null) {
+            extraHeaders.forEach(spec::header);
+        }
+        if (body != null) {
+            return spec.bodyValue(body).retrieve();
+        }
+        return spec.retrieve();
+    }
+
+    /**
+     * Absolute templates are expanded and encoded here. Relative ones are resolved against the
+     * {@code WebClient}'s base URL, so their raw values go to its URI builder, which encodes them once.
+     */
+    private WebClient.RequestBodySpec uri(WebClient.RequestBodyUriSpec spec, Object[] pathVariables, List<Object> query) {
+        if (fixedUri != null && query == null) {
+            return spec.uri(fixedUri);
+        }
+        if (absolute) {
+            return spec.uri(URI.create(expand(pathVariables, encodeQuery(query))));
+        }
+        checkVariables(pathVariables);
+        if (query == null) {
+            return spec.uri(uriTemplate, pathVariables == null ? new Object[0] : pathVariables);
+        }
+        StringBuilder template = new StringBuilder(uriTemplate.length() + query.size() * 6).append(uriTemplate);
+        Object[] values = new Object[variableNames.length + query.size()];
+        if (variableNames.length > 0) {
+            System.arraycopy(pathVariables, 0, values, 0, variableNames.length);
+        }
+        for (int i = 0; i < query.size(); i++) {
+            template.append(i == 0 ? (hasQuery ? '&' : '?') : i % 2 == 0 ? '&' : '=').append("{q").append(i).append('}');
+            values[variableNames.length + i] = String.valueOf(query.get(i));
+        }
+        return spec.uri(template.toString(), values);
+    }
+
+    private static StringBuilder encodeQuery(List<Object> query) {
+        if (query == null) {
+            return null;
+        }
+        StringBuilder encoded = new StringBuilder(query.size() * 16);
+        for (int i = 0; i < query.size(); i++) {
+            if (i > 0) {
+                encoded.append(i % 2 == 0 ? '&' : '=');
+            }
+            encoded.append(encodeQueryValue(String.valueOf(query.get(i))));
+        }
+        return encoded;
+    }
+
+    /**
+     * {@link UriUtils#encodeQueryParam} leaves {@code +} as it is, which servers read as a space.
+     */
+    private static String encodeQueryValue(String value) {
+        return UriUtils.encodeQueryParam(value, StandardCharsets.UTF_8).replace("+", "%2B");
+    }
+
+    private void checkVariables(Object[] pathVariables) {
+        int given = pathVariables == null ? 0 : pathVariables.length;
+        if (given != variableNames.length) {
+            throw new IllegalArgumentException("URI template " + uriTemplate + " expects " + variableNames.length
+                    + " path variables but got " + given);
+        }
+    }
+
+    String expand(Object[] pathVariables, StringBuilder query) {
+        checkVariables(pathVariables);
+        StringBuilder uri = new StringBuilder(uriTemplate.length() + 16 + (query == null ? 0 : query.length()));
+        uri.append(literals[0]);
+        for (int i = 0; i < variableNames.length; i++) {
+            String value = String.valueOf(pathVariables[i]);
+            uri.append(queryVariables[i] ? encodeQueryValue(value) : UriUtils.encodePathSegment(value, StandardCharsets.UTF_8));
+            uri.append(literals[i + 1]);
+        }
+        if (query != null) {
+            uri.append(hasQuery ? '&' : '?').append(query);
+        }
+        return uri.toString();
+    }
+
+    private <R> Mono<R> applyPolicies(Mono<R> responseMono) {
+        Mono<R> mono = Deadline.bound(responseMono, timeout);
+        if (hedgePolicy != null) {
+            mono = hedgePolicy.apply(mono, method, uriTemplate);
+        }
+        if (retryPolicy != null) {
+            mono = retryPolicy.apply(mono, method, uriTemplate);
+        }
+        return Deadline.within(RequestObservation.observe(errorMapper.apply(mono), eventListener, method, uriTemplate), deadline);
+    }
+
+    private <R> Flux<R> applyPolicies(Flux<R> responseFlux) {
+        Flux<R> flux = Deadline.bound(responseFlux, timeout);
+        if (retryPolicy != null) {
+            flux = retryPolicy.apply(flux, method, uriTemplate);
+        }
+        return Deadline.within(RequestObservation.observe(errorMapper.apply(flux), eventListener, method, uriTemplate), deadline);
+    }
+
+    /**
+     * The per-call variable parts of a {@link RequestTemplate}.
+     */
+    public class Call {
+        private Object[] pathVariables;
+        // Alternating names and values.
+        private List<Object> query;
+        private Map<String, String> headers;
+        private Object body;
+
+        private Call() {
+        }
+
+        public Call pathVariables(Object... pathVariables) {
+            this.pathVariables = pathVariables;
+            return this;
+        }
+
+        public Call queryParam(String name, Object value) {
+            if (query == null) {
+                query = new ArrayList<>(4);
+            }
+            query.add(name);
+            query.add(value);
+            return this;
+        }
+
+        public Call header(String name, String value) {
+            if (headers == null) {
+                headers = new LinkedHashMap<>(4);
+            }
+            headers.put(name, value);
+            return this;
+        }
+
+        public Call body(Object body) {
+            this.body = body;
+            return this;
+        }
+
+        public <R> Mono<R> executeReactive(Class<R> responseType) {
+            return applyPolicies(execute(pathVariables, query, headers, body).bodyToMono(responseType));
+        }
+
+        public <R> Mono<R> executeReactive(ParameterizedTypeReference<R> responseType) {
+            return applyPolicies(execute(pathVariables, query, headers, body).bodyToMono(responseType));
+        }
+
+        public <R> Flux<R> executeReactiveAsFlux(Class<R> responseType) {
+            return applyPolicies(execute(pathVariables, query, headers, body).bodyToFlux(responseType));
+        }
+
+        public <R> Flux<R> executeReactiveAsFlux(ParameterizedTypeReference<R> elementType) {
+            return applyPolicies(execute(pathVariables, query, headers, body).bodyToFlux(elementType));
+        }
+    }
+
+    public static class Builder {
+        private final WebClient webClient;
+        private final HttpMethod method;
+        private final String uriTemplate;
+        private final Map<String, String> headers = new LinkedHashMap<>();
+        private ErrorMapper errorMapper = ErrorMapper.defaults();
+        private ErrorMapper.Builder errorMappings;
+        private String baseUrl;
+        private Duration timeout = Duration.ofSeconds(10); // Default timeout
+        private Duration deadline;
+        private RetryPolicy retryPolicy;
+        private HedgePolicy hedgePolicy;
+        private RequestEventListener eventListener = RequestEventListener.NOOP;
+
+        private Builder(WebClient webClient, HttpMethod method, String uriTemplate) {
+            this.webClient = webClient;
+            this.method = method;
+            this.uriTemplate = uriTemplate;
+        }
+
+        public Builder baseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+            return this;
+        }
+
+        public Builder header(String name, String value) {
+            this.headers.put(name, value);
+            return this;
+        }
+
+        public Builder headers(Map<String, String> headers) {
+            this.headers.putAll(headers);
+            return this;
+        }
+
+        public Builder timeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * Bounds each call, including retries and hedges, to {@code deadline}; see {@link RequestBuilder#deadline(Duration)}.
+         */
+        public Builder deadline(Duration deadline) {
+            this.deadline = deadline;
+            return this;
+        }
+
+        public Builder retry(int count) {
+            this.retryPolicy = count > 0 ? RetryPolicy.defaults().withMaxRetries(count) : null;
+            return this;
+        }
+
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        public Builder hedgePolicy(HedgePolicy hedgePolicy) {
+            this.hedgePolicy = hedgePolicy;
+            return this;
+        }
+
+        public Builder authenticate(String token) {
+            this.headers.put("Authorization", "Bearer " + token);
+            return this;
+        }
+
+        public Builder exceptionMapping(int statusCode, Function<WebClientResponseException, ? extends RuntimeException> exceptionSupplier) {
+            if (errorMappings == null) {
+                errorMappings = errorMapper.toBuilder();
+            }
+            errorMappings.status(statusCode, exceptionSupplier);
+            return this;
+        }
+
+        /**
+         * Uses a shared, prebuilt mapper; later {@link #exceptionMapping} calls add to a copy of it.
+         */
+        public Builder errorMapper(ErrorMapper errorMapper) {
+            this.errorMapper = errorMapper;
+            this.errorMappings = null;
+            return this;
+        }
+
+        public Builder eventListener(RequestEventListener eventListener) {
+            this.eventListener = eventListener;
+            return this;
+        }
+
+        public RequestTemplate build() {
+            return new RequestTemplate(this);
+        }
+    }
+}
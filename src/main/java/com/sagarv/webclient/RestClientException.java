@@ -1,11 +1,67 @@
 package com.sagarv.webclient;
 
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
 public class RestClientException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient WebClientResponseException response;
+    private final int maxBodyBytes;
+    private volatile String message;
+
     public RestClientException(String message, Throwable cause) {
         super(message, cause);
+        this.response = null;
+        this.maxBodyBytes = 0;
+        this.message = message;
     }
 
     public RestClientException(String message) {
         super(message);
+        this.response = null;
+        this.maxBodyBytes = 0;
+        this.message = message;
+    }
+
+    /**
+     * An error response no rule mapped. The message, {@code "Unexpected error: "} followed by the body,
+     * is built on first use from at most {@code maxBodyBytes} of the body.
+     */
+    public RestClientException(WebClientResponseException response, int maxBodyBytes) {
+        super(null, response);
+        this.response = response;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    /**
+     * The status of the error response, or {@code -1} when the failure was not an error response.
+     */
+    public int getRawStatusCode() {
+        return response != null ? response.getRawStatusCode() : -1;
+    }
+
+    @Override
+    public String getMessage() {
+        String current = message;
+        if (current == null && response != null) {
+            current = "Unexpected error: " + body(response, maxBodyBytes);
+            message = current;
+        }
+        return current;
+    }
+
+    private static String body(WebClientResponseException response, int maxBodyBytes) {
+        byte[] bytes = response.getResponseBodyAsByteArray();
+        MediaType contentType = response.getHeaders().getContentType();
+        Charset charset = contentType != null && contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        if (bytes.length <= maxBodyBytes) {
+            return new String(bytes, charset);
+        }
+        return new String(bytes, 0, maxBodyBytes, charset) + "... (" + bytes.length + " bytes)";
     }
 }
@@ -1,13 +1,179 @@
 package com.sagarv.webclient;
 
+import com.sagarv.webclient.codec.Codecs;
+import com.sagarv.webclient.compression.RequestCompressionFilter;
+import com.sagarv.webclient.event.RequestEventExchangeFilter;
+import com.sagarv.webclient.event.RequestPhaseRecorder;
+import com.sagarv.webclient.resilience.DeadlineExchangeFilter;
+import com.sagarv.webclient.resilience.QuotaExchangeFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 @Configuration
 public class WebClientConfig {
+
+    @Bean
+    public ConnectionPoolGauges connectionPoolGauges(ObjectProvider<MeterRegistry> meterRegistry) {
+        ConnectionPoolGauges gauges = new ConnectionPoolGauges();
+        meterRegistry.ifAvailable(gauges::bindTo);
+        return gauges;
+    }
+
+    @Bean
+    public Http2Metrics http2Metrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        Http2Metrics metrics = new Http2Metrics();
+        meterRegistry.ifAvailable(metrics::bindTo);
+        return metrics;
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider connectionProvider(ObjectProvider<HttpClientProperties> properties, ConnectionPoolGauges gauges) {
+        return buildConnectionProvider(properties.getIfAvailable(HttpClientProperties::new), gauges);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public LoopResources loopResources(ObjectProvider<HttpClientProperties> properties) {
+        return buildLoopResources(properties.getIfAvailable(HttpClientProperties::new));
+    }
+
     @Bean
-    public WebClient webClient() {
-        return WebClient.builder().build();
+    public WebClient webClient(ObjectProvider<HttpClientProperties> properties, ConnectionProvider connectionProvider, LoopResources loopResources,
+                               ObjectProvider<Codecs> codecs, ObjectProvider<RequestCompressionFilter> requestCompression,
+                               ObjectProvider<QuotaExchangeFilter> quotas, Http2Metrics http2Metrics) {
+        HttpClientProperties clientProperties = properties.getIfAvailable(HttpClientProperties::new);
+        HttpClient httpClient = http2Metrics.instrument(buildHttpClient(clientProperties, connectionProvider, loopResources));
+        ExchangeFilterFunction[] filters = Stream.concat(quotas.stream(), requestCompression.stream()).toArray(ExchangeFilterFunction[]::new);
+        return buildWebClient(httpClient, clientProperties, codecs.getIfAvailable(), filters);
+    }
+
+    public static ConnectionProvider buildConnectionProvider(HttpClientProperties properties, ConnectionPoolGauges gauges) {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(properties.getPoolName())
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .evictInBackground(properties.getEvictInBackground())
+                .metrics(gauges != null, () -> gauges);
+        if (properties.isLifo()) {
+            builder.lifo();
+        }
+        boolean http2 = properties.getProtocol() != HttpClientProperties.Protocol.HTTP_1_1;
+        if (http2) {
+            builder.allocationStrategy(http2AllocationStrategy(properties, properties.getMaxConnections()));
+        }
+        properties.getHosts().forEach((hostAndPort, pool) -> {
+            int separator = hostAndPort.lastIndexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Host pool key must be host:port but was " + hostAndPort);
+            }
+            InetSocketAddress address = InetSocketAddress.createUnresolved(
+                    hostAndPort.substring(0, separator), Integer.parseInt(hostAndPort.substring(separator + 1)));
+            builder.forRemoteHost(address, spec -> {
+                spec.maxConnections(pool.getMaxConnections()).pendingAcquireMaxCount(pool.getPendingAcquireMaxCount());
+                if (http2) {
+                    spec.allocationStrategy(http2AllocationStrategy(properties, pool.getMaxConnections()));
+                }
+            });
+        });
+        return builder.build();
+    }
+
+    private static Http2AllocationStrategy http2AllocationStrategy(HttpClientProperties properties, int maxConnections) {
+        return Http2AllocationStrategy.builder()
+                .maxConnections(maxConnections)
+                .minConnections(Math.min(properties.getMinConnections(), maxConnections))
+                .maxConcurrentStreams(properties.getMaxConcurrentStreams())
+                .build();
+    }
+
+    public static LoopResources buildLoopResources(HttpClientProperties properties) {
+        return LoopResources.create(properties.getLoopThreadPrefix(), properties.getIoWorkerCount(), true);
+    }
+
+    public static HttpClient buildHttpClient(HttpClientProperties properties, ConnectionProvider connectionProvider, LoopResources loopResources) {
+        long readTimeoutMillis = properties.getReadTimeout().toMillis();
+        long writeTimeoutMillis = properties.getWriteTimeout().toMillis();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .runOn(loopResources, properties.isPreferNative() && LoopResources.hasNativeSupport())
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(properties.getConnectTimeout().toMillis()))
+                .option(ChannelOption.TCP_NODELAY, properties.isTcpNoDelay())
+                .option(ChannelOption.SO_KEEPALIVE, properties.isKeepAlive())
+                .compress(properties.isResponseCompression())
+                .protocol(protocols(properties.getProtocol()))
+                .responseTimeout(properties.getResponseTimeout())
+                // Handlers added on the connection are removed when it goes back to the pool, so idle
+                // pooled connections are governed by maxIdleTime rather than the read timeout.
+                .doOnRequest((request, connection) -> connection
+                        .addHandlerLast("readTimeout", new ReadTimeoutHandler(readTimeoutMillis, TimeUnit.MILLISECONDS))
+                        .addHandlerLast("writeTimeout", new WriteTimeoutHandler(writeTimeoutMillis, TimeUnit.MILLISECONDS)));
+        return properties.isPhaseTimings() ? RequestPhaseRecorder.instrument(httpClient) : httpClient;
+    }
+
+    private static HttpProtocol[] protocols(HttpClientProperties.Protocol protocol) {
+        switch (protocol) {
+            case HTTP_2:
+                // h2 is chosen for https and h2c for http URLs; both fall back to HTTP/1.1.
+                return new HttpProtocol[]{HttpProtocol.HTTP11, HttpProtocol.H2, HttpProtocol.H2C};
+            case H2C_PRIOR_KNOWLEDGE:
+                return new HttpProtocol[]{HttpProtocol.H2C};
+            default:
+                return new HttpProtocol[]{HttpProtocol.HTTP11};
+        }
+    }
+
+    public static WebClient buildWebClient(HttpClientProperties properties, ConnectionProvider connectionProvider, LoopResources loopResources) {
+        return buildWebClient(properties, connectionProvider, loopResources, null);
+    }
+
+    /**
+     * @param codecs the body formats to register, or {@code null} for Spring's default codecs
+     * @param filters extra filters such as a {@link QuotaExchangeFilter} or {@link RequestCompressionFilter}, applied in order
+     */
+    public static WebClient buildWebClient(HttpClientProperties properties, ConnectionProvider connectionProvider, LoopResources loopResources, Codecs codecs,
+                                           ExchangeFilterFunction... filters) {
+        return buildWebClient(buildHttpClient(properties, connectionProvider, loopResources), properties, codecs, filters);
+    }
+
+    /**
+     * Builds the {@code WebClient} around an already configured client, e.g. one instrumented with
+     * {@link Http2Metrics#instrument(HttpClient)}.
+     */
+    public static WebClient buildWebClient(HttpClient httpClient, HttpClientProperties properties, Codecs codecs, ExchangeFilterFunction... filters) {
+        ExchangeStrategies strategies = ExchangeStrategies.builder()
+                .codecs(configurer -> {
+                    if (codecs != null) {
+                        codecs.configure(configurer);
+                    }
+                    configurer.defaultCodecs().maxInMemorySize(properties.getMaxInMemorySize());
+                })
+                .build();
+        WebClient.Builder builder = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .exchangeStrategies(strategies)
+                .filter(new RequestEventExchangeFilter())
+                .filter(new DeadlineExchangeFilter());
+        for (ExchangeFilterFunction filter : filters) {
+            builder.filter(filter);
+        }
+        return builder.build();
     }
-}
\ No newline at end of file
+}
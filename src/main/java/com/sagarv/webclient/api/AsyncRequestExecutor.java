@@ -1,5 +1,6 @@
 package com.sagarv.webclient.api;
 
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import reactor.core.publisher.Mono;
 
@@ -8,4 +9,16 @@ import java.util.Map;
 public interface AsyncRequestExecutor {
     <R> Mono<R> execute(HttpMethod method, String url, Map<String, String> headers, Class<R> responseType);
     <B, R> Mono<R> execute(HttpMethod method, String url, B body, Map<String, String> headers, Class<R> responseType);
+
+    /**
+     * Decodes into any generic type, e.g. {@code Map<String, Foo>}; {@code List} types are decoded element by element.
+     */
+    <R> Mono<R> execute(HttpMethod method, String url, Map<String, String> headers, ParameterizedTypeReference<R> responseType);
+    <B, R> Mono<R> execute(HttpMethod method, String url, B body, Map<String, String> headers, ParameterizedTypeReference<R> responseType);
+
+    /**
+     * Hands the body to {@code parser} without binding it first; such responses are not cached.
+     */
+    <R> Mono<R> execute(HttpMethod method, String url, Map<String, String> headers, ResponseParser<R> parser);
+    <B, R> Mono<R> execute(HttpMethod method, String url, B body, Map<String, String> headers, ResponseParser<R> parser);
 }
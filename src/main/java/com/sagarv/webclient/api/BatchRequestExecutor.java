@@ -0,0 +1,11 @@
+package com.sagarv.webclient.api;
+
+import com.sagarv.webclient.batch.BatchOptions;
+import com.sagarv.webclient.batch.BatchRequest;
+import com.sagarv.webclient.batch.BatchResult;
+import reactor.core.publisher.Flux;
+
+public interface BatchRequestExecutor {
+    <R> Flux<BatchResult<R>> execute(Iterable<BatchRequest<R>> requests, BatchOptions options);
+    <R> Flux<BatchResult<R>> execute(Flux<BatchRequest<R>> requests, BatchOptions options);
+}
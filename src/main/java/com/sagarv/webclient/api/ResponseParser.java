@@ -0,0 +1,15 @@
+package com.sagarv.webclient.api;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Reads a response body straight from a Jackson parser, for hot paths that want to pick out fields
+ * without binding the whole body or building a tree. The parser reads JSON, Smile or CBOR according
+ * to the response {@code Content-Type}; it and the body buffer are released once this returns.
+ */
+@FunctionalInterface
+public interface ResponseParser<R> {
+    R parse(JsonParser parser) throws IOException;
+}
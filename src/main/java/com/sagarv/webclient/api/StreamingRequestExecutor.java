@@ -1,5 +1,6 @@
 package com.sagarv.webclient.api;
 
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import reactor.core.publisher.Flux;
 
@@ -8,4 +9,10 @@ import java.util.Map;
 public interface StreamingRequestExecutor {
     <R> Flux<R> execute(HttpMethod method, String url, Map<String, String> headers, Class<R> responseType);
     <B, R> Flux<R> execute(HttpMethod method, String url, B body, Map<String, String> headers, Class<R> responseType);
+
+    /**
+     * Streams elements of a generic type, e.g. {@code Map<String, Foo>}.
+     */
+    <R> Flux<R> execute(HttpMethod method, String url, Map<String, String> headers, ParameterizedTypeReference<R> elementType);
+    <B, R> Flux<R> execute(HttpMethod method, String url, B body, Map<String, String> headers, ParameterizedTypeReference<R> elementType);
 }
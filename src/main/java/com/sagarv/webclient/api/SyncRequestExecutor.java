@@ -1,5 +1,6 @@
 package com.sagarv.webclient.api;
 
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 
 import java.util.Map;
@@ -7,4 +8,10 @@ import java.util.Map;
 public interface SyncRequestExecutor {
     <R> R execute(HttpMethod method, String url, Map<String, String> headers, Class<R> responseType);
     <B, R> R execute(HttpMethod method, String url, B body, Map<String, String> headers, Class<R> responseType);
-}
\ No newline at end of file
+
+    /**
+     * Decodes into any generic type, e.g. {@code Map<String, Foo>}; {@code List} types are decoded element by element.
+     */
+    <R> R execute(HttpMethod method, String url, Map<String, String> headers, ParameterizedTypeReference<R> responseType);
+    <B, R> R execute(HttpMethod method, String url, B body, Map<String, String> headers, ParameterizedTypeReference<R> responseType);
+}
@@ -0,0 +1,18 @@
+package com.sagarv.webclient.api;
+
+/**
+ * Progress of a {@link TransferRequestExecutor} download or upload. Called on the I/O thread after
+ * every chunk, so implementations must be cheap.
+ */
+@FunctionalInterface
+public interface TransferListener {
+
+    TransferListener NONE = (transferred, total) -> {
+    };
+
+    /**
+     * @param transferred bytes transferred so far, including bytes skipped by a resumed download
+     * @param total       the expected total, or -1 when unknown
+     */
+    void onProgress(long transferred, long total);
+}
@@ -0,0 +1,15 @@
+package com.sagarv.webclient.api;
+
+import org.springframework.http.HttpMethod;
+import reactor.core.publisher.Mono;
+
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Map;
+
+public interface TransferRequestExecutor {
+    Mono<Long> download(String url, Map<String, String> headers, Path target, TransferListener listener);
+    Mono<Long> download(String url, Map<String, String> headers, WritableByteChannel target, TransferListener listener);
+    Mono<Long> resumeDownload(String url, Map<String, String> headers, Path target, TransferListener listener);
+    <R> Mono<R> upload(HttpMethod method, String url, Map<String, String> headers, Path source, Class<R> responseType, TransferListener listener);
+}
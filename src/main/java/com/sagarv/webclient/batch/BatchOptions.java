@@ -0,0 +1,65 @@
+package com.sagarv.webclient.batch;
+
+import java.time.Duration;
+
+/**
+ * How a batch is run: at most {@code maxConcurrencyPerHost} calls in flight to each upstream (as keyed
+ * by the {@link com.sagarv.webclient.resilience.ResilienceRegistry}), results in request order or in
+ * completion order, and an optional deadline for the whole batch.
+ */
+public class BatchOptions {
+
+    private int maxConcurrencyPerHost = 8;
+    private boolean ordered = true;
+    private Duration deadline;
+
+    public static BatchOptions defaults() {
+        return new BatchOptions();
+    }
+
+    public BatchOptions maxConcurrencyPerHost(int maxConcurrencyPerHost) {
+        if (maxConcurrencyPerHost < 1) {
+            throw new IllegalArgumentException("maxConcurrencyPerHost must be at least 1 but was " + maxConcurrencyPerHost);
+        }
+        this.maxConcurrencyPerHost = maxConcurrencyPerHost;
+        return this;
+    }
+
+    /**
+     * Emit results in request order (the default). Results that complete early are held back until
+     * every earlier request has finished.
+     */
+    public BatchOptions ordered() {
+        this.ordered = true;
+        return this;
+    }
+
+    /**
+     * Emit each result as soon as its request finishes.
+     */
+    public BatchOptions unordered() {
+        this.ordered = false;
+        return this;
+    }
+
+    /**
+     * Requests still running when the deadline passes are cancelled, and requests not yet started fail
+     * immediately; both are reported as {@link java.util.concurrent.TimeoutException} results.
+     */
+    public BatchOptions deadline(Duration deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    public int getMaxConcurrencyPerHost() {
+        return maxConcurrencyPerHost;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    public Duration getDeadline() {
+        return deadline;
+    }
+}
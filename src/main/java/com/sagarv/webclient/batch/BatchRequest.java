@@ -0,0 +1,86 @@
+package com.sagarv.webclient.batch;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One call of a batch. The optional {@code tag} travels with the result, e.g. the id being enriched.
+ */
+public class BatchRequest<R> {
+
+    private final HttpMethod method;
+    private final String url;
+    private final Class<R> responseType;
+    private Map<String, String> headers = Collections.emptyMap();
+    private Object body;
+    private Object tag;
+
+    private BatchRequest(HttpMethod method, String url, Class<R> responseType) {
+        this.method = method;
+        this.url = url;
+        this.responseType = responseType;
+    }
+
+    public static <R> BatchRequest<R> of(HttpMethod method, String url, Class<R> responseType) {
+        return new BatchRequest<>(method, url, responseType);
+    }
+
+    public static <R> BatchRequest<R> get(String url, Class<R> responseType) {
+        return new BatchRequest<>(HttpMethod.GET, url, responseType);
+    }
+
+    public BatchRequest<R> header(String name, String value) {
+        if (headers.isEmpty()) {
+            headers = new LinkedHashMap<>();
+        }
+        headers.put(name, value);
+        return this;
+    }
+
+    public BatchRequest<R> headers(Map<String, String> headers) {
+        headers.forEach(this::header);
+        return this;
+    }
+
+    public BatchRequest<R> body(Object body) {
+        this.body = body;
+        return this;
+    }
+
+    public BatchRequest<R> tag(Object tag) {
+        this.tag = tag;
+        return this;
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public Class<R> getResponseType() {
+        return responseType;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public Object getBody() {
+        return body;
+    }
+
+    public Object getTag() {
+        return tag;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + url;
+    }
+}
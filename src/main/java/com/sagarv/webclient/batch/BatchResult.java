@@ -0,0 +1,53 @@
+package com.sagarv.webclient.batch;
+
+/**
+ * The outcome of one {@link BatchRequest}: either its response (which may be {@code null} for an empty
+ * body) or the error it failed with. {@link #getIndex()} is the request's position in the batch.
+ */
+public class BatchResult<R> {
+
+    private final long index;
+    private final BatchRequest<R> request;
+    private final R value;
+    private final Throwable error;
+
+    private BatchResult(long index, BatchRequest<R> request, R value, Throwable error) {
+        this.index = index;
+        this.request = request;
+        this.value = value;
+        this.error = error;
+    }
+
+    public static <R> BatchResult<R> success(long index, BatchRequest<R> request, R value) {
+        return new BatchResult<>(index, request, value, null);
+    }
+
+    public static <R> BatchResult<R> failure(long index, BatchRequest<R> request, Throwable error) {
+        return new BatchResult<>(index, request, null, error);
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public BatchRequest<R> getRequest() {
+        return request;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    public R getValue() {
+        return value;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{index=" + index + ", request=" + request + (error == null ? ", value=" + value : ", error=" + error) + "}";
+    }
+}
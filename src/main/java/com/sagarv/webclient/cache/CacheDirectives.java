@@ -0,0 +1,86 @@
+package com.sagarv.webclient.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+
+/**
+ * The parts of a response's {@code Cache-Control} (or {@code Expires}) header that a private client
+ * cache acts on.
+ */
+final class CacheDirectives {
+
+    final boolean noStore;
+    final boolean noCache;
+    final Duration maxAge;
+    final Duration staleWhileRevalidate;
+
+    private CacheDirectives(boolean noStore, boolean noCache, Duration maxAge, Duration staleWhileRevalidate) {
+        this.noStore = noStore;
+        this.noCache = noCache;
+        this.maxAge = maxAge;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    static CacheDirectives parse(HttpHeaders headers) {
+        boolean noStore = false;
+        boolean noCache = false;
+        boolean mustRevalidate = false;
+        Duration maxAge = null;
+        Duration staleWhileRevalidate = Duration.ZERO;
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null) {
+            for (String directive : cacheControl.split(",")) {
+                String name = directive.trim();
+                String value = null;
+                int equals = name.indexOf('=');
+                if (equals > 0) {
+                    value = name.substring(equals + 1).trim();
+                    name = name.substring(0, equals).trim();
+                }
+                switch (name.toLowerCase()) {
+                    case "no-store":
+                        noStore = true;
+                        break;
+                    case "no-cache":
+                        noCache = true;
+                        break;
+                    case "must-revalidate":
+                        mustRevalidate = true;
+                        break;
+                    case "max-age":
+                        maxAge = seconds(value);
+                        break;
+                    case "stale-while-revalidate":
+                        Duration stale = seconds(value);
+                        staleWhileRevalidate = stale == null ? Duration.ZERO : stale;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        if (maxAge == null) {
+            long expires = headers.getExpires();
+            long date = headers.getDate();
+            if (expires > 0) {
+                maxAge = Duration.ofMillis(Math.max(0, expires - (date > 0 ? date : System.currentTimeMillis())));
+            }
+        }
+        if (noCache || maxAge == null) {
+            maxAge = Duration.ZERO;
+        }
+        return new CacheDirectives(noStore, noCache, maxAge, noCache || mustRevalidate ? Duration.ZERO : staleWhileRevalidate);
+    }
+
+    private static Duration seconds(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.replace("\"", ""))));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
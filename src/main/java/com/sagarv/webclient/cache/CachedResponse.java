@@ -0,0 +1,76 @@
+package com.sagarv.webclient.cache;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One decoded response body together with its validators, the request header values it varies on
+ * and the points in time after which it is stale and unusable.
+ */
+final class CachedResponse {
+
+    final Object value;
+    final String etag;
+    final long lastModified;
+    final String[] varyNames;
+    final String[] varyValues;
+    final long freshUntilNanos;
+    final long staleUntilNanos;
+    final long weight;
+    private final AtomicBoolean revalidating = new AtomicBoolean();
+
+    CachedResponse(Object value, String etag, long lastModified, String[] varyNames, String[] varyValues,
+                   CacheDirectives directives, long weight) {
+        this.value = value;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.varyNames = varyNames;
+        this.varyValues = varyValues;
+        long now = System.nanoTime();
+        this.freshUntilNanos = now + directives.maxAge.toNanos();
+        this.staleUntilNanos = freshUntilNanos + directives.staleWhileRevalidate.toNanos();
+        this.weight = weight;
+    }
+
+    CachedResponse refresh(String etag, CacheDirectives directives) {
+        return new CachedResponse(value, etag != null ? etag : this.etag, lastModified, varyNames, varyValues, directives, weight);
+    }
+
+    boolean hasValidator() {
+        return etag != null || lastModified > 0;
+    }
+
+    boolean matchesVary(Map<String, String> requestHeaders) {
+        for (int i = 0; i < varyNames.length; i++) {
+            String current = headerValue(requestHeaders, varyNames[i]);
+            if (current == null ? varyValues[i] != null : !current.equals(varyValues[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean startRevalidation() {
+        return revalidating.compareAndSet(false, true);
+    }
+
+    void endRevalidation() {
+        revalidating.set(false);
+    }
+
+    static String headerValue(Map<String, String> headers, String name) {
+        if (headers == null) {
+            return null;
+        }
+        String value = headers.get(name);
+        if (value != null) {
+            return value;
+        }
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name)) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+}
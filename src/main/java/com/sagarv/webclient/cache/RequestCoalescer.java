@@ -0,0 +1,163 @@
+package com.sagarv.webclient.cache;
+
+import com.sagarv.webclient.event.RequestObservation;
+import com.sagarv.webclient.resilience.Deadline;
+import com.sagarv.webclient.resilience.DeadlineExceededException;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight deduplication: concurrent identical GET/HEAD requests share one upstream exchange and
+ * all receive its result. Requests are identical when method, URL, response type and the key headers
+ * match; by default every request header is part of the key so callers with different credentials
+ * never share a response. The flight is removed with {@code remove(key, flight)} as soon as it
+ * terminates or is cancelled, so later callers start a new request rather than seeing a stale result.
+ * <p>
+ * The shared exchange runs without the first caller's {@link Deadline}, event or span, so it neither
+ * expires with that caller nor reports to it alone. Each caller waits for it no longer than its own
+ * deadline allows, and the exchange is not cancelled when one caller gives up; it runs until it
+ * completes, its own timeout fires or every caller has cancelled.
+ */
+public class RequestCoalescer {
+
+    private final String[] keyHeaders;
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+
+    private RequestCoalescer(Builder builder) {
+        this.keyHeaders = builder.keyHeaders;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean isCoalescable(HttpMethod method) {
+        return method == HttpMethod.GET || method == HttpMethod.HEAD;
+    }
+
+    public <R> Mono<R> execute(HttpMethod method, String url, Map<String, String> headers, Object responseType,
+                               Supplier<Mono<R>> request) {
+        if (!isCoalescable(method)) {
+            return request.get();
+        }
+        return Mono.deferContextual(context -> {
+            String key = key(method, url, headers, responseType);
+            Flight existing = flights.get(key);
+            if (existing == null) {
+                Flight flight = new Flight();
+                flight.result = RequestCoalescer.<Object>cast(request.get())
+                        .contextWrite(shared -> RequestObservation.detach(Deadline.clear(shared)))
+                        .doFinally(signal -> flights.remove(key, flight))
+                        .share();
+                existing = flights.putIfAbsent(key, flight);
+                if (existing == null) {
+                    leaders.increment();
+                    return within(cast(flight.result), Deadline.current(context));
+                }
+            }
+            followers.increment();
+            return within(cast(existing.result), Deadline.current(context));
+        });
+    }
+
+    private static <R> Mono<R> within(Mono<R> flight, Deadline deadline) {
+        if (deadline == null) {
+            return flight;
+        }
+        long remaining = deadline.remainingNanos();
+        if (remaining <= 0) {
+            return Mono.error(DeadlineExceededException::new);
+        }
+        return flight.timeout(Duration.ofNanos(remaining), Mono.error(DeadlineExceededException::new));
+    }
+
+    String key(HttpMethod method, String url, Map<String, String> headers, Object responseType) {
+        StringBuilder key = new StringBuilder(url.length() + 64)
+                .append(method.name()).append(' ').append(url).append(' ').append(typeName(responseType));
+        if (headers == null || headers.isEmpty()) {
+            return key.toString();
+        }
+        if (keyHeaders == null) {
+            Map<String, String> sorted = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            sorted.putAll(headers);
+            sorted.forEach((name, value) -> key.append('\n').append(name.toLowerCase()).append(':').append(value));
+        } else {
+            for (String name : keyHeaders) {
+                String value = CachedResponse.headerValue(headers, name);
+                if (value != null) {
+                    key.append('\n').append(name).append(':').append(value);
+                }
+            }
+        }
+        return key.toString();
+    }
+
+    private static String typeName(Object responseType) {
+        if (responseType instanceof Class) {
+            return ((Class<?>) responseType).getName();
+        }
+        if (responseType instanceof ParameterizedTypeReference) {
+            return ((ParameterizedTypeReference<?>) responseType).getType().getTypeName();
+        }
+        return String.valueOf(responseType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> Mono<R> cast(Mono<?> result) {
+        return (Mono<R>) result;
+    }
+
+    public int getInFlightCount() {
+        return flights.size();
+    }
+
+    /**
+     * Requests that started an upstream exchange.
+     */
+    public long getLeaderCount() {
+        return leaders.sum();
+    }
+
+    /**
+     * Requests that joined an exchange already in flight instead of sending their own.
+     */
+    public long getCoalescedCount() {
+        return followers.sum();
+    }
+
+    private static final class Flight {
+        private Mono<Object> result;
+    }
+
+    public static class Builder {
+        private String[] keyHeaders;
+
+        private Builder() {
+        }
+
+        /**
+         * Restricts the request headers that distinguish otherwise identical requests to {@code names}
+         * (compared case-insensitively). Only use this when the remaining headers cannot change the
+         * response, e.g. tracing headers.
+         */
+        public Builder keyHeaders(String... names) {
+            this.keyHeaders = Arrays.stream(names).map(String::toLowerCase).sorted().toArray(String[]::new);
+            return this;
+        }
+
+        public RequestCoalescer build() {
+            return new RequestCoalescer(this);
+        }
+    }
+}
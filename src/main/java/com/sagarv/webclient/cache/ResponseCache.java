@@ -0,0 +1,343 @@
+package com.sagarv.webclient.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A bounded in-memory cache of decoded GET responses that follows HTTP caching semantics: entries are
+ * fresh for {@code max-age}, may be served while a background revalidation runs for
+ * {@code stale-while-revalidate}, and are revalidated with {@code If-None-Match} /
+ * {@code If-Modified-Since} so a {@code 304} reuses the decoded body. Entries are keyed by method, URL,
+ * response type and a digest of the {@code Authorization} header, so callers with different
+ * credentials never share a response, and remember the request headers named in {@code Vary}; the
+ * least recently used entries are evicted once the entry count or total weight (the {@code Content-Length}) is exceeded.
+ * <p>
+ * Lookups take no lock. Writes for one URL are serialized through an index from URL to its keys, so
+ * {@link #invalidate(String)} touches only that URL's entries; eviction picks victims by last access
+ * time under its own lock, which makes the LRU order approximate under concurrent reads.
+ * <p>
+ * Cached values are shared between callers and must not be mutated.
+ */
+public class ResponseCache implements MeterBinder {
+
+    private final int maximumEntries;
+    private final long maximumWeight;
+    private final long defaultWeight;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> keysByUrl = new ConcurrentHashMap<>();
+    private final AtomicLong totalWeight = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private ResponseCache(Builder builder) {
+        this.maximumEntries = builder.maximumEntries;
+        this.maximumWeight = builder.maximumWeight;
+        this.defaultWeight = builder.defaultWeight;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean isCacheable(HttpMethod method) {
+        return method == HttpMethod.GET;
+    }
+
+    /**
+     * Serves the response from the cache when possible; otherwise calls {@code exchange} with the
+     * conditional request headers to add and stores the result.
+     */
+    public <R> Mono<R> execute(HttpMethod method, String url, Map<String, String> requestHeaders, Object responseType,
+                               Function<HttpHeaders, Mono<ResponseEntity<R>>> exchange) {
+        return Mono.defer(() -> {
+            String key = key(method, url, responseType, CachedResponse.headerValue(requestHeaders, HttpHeaders.AUTHORIZATION));
+            CachedResponse entry = get(key);
+            if (entry != null && !entry.matchesVary(requestHeaders)) {
+                entry = null;
+            }
+            if (entry != null) {
+                long now = System.nanoTime();
+                if (now - entry.freshUntilNanos < 0) {
+                    hits.increment();
+                    return Mono.just(cast(entry.value));
+                }
+                if (now - entry.staleUntilNanos < 0) {
+                    staleHits.increment();
+                    if (entry.startRevalidation()) {
+                        CachedResponse stale = entry;
+                        fetch(key, url, stale, requestHeaders, exchange)
+                                .doFinally(signal -> stale.endRevalidation())
+                                .subscribe(value -> { }, error -> { });
+                    }
+                    return Mono.just(cast(entry.value));
+                }
+            }
+            misses.increment();
+            return fetch(key, url, entry, requestHeaders, exchange);
+        });
+    }
+
+    private <R> Mono<R> fetch(String key, String url, CachedResponse entry, Map<String, String> requestHeaders,
+                              Function<HttpHeaders, Mono<ResponseEntity<R>>> exchange) {
+        HttpHeaders conditional = new HttpHeaders();
+        if (entry != null && entry.etag != null) {
+            conditional.setIfNoneMatch(entry.etag);
+        } else if (entry != null && entry.lastModified > 0) {
+            conditional.setIfModifiedSince(entry.lastModified);
+        }
+        return exchange.apply(conditional).flatMap(response -> {
+            HttpHeaders headers = response.getHeaders();
+            if (response.getStatusCode().value() == 304 && entry != null) {
+                revalidations.increment();
+                put(key, url, entry.refresh(headers.getETag(), CacheDirectives.parse(headers)));
+                return Mono.just(cast(entry.value));
+            }
+            R body = response.getBody();
+            store(key, url, body, headers, requestHeaders);
+            return Mono.justOrEmpty(body);
+        });
+    }
+
+    private void store(String key, String url, Object body, HttpHeaders headers, Map<String, String> requestHeaders) {
+        CacheDirectives directives = CacheDirectives.parse(headers);
+        List<String> vary = headers.getVary();
+        if (body == null || directives.noStore || vary.contains("*")) {
+            remove(key, url);
+            return;
+        }
+        String etag = headers.getETag();
+        long lastModified = headers.getLastModified();
+        if (directives.maxAge.isZero() && etag == null && lastModified <= 0) {
+            remove(key, url);
+            return;
+        }
+        long contentLength = headers.getContentLength();
+        long weight = contentLength > 0 ? contentLength : defaultWeight;
+        if (weight > maximumWeight) {
+            remove(key, url);
+            return;
+        }
+        String[] varyNames = vary.toArray(new String[0]);
+        String[] varyValues = new String[varyNames.length];
+        for (int i = 0; i < varyNames.length; i++) {
+            varyValues[i] = CachedResponse.headerValue(requestHeaders, varyNames[i]);
+        }
+        put(key, url, new CachedResponse(body, etag, lastModified, varyNames, varyValues, directives, weight));
+    }
+
+    /**
+     * Drops every cached representation of {@code url}, e.g. after a successful unsafe request to it.
+     */
+    public void invalidate(String url) {
+        keysByUrl.computeIfPresent(url, (u, keys) -> {
+            for (String key : keys) {
+                Entry removed = entries.remove(key);
+                if (removed != null) {
+                    totalWeight.addAndGet(-removed.response.weight);
+                }
+            }
+            return null;
+        });
+    }
+
+    public void invalidateAll() {
+        for (String url : keysByUrl.keySet()) {
+            invalidate(url);
+        }
+    }
+
+    private CachedResponse get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        entry.lastAccessNanos = System.nanoTime();
+        return entry.response;
+    }
+
+    private void put(String key, String url, CachedResponse response) {
+        keysByUrl.compute(url, (u, keys) -> {
+            Set<String> indexed = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            indexed.add(key);
+            Entry previous = entries.put(key, new Entry(url, response));
+            totalWeight.addAndGet(response.weight - (previous == null ? 0 : previous.response.weight));
+            return indexed;
+        });
+        if (entries.size() > maximumEntries || totalWeight.get() > maximumWeight) {
+            evict();
+        }
+    }
+
+    private void remove(String key, String url) {
+        keysByUrl.computeIfPresent(url, (u, keys) -> {
+            Entry removed = entries.remove(key);
+            if (removed != null) {
+                totalWeight.addAndGet(-removed.response.weight);
+            }
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    /**
+     * Removes the least recently read entries until both bounds hold again. A writer that finds
+     * another one evicting leaves the work to it.
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            List<Map.Entry<String, Entry>> candidates = new ArrayList<>(entries.entrySet());
+            candidates.sort(Comparator.comparingLong(candidate -> candidate.getValue().lastAccessNanos));
+            for (Map.Entry<String, Entry> candidate : candidates) {
+                if (entries.size() <= maximumEntries && totalWeight.get() <= maximumWeight) {
+                    break;
+                }
+                String key = candidate.getKey();
+                Entry victim = candidate.getValue();
+                keysByUrl.computeIfPresent(victim.url, (u, keys) -> {
+                    if (entries.remove(key, victim)) {
+                        totalWeight.addAndGet(-victim.response.weight);
+                        evictions.increment();
+                        keys.remove(key);
+                    }
+                    return keys.isEmpty() ? null : keys;
+                });
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static String key(HttpMethod method, String url, Object responseType, String credential) {
+        String type;
+        if (responseType instanceof Class) {
+            type = ((Class<?>) responseType).getName();
+        } else if (responseType instanceof ParameterizedTypeReference) {
+            type = ((ParameterizedTypeReference<?>) responseType).getType().getTypeName();
+        } else {
+            type = String.valueOf(responseType);
+        }
+        String key = method.name() + " " + url + " " + type;
+        return credential == null ? key : key + " " + digest(credential);
+    }
+
+    private static String digest(String credential) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(credential.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> R cast(Object value) {
+        return (R) value;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long weight() {
+        return totalWeight.get();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getStaleHitCount() {
+        return staleHits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getRevalidationCount() {
+        return revalidations.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("http.client.cache.requests", this, ResponseCache::getHitCount).tag("result", "hit").register(registry);
+        FunctionCounter.builder("http.client.cache.requests", this, ResponseCache::getStaleHitCount).tag("result", "stale").register(registry);
+        FunctionCounter.builder("http.client.cache.requests", this, ResponseCache::getMissCount).tag("result", "miss").register(registry);
+        FunctionCounter.builder("http.client.cache.revalidations", this, ResponseCache::getRevalidationCount).register(registry);
+        FunctionCounter.builder("http.client.cache.evictions", this, ResponseCache::getEvictionCount).register(registry);
+        Gauge.builder("http.client.cache.size", this, ResponseCache::size).register(registry);
+        Gauge.builder("http.client.cache.weight", this, ResponseCache::weight).baseUnit("bytes").register(registry);
+    }
+
+    private static final class Entry {
+        private final String url;
+        private final CachedResponse response;
+        private volatile long lastAccessNanos = System.nanoTime();
+
+        Entry(String url, CachedResponse response) {
+            this.url = url;
+            this.response = response;
+        }
+    }
+
+    public static class Builder {
+        private int maximumEntries = 1_000;
+        private long maximumWeight = 64L * 1024 * 1024;
+        private long defaultWeight = 1024;
+
+        private Builder() {
+        }
+
+        public Builder maximumEntries(int maximumEntries) {
+            this.maximumEntries = maximumEntries;
+            return this;
+        }
+
+        /**
+         * Caps the summed {@code Content-Length} of cached responses; responses without one count as
+         * {@code defaultWeight} bytes.
+         */
+        public Builder maximumWeight(long maximumWeight, long defaultWeight) {
+            this.maximumWeight = maximumWeight;
+            this.defaultWeight = defaultWeight;
+            return this;
+        }
+
+        public ResponseCache build() {
+            return new ResponseCache(this);
+        }
+    }
+}
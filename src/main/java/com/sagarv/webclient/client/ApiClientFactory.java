@@ -0,0 +1,158 @@
+package com.sagarv.webclient.client;
+
+import com.sagarv.webclient.ErrorMapper;
+import com.sagarv.webclient.RequestTemplate;
+import com.sagarv.webclient.event.RequestEventListener;
+import com.sagarv.webclient.resilience.HedgePolicy;
+import com.sagarv.webclient.resilience.RetryPolicy;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Implements interfaces whose methods are annotated with {@link Get}, {@link Post}, {@link Put},
+ * {@link Patch} or {@link Delete}. Every method is parsed once, in {@link #create(Class)}, into an
+ * endpoint plan around a {@link RequestTemplate}; a call only places its arguments into the plan's
+ * slots, so it neither reflects nor builds URL strings or header maps beyond what the request needs.
+ * <p>
+ * Methods may return {@code Mono<T>}, {@code Flux<T>} or, to block the caller, {@code T} itself.
+ * Parameters are bound with {@link Path}, {@link Query}, {@link Header} and {@link Body}.
+ * Default methods run as written.
+ */
+public class ApiClientFactory {
+
+    private final WebClient webClient;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final Duration deadline;
+    private final RetryPolicy retryPolicy;
+    private final HedgePolicy hedgePolicy;
+    private final ErrorMapper errorMapper;
+    private final RequestEventListener eventListener;
+
+    private ApiClientFactory(Builder builder) {
+        this.webClient = builder.webClient;
+        this.baseUrl = builder.baseUrl;
+        this.timeout = builder.timeout;
+        this.deadline = builder.deadline;
+        this.retryPolicy = builder.retryPolicy;
+        this.hedgePolicy = builder.hedgePolicy;
+        this.errorMapper = builder.errorMapper;
+        this.eventListener = builder.eventListener;
+    }
+
+    public static Builder builder(WebClient webClient) {
+        return new Builder(webClient);
+    }
+
+    /**
+     * Builds a client for {@code api}; fails fast if a method or parameter cannot be mapped to a request.
+     */
+    public <T> T create(Class<T> api) {
+        if (!api.isInterface()) {
+            throw new IllegalArgumentException(api.getName() + " is not an interface");
+        }
+        Map<Method, EndpointMethod> endpoints = new HashMap<>();
+        for (Method method : api.getMethods()) {
+            if (!method.isDefault() && !Modifier.isStatic(method.getModifiers())) {
+                endpoints.put(method, EndpointMethod.parse(api, method, this));
+            }
+        }
+        InvocationHandler handler = (proxy, method, args) -> {
+            EndpointMethod endpoint = endpoints.get(method);
+            if (endpoint != null) {
+                return endpoint.invoke(args);
+            }
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return api.getSimpleName() + " client for " + (baseUrl != null ? baseUrl : "relative URLs");
+                default:
+                    throw new UnsupportedOperationException(method.toString());
+            }
+        };
+        return api.cast(Proxy.newProxyInstance(api.getClassLoader(), new Class<?>[]{api}, handler));
+    }
+
+    RequestTemplate.Builder template(HttpMethod method, String uriTemplate) {
+        RequestTemplate.Builder template = RequestTemplate.builder(webClient, method, uriTemplate)
+                .baseUrl(baseUrl)
+                .timeout(timeout)
+                .deadline(deadline)
+                .retryPolicy(retryPolicy)
+                .hedgePolicy(hedgePolicy)
+                .eventListener(eventListener);
+        return errorMapper != null ? template.errorMapper(errorMapper) : template;
+    }
+
+    public static class Builder {
+        private final WebClient webClient;
+        private String baseUrl;
+        private Duration timeout = Duration.ofSeconds(10);
+        private Duration deadline;
+        private RetryPolicy retryPolicy;
+        private HedgePolicy hedgePolicy;
+        private ErrorMapper errorMapper;
+        private RequestEventListener eventListener = RequestEventListener.NOOP;
+
+        private Builder(WebClient webClient) {
+            this.webClient = webClient;
+        }
+
+        /**
+         * Prefixed to every endpoint's URI template. Without it the templates are resolved against the
+         * {@code WebClient}'s base URL, whose URI builder encodes the path and query values.
+         */
+        public Builder baseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+            return this;
+        }
+
+        public Builder timeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        public Builder deadline(Duration deadline) {
+            this.deadline = deadline;
+            return this;
+        }
+
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        public Builder hedgePolicy(HedgePolicy hedgePolicy) {
+            this.hedgePolicy = hedgePolicy;
+            return this;
+        }
+
+        public Builder errorMapper(ErrorMapper errorMapper) {
+            this.errorMapper = errorMapper;
+            return this;
+        }
+
+        public Builder eventListener(RequestEventListener eventListener) {
+            this.eventListener = eventListener;
+            return this;
+        }
+
+        public ApiClientFactory build() {
+            return new ApiClientFactory(this);
+        }
+    }
+}
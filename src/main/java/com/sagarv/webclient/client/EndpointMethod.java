@@ -0,0 +1,224 @@
+package com.sagarv.webclient.client;
+
+import com.sagarv.webclient.RequestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The request plan of one interface method: its {@link RequestTemplate} and, per parameter, where
+ * the argument goes.
+ */
+final class EndpointMethod {
+
+    private static final int PATH = 0;
+    private static final int QUERY = 1;
+    private static final int HEADER = 2;
+    private static final int BODY = 3;
+
+    private static final int MONO = 0;
+    private static final int FLUX = 1;
+    private static final int BLOCKING = 2;
+
+    private final RequestTemplate template;
+    private final int[] kinds;
+    private final String[] names;
+    // For PATH parameters, the position of their variable in the template.
+    private final int[] slots;
+    private final int pathVariableCount;
+    private final int returnKind;
+    private final Class<?> responseClass;
+    private final ParameterizedTypeReference<?> responseType;
+
+    private EndpointMethod(RequestTemplate template, int[] kinds, String[] names, int[] slots, int returnKind, Type responseType) {
+        this.template = template;
+        this.kinds = kinds;
+        this.names = names;
+        this.slots = slots;
+        this.pathVariableCount = template.getVariableNames().size();
+        this.returnKind = returnKind;
+        this.responseClass = responseType instanceof Class ? (Class<?>) responseType : null;
+        this.responseType = responseClass == null ? ParameterizedTypeReference.forType(responseType) : null;
+    }
+
+    static EndpointMethod parse(Class<?> api, Method method, ApiClientFactory factory) {
+        String description = api.getSimpleName() + "." + method.getName();
+        HttpMethod httpMethod = null;
+        String uriTemplate = null;
+        for (Annotation annotation : method.getAnnotations()) {
+            HttpMethod candidate = null;
+            String path = null;
+            if (annotation instanceof Get) {
+                candidate = HttpMethod.GET;
+                path = ((Get) annotation).value();
+            } else if (annotation instanceof Post) {
+                candidate = HttpMethod.POST;
+                path = ((Post) annotation).value();
+            } else if (annotation instanceof Put) {
+                candidate = HttpMethod.PUT;
+                path = ((Put) annotation).value();
+            } else if (annotation instanceof Patch) {
+                candidate = HttpMethod.PATCH;
+                path = ((Patch) annotation).value();
+            } else if (annotation instanceof Delete) {
+                candidate = HttpMethod.DELETE;
+                path = ((Delete) annotation).value();
+            }
+            if (candidate != null) {
+                if (httpMethod != null) {
+                    throw new IllegalArgumentException(description + " has more than one HTTP method annotation");
+                }
+                httpMethod = candidate;
+                uriTemplate = path;
+            }
+        }
+        if (httpMethod == null) {
+            throw new IllegalArgumentException(description + " has no @Get, @Post, @Put, @Patch or @Delete annotation");
+        }
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        addHeaders(headers, api.getAnnotation(Headers.class), description);
+        addHeaders(headers, method.getAnnotation(Headers.class), description);
+        RequestTemplate template = factory.template(httpMethod, uriTemplate).headers(headers).build();
+
+        List<String> variables = template.getVariableNames();
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        int[] kinds = new int[parameterAnnotations.length];
+        String[] names = new String[parameterAnnotations.length];
+        int[] slots = new int[parameterAnnotations.length];
+        boolean[] bound = new boolean[variables.size()];
+        boolean hasBody = false;
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            kinds[i] = -1;
+            for (Annotation annotation : parameterAnnotations[i]) {
+                if (annotation instanceof Path) {
+                    kinds[i] = PATH;
+                    names[i] = ((Path) annotation).value();
+                    slots[i] = variables.indexOf(names[i]);
+                    if (slots[i] < 0) {
+                        throw new IllegalArgumentException(description + " binds @Path(\"" + names[i] + "\") but " + uriTemplate + " has no such variable");
+                    }
+                    if (bound[slots[i]]) {
+                        throw new IllegalArgumentException(description + " binds {" + names[i] + "} twice");
+                    }
+                    bound[slots[i]] = true;
+                } else if (annotation instanceof Query) {
+                    kinds[i] = QUERY;
+                    names[i] = ((Query) annotation).value();
+                } else if (annotation instanceof Header) {
+                    kinds[i] = HEADER;
+                    names[i] = ((Header) annotation).value();
+                } else if (annotation instanceof Body) {
+                    if (hasBody) {
+                        throw new IllegalArgumentException(description + " has more than one @Body parameter");
+                    }
+                    kinds[i] = BODY;
+                    hasBody = true;
+                }
+            }
+            if (kinds[i] < 0) {
+                throw new IllegalArgumentException(description + " parameter " + i + " has no @Path, @Query, @Header or @Body annotation");
+            }
+        }
+        for (int i = 0; i < bound.length; i++) {
+            if (!bound[i]) {
+                throw new IllegalArgumentException(description + " does not bind {" + variables.get(i) + "} of " + uriTemplate);
+            }
+        }
+
+        Class<?> returnType = method.getReturnType();
+        Type genericReturnType = method.getGenericReturnType();
+        if (returnType == Mono.class || returnType == Flux.class) {
+            if (!(genericReturnType instanceof ParameterizedType)) {
+                throw new IllegalArgumentException(description + " must declare the element type of its " + returnType.getSimpleName());
+            }
+            Type element = ((ParameterizedType) genericReturnType).getActualTypeArguments()[0];
+            return new EndpointMethod(template, kinds, names, slots, returnType == Mono.class ? MONO : FLUX, element);
+        }
+        if (returnType == void.class) {
+            return new EndpointMethod(template, kinds, names, slots, BLOCKING, Void.class);
+        }
+        if (returnType.isPrimitive()) {
+            throw new IllegalArgumentException(description + " must return a reference type, not " + returnType);
+        }
+        return new EndpointMethod(template, kinds, names, slots, BLOCKING, genericReturnType);
+    }
+
+    private static void addHeaders(Map<String, String> headers, Headers annotation, String description) {
+        if (annotation == null) {
+            return;
+        }
+        for (String header : annotation.value()) {
+            int separator = header.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException(description + " header must be \"Name: value\" but was " + header);
+            }
+            headers.put(header.substring(0, separator).trim(), header.substring(separator + 1).trim());
+        }
+    }
+
+    Object invoke(Object[] args) {
+        RequestTemplate.Call call = template.newCall();
+        Object[] pathVariables = pathVariableCount == 0 ? null : new Object[pathVariableCount];
+        for (int i = 0; i < kinds.length; i++) {
+            Object arg = args[i];
+            switch (kinds[i]) {
+                case PATH:
+                    if (arg == null) {
+                        throw new IllegalArgumentException("Path variable {" + names[i] + "} of " + template.getUriTemplate() + " is null");
+                    }
+                    pathVariables[slots[i]] = arg;
+                    break;
+                case QUERY:
+                    addQuery(call, names[i], arg);
+                    break;
+                case HEADER:
+                    if (arg != null) {
+                        call.header(names[i], String.valueOf(arg));
+                    }
+                    break;
+                default:
+                    call.body(arg);
+            }
+        }
+        if (pathVariables != null) {
+            call.pathVariables(pathVariables);
+        }
+        switch (returnKind) {
+            case MONO:
+                return mono(call);
+            case FLUX:
+                return responseClass != null ? call.executeReactiveAsFlux(responseClass) : call.executeReactiveAsFlux(responseType);
+            default:
+                return mono(call).block();
+        }
+    }
+
+    private Mono<?> mono(RequestTemplate.Call call) {
+        return responseClass != null ? call.executeReactive(responseClass) : call.executeReactive(responseType);
+    }
+
+    private static void addQuery(RequestTemplate.Call call, String name, Object value) {
+        if (value instanceof Iterable) {
+            for (Object element : (Iterable<?>) value) {
+                addQuery(call, name, element);
+            }
+        } else if (value != null && value.getClass().isArray()) {
+            for (int i = 0, length = Array.getLength(value); i < length; i++) {
+                addQuery(call, name, Array.get(value, i));
+            }
+        } else if (value != null) {
+            call.queryParam(name, value);
+        }
+    }
+}
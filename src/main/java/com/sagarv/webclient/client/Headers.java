@@ -0,0 +1,18 @@
+package com.sagarv.webclient.client;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Static headers as {@code "Name: value"}, on the interface for every method or on one method;
+ * a method's headers win over the interface's.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Headers {
+    String[] value();
+}
@@ -0,0 +1,212 @@
+package com.sagarv.webclient.codec;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sagarv.webclient.ObjectMapperConfig;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ClientCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The Jackson mappers used for request and response bodies, one per enabled format. JSON is always
+ * available; Smile and CBOR are opt-in. When a binary format is enabled the executors advertise it
+ * in {@code Accept} ahead of JSON and, for the {@link #getRequestContentType() request format},
+ * encode object bodies with it. Responses are decoded by their {@code Content-Type}, so an upstream
+ * that only speaks JSON keeps working. Readers and writers are created once per type and format.
+ */
+public class Codecs {
+
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    private static final MediaType SMILE_SUFFIX = new MediaType("application", "*+x-jackson-smile");
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+    private final ObjectMapper cborMapper;
+    private final MediaType requestContentType;
+    private final String acceptHeader;
+    private final Map<Type, JavaType> javaTypes = new ConcurrentHashMap<>();
+    private final Map<JavaType, ObjectReader> jsonReaders = new ConcurrentHashMap<>();
+    private final Map<JavaType, ObjectReader> smileReaders = new ConcurrentHashMap<>();
+    private final Map<JavaType, ObjectReader> cborReaders = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    private Codecs(Builder builder) {
+        this.jsonMapper = builder.jsonMapper != null ? builder.jsonMapper : ObjectMapperConfig.jsonMapper();
+        this.smileMapper = builder.smileMapper;
+        this.cborMapper = builder.cborMapper;
+        this.requestContentType = builder.requestContentType;
+        if (mapperFor(requestContentType) == null) {
+            throw new IllegalArgumentException("Request format " + requestContentType + " is not enabled");
+        }
+        List<String> accept = new ArrayList<>(3);
+        for (MediaType binary : builder.preference) {
+            accept.add(binary + (accept.isEmpty() ? "" : ";q=0." + (10 - accept.size())));
+        }
+        if (!accept.isEmpty()) {
+            accept.add(MediaType.APPLICATION_JSON + ";q=0." + (10 - accept.size()));
+        }
+        this.acceptHeader = accept.isEmpty() ? null : String.join(", ", accept);
+    }
+
+    public static Codecs defaults() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public ObjectMapper getJsonMapper() {
+        return jsonMapper;
+    }
+
+    /**
+     * The format object bodies are sent in; JSON unless configured otherwise.
+     */
+    public MediaType getRequestContentType() {
+        return requestContentType;
+    }
+
+    /**
+     * The {@code Accept} header to send when the caller gave none, or {@code null} when only JSON is
+     * enabled and no negotiation is needed.
+     */
+    public String getAcceptHeader() {
+        return acceptHeader;
+    }
+
+    public boolean isBinary(MediaType contentType) {
+        return contentType != null && (SMILE.isCompatibleWith(contentType) || CBOR.isCompatibleWith(contentType));
+    }
+
+    /**
+     * The mapper for {@code contentType}, JSON for {@code null} or any JSON type, or {@code null} for a
+     * binary format that is not enabled.
+     */
+    public ObjectMapper mapperFor(MediaType contentType) {
+        if (contentType != null && SMILE.isCompatibleWith(contentType)) {
+            return smileMapper;
+        }
+        if (contentType != null && CBOR.isCompatibleWith(contentType)) {
+            return cborMapper;
+        }
+        return jsonMapper;
+    }
+
+    /**
+     * The Jackson type for {@code type}, e.g. a {@code ParameterizedTypeReference}'s, resolved once.
+     */
+    public JavaType javaType(Type type) {
+        JavaType javaType = javaTypes.get(type);
+        return javaType != null ? javaType : javaTypes.computeIfAbsent(type, jsonMapper::constructType);
+    }
+
+    public ObjectReader reader(MediaType contentType, Type type) {
+        return reader(contentType, javaType(type));
+    }
+
+    public ObjectReader reader(MediaType contentType, JavaType type) {
+        ObjectMapper mapper = mapperFor(contentType);
+        if (mapper == null) {
+            throw new IllegalArgumentException("No codec enabled for " + contentType);
+        }
+        Map<JavaType, ObjectReader> readers = mapper == smileMapper ? smileReaders : mapper == cborMapper ? cborReaders : jsonReaders;
+        ObjectReader reader = readers.get(type);
+        return reader != null ? reader : readers.computeIfAbsent(type, mapper::readerFor);
+    }
+
+    /**
+     * A writer for bodies of {@code type} in the request format.
+     */
+    public ObjectWriter writer(Class<?> type) {
+        ObjectWriter writer = writers.get(type);
+        return writer != null ? writer : writers.computeIfAbsent(type, t -> mapperFor(requestContentType).writerFor(t));
+    }
+
+    /**
+     * Registers the enabled formats with a {@code WebClient}, e.g. {@code WebClient.builder().codecs(codecs::configure)}.
+     */
+    public void configure(ClientCodecConfigurer configurer) {
+        configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(jsonMapper));
+        configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(jsonMapper));
+        if (smileMapper != null) {
+            // Without explicit MIME types the Smile codecs fall back to the JSON ones.
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper, SMILE, SMILE_SUFFIX));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, SMILE, SMILE_SUFFIX));
+        }
+        if (cborMapper != null) {
+            configurer.customCodecs().registerWithDefaultConfig(new Jackson2CborEncoder(cborMapper));
+            configurer.customCodecs().registerWithDefaultConfig(new Jackson2CborDecoder(cborMapper));
+        }
+    }
+
+    public static class Builder {
+        private final List<MediaType> preference = new ArrayList<>(2);
+        private ObjectMapper jsonMapper;
+        private ObjectMapper smileMapper;
+        private ObjectMapper cborMapper;
+        private MediaType requestContentType = MediaType.APPLICATION_JSON;
+
+        private Builder() {
+        }
+
+        public Builder objectMapper(ObjectMapper jsonMapper) {
+            this.jsonMapper = jsonMapper;
+            return this;
+        }
+
+        /**
+         * Accepts Smile responses, preferred over JSON and over formats enabled later.
+         */
+        public Builder smile() {
+            return smile(ObjectMapperConfig.smileMapper());
+        }
+
+        public Builder smile(ObjectMapper smileMapper) {
+            this.smileMapper = smileMapper;
+            this.preference.remove(SMILE);
+            this.preference.add(SMILE);
+            return this;
+        }
+
+        /**
+         * Accepts CBOR responses, preferred over JSON and over formats enabled later.
+         */
+        public Builder cbor() {
+            return cbor(ObjectMapperConfig.cborMapper());
+        }
+
+        public Builder cbor(ObjectMapper cborMapper) {
+            this.cborMapper = cborMapper;
+            this.preference.remove(CBOR);
+            this.preference.add(CBOR);
+            return this;
+        }
+
+        /**
+         * Sends object bodies in this format; it must be JSON or an enabled binary format.
+         */
+        public Builder requestContentType(MediaType requestContentType) {
+            this.requestContentType = requestContentType;
+            return this;
+        }
+
+        public Codecs build() {
+            return new Codecs(this);
+        }
+    }
+}
@@ -1,59 +1,232 @@
 package com.sagarv.webclient.common;
 
+import com.fasterxml.jackson.databind.JavaType;
+import com.sagarv.webclient.ErrorMapper;
 import com.sagarv.webclient.RequestBuilder;
+import com.sagarv.webclient.api.ResponseParser;
+import com.sagarv.webclient.cache.RequestCoalescer;
+import com.sagarv.webclient.cache.ResponseCache;
+import com.sagarv.webclient.codec.Codecs;
+import com.sagarv.webclient.event.RequestEventListener;
+import com.sagarv.webclient.event.RequestObservation;
+import com.sagarv.webclient.loadbalance.Endpoint;
+import com.sagarv.webclient.loadbalance.ServiceRegistry;
+import com.sagarv.webclient.resilience.Deadline;
+import com.sagarv.webclient.resilience.HedgePolicy;
+import com.sagarv.webclient.resilience.ResilienceRegistry;
+import com.sagarv.webclient.resilience.RetryPolicy;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.client.WebClient;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 public abstract class AbstractRequestExecutor {
-    protected static final Logger logger = LoggerFactory.getLogger(AbstractRequestExecutor.class);
+
+    // Leaves error responses of an attempt as they are, so the retry policy sees their status; the
+    // call's own mapper applies once the last attempt has failed.
+    private static final ErrorMapper UNMAPPED = ErrorMapper.builder().fallback(e -> e).build();
 
     protected final WebClient webClient;
-    protected final CircuitBreaker circuitBreaker;
+    protected final ExecutorOptions options;
+    protected final ResilienceRegistry resilienceRegistry;
+    protected final RequestEventListener eventListener;
+    protected final ResponseCache responseCache;
+    protected final RequestCoalescer requestCoalescer;
+    protected final ServiceRegistry serviceRegistry;
+    protected final Codecs codecs;
 
     protected AbstractRequestExecutor(WebClient webClient, CircuitBreaker circuitBreaker) {
-        this.webClient = webClient;
-        this.circuitBreaker = circuitBreaker;
+        this(webClient, circuitBreaker, RequestEventListener.NOOP);
+    }
+
+    protected AbstractRequestExecutor(WebClient webClient, CircuitBreaker circuitBreaker, RequestEventListener eventListener) {
+        this(webClient, ExecutorOptions.defaults()
+                .resilienceRegistry(ResilienceRegistry.shared(circuitBreaker))
+                .eventListener(eventListener));
+    }
+
+    protected AbstractRequestExecutor(WebClient webClient, ExecutorOptions options) {
+        this.webClient = options.getCodecs() == null ? webClient : webClient.mutate().codecs(options.getCodecs()::configure).build();
+        this.options = options;
+        this.resilienceRegistry = options.getResilienceRegistry();
+        this.eventListener = options.getEventListener();
+        this.responseCache = options.getResponseCache();
+        this.requestCoalescer = options.getRequestCoalescer();
+        this.serviceRegistry = options.getServiceRegistry();
+        this.codecs = options.getCodecs() != null ? options.getCodecs() : Codecs.defaults();
     }
 
     protected <R> Mono<R> executeMono(HttpMethod method, String url, Object body, Map<String, String> headers, Class<R> responseType) {
-        return new RequestBuilder(webClient, method, url)
-                .headers(headers)
-                .body(body)
-                .executeReactive(responseType)
-                .transform(CircuitBreakerOperator.of(circuitBreaker))
-                .doOnSubscribe(sub -> logger.info("Executing {} request to {}", method, url))
-                .doOnSuccess(resp -> logger.info("Request to {} was successful", url))
-                .doOnError(error -> logger.error("Request to {} failed", url, error));
+        return executeMono(method, url, body, headers, responseType,
+                request -> request.executeReactive(responseType), request -> request.executeForEntity(responseType));
+    }
+
+    /**
+     * Decodes with the reader cached for the resolved type; {@code List} types go through
+     * {@link #executeMonoList} so their elements are decoded as they arrive.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected <R> Mono<R> executeMono(HttpMethod method, String url, Object body, Map<String, String> headers, ParameterizedTypeReference<R> responseType) {
+        JavaType javaType = codecs.javaType(responseType.getType());
+        if (javaType.getRawClass() == List.class) {
+            return (Mono<R>) executeMonoList(method, url, body, headers, (ParameterizedTypeReference) responseType);
+        }
+        return executeMono(method, url, body, headers, responseType,
+                request -> request.executeReactive(javaType, codecs), request -> request.executeForEntity(javaType, codecs));
+    }
+
+    protected <R> Mono<R> executeMono(HttpMethod method, String url, Object body, Map<String, String> headers, ResponseParser<R> parser) {
+        return executeMono(method, url, body, headers, parser, request -> request.executeReactive(parser, codecs), null);
     }
 
     protected <R> Mono<List<R>> executeMonoList(HttpMethod method, String url, Object body, Map<String, String> headers, ParameterizedTypeReference<List<R>> responseType) {
-        return new RequestBuilder(webClient, method, url)
-                .headers(headers)
-                .body(body)
-                .executeReactive(responseType)
-                .transform(CircuitBreakerOperator.of(circuitBreaker))
-                .doOnSubscribe(sub -> logger.info("Executing {} request to {}", method, url))
-                .doOnSuccess(resp -> logger.info("Request to {} was successful", url))
-                .doOnError(error -> logger.error("Request to {} failed", url, error));
+        Type elementType = elementType(responseType);
+        return executeMono(method, url, body, headers, responseType,
+                request -> request.<R>executeReactiveAsList(elementType, options.getStreamDecoder()),
+                request -> request.executeForEntity(responseType));
+    }
+
+    /**
+     * @param responseType the cache and coalescing key for the decoded type
+     * @param forEntity    the exchange used when the response may be cached, or {@code null} if it may not
+     */
+    private <R> Mono<R> executeMono(HttpMethod method, String url, Object body, Map<String, String> headers, Object responseType,
+                                    Function<RequestBuilder, Mono<R>> exchange, Function<RequestBuilder, Mono<ResponseEntity<R>>> forEntity) {
+        Mono<R> request = requestCoalescer == null
+                ? executeMonoOnce(method, url, body, headers, responseType, exchange, forEntity)
+                : requestCoalescer.execute(method, url, headers, responseType, () -> executeMonoOnce(method, url, body, headers, responseType, exchange, forEntity));
+        return Deadline.within(RequestObservation.observe(request, eventListener, method, url), options.getDeadline());
+    }
+
+    private <R> Mono<R> executeMonoOnce(HttpMethod method, String url, Object body, Map<String, String> headers, Object responseType,
+                                        Function<RequestBuilder, Mono<R>> exchange, Function<RequestBuilder, Mono<ResponseEntity<R>>> forEntity) {
+        if (forEntity != null && responseCache != null && responseCache.isCacheable(method)) {
+            return responseCache.execute(method, url, headers, responseType, conditional -> balanced(method, url,
+                    target -> newRequest(method, target, body, headers).headers(conditional.toSingleValueMap()), forEntity));
+        }
+        return invalidateOnSuccess(method, url, balanced(method, url, target -> newRequest(method, target, body, headers), exchange));
+    }
+
+    protected <R> Flux<R> executeFlux(HttpMethod method, String url, Object body, Map<String, String> headers, Type elementType) {
+        Function<RequestBuilder, Flux<R>> exchange = request -> request.executeReactiveAsStream(elementType, options.getStreamDecoder());
+        Flux<R> request;
+        if (!isBalanced(url)) {
+            request = resilienceRegistry.policiesFor(url).decorate(exchange.apply(withCallPolicies(newRequest(method, url, body, headers))));
+        } else {
+            request = Flux.defer(() -> {
+                Set<Endpoint> tried = ConcurrentHashMap.newKeySet();
+                Flux<R> attempts = serviceRegistry.executeFlux(url, tried, target -> resilienceRegistry.policiesFor(target)
+                        .decorate(exchange.apply(newRequest(method, target, body, headers).errorMapper(UNMAPPED))));
+                RetryPolicy retryPolicy = options.getRetryPolicy();
+                return options.getErrorMapper().apply(retryPolicy == null ? attempts : retryPolicy.apply(attempts, method, url));
+            });
+        }
+        return Deadline.within(RequestObservation.observe(request, eventListener, method, url), options.getDeadline());
     }
 
-    protected <R> Flux<R> executeFlux(HttpMethod method, String url, Object body, Map<String, String> headers, Class<R> responseType) {
-        return new RequestBuilder(webClient, method, url)
+    /**
+     * Sends the request through the resilience policies of the URL it goes to. An {@code lb://} URL
+     * chooses its endpoint per attempt: the hedge and retry policies run around that choice, so each
+     * attempt goes to an endpoint the call has not tried yet when there is one, and its outcome is
+     * recorded against the endpoint it went to.
+     */
+    private <R> Mono<R> balanced(HttpMethod method, String url, Function<String, RequestBuilder> request, Function<RequestBuilder, Mono<R>> exchange) {
+        if (!isBalanced(url)) {
+            return resilienceRegistry.policiesFor(url).decorate(exchange.apply(withCallPolicies(request.apply(url))));
+        }
+        return Mono.defer(() -> {
+            Set<Endpoint> tried = ConcurrentHashMap.newKeySet();
+            Mono<R> attempts = serviceRegistry.execute(url, tried, target -> resilienceRegistry.policiesFor(target)
+                    .decorate(exchange.apply(request.apply(target).errorMapper(UNMAPPED))));
+            HedgePolicy hedgePolicy = options.getHedgePolicy();
+            if (hedgePolicy != null) {
+                attempts = hedgePolicy.apply(attempts, method, url);
+            }
+            RetryPolicy retryPolicy = options.getRetryPolicy();
+            if (retryPolicy != null) {
+                attempts = retryPolicy.apply(attempts, method, url);
+            }
+            return options.getErrorMapper().apply(attempts);
+        });
+    }
+
+    private boolean isBalanced(String url) {
+        return serviceRegistry != null && ServiceRegistry.isServiceUrl(url);
+    }
+
+    private static Type elementType(ParameterizedTypeReference<? extends List<?>> listType) {
+        Type type = listType.getType();
+        return type instanceof ParameterizedType ? ((ParameterizedType) type).getActualTypeArguments()[0] : Object.class;
+    }
+
+    private RequestBuilder newRequest(HttpMethod method, String url, Object body, Map<String, String> headers) {
+        RequestBuilder request = new RequestBuilder(webClient, method, url);
+        Codecs codecs = options.getCodecs();
+        if (codecs != null) {
+            negotiate(request, codecs, body, headers);
+        }
+        return request
                 .headers(headers)
-                .body(body)
-                .executeReactiveAsFlux(responseType)
-                .transform(CircuitBreakerOperator.of(circuitBreaker))
-                .doOnSubscribe(sub -> logger.info("Executing {} request to {}", method, url))
-                .doOnError(error -> logger.error("Request to {} failed", url, error));
+                .body(body);
+    }
+
+    private RequestBuilder withCallPolicies(RequestBuilder request) {
+        return request
+                .retryPolicy(options.getRetryPolicy())
+                .hedgePolicy(options.getHedgePolicy())
+                .errorMapper(options.getErrorMapper());
+    }
+
+    /**
+     * Advertises the enabled binary formats and sends object bodies in the request format, unless the
+     * caller set the header; the caller's headers are applied afterwards and win.
+     */
+    private static void negotiate(RequestBuilder request, Codecs codecs, Object body, Map<String, String> headers) {
+        if (codecs.getAcceptHeader() != null && !containsHeader(headers, HttpHeaders.ACCEPT)) {
+            request.header(HttpHeaders.ACCEPT, codecs.getAcceptHeader());
+        }
+        if (body != null && codecs.isBinary(codecs.getRequestContentType()) && isObjectBody(body)
+                && !containsHeader(headers, HttpHeaders.CONTENT_TYPE)) {
+            request.header(HttpHeaders.CONTENT_TYPE, codecs.getRequestContentType().toString());
+        }
+    }
+
+    private static boolean isObjectBody(Object body) {
+        return !(body instanceof CharSequence || body instanceof byte[] || body instanceof Resource
+                || body instanceof DataBuffer || body instanceof MultiValueMap);
+    }
+
+    private static boolean containsHeader(Map<String, String> headers, String name) {
+        if (headers == null) {
+            return false;
+        }
+        for (String header : headers.keySet()) {
+            if (header.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <R> Mono<R> invalidateOnSuccess(HttpMethod method, String url, Mono<R> request) {
+        if (responseCache == null || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS || method == HttpMethod.TRACE) {
+            return request;
+        }
+        return request.doOnSuccess(result -> responseCache.invalidate(url));
     }
-}
\ No newline at end of file
+}
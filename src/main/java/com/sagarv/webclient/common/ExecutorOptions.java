@@ -0,0 +1,187 @@
+package com.sagarv.webclient.common;
+
+import com.sagarv.webclient.ErrorMapper;
+import com.sagarv.webclient.cache.RequestCoalescer;
+import com.sagarv.webclient.codec.Codecs;
+import com.sagarv.webclient.cache.ResponseCache;
+import com.sagarv.webclient.event.RequestEventListener;
+import com.sagarv.webclient.loadbalance.ServiceRegistry;
+import com.sagarv.webclient.resilience.Deadline;
+import com.sagarv.webclient.resilience.HedgePolicy;
+import com.sagarv.webclient.resilience.ResilienceRegistry;
+import com.sagarv.webclient.resilience.RetryPolicy;
+import com.sagarv.webclient.stream.JsonStreamDecoder;
+
+import java.time.Duration;
+
+/**
+ * Cross-cutting behaviour shared by the executors created from one {@link RestClientFacade}.
+ */
+public class ExecutorOptions {
+
+    private RequestEventListener eventListener = RequestEventListener.NOOP;
+    private ResilienceRegistry resilienceRegistry = ResilienceRegistry.builder().build();
+    private RetryPolicy retryPolicy;
+    private HedgePolicy hedgePolicy;
+    private Duration deadline;
+    private ErrorMapper errorMapper = ErrorMapper.defaults();
+    private ResponseCache responseCache;
+    private RequestCoalescer requestCoalescer;
+    private SyncTransport syncTransport = SyncTransport.WEB_CLIENT;
+    private JsonStreamDecoder streamDecoder = new JsonStreamDecoder();
+    private boolean customStreamDecoder;
+    private Codecs codecs;
+    private ServiceRegistry serviceRegistry;
+
+    public static ExecutorOptions defaults() {
+        return new ExecutorOptions();
+    }
+
+    public ExecutorOptions eventListener(RequestEventListener eventListener) {
+        this.eventListener = eventListener;
+        return this;
+    }
+
+    public ExecutorOptions resilienceRegistry(ResilienceRegistry resilienceRegistry) {
+        this.resilienceRegistry = resilienceRegistry;
+        return this;
+    }
+
+    public ExecutorOptions retryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        return this;
+    }
+
+    public ExecutorOptions hedgePolicy(HedgePolicy hedgePolicy) {
+        this.hedgePolicy = hedgePolicy;
+        return this;
+    }
+
+    public ExecutorOptions deadline(Duration deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    public ExecutorOptions errorMapper(ErrorMapper errorMapper) {
+        this.errorMapper = errorMapper;
+        return this;
+    }
+
+    public ExecutorOptions responseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+        return this;
+    }
+
+    public ExecutorOptions requestCoalescer(RequestCoalescer requestCoalescer) {
+        this.requestCoalescer = requestCoalescer;
+        return this;
+    }
+
+    public ExecutorOptions syncTransport(SyncTransport syncTransport) {
+        this.syncTransport = syncTransport;
+        return this;
+    }
+
+    public ExecutorOptions streamDecoder(JsonStreamDecoder streamDecoder) {
+        this.streamDecoder = streamDecoder;
+        this.customStreamDecoder = true;
+        return this;
+    }
+
+    /**
+     * Also replaces the default stream decoder with one using these codecs, unless one was set explicitly.
+     */
+    public ExecutorOptions codecs(Codecs codecs) {
+        this.codecs = codecs;
+        if (!customStreamDecoder) {
+            this.streamDecoder = new JsonStreamDecoder(codecs);
+        }
+        return this;
+    }
+
+    public ExecutorOptions serviceRegistry(ServiceRegistry serviceRegistry) {
+        this.serviceRegistry = serviceRegistry;
+        return this;
+    }
+
+    public RequestEventListener getEventListener() {
+        return eventListener;
+    }
+
+    /**
+     * The per-upstream resilience policies; defaults to per-host policies with default settings.
+     */
+    public ResilienceRegistry getResilienceRegistry() {
+        return resilienceRegistry;
+    }
+
+    /**
+     * Retry policy applied to every request, or {@code null} (the default) to never retry.
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Hedging for single-value idempotent requests, or {@code null} (the default) to disable it.
+     */
+    public HedgePolicy getHedgePolicy() {
+        return hedgePolicy;
+    }
+
+    /**
+     * Total time allowed for each executor call, including retries, hedges and waits for resilience permits,
+     * or {@code null} (the default) for only the per-attempt timeout. See {@link Deadline}.
+     */
+    public Duration getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Turns error responses into exceptions; built once and shared by every call.
+     */
+    public ErrorMapper getErrorMapper() {
+        return errorMapper;
+    }
+
+    /**
+     * Cache for GET responses, or {@code null} (the default) to always go to the network.
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Deduplicates concurrent identical GETs, or {@code null} (the default) to send each one.
+     */
+    public RequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
+    public SyncTransport getSyncTransport() {
+        return syncTransport;
+    }
+
+    /**
+     * Decodes streamed and list responses element by element; defaults to a 1 MB per-element limit.
+     */
+    public JsonStreamDecoder getStreamDecoder() {
+        return streamDecoder;
+    }
+
+    /**
+     * Resolves {@code lb://service/path} URLs to service endpoints, or {@code null} (the default) when
+     * every URL is a direct address.
+     */
+    public ServiceRegistry getServiceRegistry() {
+        return serviceRegistry;
+    }
+
+    /**
+     * The body formats the executors register with their {@code WebClient} and negotiate, or
+     * {@code null} (the default) to keep the {@code WebClient}'s own codecs and send JSON.
+     */
+    public Codecs getCodecs() {
+        return codecs;
+    }
+}
@@ -1,12 +1,23 @@
 package com.sagarv.webclient.common;
 
+import com.sagarv.webclient.HttpClientProperties;
 import com.sagarv.webclient.api.AsyncRequestExecutor;
+import com.sagarv.webclient.api.BatchRequestExecutor;
 import com.sagarv.webclient.api.StreamingRequestExecutor;
 import com.sagarv.webclient.api.SyncRequestExecutor;
+import com.sagarv.webclient.api.TransferRequestExecutor;
+import com.sagarv.webclient.compression.RequestCompressionFilter;
+import com.sagarv.webclient.event.RequestEventListener;
 import com.sagarv.webclient.impl.AsyncRequestExecutorImpl;
+import com.sagarv.webclient.impl.BatchRequestExecutorImpl;
+import com.sagarv.webclient.impl.BlockingSyncRequestExecutorImpl;
 import com.sagarv.webclient.impl.StreamingRequestExecutorImpl;
 import com.sagarv.webclient.impl.SyncRequestExecutorImpl;
+import com.sagarv.webclient.impl.TransferRequestExecutorImpl;
+import com.sagarv.webclient.resilience.QuotaExchangeFilter;
+import com.sagarv.webclient.resilience.ResilienceRegistry;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -17,12 +28,52 @@ public class RestClientFacade {
     private final SyncRequestExecutor syncExecutor;
     private final AsyncRequestExecutor asyncExecutor;
     private final StreamingRequestExecutor streamingExecutor;
+    private final TransferRequestExecutor transferExecutor;
+    private final BatchRequestExecutor batchExecutor;
 
     @Autowired
+    public RestClientFacade(WebClient webClient, ObjectProvider<ExecutorOptions> options,
+                            ObjectProvider<ResilienceRegistry> resilienceRegistry, ObjectProvider<RequestEventListener> eventListener,
+                            ObjectProvider<HttpClientProperties> properties, ObjectProvider<QuotaExchangeFilter> quotas,
+                            ObjectProvider<RequestCompressionFilter> requestCompression) {
+        this(webClient, options.getIfAvailable(() -> {
+            ExecutorOptions defaults = ExecutorOptions.defaults();
+            resilienceRegistry.ifAvailable(defaults::resilienceRegistry);
+            eventListener.ifAvailable(defaults::eventListener);
+            return defaults;
+        }), properties.getIfAvailable(HttpClientProperties::new), quotas.getIfAvailable(), requestCompression.getIfAvailable());
+    }
+
+    /**
+     * Guards every request with the given circuit breaker, shared by all hosts.
+     */
     public RestClientFacade(WebClient webClient, CircuitBreaker circuitBreaker) {
-        this.syncExecutor = new SyncRequestExecutorImpl(webClient, circuitBreaker);
-        this.asyncExecutor = new AsyncRequestExecutorImpl(webClient, circuitBreaker);
-        this.streamingExecutor = new StreamingRequestExecutorImpl(webClient, circuitBreaker);
+        this(webClient, circuitBreaker, RequestEventListener.NOOP);
+    }
+
+    public RestClientFacade(WebClient webClient, CircuitBreaker circuitBreaker, RequestEventListener eventListener) {
+        this(webClient, ExecutorOptions.defaults()
+                .resilienceRegistry(ResilienceRegistry.shared(circuitBreaker))
+                .eventListener(eventListener));
+    }
+
+    public RestClientFacade(WebClient webClient, ExecutorOptions options) {
+        this(webClient, options, new HttpClientProperties(), null, null);
+    }
+
+    /**
+     * Takes the properties and filters {@code webClient} was built with, which the
+     * {@link SyncTransport#HTTP_CLIENT} transport applies in its place; either filter may be {@code null}.
+     */
+    public RestClientFacade(WebClient webClient, ExecutorOptions options, HttpClientProperties properties,
+                            QuotaExchangeFilter quotas, RequestCompressionFilter requestCompression) {
+        this.syncExecutor = options.getSyncTransport() == SyncTransport.HTTP_CLIENT
+                ? new BlockingSyncRequestExecutorImpl(properties, options, quotas, requestCompression)
+                : new SyncRequestExecutorImpl(webClient, options);
+        this.asyncExecutor = new AsyncRequestExecutorImpl(webClient, options);
+        this.streamingExecutor = new StreamingRequestExecutorImpl(webClient, options);
+        this.transferExecutor = new TransferRequestExecutorImpl(webClient, options);
+        this.batchExecutor = new BatchRequestExecutorImpl(webClient, options);
     }
 
     public SyncRequestExecutor getSyncExecutor() {
@@ -36,4 +87,12 @@ public class RestClientFacade {
     public StreamingRequestExecutor getStreamingExecutor() {
         return streamingExecutor;
     }
+
+    public TransferRequestExecutor getTransferExecutor() {
+        return transferExecutor;
+    }
+
+    public BatchRequestExecutor getBatchExecutor() {
+        return batchExecutor;
+    }
 }
\ No newline at end of file
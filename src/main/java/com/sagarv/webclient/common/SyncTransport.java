@@ -0,0 +1,25 @@
+package com.sagarv.webclient.common;
+
+/**
+ * How {@link RestClientFacade#getSyncExecutor()} performs requests.
+ */
+public enum SyncTransport {
+
+    /**
+     * Runs the reactive WebClient pipeline and blocks the caller on the result. Cannot be used from
+     * a Netty event loop.
+     */
+    WEB_CLIENT,
+
+    /**
+     * Uses the JDK {@link java.net.http.HttpClient} directly on the calling thread, with no Reactor
+     * bridge. The caller parks instead of pinning a carrier, so this suits virtual threads. URLs must
+     * be absolute, and the response cache and request coalescer are not applied.
+     * <p>
+     * The transport applies the connect and response timeouts, the protocol, the quota filter, request
+     * compression and {@code traceparent} it is given alongside the {@code WebClient}, but not other
+     * filters of that {@code WebClient}, its pool settings or its read and write timeouts. It rejects
+     * {@link com.sagarv.webclient.HttpClientProperties.Protocol#H2C_PRIOR_KNOWLEDGE}.
+     */
+    HTTP_CLIENT
+}
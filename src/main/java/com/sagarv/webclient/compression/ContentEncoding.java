@@ -0,0 +1,26 @@
+package com.sagarv.webclient.compression;
+
+/**
+ * Request body encodings that {@link RequestCompressionFilter} can produce with the JDK's
+ * {@link java.util.zip.Deflater}.
+ */
+public enum ContentEncoding {
+    GZIP("gzip"),
+    /**
+     * HTTP's {@code deflate}, which is the zlib format rather than raw deflate.
+     */
+    DEFLATE("deflate");
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    /**
+     * The {@code Content-Encoding} header value.
+     */
+    public String token() {
+        return token;
+    }
+}
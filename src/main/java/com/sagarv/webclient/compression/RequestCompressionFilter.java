@@ -0,0 +1,387 @@
+package com.sagarv.webclient.compression;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses request bodies of at least {@code minSize} bytes with gzip or deflate and sets
+ * {@code Content-Encoding}. Only single-buffer bodies of a compressible content type (JSON, XML,
+ * text, forms) are compressed, which covers every object body; streamed bodies such as file uploads
+ * and requests that already carry a {@code Content-Encoding} pass through unchanged. Routes matched by
+ * URL prefix can use their own threshold or opt out, and once bound to a {@link MeterRegistry} the
+ * filter publishes the compression ratio and bytes saved per route or authority.
+ * <p>
+ * Deflaters are pooled and the compressed body is written to a buffer from the connection's
+ * allocator, so a request allocates no compression state of its own.
+ */
+public class RequestCompressionFilter implements ExchangeFilterFunction, MeterBinder {
+
+    public static final String RATIO_METRIC = "http.client.request.compression.ratio";
+    public static final String BYTES_METRIC = "http.client.request.compression.bytes";
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[8192]);
+
+    private final ContentEncoding encoding;
+    private final int level;
+    private final int minSize;
+    private final Route[] routes;
+    private final List<MediaType> contentTypes;
+    private final ArrayBlockingQueue<Deflater> deflaters;
+    private final Map<String, RouteStats> stats = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    private RequestCompressionFilter(Builder builder) {
+        this.encoding = builder.encoding;
+        this.level = builder.level;
+        this.minSize = builder.minSize;
+        this.routes = builder.routes.toArray(new Route[0]);
+        this.contentTypes = List.copyOf(builder.contentTypes);
+        this.deflaters = new ArrayBlockingQueue<>(builder.poolSize);
+    }
+
+    public static RequestCompressionFilter defaults() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public ContentEncoding getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * Bytes of request bodies before compression for a route name or authority.
+     */
+    public long getOriginalBytes(String key) {
+        RouteStats routeStats = stats.get(key);
+        return routeStats == null ? 0 : routeStats.originalBytes.sum();
+    }
+
+    public long getCompressedBytes(String key) {
+        RouteStats routeStats = stats.get(key);
+        return routeStats == null ? 0 : routeStats.compressedBytes.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.headers().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return next.exchange(request);
+        }
+        Route route = routeFor(request.url().toString());
+        int threshold = route != null ? route.minSize : minSize;
+        if (threshold < 0) {
+            return next.exchange(request);
+        }
+        String statsKey = route != null ? route.name : request.url().getRawAuthority();
+        int routeMinSize = threshold;
+        ClientRequest compressing = ClientRequest.from(request)
+                .body((message, context) -> request.body().insert(new CompressingRequest(message, statsKey, routeMinSize), context))
+                .build();
+        return next.exchange(compressing);
+    }
+
+    /**
+     * Compresses a body sent outside {@code WebClient}, such as by the blocking transport, under the
+     * same routes, threshold and content types as the filter; returns {@code null} when the body is to
+     * be sent as it is.
+     */
+    public byte[] compress(URI url, MediaType contentType, byte[] body) {
+        Route route = routeFor(url.toString());
+        int threshold = route != null ? route.minSize : minSize;
+        if (threshold < 0 || body.length < threshold || !isCompressible(contentType)) {
+            return null;
+        }
+        DefaultDataBufferFactory factory = DefaultDataBufferFactory.sharedInstance;
+        DataBuffer compressed = compress(factory.wrap(body), factory);
+        byte[] bytes = new byte[compressed.readableByteCount()];
+        compressed.read(bytes);
+        record(route != null ? route.name : url.getRawAuthority(), body.length, bytes.length);
+        return bytes;
+    }
+
+    private Route routeFor(String url) {
+        for (Route route : routes) {
+            if (url.startsWith(route.urlPrefix)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private boolean isCompressible(MediaType contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        for (MediaType compressible : contentTypes) {
+            if (compressible.includes(contentType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compresses the readable bytes of {@code input} into a new buffer from {@code factory}; the input
+     * is left for the caller to release.
+     */
+    DataBuffer compress(DataBuffer input, DataBufferFactory factory) {
+        int length = input.readableByteCount();
+        DataBuffer output = factory.allocateBuffer(length / 4 + 64);
+        Deflater deflater = acquire();
+        try {
+            if (encoding == ContentEncoding.GZIP) {
+                output.write(GZIP_HEADER);
+            }
+            deflater.setInput(input.asByteBuffer());
+            deflater.finish();
+            byte[] chunk = SCRATCH.get();
+            while (!deflater.finished()) {
+                int count = deflater.deflate(chunk);
+                output.write(chunk, 0, count);
+            }
+            if (encoding == ContentEncoding.GZIP) {
+                CRC32 crc = new CRC32();
+                crc.update(input.asByteBuffer());
+                writeIntLittleEndian(output, (int) crc.getValue());
+                writeIntLittleEndian(output, length);
+            }
+            return output;
+        } catch (RuntimeException e) {
+            DataBufferUtils.release(output);
+            throw e;
+        } finally {
+            deflater.reset();
+            if (!deflaters.offer(deflater)) {
+                deflater.end();
+            }
+        }
+    }
+
+    private Deflater acquire() {
+        Deflater deflater = deflaters.poll();
+        // gzip wraps raw deflate in its own header and trailer; HTTP deflate is the zlib format.
+        return deflater != null ? deflater : new Deflater(level, encoding == ContentEncoding.GZIP);
+    }
+
+    private static void writeIntLittleEndian(DataBuffer output, int value) {
+        output.write(new byte[]{(byte) value, (byte) (value >>> 8), (byte) (value >>> 16), (byte) (value >>> 24)});
+    }
+
+    private void record(String key, int originalBytes, int compressedBytes) {
+        RouteStats routeStats = stats.computeIfAbsent(key, RouteStats::new);
+        routeStats.originalBytes.add(originalBytes);
+        routeStats.compressedBytes.add(compressedBytes);
+        MeterRegistry meterRegistry = registry;
+        if (meterRegistry != null) {
+            routeStats.meters(meterRegistry, encoding).record(originalBytes, compressedBytes);
+        }
+    }
+
+    private final class CompressingRequest extends ClientHttpRequestDecorator {
+        private final String key;
+        private final int minSize;
+
+        CompressingRequest(ClientHttpRequest delegate, String key, int minSize) {
+            super(delegate);
+            this.key = key;
+            this.minSize = minSize;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!(body instanceof Mono) || !isCompressible(getHeaders().getContentType())) {
+                return super.writeWith(body);
+            }
+            // Headers are sent when the write starts, so the body has to be compressed before then.
+            return Mono.from(body)
+                    .map(Optional::<DataBuffer>of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(buffer -> super.writeWith(Mono.justOrEmpty(buffer.map(this::encode))));
+        }
+
+        private DataBuffer encode(DataBuffer buffer) {
+            int length = buffer.readableByteCount();
+            if (length < minSize) {
+                return buffer;
+            }
+            DataBuffer compressed;
+            try {
+                compressed = compress(buffer, bufferFactory());
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+            HttpHeaders headers = getHeaders();
+            headers.set(HttpHeaders.CONTENT_ENCODING, encoding.token());
+            headers.setContentLength(compressed.readableByteCount());
+            record(key, length, compressed.readableByteCount());
+            return compressed;
+        }
+    }
+
+    private static final class RouteStats {
+        private final String key;
+        private final LongAdder originalBytes = new LongAdder();
+        private final LongAdder compressedBytes = new LongAdder();
+        private volatile RouteMeters meters;
+
+        RouteStats(String key) {
+            this.key = key;
+        }
+
+        RouteMeters meters(MeterRegistry registry, ContentEncoding encoding) {
+            RouteMeters current = meters;
+            if (current == null || current.registry != registry) {
+                current = new RouteMeters(registry, key, encoding);
+                meters = current;
+            }
+            return current;
+        }
+    }
+
+    private static final class RouteMeters {
+        private final MeterRegistry registry;
+        private final DistributionSummary ratio;
+        private final Counter original;
+        private final Counter compressed;
+
+        RouteMeters(MeterRegistry registry, String key, ContentEncoding encoding) {
+            this.registry = registry;
+            this.ratio = DistributionSummary.builder(RATIO_METRIC)
+                    .description("Request body size before compression divided by its size after")
+                    .tags("route", key, "encoding", encoding.token())
+                    .register(registry);
+            this.original = Counter.builder(BYTES_METRIC)
+                    .baseUnit("bytes")
+                    .tags("route", key, "encoding", encoding.token(), "stage", "original")
+                    .register(registry);
+            this.compressed = Counter.builder(BYTES_METRIC)
+                    .baseUnit("bytes")
+                    .tags("route", key, "encoding", encoding.token(), "stage", "compressed")
+                    .register(registry);
+        }
+
+        void record(int originalBytes, int compressedBytes) {
+            ratio.record(compressedBytes == 0 ? 0 : (double) originalBytes / compressedBytes);
+            original.increment(originalBytes);
+            compressed.increment(compressedBytes);
+        }
+    }
+
+    private static final class Route {
+        private final String name;
+        private final String urlPrefix;
+        private final int minSize;
+
+        Route(String name, String urlPrefix, int minSize) {
+            this.name = name;
+            this.urlPrefix = urlPrefix;
+            this.minSize = minSize;
+        }
+    }
+
+    public static class Builder {
+        private ContentEncoding encoding = ContentEncoding.GZIP;
+        private int level = Deflater.DEFAULT_COMPRESSION;
+        private int minSize = 1024;
+        private int poolSize = Runtime.getRuntime().availableProcessors() * 2;
+        private final List<Route> routes = new ArrayList<>();
+        private final List<MediaType> contentTypes = new ArrayList<>(List.of(
+                MediaType.APPLICATION_JSON,
+                new MediaType("application", "*+json"),
+                MediaType.APPLICATION_NDJSON,
+                MediaType.APPLICATION_XML,
+                new MediaType("application", "*+xml"),
+                MediaType.APPLICATION_FORM_URLENCODED,
+                new MediaType("text", "*")));
+
+        private Builder() {
+        }
+
+        public Builder encoding(ContentEncoding encoding) {
+            this.encoding = encoding;
+            return this;
+        }
+
+        /**
+         * {@link Deflater} level from 1 (fastest) to 9 (smallest); the JDK default (6) otherwise.
+         */
+        public Builder level(int level) {
+            this.level = level;
+            return this;
+        }
+
+        /**
+         * Bodies smaller than this are sent as they are; 1024 bytes by default.
+         */
+        public Builder minSize(int minSize) {
+            this.minSize = minSize;
+            return this;
+        }
+
+        /**
+         * Uses {@code minSize} for every URL starting with {@code urlPrefix} and reports its metrics
+         * under {@code name}; a negative {@code minSize} never compresses. Routes are matched in
+         * registration order.
+         */
+        public Builder route(String name, String urlPrefix, int minSize) {
+            this.routes.add(new Route(name, urlPrefix, minSize));
+            return this;
+        }
+
+        /**
+         * Replaces the content types that are compressed.
+         */
+        public Builder contentTypes(MediaType... contentTypes) {
+            this.contentTypes.clear();
+            this.contentTypes.addAll(List.of(contentTypes));
+            return this;
+        }
+
+        /**
+         * Idle deflaters kept for reuse; twice the processor count by default.
+         */
+        public Builder poolSize(int poolSize) {
+            this.poolSize = poolSize;
+            return this;
+        }
+
+        public RequestCompressionFilter build() {
+            return new RequestCompressionFilter(this);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.sagarv.webclient.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands events to the delegate on a dedicated daemon thread through a bounded queue. Request threads
+ * only enqueue; when the queue is full the event is dropped and counted instead of applying
+ * backpressure to requests.
+ */
+public class AsyncRequestEventListener implements RequestEventListener, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncRequestEventListener.class);
+
+    private final RequestEventListener delegate;
+    private final BlockingQueue<Signal> queue;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public AsyncRequestEventListener(RequestEventListener delegate, int capacity) {
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.worker = new Thread(this::drain, "rest-client-events");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    @Override
+    public void onRequestStart(RequestEvent event) {
+        enqueue(new Signal(Signal.START, event, null));
+    }
+
+    @Override
+    public void onRequestSuccess(RequestEvent event) {
+        enqueue(new Signal(Signal.SUCCESS, event, null));
+    }
+
+    @Override
+    public void onRequestFailure(RequestEvent event, Throwable error) {
+        enqueue(new Signal(Signal.FAILURE, event, error));
+    }
+
+    @Override
+    public void onRequestCancel(RequestEvent event) {
+        enqueue(new Signal(Signal.CANCEL, event, null));
+    }
+
+    private void enqueue(Signal signal) {
+        if (!queue.offer(signal)) {
+            dropped.increment();
+        }
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Signal signal = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (signal != null) {
+                    dispatch(signal);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("Request event listener failed", e);
+            }
+        }
+    }
+
+    private void dispatch(Signal signal) {
+        switch (signal.type) {
+            case Signal.START:
+                delegate.onRequestStart(signal.event);
+                break;
+            case Signal.SUCCESS:
+                delegate.onRequestSuccess(signal.event);
+                break;
+            case Signal.FAILURE:
+                delegate.onRequestFailure(signal.event, signal.error);
+                break;
+            default:
+                delegate.onRequestCancel(signal.event);
+        }
+    }
+
+    /**
+     * Stops the worker once the queue has been drained.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Signal {
+        static final int START = 0;
+        static final int SUCCESS = 1;
+        static final int FAILURE = 2;
+        static final int CANCEL = 3;
+
+        final int type;
+        final RequestEvent event;
+        final Throwable error;
+
+        Signal(int type, RequestEvent event, Throwable error) {
+            this.type = type;
+            this.event = event;
+            this.error = error;
+        }
+    }
+}
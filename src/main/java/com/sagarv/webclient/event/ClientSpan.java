@@ -0,0 +1,72 @@
+package com.sagarv.webclient.event;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A finished client span. Attribute names follow the OpenTelemetry HTTP semantic conventions
+ * ({@code http.request.method}, {@code url.full}, {@code server.address},
+ * {@code http.response.status_code}, {@code error.type}), and each recorded {@link RequestPhase}
+ * is added as {@code http.client.phase.<phase>} in nanoseconds, so an exporter can map it onto an
+ * OpenTelemetry span one to one.
+ */
+public final class ClientSpan {
+
+    private final String name;
+    private final TraceContext context;
+    private final String parentSpanId;
+    private final long startEpochNanos;
+    private final long durationNanos;
+    private final boolean error;
+    private final Map<String, Object> attributes;
+
+    ClientSpan(String name, TraceContext context, String parentSpanId, long startEpochNanos, long durationNanos,
+               boolean error, Map<String, Object> attributes) {
+        this.name = name;
+        this.context = context;
+        this.parentSpanId = parentSpanId;
+        this.startEpochNanos = startEpochNanos;
+        this.durationNanos = durationNanos;
+        this.error = error;
+        this.attributes = Collections.unmodifiableMap(attributes);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public TraceContext getContext() {
+        return context;
+    }
+
+    /**
+     * The caller's span id, or {@code null} for a root span.
+     */
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * Whether the request failed; the span status is then {@code ERROR}.
+     */
+    public boolean isError() {
+        return error;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + context + " (" + durationNanos / 1_000_000 + " ms)";
+    }
+}
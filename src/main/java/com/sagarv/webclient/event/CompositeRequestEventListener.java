@@ -0,0 +1,42 @@
+package com.sagarv.webclient.event;
+
+import java.util.Arrays;
+
+class CompositeRequestEventListener implements RequestEventListener {
+
+    private final RequestEventListener[] listeners;
+
+    CompositeRequestEventListener(RequestEventListener... listeners) {
+        this.listeners = Arrays.stream(listeners)
+                .filter(listener -> listener != RequestEventListener.NOOP)
+                .toArray(RequestEventListener[]::new);
+    }
+
+    @Override
+    public void onRequestStart(RequestEvent event) {
+        for (RequestEventListener listener : listeners) {
+            listener.onRequestStart(event);
+        }
+    }
+
+    @Override
+    public void onRequestSuccess(RequestEvent event) {
+        for (RequestEventListener listener : listeners) {
+            listener.onRequestSuccess(event);
+        }
+    }
+
+    @Override
+    public void onRequestFailure(RequestEvent event, Throwable error) {
+        for (RequestEventListener listener : listeners) {
+            listener.onRequestFailure(event, error);
+        }
+    }
+
+    @Override
+    public void onRequestCancel(RequestEvent event) {
+        for (RequestEventListener listener : listeners) {
+            listener.onRequestCancel(event);
+        }
+    }
+}
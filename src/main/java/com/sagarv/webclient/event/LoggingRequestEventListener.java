@@ -0,0 +1,75 @@
+package com.sagarv.webclient.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+
+/**
+ * Writes request events as structured (key/value) log records. Every event is gated on the logger
+ * level before anything is formatted, so a disabled level costs one level check.
+ */
+public class LoggingRequestEventListener implements RequestEventListener {
+
+    public static final String DEFAULT_LOGGER = "com.sagarv.webclient.requests";
+
+    private final Logger logger;
+    private final Level startLevel;
+    private final Level successLevel;
+    private final Level failureLevel;
+
+    public LoggingRequestEventListener() {
+        this(LoggerFactory.getLogger(DEFAULT_LOGGER), Level.TRACE, Level.DEBUG, Level.WARN);
+    }
+
+    public LoggingRequestEventListener(Logger logger, Level startLevel, Level successLevel, Level failureLevel) {
+        this.logger = logger;
+        this.startLevel = startLevel;
+        this.successLevel = successLevel;
+        this.failureLevel = failureLevel;
+    }
+
+    @Override
+    public void onRequestStart(RequestEvent event) {
+        if (logger.isEnabledForLevel(startLevel)) {
+            logger.atLevel(startLevel)
+                    .addKeyValue("method", event.getMethod())
+                    .addKeyValue("url", event.getUrl())
+                    .log("request.start");
+        }
+    }
+
+    @Override
+    public void onRequestSuccess(RequestEvent event) {
+        if (logger.isEnabledForLevel(successLevel)) {
+            logger.atLevel(successLevel)
+                    .addKeyValue("method", event.getMethod())
+                    .addKeyValue("url", event.getUrl())
+                    .addKeyValue("durationMs", event.getDurationMillis())
+                    .log("request.success");
+        }
+    }
+
+    @Override
+    public void onRequestFailure(RequestEvent event, Throwable error) {
+        if (logger.isEnabledForLevel(failureLevel)) {
+            logger.atLevel(failureLevel)
+                    .addKeyValue("method", event.getMethod())
+                    .addKeyValue("url", event.getUrl())
+                    .addKeyValue("durationMs", event.getDurationMillis())
+                    .addKeyValue("error", error.getClass().getName())
+                    .setCause(error)
+                    .log("request.failure");
+        }
+    }
+
+    @Override
+    public void onRequestCancel(RequestEvent event) {
+        if (logger.isEnabledForLevel(successLevel)) {
+            logger.atLevel(successLevel)
+                    .addKeyValue("method", event.getMethod())
+                    .addKeyValue("url", event.getUrl())
+                    .addKeyValue("durationMs", event.getDurationMillis())
+                    .log("request.cancel");
+        }
+    }
+}
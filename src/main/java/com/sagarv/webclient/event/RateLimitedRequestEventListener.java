@@ -0,0 +1,72 @@
+package com.sagarv.webclient.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Forwards at most {@code eventsPerSecond} events to the delegate and counts the rest. The limit is
+ * a fixed one-second window kept in a single atomic, so callers never block or take a lock.
+ */
+public class RateLimitedRequestEventListener implements RequestEventListener {
+
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private final RequestEventListener delegate;
+    private final int eventsPerSecond;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicLong windowCount = new AtomicLong();
+    private final LongAdder suppressed = new LongAdder();
+
+    public RateLimitedRequestEventListener(RequestEventListener delegate, int eventsPerSecond) {
+        if (eventsPerSecond <= 0) {
+            throw new IllegalArgumentException("eventsPerSecond must be positive but was " + eventsPerSecond);
+        }
+        this.delegate = delegate;
+        this.eventsPerSecond = eventsPerSecond;
+    }
+
+    public long getSuppressedCount() {
+        return suppressed.sum();
+    }
+
+    boolean tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            windowCount.set(0);
+        }
+        if (windowCount.incrementAndGet() <= eventsPerSecond) {
+            return true;
+        }
+        suppressed.increment();
+        return false;
+    }
+
+    @Override
+    public void onRequestStart(RequestEvent event) {
+        if (tryAcquire()) {
+            delegate.onRequestStart(event);
+        }
+    }
+
+    @Override
+    public void onRequestSuccess(RequestEvent event) {
+        if (tryAcquire()) {
+            delegate.onRequestSuccess(event);
+        }
+    }
+
+    @Override
+    public void onRequestFailure(RequestEvent event, Throwable error) {
+        if (tryAcquire()) {
+            delegate.onRequestFailure(event, error);
+        }
+    }
+
+    @Override
+    public void onRequestCancel(RequestEvent event) {
+        if (tryAcquire()) {
+            delegate.onRequestCancel(event);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.sagarv.webclient.event;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.Arrays;
+
+/**
+ * A single request as seen by a {@link RequestEventListener}. One instance is created per
+ * subscription and is completed in place when the request terminates.
+ */
+public class RequestEvent {
+
+    private static final int PHASE_COUNT = RequestPhase.values().length;
+    private static final RequestPhase[] NEW_CONNECTION_PHASES = {RequestPhase.DNS, RequestPhase.CONNECT, RequestPhase.TLS_HANDSHAKE};
+
+    private final HttpMethod method;
+    private final String url;
+    private final long startNanos;
+    private volatile long endNanos;
+    private volatile int status;
+    private volatile long responseBytes = -1;
+    private volatile long[] phaseNanos;
+    private volatile TraceContext traceContext;
+    private final TraceContext parentTrace;
+    // Marks of the current exchange, written serially by the exchange's connection.
+    private long exchangeStartNanos;
+    private long resolveStartNanos;
+    private long requestSentNanos;
+    private long responseStartNanos;
+    boolean sampled = true;
+
+    public RequestEvent(HttpMethod method, String url) {
+        this(method, url, null);
+    }
+
+    public RequestEvent(HttpMethod method, String url, TraceContext parentTrace) {
+        this.method = method;
+        this.url = url;
+        this.parentTrace = parentTrace;
+        this.startNanos = System.nanoTime();
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public boolean isCompleted() {
+        return endNanos != 0;
+    }
+
+    public long getDurationNanos() {
+        long end = endNanos;
+        return (end == 0 ? System.nanoTime() : end) - startNanos;
+    }
+
+    public long getDurationMillis() {
+        return getDurationNanos() / 1_000_000;
+    }
+
+    /**
+     * HTTP status of the last response received for this request, or 0 when no response arrived
+     * (connect failure, timeout, rejected before sending).
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Response body bytes read so far, or -1 when no body was observed.
+     */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    /**
+     * Time spent in {@code phase} by the last exchange, or -1 when it was not observed; see {@link RequestPhaseRecorder}.
+     */
+    public long getPhaseNanos(RequestPhase phase) {
+        long[] phases = phaseNanos;
+        return phases == null ? -1 : phases[phase.ordinal()];
+    }
+
+    public boolean hasPhases() {
+        return phaseNanos != null;
+    }
+
+    /**
+     * The span of this request when a {@link TracingRequestEventListener} traces it, else {@code null}.
+     */
+    public TraceContext getTraceContext() {
+        return traceContext;
+    }
+
+    /**
+     * The caller's span taken from the subscriber context, or {@code null}.
+     */
+    public TraceContext getParentTrace() {
+        return parentTrace;
+    }
+
+    void setTraceContext(TraceContext traceContext) {
+        this.traceContext = traceContext;
+    }
+
+    void startExchange(long now) {
+        long[] phases = phaseNanos;
+        if (phases != null) {
+            Arrays.fill(phases, -1);
+        }
+        exchangeStartNanos = now;
+        resolveStartNanos = 0;
+        requestSentNanos = 0;
+        responseStartNanos = 0;
+    }
+
+    void startResolve(long now) {
+        resolveStartNanos = now;
+    }
+
+    void endResolve(long now) {
+        if (resolveStartNanos != 0) {
+            recordPhase(RequestPhase.DNS, now - resolveStartNanos);
+        }
+    }
+
+    void startRequest(long now) {
+        if (exchangeStartNanos == 0) {
+            return;
+        }
+        long acquire = now - exchangeStartNanos;
+        for (RequestPhase phase : NEW_CONNECTION_PHASES) {
+            acquire -= Math.max(0, getPhaseNanos(phase));
+        }
+        recordPhase(RequestPhase.CONNECTION_ACQUIRE, Math.max(0, acquire));
+    }
+
+    void requestSent(long now, long sendNanos) {
+        requestSentNanos = now;
+        recordPhase(RequestPhase.REQUEST_SEND, sendNanos);
+    }
+
+    void startResponse(long now) {
+        responseStartNanos = now;
+        if (requestSentNanos != 0) {
+            recordPhase(RequestPhase.TIME_TO_FIRST_BYTE, now - requestSentNanos);
+        }
+    }
+
+    void endBody(long now) {
+        if (responseStartNanos != 0) {
+            recordPhase(RequestPhase.BODY, now - responseStartNanos);
+        }
+    }
+
+    void recordPhase(RequestPhase phase, long nanos) {
+        long[] phases = phaseNanos;
+        if (phases == null) {
+            phases = new long[PHASE_COUNT];
+            Arrays.fill(phases, -1);
+            phaseNanos = phases;
+        }
+        phases[phase.ordinal()] = nanos;
+    }
+
+    void recordResponse(int status) {
+        this.status = status;
+        this.responseBytes = -1;
+    }
+
+    void addResponseBytes(int bytes) {
+        // Body buffers of a single response are delivered serially.
+        long current = responseBytes;
+        this.responseBytes = (current < 0 ? 0 : current) + bytes;
+    }
+
+    void complete() {
+        this.endNanos = System.nanoTime();
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + url + " (" + getDurationMillis() + " ms)";
+    }
+}
@@ -0,0 +1,40 @@
+package com.sagarv.webclient.event;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Records the response status, body size and response phases on the {@link RequestEvent} of an
+ * observed request, and sends its span as {@code traceparent} when it is traced. Requests that are
+ * not observed pass straight through. {@link com.sagarv.webclient.WebClientConfig}
+ * registers this filter; add it to custom {@code WebClient}s to get status and size in events.
+ */
+public class RequestEventExchangeFilter implements ExchangeFilterFunction {
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            RequestEvent event = RequestObservation.currentEvent(context);
+            if (event == null) {
+                return next.exchange(request);
+            }
+            event.startExchange(System.nanoTime());
+            TraceContext trace = event.getTraceContext();
+            ClientRequest traced = trace == null ? request : ClientRequest.from(request)
+                    .headers(headers -> headers.set(TraceContext.TRACEPARENT, trace.toTraceparent()))
+                    .build();
+            return next.exchange(traced).map(response -> {
+                event.recordResponse(response.rawStatusCode());
+                event.startResponse(System.nanoTime());
+                return response.mutate()
+                        .body(body -> body
+                                .doOnNext(buffer -> event.addResponseBytes(buffer.readableByteCount()))
+                                .doOnComplete(() -> event.endBody(System.nanoTime())))
+                        .build();
+            });
+        });
+    }
+}
@@ -0,0 +1,31 @@
+package com.sagarv.webclient.event;
+
+/**
+ * Receives request lifecycle events from the executors, {@link com.sagarv.webclient.RequestBuilder}
+ * and {@link com.sagarv.webclient.RequestTemplate}. Implementations are called on the thread that
+ * completes the request and must not block; use {@link AsyncRequestEventListener} for slow sinks.
+ */
+public interface RequestEventListener {
+
+    /**
+     * Listener that receives nothing. Requests observed with it skip event creation entirely.
+     */
+    RequestEventListener NOOP = new RequestEventListener() {
+    };
+
+    default void onRequestStart(RequestEvent event) {
+    }
+
+    default void onRequestSuccess(RequestEvent event) {
+    }
+
+    default void onRequestFailure(RequestEvent event, Throwable error) {
+    }
+
+    default void onRequestCancel(RequestEvent event) {
+    }
+
+    static RequestEventListener composite(RequestEventListener... listeners) {
+        return new CompositeRequestEventListener(listeners);
+    }
+}
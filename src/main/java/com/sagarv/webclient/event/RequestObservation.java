@@ -0,0 +1,142 @@
+package com.sagarv.webclient.event;
+
+import org.springframework.http.HttpMethod;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.function.Function;
+
+/**
+ * Attaches a {@link RequestEventListener} to a request publisher. With
+ * {@link RequestEventListener#NOOP} the publisher is returned untouched, so disabled observation
+ * adds no operators and no allocations. The {@link RequestEvent} is also placed in the subscriber
+ * context so {@link RequestEventExchangeFilter} can attach the response status and size to it.
+ */
+public final class RequestObservation {
+
+    private RequestObservation() {
+    }
+
+    public static <R> Mono<R> observe(Mono<R> request, RequestEventListener listener, HttpMethod method, String url) {
+        if (listener == RequestEventListener.NOOP) {
+            return request;
+        }
+        return Mono.deferContextual(context -> {
+            RequestEvent event = new RequestEvent(method, url, TraceContext.current(context));
+            listener.onRequestStart(event);
+            return request
+                    .doOnSuccess(response -> {
+                        event.complete();
+                        listener.onRequestSuccess(event);
+                    })
+                    .doOnError(error -> {
+                        event.complete();
+                        listener.onRequestFailure(event, error);
+                    })
+                    .doOnCancel(() -> {
+                        event.complete();
+                        listener.onRequestCancel(event);
+                    })
+                    .contextWrite(Context.of(RequestEvent.class, event));
+        });
+    }
+
+    public static <R> Flux<R> observe(Flux<R> request, RequestEventListener listener, HttpMethod method, String url) {
+        if (listener == RequestEventListener.NOOP) {
+            return request;
+        }
+        return Flux.deferContextual(context -> {
+            RequestEvent event = new RequestEvent(method, url, TraceContext.current(context));
+            listener.onRequestStart(event);
+            return request
+                    .doOnComplete(() -> {
+                        event.complete();
+                        listener.onRequestSuccess(event);
+                    })
+                    .doOnError(error -> {
+                        event.complete();
+                        listener.onRequestFailure(event, error);
+                    })
+                    .doOnCancel(() -> {
+                        event.complete();
+                        listener.onRequestCancel(event);
+                    })
+                    .contextWrite(Context.of(RequestEvent.class, event));
+        });
+    }
+
+    /**
+     * Blocking counterpart of {@link #observe(Mono, RequestEventListener, HttpMethod, String)} that runs
+     * {@code request} on the calling thread. The request receives the event (or {@code null} when
+     * observation is disabled) so it can {@link #recordResponse record} the response on it.
+     */
+    public static <R> R observeBlocking(Function<RequestEvent, R> request, RequestEventListener listener, HttpMethod method, String url) {
+        if (listener == RequestEventListener.NOOP) {
+            return request.apply(null);
+        }
+        RequestEvent event = new RequestEvent(method, url);
+        listener.onRequestStart(event);
+        R response;
+        try {
+            response = request.apply(event);
+        } catch (RuntimeException | Error e) {
+            event.complete();
+            listener.onRequestFailure(event, e);
+            throw e;
+        }
+        event.complete();
+        listener.onRequestSuccess(event);
+        return response;
+    }
+
+    /**
+     * Marks the start of an attempt made outside the WebClient filter chain and returns the
+     * {@code traceparent} to send with it, or {@code null} when the request is not traced.
+     */
+    public static String startExchange(RequestEvent event) {
+        if (event == null) {
+            return null;
+        }
+        event.startExchange(System.nanoTime());
+        TraceContext trace = event.getTraceContext();
+        return trace == null ? null : trace.toTraceparent();
+    }
+
+    /**
+     * Marks the arrival of the response headers of an attempt made outside the WebClient filter chain,
+     * so the {@link RequestPhase#BODY} phase is recorded when its response is.
+     */
+    public static void startResponse(RequestEvent event) {
+        if (event != null) {
+            event.startResponse(System.nanoTime());
+        }
+    }
+
+    /**
+     * Records the status and body size of a response received outside the WebClient filter chain.
+     */
+    public static void recordResponse(RequestEvent event, int status, int bodyBytes) {
+        if (event == null) {
+            return;
+        }
+        event.endBody(System.nanoTime());
+        event.recordResponse(status);
+        if (bodyBytes >= 0) {
+            event.addResponseBytes(bodyBytes);
+        }
+    }
+
+    /**
+     * {@code context} without the caller's event and span, for an exchange shared by several observed
+     * calls, which then records no response on their events and sends no {@code traceparent}.
+     */
+    public static Context detach(Context context) {
+        return context.delete(RequestEvent.class).delete(TraceContext.class);
+    }
+
+    static RequestEvent currentEvent(ContextView context) {
+        return context.getOrDefault(RequestEvent.class, null);
+    }
+}
@@ -0,0 +1,32 @@
+package com.sagarv.webclient.event;
+
+/**
+ * Where the time of one exchange went, as recorded by {@link RequestPhaseRecorder}. DNS, connect
+ * and TLS only appear when the exchange opened a new connection.
+ */
+public enum RequestPhase {
+    /** Waiting for a pooled connection, excluding the DNS, connect and TLS time of a new one. */
+    CONNECTION_ACQUIRE("connection.acquire"),
+    DNS("dns"),
+    CONNECT("connect"),
+    TLS_HANDSHAKE("tls.handshake"),
+    /** Writing the request headers and body. */
+    REQUEST_SEND("request.send"),
+    /** From the end of the request until the response headers arrived. */
+    TIME_TO_FIRST_BYTE("first.byte"),
+    /** From the response headers until the body was read and decoded. */
+    BODY("body");
+
+    private final String tag;
+
+    RequestPhase(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * The name used in metric tags and span attributes.
+     */
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,115 @@
+package com.sagarv.webclient.event;
+
+import reactor.netty.ConnectionObserver;
+import reactor.netty.http.client.ContextAwareHttpClientMetricsRecorder;
+import reactor.netty.http.client.HttpClient;
+import reactor.util.context.ContextView;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Records the {@link RequestPhase}s of every observed exchange on its {@link RequestEvent}, from the
+ * Reactor Netty connection callbacks and metrics recorder, which see the request's subscriber
+ * context. Exchanges without an event cost one context lookup per callback. Install it with
+ * {@link #instrument(HttpClient)} (or {@code HttpClientProperties.setPhaseTimings(true)} for
+ * {@code WebClientConfig}); the response phases also need {@link RequestEventExchangeFilter}.
+ */
+public final class RequestPhaseRecorder extends ContextAwareHttpClientMetricsRecorder {
+
+    private static final RequestPhaseRecorder INSTANCE = new RequestPhaseRecorder();
+
+    private RequestPhaseRecorder() {
+    }
+
+    public static HttpClient instrument(HttpClient httpClient) {
+        return httpClient
+                .metrics(true, () -> INSTANCE, Function.identity())
+                .doOnResolve(connection -> {
+                    RequestEvent event = event(connection);
+                    if (event != null) {
+                        event.startResolve(System.nanoTime());
+                    }
+                })
+                .doAfterResolve((connection, address) -> {
+                    RequestEvent event = event(connection);
+                    if (event != null) {
+                        event.endResolve(System.nanoTime());
+                    }
+                })
+                .doOnRequest((request, connection) -> {
+                    RequestEvent event = RequestObservation.currentEvent(request.currentContextView());
+                    if (event != null) {
+                        event.startRequest(System.nanoTime());
+                    }
+                });
+    }
+
+    private static RequestEvent event(Object connection) {
+        return connection instanceof ConnectionObserver ? RequestObservation.currentEvent(((ConnectionObserver) connection).currentContext()) : null;
+    }
+
+    @Override
+    public void recordConnectTime(ContextView context, SocketAddress remoteAddress, Duration time, String status) {
+        record(context, RequestPhase.CONNECT, time);
+    }
+
+    @Override
+    public void recordTlsHandshakeTime(ContextView context, SocketAddress remoteAddress, Duration time, String status) {
+        record(context, RequestPhase.TLS_HANDSHAKE, time);
+    }
+
+    @Override
+    public void recordDataSentTime(ContextView context, SocketAddress remoteAddress, String uri, String method, Duration time) {
+        RequestEvent event = RequestObservation.currentEvent(context);
+        if (event != null) {
+            event.requestSent(System.nanoTime(), time.toNanos());
+        }
+    }
+
+    private static void record(ContextView context, RequestPhase phase, Duration time) {
+        RequestEvent event = RequestObservation.currentEvent(context);
+        if (event != null) {
+            event.recordPhase(phase, time.toNanos());
+        }
+    }
+
+    // The remaining measurements are covered by RequestEvent and the exchange filter.
+
+    @Override
+    public void recordDataReceivedTime(ContextView context, SocketAddress remoteAddress, String uri, String method, String status, Duration time) {
+    }
+
+    @Override
+    public void recordResponseTime(ContextView context, SocketAddress remoteAddress, String uri, String method, String status, Duration time) {
+    }
+
+    @Override
+    public void recordDataReceived(ContextView context, SocketAddress remoteAddress, String uri, long bytes) {
+    }
+
+    @Override
+    public void recordDataSent(ContextView context, SocketAddress remoteAddress, String uri, long bytes) {
+    }
+
+    @Override
+    public void incrementErrorsCount(ContextView context, SocketAddress remoteAddress, String uri) {
+    }
+
+    @Override
+    public void recordDataReceived(ContextView context, SocketAddress remoteAddress, long bytes) {
+    }
+
+    @Override
+    public void recordDataSent(ContextView context, SocketAddress remoteAddress, long bytes) {
+    }
+
+    @Override
+    public void incrementErrorsCount(ContextView context, SocketAddress remoteAddress) {
+    }
+
+    @Override
+    public void recordResolveAddressTime(SocketAddress remoteAddress, Duration time, String status) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.sagarv.webclient.event;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Forwards a random fraction of requests to the delegate. The sampling decision is taken once per
+ * request at start so a sampled request reports its whole lifecycle; failures of unsampled requests
+ * are still forwarded unless {@code alwaysReportFailures} is off.
+ */
+public class SamplingRequestEventListener implements RequestEventListener {
+
+    private final RequestEventListener delegate;
+    private final double rate;
+    private final boolean alwaysReportFailures;
+
+    public SamplingRequestEventListener(RequestEventListener delegate, double rate) {
+        this(delegate, rate, true);
+    }
+
+    public SamplingRequestEventListener(RequestEventListener delegate, double rate, boolean alwaysReportFailures) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("Sampling rate must be between 0 and 1 but was " + rate);
+        }
+        this.delegate = delegate;
+        this.rate = rate;
+        this.alwaysReportFailures = alwaysReportFailures;
+    }
+
+    @Override
+    public void onRequestStart(RequestEvent event) {
+        event.sampled = ThreadLocalRandom.current().nextDouble() < rate;
+        if (event.sampled) {
+            delegate.onRequestStart(event);
+        }
+    }
+
+    @Override
+    public void onRequestSuccess(RequestEvent event) {
+        if (event.sampled) {
+            delegate.onRequestSuccess(event);
+        }
+    }
+
+    @Override
+    public void onRequestFailure(RequestEvent event, Throwable error) {
+        if (alwaysReportFailures || event.sampled) {
+            delegate.onRequestFailure(event, error);
+        }
+    }
+
+    @Override
+    public void onRequestCancel(RequestEvent event) {
+        if (event.sampled) {
+            delegate.onRequestCancel(event);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.sagarv.webclient.event;
+
+/**
+ * Receives the spans finished by a {@link TracingRequestEventListener}, e.g. to hand them to an
+ * OpenTelemetry SDK exporter. Called on the thread that completes the request; must not block.
+ */
+@FunctionalInterface
+public interface SpanExporter {
+    void export(ClientSpan span);
+}
@@ -0,0 +1,131 @@
+package com.sagarv.webclient.event;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A W3C trace context: the trace id, the id of one span and whether the trace is sampled. It is
+ * sent as the {@code traceparent} header and is compatible with OpenTelemetry span contexts. Put
+ * the caller's span in the subscriber context with {@link #withParent(Context, TraceContext)} to
+ * make client spans its children.
+ */
+public final class TraceContext {
+
+    public static final String TRACEPARENT = "traceparent";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String traceId;
+    private final String spanId;
+    private final boolean sampled;
+
+    private TraceContext(String traceId, String spanId, boolean sampled) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.sampled = sampled;
+    }
+
+    /**
+     * Starts a new trace.
+     */
+    public static TraceContext root(boolean sampled) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high = random.nextLong();
+        long low = random.nextLong();
+        if (high == 0 && low == 0) {
+            low = 1;
+        }
+        return new TraceContext(hex(high) + hex(low), newSpanId(), sampled);
+    }
+
+    /**
+     * Reads a {@code traceparent} header, returning {@code null} when it is missing or malformed.
+     */
+    public static TraceContext parse(String traceparent) {
+        if (traceparent == null || traceparent.length() < 55 || traceparent.charAt(2) != '-'
+                || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-' || traceparent.startsWith("ff")) {
+            return null;
+        }
+        String traceId = traceparent.substring(3, 35);
+        String spanId = traceparent.substring(36, 52);
+        if (!isHex(traceId) || !isHex(spanId) || isZero(traceId) || isZero(spanId)) {
+            return null;
+        }
+        int flags = Character.digit(traceparent.charAt(54), 16);
+        return new TraceContext(traceId, spanId, flags >= 0 && (flags & 1) == 1);
+    }
+
+    public static TraceContext current(ContextView context) {
+        return context.getOrDefault(TraceContext.class, null);
+    }
+
+    public static Context withParent(Context context, TraceContext parent) {
+        return context.put(TraceContext.class, parent);
+    }
+
+    /**
+     * A new span in the same trace, keeping the sampling decision.
+     */
+    public TraceContext child() {
+        return new TraceContext(traceId, newSpanId(), sampled);
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    public String toTraceparent() {
+        return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    @Override
+    public String toString() {
+        return toTraceparent();
+    }
+
+    private static String newSpanId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return hex(id);
+    }
+
+    private static String hex(long value) {
+        char[] chars = new char[16];
+        for (int i = 15; i >= 0; i--) {
+            chars[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        return new String(chars);
+    }
+
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZero(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
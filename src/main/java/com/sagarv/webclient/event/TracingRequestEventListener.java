@@ -0,0 +1,136 @@
+package com.sagarv.webclient.event;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Traces observed requests as client spans. Each request gets a span that is a child of the
+ * {@link TraceContext} in the subscriber context, or the root of a new trace, and
+ * {@link RequestEventExchangeFilter} sends it upstream as {@code traceparent}.
+ * <p>
+ * New traces are sampled at {@code sampleRatio}; child spans follow their parent's decision. Sampled
+ * spans are exported. With an exemplar threshold, unsampled requests that fail or take at least that
+ * long are exported too, so the slow tail stays visible at a low sample ratio.
+ */
+public class TracingRequestEventListener implements RequestEventListener {
+
+    private final SpanExporter exporter;
+    private final double sampleRatio;
+    private final long exemplarThresholdNanos;
+
+    private TracingRequestEventListener(Builder builder) {
+        this.exporter = builder.exporter;
+        this.sampleRatio = builder.sampleRatio;
+        this.exemplarThresholdNanos = builder.exemplarThreshold == null ? -1 : builder.exemplarThreshold.toNanos();
+    }
+
+    public static Builder builder(SpanExporter exporter) {
+        return new Builder(exporter);
+    }
+
+    @Override
+    public void onRequestStart(RequestEvent event) {
+        TraceContext parent = event.getParentTrace();
+        event.setTraceContext(parent != null ? parent.child() : TraceContext.root(sample()));
+    }
+
+    @Override
+    public void onRequestSuccess(RequestEvent event) {
+        finish(event, null);
+    }
+
+    @Override
+    public void onRequestFailure(RequestEvent event, Throwable error) {
+        finish(event, error);
+    }
+
+    @Override
+    public void onRequestCancel(RequestEvent event) {
+        finish(event, null);
+    }
+
+    private boolean sample() {
+        return sampleRatio >= 1.0 || (sampleRatio > 0 && ThreadLocalRandom.current().nextDouble() < sampleRatio);
+    }
+
+    private void finish(RequestEvent event, Throwable error) {
+        TraceContext context = event.getTraceContext();
+        if (context == null) {
+            return;
+        }
+        long duration = event.getDurationNanos();
+        int status = event.getStatus();
+        boolean failed = error != null || status >= 500;
+        boolean exemplar = exemplarThresholdNanos >= 0 && (failed || duration >= exemplarThresholdNanos);
+        if (!context.isSampled() && !exemplar) {
+            return;
+        }
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("http.request.method", event.getMethod().name());
+        attributes.put("url.full", event.getUrl());
+        addServer(attributes, event.getUrl());
+        if (status > 0) {
+            attributes.put("http.response.status_code", status);
+        }
+        if (error != null) {
+            attributes.put("error.type", error.getClass().getName());
+        } else if (status >= 500) {
+            attributes.put("error.type", Integer.toString(status));
+        }
+        for (RequestPhase phase : RequestPhase.values()) {
+            long nanos = event.getPhaseNanos(phase);
+            if (nanos >= 0) {
+                attributes.put("http.client.phase." + phase.tag(), nanos);
+            }
+        }
+        long startEpochNanos = System.currentTimeMillis() * 1_000_000 - duration;
+        TraceContext parent = event.getParentTrace();
+        exporter.export(new ClientSpan(event.getMethod().name(), context, parent == null ? null : parent.getSpanId(),
+                startEpochNanos, duration, failed, attributes));
+    }
+
+    private static void addServer(Map<String, Object> attributes, String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getHost() != null) {
+                attributes.put("server.address", uri.getHost());
+                attributes.put("server.port", uri.getPort() >= 0 ? uri.getPort() : "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80);
+            }
+        } catch (IllegalArgumentException e) {
+            // Relative or unparsable URLs carry no server attributes.
+        }
+    }
+
+    public static class Builder {
+        private final SpanExporter exporter;
+        private double sampleRatio = 1.0;
+        private Duration exemplarThreshold;
+
+        private Builder(SpanExporter exporter) {
+            this.exporter = exporter;
+        }
+
+        /**
+         * Share of new traces that are sampled, from 0 to 1; 1 by default.
+         */
+        public Builder sampleRatio(double sampleRatio) {
+            this.sampleRatio = sampleRatio;
+            return this;
+        }
+
+        /**
+         * Also exports unsampled requests that fail or take at least {@code threshold}; off by default.
+         */
+        public Builder exemplarThreshold(Duration threshold) {
+            this.exemplarThreshold = threshold;
+            return this;
+        }
+
+        public TracingRequestEventListener build() {
+            return new TracingRequestEventListener(this);
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.sagarv.webclient.impl;
 
 import com.sagarv.webclient.api.AsyncRequestExecutor;
+import com.sagarv.webclient.api.ResponseParser;
 import com.sagarv.webclient.common.AbstractRequestExecutor;
+import com.sagarv.webclient.common.ExecutorOptions;
+import com.sagarv.webclient.event.RequestEventListener;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
@@ -15,6 +19,14 @@ public class AsyncRequestExecutorImpl extends AbstractRequestExecutor implements
         super(webClient, circuitBreaker);
     }
 
+    public AsyncRequestExecutorImpl(WebClient webClient, CircuitBreaker circuitBreaker, RequestEventListener eventListener) {
+        super(webClient, circuitBreaker, eventListener);
+    }
+
+    public AsyncRequestExecutorImpl(WebClient webClient, ExecutorOptions options) {
+        super(webClient, options);
+    }
+
     @Override
     public <R> Mono<R> execute(HttpMethod method, String url, Map<String, String> headers, Class<R> responseType) {
         return executeMono(method, url, null, headers, responseType);
@@ -24,4 +36,24 @@ public class AsyncRequestExecutorImpl extends AbstractRequestExecutor implements
     public <B, R> Mono<R> execute(HttpMethod method, String url, B body, Map<String, String> headers, Class<R> responseType) {
         return executeMono(method, url, body, headers, responseType);
     }
+
+    @Override
+    public <R> Mono<R> execute(HttpMethod method, String url, Map<String, String> headers, ParameterizedTypeReference<R> responseType) {
+        return executeMono(method, url, null, headers, responseType);
+    }
+
+    @Override
+    public <B, R> Mono<R> execute(HttpMethod method, String url, B body, Map<String, String> headers, ParameterizedTypeReference<R> responseType) {
+        return executeMono(method, url, body, headers, responseType);
+    }
+
+    @Override
+    public <R> Mono<R> execute(HttpMethod method, String url, Map<String, String> headers, ResponseParser<R> parser) {
+        return executeMono(method, url, null, headers, parser);
+    }
+
+    @Override
+    public <B, R> Mono<R> execute(HttpMethod method, String url, B body, Map<String, String> headers, ResponseParser<R> parser) {
+        return executeMono(method, url, body, headers, parser);
+    }
 }
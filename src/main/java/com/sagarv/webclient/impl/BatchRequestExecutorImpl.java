@@ -0,0 +1,100 @@
+package com.sagarv.webclient.impl;
+
+import com.sagarv.webclient.api.BatchRequestExecutor;
+import com.sagarv.webclient.batch.BatchOptions;
+import com.sagarv.webclient.batch.BatchRequest;
+import com.sagarv.webclient.batch.BatchResult;
+import com.sagarv.webclient.common.AbstractRequestExecutor;
+import com.sagarv.webclient.common.ExecutorOptions;
+import com.sagarv.webclient.resilience.Deadline;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs a batch through the same pipeline as the async executor (resilience, retry, cache, events), with
+ * requests grouped by upstream so each host sees at most {@link BatchOptions#getMaxConcurrencyPerHost()}
+ * calls at once however large the batch is. Requests are pulled from the source as permits free up,
+ * and a failed request becomes a failed {@link BatchResult} instead of terminating the batch.
+ */
+public class BatchRequestExecutorImpl extends AbstractRequestExecutor implements BatchRequestExecutor {
+
+    public BatchRequestExecutorImpl(WebClient webClient, ExecutorOptions options) {
+        super(webClient, options);
+    }
+
+    @Override
+    public <R> Flux<BatchResult<R>> execute(Iterable<BatchRequest<R>> requests, BatchOptions options) {
+        return execute(Flux.fromIterable(requests), options);
+    }
+
+    @Override
+    public <R> Flux<BatchResult<R>> execute(Flux<BatchRequest<R>> requests, BatchOptions options) {
+        int perHost = options.getMaxConcurrencyPerHost();
+        return Flux.defer(() -> {
+            Deadline deadline = options.getDeadline() == null ? null : Deadline.after(options.getDeadline());
+            Flux<BatchResult<R>> results = requests.index()
+                    .groupBy(indexed -> resilienceRegistry.keyFor(indexed.getT2().getUrl()))
+                    // Groups are per upstream, so the outer merge must subscribe to all of them.
+                    .flatMap(host -> host.flatMap(indexed -> call(indexed.getT1(), indexed.getT2(), deadline), perHost), Integer.MAX_VALUE);
+            if (!options.isOrdered()) {
+                return results;
+            }
+            Reordering<R> reordering = new Reordering<>();
+            return results.concatMapIterable(reordering::accept);
+        });
+    }
+
+    private <R> Mono<BatchResult<R>> call(long index, BatchRequest<R> request, Deadline deadline) {
+        return Mono.defer(() -> {
+            Mono<R> response = executeMono(request.getMethod(), request.getUrl(), request.getBody(), request.getHeaders(), request.getResponseType());
+            if (deadline != null) {
+                long remaining = deadline.remainingNanos();
+                if (remaining <= 0) {
+                    return Mono.just(BatchResult.failure(index, request, new TimeoutException("Batch deadline passed before the request started")));
+                }
+                // The deadline also bounds the request's own attempts and retries and is sent upstream.
+                response = response.timeout(Duration.ofNanos(remaining),
+                                Mono.error(() -> new TimeoutException("Batch deadline passed while the request was running")))
+                        .contextWrite(context -> Deadline.withDeadline(context, deadline));
+            }
+            return response
+                    .map(value -> BatchResult.success(index, request, value))
+                    .defaultIfEmpty(BatchResult.success(index, request, null))
+                    .onErrorResume(error -> Mono.just(BatchResult.failure(index, request, error)));
+        });
+    }
+
+    /**
+     * Holds back results until all earlier indices have been emitted. Only called from the serialized
+     * output of the merge, so it needs no locking.
+     */
+    private static final class Reordering<R> {
+        private final Map<Long, BatchResult<R>> pending = new HashMap<>();
+        private long next;
+
+        List<BatchResult<R>> accept(BatchResult<R> result) {
+            if (result.getIndex() != next) {
+                pending.put(result.getIndex(), result);
+                return Collections.emptyList();
+            }
+            List<BatchResult<R>> ready = new ArrayList<>(1);
+            ready.add(result);
+            next++;
+            BatchResult<R> following;
+            while ((following = pending.remove(next)) != null) {
+                ready.add(following);
+                next++;
+            }
+            return ready;
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package com.sagarv.webclient.impl;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sagarv.webclient.HttpClientProperties;
+import com.sagarv.webclient.RestClientException;
+import com.sagarv.webclient.api.ListRequestExecutor;
+import com.sagarv.webclient.api.SyncRequestExecutor;
+import com.sagarv.webclient.codec.Codecs;
+import com.sagarv.webclient.common.ExecutorOptions;
+import com.sagarv.webclient.compression.RequestCompressionFilter;
+import com.sagarv.webclient.event.RequestEvent;
+import com.sagarv.webclient.event.RequestObservation;
+import com.sagarv.webclient.event.TraceContext;
+import com.sagarv.webclient.loadbalance.Endpoint;
+import com.sagarv.webclient.loadbalance.ServiceRegistry;
+import com.sagarv.webclient.resilience.Deadline;
+import com.sagarv.webclient.resilience.DeadlineExceededException;
+import com.sagarv.webclient.resilience.DeadlineExchangeFilter;
+import com.sagarv.webclient.resilience.QuotaExchangeFilter;
+import com.sagarv.webclient.resilience.QuotaLimiter;
+import com.sagarv.webclient.resilience.RetryPolicy;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link SyncRequestExecutor} that performs requests with the JDK {@link HttpClient} on the calling
+ * thread instead of blocking on a Reactor pipeline. {@code HttpClient.send} parks the caller while the
+ * exchange runs and nothing on this path holds a monitor, so on virtual threads the carrier is
+ * released for the whole round trip. It also works on threads where {@code block()} is forbidden.
+ * <p>
+ * The executor applies the event listener, the resilience policies, the retry policy and the deadline
+ * from {@link ExecutorOptions}. The deadline starts when the call does: each attempt's timeout is
+ * capped at the time left, which is also sent as {@code X-Request-Timeout-Ms}, and no retry is made
+ * that would start after it. It does not apply the response cache, request coalescing or hedging.
+ * <p>
+ * Built from {@link HttpClientProperties}, it takes the connect timeout, uses the response timeout
+ * for each attempt and negotiates HTTP/2 when the protocol asks for it. Each attempt waits for the
+ * {@link QuotaExchangeFilter}'s quota, sends the span of a traced request as {@code traceparent} and
+ * has its body compressed by the {@link RequestCompressionFilter}, as the filters would do for a
+ * {@code WebClient}. The JDK client keeps its own connection pool, so the pool, read and write timeout
+ * settings do not apply, and of the phase timings only the body phase is recorded.
+ */
+public class BlockingSyncRequestExecutorImpl implements SyncRequestExecutor, ListRequestExecutor {
+
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private final HttpClient httpClient;
+    private final Codecs codecs;
+    private final ExecutorOptions options;
+    private final Duration timeout;
+    private final QuotaExchangeFilter quotas;
+    private final RequestCompressionFilter requestCompression;
+    private final boolean phaseTimings;
+
+    public BlockingSyncRequestExecutorImpl(ExecutorOptions options) {
+        this(new HttpClientProperties(), options, null, null);
+    }
+
+    /**
+     * @param quotas             paces requests as the {@code WebClient}'s quota filter does, or {@code null}
+     * @param requestCompression compresses request bodies as the {@code WebClient}'s filter does, or {@code null}
+     * @throws IllegalArgumentException if {@code properties} ask for HTTP/2 with prior knowledge, which the
+     *                                  JDK client cannot do
+     */
+    public BlockingSyncRequestExecutorImpl(HttpClientProperties properties, ExecutorOptions options, QuotaExchangeFilter quotas,
+                                           RequestCompressionFilter requestCompression) {
+        this(HttpClient.newBuilder()
+                .connectTimeout(properties.getConnectTimeout())
+                .version(version(properties.getProtocol()))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build(), options.getCodecs() != null ? options.getCodecs() : Codecs.defaults(), options, properties.getResponseTimeout(),
+                quotas, requestCompression, properties.isPhaseTimings());
+    }
+
+    public BlockingSyncRequestExecutorImpl(HttpClient httpClient, ObjectMapper objectMapper, ExecutorOptions options, Duration timeout) {
+        this(httpClient, Codecs.builder().objectMapper(objectMapper).build(), options, timeout);
+    }
+
+    public BlockingSyncRequestExecutorImpl(HttpClient httpClient, Codecs codecs, ExecutorOptions options, Duration timeout) {
+        this(httpClient, codecs, options, timeout, null, null, false);
+    }
+
+    private BlockingSyncRequestExecutorImpl(HttpClient httpClient, Codecs codecs, ExecutorOptions options, Duration timeout,
+                                            QuotaExchangeFilter quotas, RequestCompressionFilter requestCompression, boolean phaseTimings) {
+        this.httpClient = httpClient;
+        this.codecs = codecs;
+        this.options = options;
+        this.timeout = timeout;
+        this.quotas = quotas;
+        this.requestCompression = requestCompression;
+        this.phaseTimings = phaseTimings;
+    }
+
+    private static HttpClient.Version version(HttpClientProperties.Protocol protocol) {
+        switch (protocol) {
+            case HTTP_2:
+                return HttpClient.Version.HTTP_2;
+            case H2C_PRIOR_KNOWLEDGE:
+                throw new IllegalArgumentException("The JDK HttpClient cannot use h2c with prior knowledge; use HTTP_2 or the WEB_CLIENT transport");
+            default:
+                return HttpClient.Version.HTTP_1_1;
+        }
+    }
+
+    @Override
+    public <R> R execute(HttpMethod method, String url, Map<String, String> headers, Class<R> responseType) {
+        return execute(method, url, null, headers, codecs.getJsonMapper().constructType(responseType));
+    }
+
+    @Override
+    public <B, R> R execute(HttpMethod method, String url, B body, Map<String, String> headers, Class<R> responseType) {
+        return execute(method, url, body, headers, codecs.getJsonMapper().constructType(responseType));
+    }
+
+    @Override
+    public <R> R execute(HttpMethod method, String url, Map<String, String> headers, ParameterizedTypeReference<R> responseType) {
+        return execute(method, url, null, headers, codecs.javaType(responseType.getType()));
+    }
+
+    @Override
+    public <B, R> R execute(HttpMethod method, String url, B body, Map<String, String> headers, ParameterizedTypeReference<R> responseType) {
+        return execute(method, url, body, headers, codecs.javaType(responseType.getType()));
+    }
+
+    private <R> R execute(HttpMethod method, String url, Object body, Map<String, String> headers, JavaType responseType) {
+        Deadline deadline = options.getDeadline() == null ? null : Deadline.after(options.getDeadline());
+        HttpRequest.Builder template = buildRequest(method, url, body, headers);
+        ServiceRegistry serviceRegistry = options.getServiceRegistry();
+        boolean balanced = serviceRegistry != null && ServiceRegistry.isServiceUrl(url);
+        return RequestObservation.observeBlocking(event -> {
+            try {
+                HttpResponse<byte[]> response;
+                if (!balanced) {
+                    HttpRequest request = template.uri(URI.create(url)).build();
+                    response = options.getResilienceRegistry().policiesFor(url)
+                            .call(() -> executeWithRetry(method, url, deadline, () -> exchange(request, quotaFor(request), event, deadline)));
+                } else {
+                    Set<Endpoint> tried = new HashSet<>();
+                    response = executeWithRetry(method, url, deadline, () -> exchangeBalanced(serviceRegistry, template, url, tried, event, deadline));
+                }
+                return decode(response, responseType);
+            } catch (WebClientResponseException e) {
+                throw options.getErrorMapper().mapException(e);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RestClientException("Interrupted while calling " + url, e);
+            } catch (Exception e) {
+                throw new RestClientException("I/O error on " + method + " " + url + ": " + e.getMessage(), e);
+            }
+        }, options.getEventListener(), method, url);
+    }
+
+    /**
+     * Sends {@code attempt} until it succeeds or the retry policy gives up. Only the exchange is retried:
+     * the body is decoded once the loop has returned, so a response that fails to map is not sent again.
+     */
+    private HttpResponse<byte[]> executeWithRetry(HttpMethod method, String url, Deadline deadline, Attempt attempt) throws Exception {
+        RetryPolicy retryPolicy = options.getRetryPolicy();
+        if (retryPolicy == null || !retryPolicy.isRetryable(method)) {
+            return attempt.send();
+        }
+        retryPolicy.budgetFor(url).recordRequest();
+        for (long retries = 0; ; retries++) {
+            try {
+                return attempt.send();
+            } catch (WebClientResponseException | IOException e) {
+                Duration delay = retryPolicy.retryDelay(url, retries, e);
+                // A retry that cannot start before the deadline would only be rejected.
+                if (delay == null || (deadline != null && deadline.remainingNanos() <= delay.toNanos())) {
+                    throw e;
+                }
+                Thread.sleep(delay.toMillis(), (int) (delay.toNanos() % 1_000_000));
+            }
+        }
+    }
+
+    /**
+     * One attempt of an {@code lb://} request: it goes to an endpoint not in {@code tried} when there is
+     * one, through that endpoint's resilience policies, and its outcome is recorded against it.
+     */
+    private HttpResponse<byte[]> exchangeBalanced(ServiceRegistry serviceRegistry, HttpRequest.Builder template, String url, Set<Endpoint> tried,
+                                                  RequestEvent event, Deadline deadline) throws Exception {
+        ServiceRegistry.Selection selection = serviceRegistry.select(url, tried);
+        tried.add(selection.getEndpoint());
+        HttpRequest resolved = template.copy().uri(URI.create(selection.getUrl())).build();
+        try {
+            HttpResponse<byte[]> response = options.getResilienceRegistry().policiesFor(selection.getUrl())
+                    .call(() -> exchange(resolved, quotaFor(resolved), event, deadline));
+            selection.complete(null);
+            return response;
+        } catch (Exception e) {
+            selection.complete(e);
+            throw e;
+        }
+    }
+
+    private QuotaLimiter quotaFor(HttpRequest request) {
+        return quotas == null ? null : quotas.limiter(ClientRequest.create(HttpMethod.valueOf(request.method()), request.uri())
+                .headers(values -> request.headers().map().forEach(values::addAll))
+                .build());
+    }
+
+    private HttpResponse<byte[]> exchange(HttpRequest request, QuotaLimiter quota, RequestEvent event, Deadline deadline)
+            throws IOException, InterruptedException, DeadlineExceededException {
+        if (quota != null) {
+            awaitQuota(quota, deadline);
+        }
+        HttpRequest attempt = forAttempt(request, RequestObservation.startExchange(event), deadline);
+        HttpResponse.BodyHandler<byte[]> bodyHandler = !phaseTimings || event == null ? HttpResponse.BodyHandlers.ofByteArray() : info -> {
+            RequestObservation.startResponse(event);
+            return HttpResponse.BodySubscribers.ofByteArray();
+        };
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(attempt, bodyHandler);
+        } catch (HttpTimeoutException e) {
+            if (deadline != null && deadline.isExpired()) {
+                throw new DeadlineExceededException();
+            }
+            throw e;
+        }
+        byte[] body = response.body();
+        RequestObservation.recordResponse(event, response.statusCode(), body == null ? -1 : body.length);
+        HttpHeaders headers = null;
+        if (quota != null) {
+            headers = headers(response);
+            quota.update(headers, System.nanoTime());
+        }
+        if (response.statusCode() >= 400) {
+            throw WebClientResponseException.create(response.statusCode(), "", headers != null ? headers : headers(response), body, StandardCharsets.UTF_8);
+        }
+        return response;
+    }
+
+    /**
+     * Waits for the quota as {@link QuotaExchangeFilter} does, never past the deadline.
+     */
+    private static void awaitQuota(QuotaLimiter quota, Deadline deadline) throws InterruptedException {
+        long now = System.nanoTime();
+        long wait = deadline == null ? quota.acquire(now) : quota.acquire(now, Math.max(0, deadline.remainingNanos()));
+        if (wait > 0) {
+            Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+        }
+    }
+
+    private static HttpHeaders headers(HttpResponse<?> response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach(headers::addAll);
+        return headers;
+    }
+
+    /**
+     * Adds the attempt's {@code traceparent}, caps its timeout at the time left before the deadline and
+     * sends that time upstream, as the {@code WebClient} filters do for the reactive executors.
+     */
+    private HttpRequest forAttempt(HttpRequest request, String traceparent, Deadline deadline) throws DeadlineExceededException {
+        if (deadline == null && traceparent == null) {
+            return request;
+        }
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request, (name, value) -> true);
+        if (traceparent != null) {
+            builder.setHeader(TraceContext.TRACEPARENT, traceparent);
+        }
+        if (deadline != null) {
+            long remainingMillis = deadline.remainingNanos() / 1_000_000;
+            if (remainingMillis <= 0) {
+                throw new DeadlineExceededException();
+            }
+            Duration remaining = Duration.ofMillis(remainingMillis);
+            Duration attemptTimeout = request.timeout().orElse(timeout);
+            builder.timeout(attemptTimeout.compareTo(remaining) < 0 ? attemptTimeout : remaining)
+                    .setHeader(DeadlineExchangeFilter.DEFAULT_HEADER, Long.toString(remainingMillis));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reads the body as {@code responseType}. Failures surface as a {@link DecodingException}, as they
+     * do on the reactive path, rather than as an I/O error.
+     */
+    @SuppressWarnings("unchecked")
+    private <R> R decode(HttpResponse<byte[]> response, JavaType responseType) {
+        byte[] body = response.body();
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        Class<?> rawType = responseType.getRawClass();
+        if (rawType == String.class) {
+            return (R) new String(body, StandardCharsets.UTF_8);
+        }
+        if (rawType == byte[].class) {
+            return (R) body;
+        }
+        try {
+            MediaType contentType = response.headers().firstValue(HttpHeaders.CONTENT_TYPE).map(MediaType::parseMediaType).orElse(null);
+            return codecs.reader(contentType, responseType).readValue(body);
+        } catch (IOException e) {
+            throw new DecodingException("Body decoding error: " + e.getMessage(), e);
+        }
+    }
+
+    private interface Attempt {
+        HttpResponse<byte[]> send() throws Exception;
+    }
+
+    /**
+     * The request without its URI, which is set per target.
+     */
+    private HttpRequest.Builder buildRequest(HttpMethod method, String url, Object body, Map<String, String> headers) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(timeout);
+        String givenContentType = null;
+        boolean hasAccept = false;
+        boolean hasContentEncoding = false;
+        if (headers != null) {
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                String name = header.getKey().toLowerCase();
+                if (!RESTRICTED_HEADERS.contains(name)) {
+                    builder.header(header.getKey(), header.getValue());
+                    givenContentType = name.equals("content-type") ? header.getValue() : givenContentType;
+                    hasAccept |= name.equals("accept");
+                    hasContentEncoding |= name.equals("content-encoding");
+                }
+            }
+        }
+        if (!hasAccept && codecs.getAcceptHeader() != null) {
+            builder.header(HttpHeaders.ACCEPT, codecs.getAcceptHeader());
+        }
+        if (body == null) {
+            return builder.method(method.name(), HttpRequest.BodyPublishers.noBody());
+        }
+        byte[] bytes;
+        String contentType;
+        if (body instanceof byte[]) {
+            bytes = (byte[]) body;
+            contentType = "application/octet-stream";
+        } else if (body instanceof CharSequence) {
+            bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+            contentType = "text/plain;charset=UTF-8";
+        } else {
+            try {
+                bytes = codecs.writer(body.getClass()).writeValueAsBytes(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            contentType = codecs.getRequestContentType().toString();
+        }
+        if (givenContentType == null) {
+            builder.header("Content-Type", contentType);
+        } else {
+            contentType = givenContentType;
+        }
+        if (requestCompression != null && !hasContentEncoding) {
+            byte[] compressed = requestCompression.compress(URI.create(url), MediaType.parseMediaType(contentType), bytes);
+            if (compressed != null) {
+                builder.header(HttpHeaders.CONTENT_ENCODING, requestCompression.getEncoding().token());
+                bytes = compressed;
+            }
+        }
+        return builder.method(method.name(), HttpRequest.BodyPublishers.ofByteArray(bytes));
+    }
+}
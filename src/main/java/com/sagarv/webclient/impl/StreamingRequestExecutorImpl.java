@@ -2,7 +2,10 @@ package com.sagarv.webclient.impl;
 
 import com.sagarv.webclient.api.StreamingRequestExecutor;
 import com.sagarv.webclient.common.AbstractRequestExecutor;
+import com.sagarv.webclient.common.ExecutorOptions;
+import com.sagarv.webclient.event.RequestEventListener;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
@@ -15,6 +18,14 @@ public class StreamingRequestExecutorImpl extends AbstractRequestExecutor implem
         super(webClient, circuitBreaker);
     }
 
+    public StreamingRequestExecutorImpl(WebClient webClient, CircuitBreaker circuitBreaker, RequestEventListener eventListener) {
+        super(webClient, circuitBreaker, eventListener);
+    }
+
+    public StreamingRequestExecutorImpl(WebClient webClient, ExecutorOptions options) {
+        super(webClient, options);
+    }
+
     @Override
     public <R> Flux<R> execute(HttpMethod method, String url, Map<String, String> headers, Class<R> responseType) {
         return executeFlux(method, url, null, headers, responseType);
@@ -24,4 +35,14 @@ public class StreamingRequestExecutorImpl extends AbstractRequestExecutor implem
     public <B, R> Flux<R> execute(HttpMethod method, String url, B body, Map<String, String> headers, Class<R> responseType) {
         return executeFlux(method, url, body, headers, responseType);
     }
+
+    @Override
+    public <R> Flux<R> execute(HttpMethod method, String url, Map<String, String> headers, ParameterizedTypeReference<R> elementType) {
+        return executeFlux(method, url, null, headers, elementType.getType());
+    }
+
+    @Override
+    public <B, R> Flux<R> execute(HttpMethod method, String url, B body, Map<String, String> headers, ParameterizedTypeReference<R> elementType) {
+        return executeFlux(method, url, body, headers, elementType.getType());
+    }
 }
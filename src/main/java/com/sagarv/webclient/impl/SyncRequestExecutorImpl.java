@@ -3,12 +3,13 @@ package com.sagarv.webclient.impl;
 import com.sagarv.webclient.api.ListRequestExecutor;
 import com.sagarv.webclient.api.SyncRequestExecutor;
 import com.sagarv.webclient.common.AbstractRequestExecutor;
+import com.sagarv.webclient.common.ExecutorOptions;
+import com.sagarv.webclient.event.RequestEventListener;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.WebClient;
 
-import java.util.List;
 import java.util.Map;
 
 public class SyncRequestExecutorImpl extends AbstractRequestExecutor implements SyncRequestExecutor, ListRequestExecutor {
@@ -17,6 +18,14 @@ public class SyncRequestExecutorImpl extends AbstractRequestExecutor implements
         super(webClient, circuitBreaker);
     }
 
+    public SyncRequestExecutorImpl(WebClient webClient, CircuitBreaker circuitBreaker, RequestEventListener eventListener) {
+        super(webClient, circuitBreaker, eventListener);
+    }
+
+    public SyncRequestExecutorImpl(WebClient webClient, ExecutorOptions options) {
+        super(webClient, options);
+    }
+
     @Override
     public <R> R execute(HttpMethod method, String url, Map<String, String> headers, Class<R> responseType) {
         return executeMono(method, url, null, headers, responseType).block();
@@ -28,12 +37,12 @@ public class SyncRequestExecutorImpl extends AbstractRequestExecutor implements
     }
 
     @Override
-    public <R> List<R> execute(HttpMethod method, String url, Map<String, String> headers, ParameterizedTypeReference<List<R>> responseType) {
-        return executeMonoList(method, url, null, headers, responseType).block();
+    public <R> R execute(HttpMethod method, String url, Map<String, String> headers, ParameterizedTypeReference<R> responseType) {
+        return executeMono(method, url, null, headers, responseType).block();
     }
 
     @Override
-    public <B, R> List<R> execute(HttpMethod method, String url, B body, Map<String, String> headers, ParameterizedTypeReference<List<R>> responseType) {
-        return executeMonoList(method, url, body, headers, responseType).block();
+    public <B, R> R execute(HttpMethod method, String url, B body, Map<String, String> headers, ParameterizedTypeReference<R> responseType) {
+        return executeMono(method, url, body, headers, responseType).block();
     }
 }
@@ -0,0 +1,235 @@
+package com.sagarv.webclient.impl;
+
+import com.sagarv.webclient.ErrorMapper;
+import com.sagarv.webclient.RequestBuilder;
+import com.sagarv.webclient.RestClientException;
+import com.sagarv.webclient.api.TransferListener;
+import com.sagarv.webclient.api.TransferRequestExecutor;
+import com.sagarv.webclient.common.AbstractRequestExecutor;
+import com.sagarv.webclient.common.ExecutorOptions;
+import com.sagarv.webclient.event.RequestObservation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Moves response bodies to files or channels, and files to request bodies, as a stream of pooled
+ * buffers that are released as soon as they are written, so the payload is never held in memory.
+ * Uploads without a listener are sent with zero-copy file transfer where the connector supports it;
+ * with a listener the file is read in chunks so progress can be reported. The resilience policies
+ * guard the whole transfer, while the timeout covers only the wait for the response headers.
+ */
+public class TransferRequestExecutorImpl extends AbstractRequestExecutor implements TransferRequestExecutor {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes +(?:(\\d+)-(\\d+)|\\*)/(?:(\\d+)|\\*)");
+
+    private final Duration transferTimeout;
+    private final ErrorMapper resumeErrors;
+
+    public TransferRequestExecutorImpl(WebClient webClient, ExecutorOptions options) {
+        this(webClient, options, Duration.ofMinutes(30));
+    }
+
+    /**
+     * @param transferTimeout the limit for a whole upload including its response; downloads are only
+     *                        limited by the transport's read timeout once headers have arrived
+     */
+    public TransferRequestExecutorImpl(WebClient webClient, ExecutorOptions options, Duration transferTimeout) {
+        super(webClient, options);
+        this.transferTimeout = transferTimeout;
+        this.resumeErrors = options.getErrorMapper().toBuilder()
+                .status(416, e -> new RangeNotSatisfiable(e.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)))
+                .build();
+    }
+
+    @Override
+    public Mono<Long> download(String url, Map<String, String> headers, Path target, TransferListener listener) {
+        Mono<Long> transfer = newTransfer(HttpMethod.GET, url, headers).executeForBody()
+                .flatMap(entity -> writeToFile(entity.getBody(), target, 0, entity.getHeaders().getContentLength(), listener));
+        return guard(HttpMethod.GET, url, transfer);
+    }
+
+    @Override
+    public Mono<Long> download(String url, Map<String, String> headers, WritableByteChannel target, TransferListener listener) {
+        Mono<Long> transfer = newTransfer(HttpMethod.GET, url, headers).executeForBody()
+                .flatMap(entity -> {
+                    AtomicLong transferred = new AtomicLong();
+                    // Channel writes may block, so they are moved off the event loop.
+                    return DataBufferUtils.write(counted(entity.getBody(), transferred, entity.getHeaders().getContentLength(), listener)
+                                    .publishOn(Schedulers.boundedElastic()), target)
+                            .doOnNext(DataBufferUtils::release)
+                            .then(Mono.fromSupplier(transferred::get));
+                });
+        return guard(HttpMethod.GET, url, transfer);
+    }
+
+    /**
+     * Continues a partial download: when {@code target} already has bytes, only the remainder is
+     * requested with a {@code Range} header and appended. A server that ignores the range restarts
+     * the file from scratch. Completes with the final file size.
+     */
+    @Override
+    public Mono<Long> resumeDownload(String url, Map<String, String> headers, Path target, TransferListener listener) {
+        Mono<Long> transfer = Mono.defer(() -> {
+            long existing = sizeOf(target);
+            Map<String, String> rangeHeaders = new HashMap<>(headers);
+            if (existing > 0) {
+                rangeHeaders.put(HttpHeaders.RANGE, "bytes=" + existing + "-");
+            }
+            return newTransfer(HttpMethod.GET, url, rangeHeaders)
+                    .errorMapper(resumeErrors)
+                    .executeForBody()
+                    .flatMap(entity -> {
+                        HttpHeaders responseHeaders = entity.getHeaders();
+                        if (entity.getStatusCode().value() != 206) {
+                            return writeToFile(entity.getBody(), target, 0, responseHeaders.getContentLength(), listener);
+                        }
+                        long[] range;
+                        try {
+                            range = contentRange(responseHeaders.getFirst(HttpHeaders.CONTENT_RANGE));
+                        } catch (RestClientException e) {
+                            return entity.getBody().doOnNext(DataBufferUtils::release).then(Mono.error(e));
+                        }
+                        if (range[0] != existing) {
+                            return entity.getBody().doOnNext(DataBufferUtils::release).then(Mono.error(new RestClientException(
+                                    "Server resumed at byte " + range[0] + " but " + existing + " bytes are on disk")));
+                        }
+                        return writeToFile(entity.getBody(), target, existing, range[1], listener);
+                    })
+                    .onErrorResume(RangeNotSatisfiable.class, e -> {
+                        long total = e.contentRange == null ? -1 : contentRange(e.contentRange)[1];
+                        if (total == existing) {
+                            listener.onProgress(existing, total);
+                            return Mono.just(existing);
+                        }
+                        return Mono.error(new RestClientException("Cannot resume download of " + url + " at byte " + existing, e));
+                    });
+        });
+        return guard(HttpMethod.GET, url, transfer);
+    }
+
+    @Override
+    public <R> Mono<R> upload(HttpMethod method, String url, Map<String, String> headers, Path source, Class<R> responseType, TransferListener listener) {
+        Mono<R> transfer = Mono.defer(() -> {
+            RequestBuilder request = newTransfer(method, url, headers).timeout(transferTimeout);
+            if (listener == TransferListener.NONE) {
+                request.body(new FileSystemResource(source));
+            } else {
+                long size = sizeOf(source);
+                Flux<DataBuffer> chunks = DataBufferUtils.read(source, DefaultDataBufferFactory.sharedInstance, CHUNK_SIZE);
+                request.body(BodyInserters.fromDataBuffers(counted(chunks, new AtomicLong(), size, listener)));
+                if (!containsHeader(headers, HttpHeaders.CONTENT_TYPE)) {
+                    request.header(HttpHeaders.CONTENT_TYPE, "application/octet-stream");
+                }
+                request.header(HttpHeaders.CONTENT_LENGTH, Long.toString(size));
+            }
+            return request.executeReactive(responseType);
+        });
+        return guard(method, url, transfer);
+    }
+
+    private RequestBuilder newTransfer(HttpMethod method, String url, Map<String, String> headers) {
+        return new RequestBuilder(webClient, method, url)
+                .headers(headers)
+                .retryPolicy(options.getRetryPolicy())
+                .errorMapper(options.getErrorMapper());
+    }
+
+    private <R> Mono<R> guard(HttpMethod method, String url, Mono<R> transfer) {
+        return RequestObservation.observe(resilienceRegistry.policiesFor(url).decorate(transfer), eventListener, method, url);
+    }
+
+    private static Mono<Long> writeToFile(Flux<DataBuffer> body, Path target, long position, long total, TransferListener listener) {
+        AtomicLong transferred = new AtomicLong(position);
+        return Mono.using(
+                () -> position == 0
+                        ? AsynchronousFileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)
+                        : AsynchronousFileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE),
+                channel -> DataBufferUtils.write(counted(body, transferred, total, listener), channel, position)
+                        .doOnNext(DataBufferUtils::release)
+                        .then(Mono.fromSupplier(transferred::get)),
+                channel -> {
+                    try {
+                        channel.close();
+                    } catch (IOException ignored) {
+                        // Nothing left to flush; the transfer result is already decided.
+                    }
+                });
+    }
+
+    private static Flux<DataBuffer> counted(Flux<DataBuffer> body, AtomicLong transferred, long total, TransferListener listener) {
+        return body.doOnNext(buffer -> listener.onProgress(transferred.addAndGet(buffer.readableByteCount()), total));
+    }
+
+    /**
+     * Parses {@code bytes start-end/total} (or {@code bytes *}{@code /total}) into {@code [start, total]},
+     * using -1 for unknown parts.
+     *
+     * @throws RestClientException if the header is present but malformed
+     */
+    static long[] contentRange(String header) {
+        if (header == null) {
+            return new long[]{-1, -1};
+        }
+        Matcher matcher = CONTENT_RANGE.matcher(header.trim());
+        if (!matcher.matches()) {
+            throw new RestClientException("Malformed Content-Range header: '" + header + "'");
+        }
+        try {
+            long start = matcher.group(1) == null ? -1 : Long.parseLong(matcher.group(1));
+            long end = matcher.group(2) == null ? -1 : Long.parseLong(matcher.group(2));
+            long total = matcher.group(3) == null ? -1 : Long.parseLong(matcher.group(3));
+            if (end < start || (total >= 0 && end >= total)) {
+                throw new RestClientException("Inconsistent Content-Range header: '" + header + "'");
+            }
+            return new long[]{start, total};
+        } catch (NumberFormatException e) {
+            throw new RestClientException("Malformed Content-Range header: '" + header + "'", e);
+        }
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.exists(path) ? Files.size(path) : 0;
+        } catch (IOException e) {
+            throw new RestClientException("Cannot read size of " + path, e);
+        }
+    }
+
+    private static boolean containsHeader(Map<String, String> headers, String name) {
+        return headers.keySet().stream().anyMatch(name::equalsIgnoreCase);
+    }
+
+    private static final class RangeNotSatisfiable extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        private final String contentRange;
+
+        private RangeNotSatisfiable(String contentRange) {
+            super("Range not satisfiable", null, false, false);
+            this.contentRange = contentRange;
+        }
+    }
+}
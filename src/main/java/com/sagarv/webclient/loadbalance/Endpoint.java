@@ -0,0 +1,114 @@
+package com.sagarv.webclient.loadbalance;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One replica of a service: its base URL, static weight and the live statistics the
+ * {@link LoadBalancer} uses to pick and eject it. Statistics survive endpoint list refreshes as long
+ * as the base URL stays in the list.
+ */
+public final class Endpoint {
+
+    private final String baseUrl;
+    private final int weight;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    // Guarded by the owning load balancer.
+    private double latencyEwmaNanos;
+    private int consecutiveFailures;
+    private int samples;
+    private int ejections;
+    private volatile long ejectedUntilNanos;
+
+    private Endpoint(String baseUrl, int weight) {
+        if (weight < 1) {
+            throw new IllegalArgumentException("Endpoint weight must be at least 1 but was " + weight);
+        }
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.weight = weight;
+    }
+
+    public static Endpoint of(String baseUrl) {
+        return new Endpoint(baseUrl, 1);
+    }
+
+    public static Endpoint of(String baseUrl, int weight) {
+        return new Endpoint(baseUrl, weight);
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public synchronized double getLatencyEwmaMillis() {
+        return latencyEwmaNanos / 1_000_000d;
+    }
+
+    public boolean isEjected() {
+        return isEjected(System.nanoTime());
+    }
+
+    boolean isEjected(long nowNanos) {
+        long until = ejectedUntilNanos;
+        return until != 0 && nowNanos - until < 0;
+    }
+
+    String resolve(String path) {
+        return path.isEmpty() || path.charAt(0) == '/' || path.charAt(0) == '?' ? baseUrl + path : baseUrl + '/' + path;
+    }
+
+    /**
+     * Lower is better: outstanding requests per unit of weight, counting the request being placed.
+     */
+    double load() {
+        return (outstanding.get() + 1) / (double) weight;
+    }
+
+    void acquire() {
+        outstanding.incrementAndGet();
+    }
+
+    void release() {
+        outstanding.decrementAndGet();
+    }
+
+    synchronized void recordSuccess(long latencyNanos, double decay) {
+        consecutiveFailures = 0;
+        latencyEwmaNanos = samples++ == 0 ? latencyNanos : latencyEwmaNanos + decay * (latencyNanos - latencyEwmaNanos);
+    }
+
+    synchronized int recordFailure() {
+        return ++consecutiveFailures;
+    }
+
+    /**
+     * The latency average, or 0 until {@code minSamples} successes have been seen since the last ejection.
+     */
+    synchronized double latencyEwmaNanos(int minSamples) {
+        return samples < minSamples ? 0 : latencyEwmaNanos;
+    }
+
+    /**
+     * Ejects for {@code baseEjection} times the number of ejections so far, capped at {@code maxEjection}.
+     */
+    synchronized void eject(long nowNanos, long baseEjectionNanos, long maxEjectionNanos) {
+        ejections++;
+        consecutiveFailures = 0;
+        samples = 0;
+        latencyEwmaNanos = 0;
+        ejectedUntilNanos = nowNanos + Math.min(maxEjectionNanos, baseEjectionNanos * ejections);
+    }
+
+    @Override
+    public String toString() {
+        return "Endpoint{" + baseUrl + ", weight=" + weight + ", outstanding=" + outstanding.get()
+                + (isEjected() ? ", ejected" : "") + "}";
+    }
+}
@@ -0,0 +1,165 @@
+package com.sagarv.webclient.loadbalance;
+
+import com.sagarv.webclient.resilience.AdaptiveConcurrencyLimiter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Spreads the requests of one service over its endpoints with power-of-two-choices: two random
+ * healthy endpoints are compared and the one with fewer outstanding requests per unit of weight wins.
+ * Endpoints are ejected for a growing period after {@code consecutiveFailures} overload failures in a
+ * row, or when their latency average exceeds {@code latencyOutlierFactor} times that of the others.
+ * No more than {@code maxEjectionPercent} of the endpoints are ejected at once, and if every endpoint
+ * is ejected all of them are used again. Choosing reads a volatile array and never locks.
+ */
+public class LoadBalancer {
+
+    private static final double LATENCY_DECAY = 0.1;
+    private static final int MIN_LATENCY_SAMPLES = 20;
+
+    private final String service;
+    private final int consecutiveFailures;
+    private final long baseEjectionNanos;
+    private final long maxEjectionNanos;
+    private final int maxEjectionPercent;
+    private final double latencyOutlierFactor;
+    private volatile Endpoint[] endpoints = new Endpoint[0];
+
+    LoadBalancer(String service, ServiceRegistry.Builder config) {
+        this.service = service;
+        this.consecutiveFailures = config.consecutiveFailures;
+        this.baseEjectionNanos = config.baseEjectionTime.toNanos();
+        this.maxEjectionNanos = config.maxEjectionTime.toNanos();
+        this.maxEjectionPercent = config.maxEjectionPercent;
+        this.latencyOutlierFactor = config.latencyOutlierFactor;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return Collections.unmodifiableList(Arrays.asList(endpoints));
+    }
+
+    /**
+     * Replaces the endpoint list. Endpoints whose base URL and weight are unchanged keep their
+     * statistics and ejection state; requests in flight to removed endpoints complete normally.
+     */
+    public synchronized void update(List<Endpoint> newEndpoints) {
+        Map<String, Endpoint> current = new HashMap<>();
+        for (Endpoint endpoint : endpoints) {
+            current.put(endpoint.getBaseUrl(), endpoint);
+        }
+        List<Endpoint> merged = new ArrayList<>(newEndpoints.size());
+        for (Endpoint endpoint : newEndpoints) {
+            Endpoint existing = current.get(endpoint.getBaseUrl());
+            merged.add(existing != null && existing.getWeight() == endpoint.getWeight() ? existing : endpoint);
+        }
+        this.endpoints = merged.toArray(new Endpoint[0]);
+    }
+
+    public Endpoint choose() {
+        return choose(null);
+    }
+
+    /**
+     * Chooses among the healthy endpoints not in {@code avoid}, e.g. those a retried or hedged call has
+     * already tried, and among all healthy endpoints when every one of them is to be avoided.
+     */
+    public Endpoint choose(Set<Endpoint> avoid) {
+        Endpoint[] all = endpoints;
+        if (all.length == 0) {
+            throw new IllegalStateException("Service " + service + " has no endpoints");
+        }
+        if (all.length == 1) {
+            return all[0];
+        }
+        long now = System.nanoTime();
+        Endpoint[] healthy = new Endpoint[all.length];
+        int count = 0;
+        for (Endpoint endpoint : all) {
+            if (!endpoint.isEjected(now) && (avoid == null || !avoid.contains(endpoint))) {
+                healthy[count++] = endpoint;
+            }
+        }
+        if (count == 0 && avoid != null && !avoid.isEmpty()) {
+            return choose(null);
+        }
+        if (count == 0) {
+            healthy = all;
+            count = all.length;
+        }
+        if (count == 1) {
+            return healthy[0];
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(count);
+        int second = random.nextInt(count - 1);
+        if (second >= first) {
+            second++;
+        }
+        Endpoint a = healthy[first];
+        Endpoint b = healthy[second];
+        return a.load() <= b.load() ? a : b;
+    }
+
+    /**
+     * Feeds the outcome of a request to {@code endpoint} into outlier detection. Client errors count
+     * as successes; only overload failures (see {@link AdaptiveConcurrencyLimiter#isDrop}) count
+     * against the endpoint.
+     */
+    void record(Endpoint endpoint, long latencyNanos, Throwable error) {
+        if (!AdaptiveConcurrencyLimiter.isDrop(error)) {
+            endpoint.recordSuccess(latencyNanos, LATENCY_DECAY);
+            if (latencyOutlierFactor > 0 && isLatencyOutlier(endpoint)) {
+                eject(endpoint);
+            }
+        } else if (endpoint.recordFailure() >= consecutiveFailures) {
+            eject(endpoint);
+        }
+    }
+
+    private boolean isLatencyOutlier(Endpoint endpoint) {
+        double latency = endpoint.latencyEwmaNanos(MIN_LATENCY_SAMPLES);
+        if (latency == 0) {
+            return false;
+        }
+        long now = System.nanoTime();
+        double others = 0;
+        int count = 0;
+        for (Endpoint other : endpoints) {
+            double otherLatency = other.latencyEwmaNanos(MIN_LATENCY_SAMPLES);
+            if (other != endpoint && otherLatency > 0 && !other.isEjected(now)) {
+                others += otherLatency;
+                count++;
+            }
+        }
+        return count > 0 && latency > latencyOutlierFactor * (others / count);
+    }
+
+    private synchronized void eject(Endpoint endpoint) {
+        Endpoint[] all = endpoints;
+        long now = System.nanoTime();
+        if (endpoint.isEjected(now)) {
+            return;
+        }
+        int ejected = 0;
+        for (Endpoint other : all) {
+            if (other.isEjected(now)) {
+                ejected++;
+            }
+        }
+        if ((ejected + 1) * 100 > maxEjectionPercent * all.length) {
+            return;
+        }
+        endpoint.eject(now, baseEjectionNanos, maxEjectionNanos);
+    }
+}
@@ -0,0 +1,235 @@
+package com.sagarv.webclient.loadbalance;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Maps logical service names to a {@link LoadBalancer} over their endpoints. Executors send URLs of
+ * the form {@code lb://<service>/<path>} (see {@link #url(String, String)}) to an endpoint chosen per
+ * request, so callers never see replica addresses. Resilience policies are keyed by the resolved
+ * endpoint, giving each replica its own circuit breaker; caching, coalescing and events use the
+ * logical URL. Every attempt of a call chooses its own endpoint, and retries and hedges prefer
+ * endpoints the call has not tried yet, so they do not return to a failing or slow replica; outlier
+ * detection therefore sees each attempt.
+ */
+public class ServiceRegistry {
+
+    public static final String SCHEME = "lb://";
+
+    private final Builder config;
+    private final Map<String, LoadBalancer> services = new ConcurrentHashMap<>();
+
+    private ServiceRegistry(Builder builder) {
+        this.config = builder;
+        builder.services.forEach(this::update);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static String url(String service, String path) {
+        return SCHEME + service + (path.startsWith("/") ? path : "/" + path);
+    }
+
+    public static boolean isServiceUrl(String url) {
+        return url.startsWith(SCHEME);
+    }
+
+    /**
+     * Registers a service or replaces its endpoint list at runtime.
+     */
+    public void update(String service, List<Endpoint> endpoints) {
+        services.computeIfAbsent(service, name -> new LoadBalancer(name, config)).update(endpoints);
+    }
+
+    public LoadBalancer loadBalancer(String service) {
+        LoadBalancer loadBalancer = services.get(service);
+        if (loadBalancer == null) {
+            throw new IllegalArgumentException("Unknown service " + service);
+        }
+        return loadBalancer;
+    }
+
+    /**
+     * Picks an endpoint for an {@code lb://} URL and counts the request as outstanding on it until
+     * {@link Selection#complete(Throwable)} is called.
+     */
+    public Selection select(String url) {
+        return select(url, null);
+    }
+
+    /**
+     * Like {@link #select(String)}, preferring endpoints that are not in {@code avoid}.
+     */
+    public Selection select(String url, Set<Endpoint> avoid) {
+        int serviceEnd = SCHEME.length();
+        while (serviceEnd < url.length() && url.charAt(serviceEnd) != '/' && url.charAt(serviceEnd) != '?') {
+            serviceEnd++;
+        }
+        LoadBalancer loadBalancer = loadBalancer(url.substring(SCHEME.length(), serviceEnd));
+        Endpoint endpoint = loadBalancer.choose(avoid);
+        endpoint.acquire();
+        return new Selection(loadBalancer, endpoint, endpoint.resolve(url.substring(serviceEnd)));
+    }
+
+    /**
+     * Runs {@code call} against the endpoint URL for {@code url}, or against {@code url} itself when it
+     * is not an {@code lb://} URL. A new endpoint is chosen for every subscription.
+     */
+    public <R> Mono<R> execute(String url, Function<String, Mono<R>> call) {
+        return execute(url, null, call);
+    }
+
+    /**
+     * Like {@link #execute(String, Function)}, avoiding the endpoints in {@code tried} while others are
+     * available and adding each one chosen to it. Pass a concurrent set per logical call and subscribe
+     * once per attempt, so its retries and hedges go to replicas it has not used yet.
+     */
+    public <R> Mono<R> execute(String url, Set<Endpoint> tried, Function<String, Mono<R>> call) {
+        if (!isServiceUrl(url)) {
+            return call.apply(url);
+        }
+        return Mono.defer(() -> {
+            Selection selection = select(url, tried);
+            if (tried != null) {
+                tried.add(selection.getEndpoint());
+            }
+            return call.apply(selection.getUrl())
+                    .doOnSuccess(result -> selection.complete(null))
+                    .doOnError(selection::complete)
+                    .doOnCancel(selection::cancel);
+        });
+    }
+
+    public <R> Flux<R> executeFlux(String url, Function<String, Flux<R>> call) {
+        return executeFlux(url, null, call);
+    }
+
+    public <R> Flux<R> executeFlux(String url, Set<Endpoint> tried, Function<String, Flux<R>> call) {
+        if (!isServiceUrl(url)) {
+            return call.apply(url);
+        }
+        return Flux.defer(() -> {
+            Selection selection = select(url, tried);
+            if (tried != null) {
+                tried.add(selection.getEndpoint());
+            }
+            return call.apply(selection.getUrl())
+                    .doOnComplete(() -> selection.complete(null))
+                    .doOnError(selection::complete)
+                    .doOnCancel(selection::cancel);
+        });
+    }
+
+    /**
+     * One request placed on an endpoint.
+     */
+    public static final class Selection {
+        private final LoadBalancer loadBalancer;
+        private final Endpoint endpoint;
+        private final String url;
+        private final long startNanos = System.nanoTime();
+        private boolean done;
+
+        private Selection(LoadBalancer loadBalancer, Endpoint endpoint, String url) {
+            this.loadBalancer = loadBalancer;
+            this.endpoint = endpoint;
+            this.url = url;
+        }
+
+        public Endpoint getEndpoint() {
+            return endpoint;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public synchronized void complete(Throwable error) {
+            if (!done) {
+                done = true;
+                endpoint.release();
+                loadBalancer.record(endpoint, System.nanoTime() - startNanos, error);
+            }
+        }
+
+        /**
+         * Releases the endpoint without judging it, e.g. when the caller lost interest.
+         */
+        public synchronized void cancel() {
+            if (!done) {
+                done = true;
+                endpoint.release();
+            }
+        }
+    }
+
+    public static class Builder {
+        private final Map<String, List<Endpoint>> services = new ConcurrentHashMap<>();
+        int consecutiveFailures = 5;
+        Duration baseEjectionTime = Duration.ofSeconds(30);
+        Duration maxEjectionTime = Duration.ofMinutes(5);
+        int maxEjectionPercent = 50;
+        double latencyOutlierFactor = 3;
+
+        private Builder() {
+        }
+
+        public Builder service(String name, List<Endpoint> endpoints) {
+            this.services.put(name, endpoints);
+            return this;
+        }
+
+        public Builder service(String name, String... baseUrls) {
+            List<Endpoint> endpoints = new ArrayList<>(baseUrls.length);
+            for (String baseUrl : baseUrls) {
+                endpoints.add(Endpoint.of(baseUrl));
+            }
+            return service(name, endpoints);
+        }
+
+        /**
+         * Overload failures in a row (timeouts, connection errors, 429, 5xx) that eject an endpoint.
+         */
+        public Builder consecutiveFailures(int consecutiveFailures) {
+            this.consecutiveFailures = consecutiveFailures;
+            return this;
+        }
+
+        /**
+         * An endpoint's n-th ejection lasts n times {@code baseEjectionTime}, capped at {@code maxEjectionTime}.
+         */
+        public Builder ejectionTime(Duration baseEjectionTime, Duration maxEjectionTime) {
+            this.baseEjectionTime = baseEjectionTime;
+            this.maxEjectionTime = maxEjectionTime;
+            return this;
+        }
+
+        public Builder maxEjectionPercent(int maxEjectionPercent) {
+            this.maxEjectionPercent = maxEjectionPercent;
+            return this;
+        }
+
+        /**
+         * Ejects an endpoint whose latency average exceeds this multiple of the others' average;
+         * 0 disables latency-based ejection.
+         */
+        public Builder latencyOutlierFactor(double latencyOutlierFactor) {
+            this.latencyOutlierFactor = latencyOutlierFactor;
+            return this;
+        }
+
+        public ServiceRegistry build() {
+            return new ServiceRegistry(this);
+        }
+    }
+}
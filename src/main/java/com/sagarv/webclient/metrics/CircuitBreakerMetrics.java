@@ -0,0 +1,39 @@
+package com.sagarv.webclient.metrics;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes a circuit breaker's current state ({@code http.client.circuitbreaker.state}, the
+ * resilience4j state order) and counts its transitions ({@code http.client.circuitbreaker.transitions}
+ * tagged {@code from}/{@code to}).
+ */
+public class CircuitBreakerMetrics implements MeterBinder {
+
+    public static final String STATE_METRIC = "http.client.circuitbreaker.state";
+    public static final String TRANSITIONS_METRIC = "http.client.circuitbreaker.transitions";
+
+    private final CircuitBreaker circuitBreaker;
+
+    public CircuitBreakerMetrics(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(STATE_METRIC, circuitBreaker, breaker -> breaker.getState().getOrder())
+                .description("Circuit breaker state order (0 closed, 1 open, 2 half open, ...)")
+                .tag("name", circuitBreaker.getName())
+                .register(registry);
+        circuitBreaker.getEventPublisher().onStateTransition(event -> Counter.builder(TRANSITIONS_METRIC)
+                .description("Circuit breaker state transitions")
+                .tag("name", event.getCircuitBreakerName())
+                .tag("from", event.getStateTransition().getFromState().name())
+                .tag("to", event.getStateTransition().getToState().name())
+                .register(registry)
+                .increment());
+    }
+}
@@ -0,0 +1,173 @@
+package com.sagarv.webclient.metrics;
+
+import com.sagarv.webclient.event.RequestEvent;
+import com.sagarv.webclient.event.RequestEventListener;
+import com.sagarv.webclient.event.RequestPhase;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Records every observed request as a {@code http.client.requests} timer tagged with
+ * {@code method}, {@code uri} (a normalized template), {@code client} (host), {@code status} and
+ * {@code outcome}, and the response body size as {@code http.client.response.size}. Requests made
+ * through a client instrumented with {@link com.sagarv.webclient.event.RequestPhaseRecorder} also
+ * record each phase of their last attempt as {@code http.client.requests.phases}, tagged with
+ * {@code phase}.
+ */
+public class MetricsRequestEventListener implements RequestEventListener {
+
+    public static final String REQUESTS_METRIC = "http.client.requests";
+    public static final String RESPONSE_SIZE_METRIC = "http.client.response.size";
+    public static final String PHASES_METRIC = "http.client.requests.phases";
+
+    private final MeterRegistry registry;
+    private final UriTagNormalizer uriTagNormalizer;
+    private boolean percentileHistogram = false;
+    private double[] percentiles = new double[0];
+    private Duration[] serviceLevelObjectives = new Duration[0];
+
+    public MetricsRequestEventListener(MeterRegistry registry) {
+        this(registry, new UriTagNormalizer());
+    }
+
+    public MetricsRequestEventListener(MeterRegistry registry, UriTagNormalizer uriTagNormalizer) {
+        this.registry = registry;
+        this.uriTagNormalizer = uriTagNormalizer;
+    }
+
+    /**
+     * Publishes histogram buckets so percentiles can be aggregated across instances by the backend.
+     */
+    public MetricsRequestEventListener percentileHistogram(boolean percentileHistogram) {
+        this.percentileHistogram = percentileHistogram;
+        return this;
+    }
+
+    /**
+     * Client-side computed percentiles, e.g. {@code 0.5, 0.99, 0.999}.
+     */
+    public MetricsRequestEventListener percentiles(double... percentiles) {
+        this.percentiles = percentiles;
+        return this;
+    }
+
+    public MetricsRequestEventListener serviceLevelObjectives(Duration... serviceLevelObjectives) {
+        this.serviceLevelObjectives = serviceLevelObjectives;
+        return this;
+    }
+
+    @Override
+    public void onRequestSuccess(RequestEvent event) {
+        record(event, null, false);
+    }
+
+    @Override
+    public void onRequestFailure(RequestEvent event, Throwable error) {
+        record(event, error, false);
+    }
+
+    @Override
+    public void onRequestCancel(RequestEvent event) {
+        record(event, null, true);
+    }
+
+    private void record(RequestEvent event, Throwable error, boolean cancelled) {
+        UriTagNormalizer.UriTags uriTags = uriTagNormalizer.tags(event.getUrl());
+        int status = event.getStatus();
+        if (status == 0 && error != null) {
+            status = statusOf(error);
+        }
+        Tags tags = Tags.of(
+                "method", event.getMethod().name(),
+                "uri", uriTags.getUri(),
+                "client", uriTags.getClient(),
+                "status", status == 0 ? "NONE" : Integer.toString(status),
+                "outcome", outcome(status, error, cancelled));
+
+        Timer.builder(REQUESTS_METRIC)
+                .description("Requests made through the REST client executors")
+                .tags(tags)
+                .publishPercentileHistogram(percentileHistogram)
+                .publishPercentiles(percentiles)
+                .serviceLevelObjectives(serviceLevelObjectives)
+                .register(registry)
+                .record(event.getDurationNanos(), TimeUnit.NANOSECONDS);
+
+        long responseBytes = event.getResponseBytes();
+        if (responseBytes >= 0) {
+            DistributionSummary.builder(RESPONSE_SIZE_METRIC)
+                    .description("Response body size")
+                    .baseUnit("bytes")
+                    .tags("method", event.getMethod().name(), "uri", uriTags.getUri(), "client", uriTags.getClient())
+                    .publishPercentileHistogram(percentileHistogram)
+                    .register(registry)
+                    .record(responseBytes);
+        }
+
+        if (event.hasPhases()) {
+            for (RequestPhase phase : RequestPhase.values()) {
+                long nanos = event.getPhaseNanos(phase);
+                if (nanos >= 0) {
+                    Timer.builder(PHASES_METRIC)
+                            .description("Time spent in each phase of a request")
+                            .tags("method", event.getMethod().name(), "uri", uriTags.getUri(), "client", uriTags.getClient(),
+                                    "phase", phase.tag())
+                            .publishPercentileHistogram(percentileHistogram)
+                            .register(registry)
+                            .record(nanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+
+    static int statusOf(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof WebClientResponseException) {
+                return ((WebClientResponseException) cause).getRawStatusCode();
+            }
+        }
+        return 0;
+    }
+
+    static String outcome(int status, Throwable error, boolean cancelled) {
+        if (cancelled) {
+            return "CANCELLED";
+        }
+        if (error == null || status >= 400) {
+            if (status == 0) {
+                return "SUCCESS";
+            }
+            switch (status / 100) {
+                case 1:
+                    return "INFORMATIONAL";
+                case 2:
+                    return "SUCCESS";
+                case 3:
+                    return "REDIRECTION";
+                case 4:
+                    return "CLIENT_ERROR";
+                case 5:
+                    return "SERVER_ERROR";
+                default:
+                    return "UNKNOWN";
+            }
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException) {
+                return "TIMEOUT";
+            }
+            if (cause instanceof CallNotPermittedException) {
+                return "CIRCUIT_OPEN";
+            }
+        }
+        return "ERROR";
+    }
+}
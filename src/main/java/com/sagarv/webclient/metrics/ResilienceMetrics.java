@@ -0,0 +1,74 @@
+package com.sagarv.webclient.metrics;
+
+import com.sagarv.webclient.resilience.AdaptiveConcurrencyLimiter;
+import com.sagarv.webclient.resilience.ResilienceRegistry;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Binds the policies of every current and future key of a {@link ResilienceRegistry}: circuit
+ * breaker state and transitions, bulkhead free permits ({@code http.client.bulkhead.available}),
+ * rate limiter free permissions ({@code http.client.ratelimiter.available}) and the adaptive
+ * concurrency limit, in-flight count, queue depth and rejections ({@code http.client.concurrency.*}).
+ */
+public class ResilienceMetrics implements MeterBinder {
+
+    public static final String BULKHEAD_AVAILABLE_METRIC = "http.client.bulkhead.available";
+    public static final String RATE_LIMITER_AVAILABLE_METRIC = "http.client.ratelimiter.available";
+    public static final String CONCURRENCY_LIMIT_METRIC = "http.client.concurrency.limit";
+    public static final String CONCURRENCY_IN_FLIGHT_METRIC = "http.client.concurrency.inflight";
+    public static final String CONCURRENCY_QUEUED_METRIC = "http.client.concurrency.queued";
+    public static final String CONCURRENCY_REJECTED_METRIC = "http.client.concurrency.rejected";
+
+    private final ResilienceRegistry resilienceRegistry;
+
+    public ResilienceMetrics(ResilienceRegistry resilienceRegistry) {
+        this.resilienceRegistry = resilienceRegistry;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        resilienceRegistry.onPoliciesCreated(policies -> {
+            if (policies.getCircuitBreaker() != null) {
+                new CircuitBreakerMetrics(policies.getCircuitBreaker()).bindTo(registry);
+            }
+            Bulkhead bulkhead = policies.getBulkhead();
+            if (bulkhead != null) {
+                Gauge.builder(BULKHEAD_AVAILABLE_METRIC, bulkhead, b -> b.getMetrics().getAvailableConcurrentCalls())
+                        .description("Free bulkhead permits")
+                        .tag("name", bulkhead.getName())
+                        .register(registry);
+            }
+            RateLimiter rateLimiter = policies.getRateLimiter();
+            if (rateLimiter != null) {
+                Gauge.builder(RATE_LIMITER_AVAILABLE_METRIC, rateLimiter, r -> r.getMetrics().getAvailablePermissions())
+                        .description("Free rate limiter permissions in the current period")
+                        .tag("name", rateLimiter.getName())
+                        .register(registry);
+            }
+            AdaptiveConcurrencyLimiter limiter = policies.getConcurrencyLimiter();
+            if (limiter != null) {
+                Gauge.builder(CONCURRENCY_LIMIT_METRIC, limiter, AdaptiveConcurrencyLimiter::getLimit)
+                        .description("Current adaptive concurrency limit")
+                        .tag("name", limiter.getKey())
+                        .register(registry);
+                Gauge.builder(CONCURRENCY_IN_FLIGHT_METRIC, limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                        .description("Requests holding a concurrency permit")
+                        .tag("name", limiter.getKey())
+                        .register(registry);
+                Gauge.builder(CONCURRENCY_QUEUED_METRIC, limiter, AdaptiveConcurrencyLimiter::getQueueDepth)
+                        .description("Requests waiting for a concurrency permit")
+                        .tag("name", limiter.getKey())
+                        .register(registry);
+                FunctionCounter.builder(CONCURRENCY_REJECTED_METRIC, limiter, AdaptiveConcurrencyLimiter::getRejectedCount)
+                        .description("Requests rejected by the concurrency limiter")
+                        .tag("name", limiter.getKey())
+                        .register(registry);
+            }
+        });
+    }
+}
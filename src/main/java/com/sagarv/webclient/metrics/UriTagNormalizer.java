@@ -0,0 +1,143 @@
+package com.sagarv.webclient.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turns a request URL into low-cardinality {@code uri} and {@code client} tags. The query string,
+ * scheme and authority are dropped from the {@code uri} tag, and path segments that look like
+ * identifiers (numbers, UUIDs or hex tokens of 16+ characters) become {@code {id}}. URLs that
+ * already are templates keep their variables. Results are cached up to a fixed number of URLs.
+ */
+public class UriTagNormalizer {
+
+    private static final int DEFAULT_CACHE_SIZE = 4096;
+    private static final String ID = "{id}";
+
+    private final Map<String, UriTags> cache = new ConcurrentHashMap<>();
+    private final int maxCacheSize;
+
+    public UriTagNormalizer() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public UriTagNormalizer(int maxCacheSize) {
+        this.maxCacheSize = maxCacheSize;
+    }
+
+    public UriTags tags(String url) {
+        UriTags tags = cache.get(url);
+        if (tags == null) {
+            tags = compute(url);
+            if (cache.size() < maxCacheSize) {
+                cache.put(url, tags);
+            }
+        }
+        return tags;
+    }
+
+    static UriTags compute(String url) {
+        String client = "none";
+        String path = url;
+        int schemeEnd = url.indexOf("://");
+        if (schemeEnd >= 0) {
+            int authorityStart = schemeEnd + 3;
+            int pathStart = url.indexOf('/', authorityStart);
+            String authority = pathStart < 0 ? url.substring(authorityStart) : url.substring(authorityStart, pathStart);
+            int userInfo = authority.lastIndexOf('@');
+            client = userInfo < 0 ? authority : authority.substring(userInfo + 1);
+            path = pathStart < 0 ? "/" : url.substring(pathStart);
+        }
+        int queryStart = indexOfAny(path, '?', '#');
+        if (queryStart >= 0) {
+            path = path.substring(0, queryStart);
+        }
+        return new UriTags(normalizePath(path), client);
+    }
+
+    static String normalizePath(String path) {
+        if (path.isEmpty()) {
+            return "/";
+        }
+        StringBuilder normalized = new StringBuilder(path.length());
+        int start = 0;
+        while (start <= path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            String segment = path.substring(start, end);
+            normalized.append(isIdentifier(segment) ? ID : segment);
+            if (end < path.length()) {
+                normalized.append('/');
+            }
+            start = end + 1;
+        }
+        return normalized.toString();
+    }
+
+    static boolean isIdentifier(String segment) {
+        int length = segment.length();
+        if (length == 0) {
+            return false;
+        }
+        boolean digitsOnly = true;
+        boolean hexOnly = true;
+        for (int i = 0; i < length; i++) {
+            char c = segment.charAt(i);
+            if (c < '0' || c > '9') {
+                digitsOnly = false;
+                if (!isHex(c)) {
+                    hexOnly = false;
+                }
+            }
+        }
+        return digitsOnly || (hexOnly && length >= 16) || isUuid(segment);
+    }
+
+    private static boolean isUuid(String segment) {
+        if (segment.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = segment.charAt(i);
+            boolean dash = i == 8 || i == 13 || i == 18 || i == 23;
+            if (dash ? c != '-' : !isHex(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isHex(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static int indexOfAny(String value, char first, char second) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == first || c == second) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static class UriTags {
+        private final String uri;
+        private final String client;
+
+        public UriTags(String uri, String client) {
+            this.uri = uri;
+            this.client = client;
+        }
+
+        public String getUri() {
+            return uri;
+        }
+
+        public String getClient() {
+            return client;
+        }
+    }
+}
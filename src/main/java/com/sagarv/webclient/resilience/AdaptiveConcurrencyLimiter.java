@@ -0,0 +1,329 @@
+package com.sagarv.webclient.resilience;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Caps the requests in flight to one upstream at a limit that a {@link LimitAlgorithm} adjusts from the
+ * round-trip time and outcome of every completed request. Requests over the limit wait in a short
+ * FIFO queue and are rejected with {@link ConcurrencyLimitExceededException} when it is full or their
+ * wait expires. State changes take a lock only long enough to update counters; permits are handed to
+ * waiters outside it.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int GRANTED = 0;
+    private static final int QUEUED = 1;
+    private static final int REJECTED = 2;
+
+    private final String key;
+    private final LimitAlgorithm algorithm;
+    private final int maxQueueSize;
+    private final Duration maxQueueWait;
+    private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+    private final LongAdder rejected = new LongAdder();
+    private int limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(String key, Config config) {
+        this.key = key;
+        this.algorithm = config.algorithm.get();
+        this.maxQueueSize = config.maxQueueSize;
+        this.maxQueueWait = config.maxQueueWait;
+        this.limit = algorithm.getLimit();
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public <R> Mono<R> decorate(Mono<R> request) {
+        return Mono.usingWhen(acquire(), start -> request,
+                start -> Mono.fromRunnable(() -> release(start, null, true)),
+                (start, error) -> Mono.fromRunnable(() -> release(start, error, true)),
+                start -> Mono.fromRunnable(() -> release(start, null, false)));
+    }
+
+    public <R> Flux<R> decorate(Flux<R> request) {
+        return Flux.usingWhen(acquire(), start -> request,
+                start -> Mono.fromRunnable(() -> release(start, null, true)),
+                (start, error) -> Mono.fromRunnable(() -> release(start, error, true)),
+                start -> Mono.fromRunnable(() -> release(start, null, false)));
+    }
+
+    /**
+     * Blocking counterpart of {@link #decorate(Mono)}; the calling thread waits for a queued permit.
+     */
+    public <R> R call(Callable<R> request) throws Exception {
+        long start = acquireBlocking();
+        R result;
+        try {
+            result = request.call();
+        } catch (Exception e) {
+            release(start, e, true);
+            throw e;
+        }
+        release(start, null, true);
+        return result;
+    }
+
+    /**
+     * Emits the permit's start time once the request may proceed.
+     */
+    private Mono<Long> acquire() {
+        Mono<Long> permit = Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink);
+            sink.onCancel(() -> {
+                if (abandon(waiter)) {
+                    // Granted concurrently with the cancellation, so nobody else will release it.
+                    release(System.nanoTime(), null, false);
+                }
+            });
+            int outcome;
+            synchronized (this) {
+                outcome = tryAcquire(waiter);
+            }
+            if (outcome == GRANTED) {
+                sink.success(System.nanoTime());
+            } else if (outcome == REJECTED) {
+                sink.error(rejection("queue is full"));
+            }
+        });
+        if (maxQueueSize == 0) {
+            return permit;
+        }
+        return permit.timeout(maxQueueWait, Mono.error(() -> {
+            rejected.increment();
+            return rejection("queue wait of " + maxQueueWait.toMillis() + "ms expired");
+        }));
+    }
+
+    private long acquireBlocking() throws InterruptedException {
+        CompletableFuture<Long> granted = new CompletableFuture<>();
+        Waiter waiter = new Waiter(granted);
+        int outcome;
+        synchronized (this) {
+            outcome = tryAcquire(waiter);
+        }
+        if (outcome == GRANTED) {
+            return System.nanoTime();
+        }
+        if (outcome == REJECTED) {
+            throw rejection("queue is full");
+        }
+        try {
+            return granted.get(maxQueueWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | InterruptedException e) {
+            if (abandon(waiter)) {
+                // The permit arrived just as the wait gave up; keep it.
+                return granted.join();
+            }
+            if (e instanceof InterruptedException) {
+                throw (InterruptedException) e;
+            }
+            rejected.increment();
+            throw rejection("queue wait of " + maxQueueWait.toMillis() + "ms expired");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // Caller holds the lock.
+    private int tryAcquire(Waiter waiter) {
+        if (inFlight < limit) {
+            inFlight++;
+            return GRANTED;
+        }
+        if (queue.size() < maxQueueSize) {
+            queue.addLast(waiter);
+            return QUEUED;
+        }
+        rejected.increment();
+        return REJECTED;
+    }
+
+    /**
+     * Removes a waiter that gave up; returns whether it had already been granted a permit.
+     */
+    private synchronized boolean abandon(Waiter waiter) {
+        if (waiter.granted) {
+            return true;
+        }
+        queue.remove(waiter);
+        return false;
+    }
+
+    private void release(long startNanos, Throwable error, boolean completed) {
+        List<Waiter> granted;
+        synchronized (this) {
+            if (completed && !isLocalRejection(error)) {
+                limit = Math.max(1, algorithm.onSample(System.nanoTime() - startNanos, inFlight, isDrop(error)));
+            }
+            inFlight--;
+            granted = drain();
+        }
+        for (Waiter waiter : granted) {
+            waiter.grant(System.nanoTime());
+        }
+    }
+
+    // Caller holds the lock.
+    private List<Waiter> drain() {
+        if (queue.isEmpty() || inFlight >= limit) {
+            return Collections.emptyList();
+        }
+        List<Waiter> granted = new ArrayList<>(1);
+        while (inFlight < limit && !queue.isEmpty()) {
+            Waiter waiter = queue.pollFirst();
+            waiter.granted = true;
+            inFlight++;
+            granted.add(waiter);
+        }
+        return granted;
+    }
+
+    private ConcurrencyLimitExceededException rejection(String reason) {
+        return new ConcurrencyLimitExceededException("Concurrency limit reached for " + key + ": " + reason);
+    }
+
+    /**
+     * Failures that say the upstream is overloaded: timeouts, connection errors, 429 and 5xx, also when
+     * wrapped by the executor's exception mapping.
+     */
+    public static boolean isDrop(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof TimeoutException || t instanceof IOException || t instanceof WebClientRequestException) {
+                return true;
+            }
+            if (t instanceof WebClientResponseException) {
+                int status = ((WebClientResponseException) t).getRawStatusCode();
+                return status == 429 || status >= 500;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rejections by inner policies complete without reaching the upstream, so their RTT says nothing.
+     */
+    private static boolean isLocalRejection(Throwable error) {
+        return error instanceof CallNotPermittedException || error instanceof BulkheadFullException
+                || error instanceof RequestNotPermitted || error instanceof ConcurrencyLimitExceededException
+                || error instanceof QuotaExceededException;
+    }
+
+    private static final class Waiter {
+        private final MonoSink<Long> sink;
+        private final CompletableFuture<Long> future;
+        // Guarded by the limiter's lock.
+        private boolean granted;
+
+        Waiter(MonoSink<Long> sink) {
+            this.sink = sink;
+            this.future = null;
+        }
+
+        Waiter(CompletableFuture<Long> future) {
+            this.sink = null;
+            this.future = future;
+        }
+
+        void grant(long startNanos) {
+            if (sink != null) {
+                sink.success(startNanos);
+            } else {
+                future.complete(startNanos);
+            }
+        }
+    }
+
+    public static class Config {
+        private final Supplier<LimitAlgorithm> algorithm;
+        private final int maxQueueSize;
+        private final Duration maxQueueWait;
+
+        private Config(Builder builder) {
+            this.algorithm = builder.algorithm;
+            this.maxQueueSize = builder.maxQueueSize;
+            this.maxQueueWait = builder.maxQueueWait;
+        }
+
+        public static Config defaults() {
+            return builder().build();
+        }
+
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        public static class Builder {
+            private Supplier<LimitAlgorithm> algorithm = AimdLimit::new;
+            private int maxQueueSize = 50;
+            private Duration maxQueueWait = Duration.ofMillis(100);
+
+            private Builder() {
+            }
+
+            /**
+             * Creates the algorithm instance for each upstream; {@link AimdLimit} by default.
+             */
+            public Builder algorithm(Supplier<LimitAlgorithm> algorithm) {
+                this.algorithm = algorithm;
+                return this;
+            }
+
+            /**
+             * Requests that may wait for a permit; 0 rejects as soon as the limit is reached.
+             */
+            public Builder maxQueueSize(int maxQueueSize) {
+                this.maxQueueSize = maxQueueSize;
+                return this;
+            }
+
+            public Builder maxQueueWait(Duration maxQueueWait) {
+                this.maxQueueWait = maxQueueWait;
+                return this;
+            }
+
+            public Config build() {
+                return new Config(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.sagarv.webclient.resilience;
+
+/**
+ * Additive increase, multiplicative decrease: the limit grows by one for every successful request
+ * that completed while at least half of it was in use, and is multiplied by {@code backoffRatio} on
+ * every dropped request. Reacts to failures only, not to rising latency.
+ */
+public class AimdLimit implements LimitAlgorithm {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private int limit;
+
+    public AimdLimit() {
+        this(20, 1, 1000, 0.9);
+    }
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be in (0, 1) but was " + backoffRatio);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public int onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (dropped) {
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+        } else if (inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        return limit;
+    }
+}
@@ -0,0 +1,14 @@
+package com.sagarv.webclient.resilience;
+
+/**
+ * Thrown when an {@link AdaptiveConcurrencyLimiter} sheds a request because the upstream is at its
+ * limit and the wait queue is full or the queue wait expired.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ConcurrencyLimitExceededException(String message) {
+        super(message, null, false, false);
+    }
+}
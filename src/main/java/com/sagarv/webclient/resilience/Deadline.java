@@ -0,0 +1,123 @@
+package com.sagarv.webclient.resilience;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+
+/**
+ * A point in time by which a whole logical call, including its retries, hedges and any nested calls
+ * made in the same reactive chain, must complete. The deadline travels in the Reactor {@link Context};
+ * {@link #within(Mono, Duration)} starts one when subscribed and keeps an earlier deadline that is
+ * already in the context, so an inner call can only shorten the budget. Each attempt is bounded by
+ * the remaining time ({@link #bound(Mono, Duration)}), retries stop when the backoff would overrun
+ * it, and {@link DeadlineExchangeFilter} sends the remainder upstream.
+ */
+public final class Deadline {
+
+    private static final Object CONTEXT_KEY = Deadline.class;
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    public long remainingNanos() {
+        return expiresAtNanos - System.nanoTime();
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, remainingNanos()));
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * The deadline in {@code context}, or {@code null} when the call has none.
+     */
+    public static Deadline current(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+
+    /**
+     * Adds {@code deadline} to {@code context} unless an earlier one is already there.
+     */
+    public static Context withDeadline(Context context, Deadline deadline) {
+        Deadline existing = current(context);
+        if (existing != null && existing.expiresAtNanos - deadline.expiresAtNanos <= 0) {
+            return context;
+        }
+        return context.put(CONTEXT_KEY, deadline);
+    }
+
+    /**
+     * {@code context} without its deadline, for work shared by calls whose deadlines differ.
+     */
+    public static Context clear(Context context) {
+        return context.delete(CONTEXT_KEY);
+    }
+
+    /**
+     * Runs {@code call} with a deadline of {@code budget} from subscription; {@code null} leaves the
+     * call as it is.
+     */
+    public static <R> Mono<R> within(Mono<R> call, Duration budget) {
+        if (budget == null) {
+            return call;
+        }
+        return call.contextWrite(context -> withDeadline(context, after(budget)));
+    }
+
+    public static <R> Flux<R> within(Flux<R> call, Duration budget) {
+        if (budget == null) {
+            return call;
+        }
+        return call.contextWrite(context -> withDeadline(context, after(budget)));
+    }
+
+    /**
+     * Applies the per-attempt {@code timeout}, shortened to the time left before the deadline. An attempt
+     * made after the deadline fails with {@link DeadlineExceededException} without being subscribed.
+     */
+    public static <R> Mono<R> bound(Mono<R> attempt, Duration timeout) {
+        return Mono.deferContextual(context -> {
+            Deadline deadline = current(context);
+            if (deadline == null) {
+                return attempt.timeout(timeout);
+            }
+            long remaining = deadline.remainingNanos();
+            if (remaining <= 0) {
+                return Mono.error(DeadlineExceededException::new);
+            }
+            if (remaining < timeout.toNanos()) {
+                return attempt.timeout(Duration.ofNanos(remaining), Mono.error(DeadlineExceededException::new));
+            }
+            return attempt.timeout(timeout);
+        });
+    }
+
+    public static <R> Flux<R> bound(Flux<R> attempt, Duration timeout) {
+        return Flux.deferContextual(context -> {
+            Deadline deadline = current(context);
+            if (deadline == null) {
+                return attempt.timeout(timeout);
+            }
+            long remaining = deadline.remainingNanos();
+            if (remaining <= 0) {
+                return Flux.error(DeadlineExceededException::new);
+            }
+            // The per-element timeout still applies; the deadline bounds the stream as a whole.
+            return attempt.timeout(timeout).timeout(Mono.delay(Duration.ofNanos(remaining)),
+                    element -> Mono.delay(deadline.remaining()), Flux.error(DeadlineExceededException::new));
+        });
+    }
+}
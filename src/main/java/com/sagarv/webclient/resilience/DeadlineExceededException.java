@@ -0,0 +1,16 @@
+package com.sagarv.webclient.resilience;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The call's {@link Deadline} passed before or during an attempt. It is a {@link TimeoutException},
+ * so timeout handling and metrics treat it the same way, but retries never follow it.
+ */
+public class DeadlineExceededException extends TimeoutException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DeadlineExceededException() {
+        super("Deadline exceeded");
+    }
+}
@@ -0,0 +1,46 @@
+package com.sagarv.webclient.resilience;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Sends the time left before the call's {@link Deadline} to the upstream as whole milliseconds in
+ * {@code X-Request-Timeout-Ms} (or a configured header), so the server can stop work the client will
+ * no longer wait for, and fails requests whose deadline already passed before they are written.
+ * Requests without a deadline pass straight through. {@link com.sagarv.webclient.WebClientConfig}
+ * registers this filter; add it to custom {@code WebClient}s to propagate deadlines.
+ */
+public class DeadlineExchangeFilter implements ExchangeFilterFunction {
+
+    public static final String DEFAULT_HEADER = "X-Request-Timeout-Ms";
+
+    private final String header;
+
+    public DeadlineExchangeFilter() {
+        this(DEFAULT_HEADER);
+    }
+
+    public DeadlineExchangeFilter(String header) {
+        this.header = header;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            Deadline deadline = Deadline.current(context);
+            if (deadline == null) {
+                return next.exchange(request);
+            }
+            long remainingMillis = deadline.remainingNanos() / 1_000_000;
+            if (remainingMillis <= 0) {
+                return Mono.error(new DeadlineExceededException());
+            }
+            return next.exchange(ClientRequest.from(request)
+                    .headers(headers -> headers.set(header, Long.toString(remainingMillis)))
+                    .build());
+        });
+    }
+}
@@ -0,0 +1,142 @@
+package com.sagarv.webclient.resilience;
+
+import org.springframework.http.HttpMethod;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends a second attempt of an idempotent request when the first has not completed after the hedge
+ * delay; whichever attempt signals first wins and the other is cancelled. The delay is either fixed or
+ * the observed latency percentile of the host, clamped to {@code [minDelay, maxDelay]}. Hedges draw
+ * from a per-host {@link RetryBudget} so they never exceed {@code maxHedgeRatio} of requests.
+ */
+public class HedgePolicy {
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = Set.of(
+            HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE, HttpMethod.TRACE);
+
+    private final Duration delay;
+    private final double percentile;
+    private final Duration minDelay;
+    private final Duration maxDelay;
+    private final double maxHedgeRatio;
+    private final int budgetCapacity;
+    private final Map<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+
+    private HedgePolicy(Builder builder) {
+        this.delay = builder.delay;
+        this.percentile = builder.percentile;
+        this.minDelay = builder.minDelay;
+        this.maxDelay = builder.maxDelay;
+        this.maxHedgeRatio = builder.maxHedgeRatio;
+        this.budgetCapacity = builder.budgetCapacity;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean isHedgeable(HttpMethod method) {
+        return IDEMPOTENT_METHODS.contains(method);
+    }
+
+    public <R> Mono<R> apply(Mono<R> attempt, HttpMethod method, String url) {
+        if (!isHedgeable(method)) {
+            return attempt;
+        }
+        String key = ResilienceRegistry.authorityOf(url);
+        RetryBudget budget = budgets.computeIfAbsent(key, k -> new RetryBudget(maxHedgeRatio, 0, budgetCapacity));
+        LatencyWindow window = percentile > 0 ? latencies.computeIfAbsent(key, k -> new LatencyWindow(percentile)) : null;
+        return Mono.defer(() -> {
+            budget.recordRequest();
+            long start = System.nanoTime();
+            Mono<R> hedge = Mono.delay(delayFor(window)).flatMap(tick -> Mono.deferContextual(context -> {
+                Deadline deadline = Deadline.current(context);
+                if (deadline != null && deadline.isExpired()) {
+                    return Mono.never();
+                }
+                if (!budget.tryAcquireRetry()) {
+                    suppressed.increment();
+                    return Mono.never();
+                }
+                hedged.increment();
+                // A failed hedge must not beat a primary that may still succeed.
+                return attempt.onErrorResume(e -> Mono.never());
+            }));
+            Mono<R> winner = Mono.firstWithSignal(attempt, hedge);
+            return window == null ? winner : winner.doOnSuccess(result -> window.record(System.nanoTime() - start));
+        });
+    }
+
+    Duration delayFor(LatencyWindow window) {
+        if (window == null) {
+            return delay;
+        }
+        long observed = window.percentileNanos();
+        if (observed < 0) {
+            return maxDelay;
+        }
+        return Duration.ofNanos(Math.max(minDelay.toNanos(), Math.min(maxDelay.toNanos(), observed)));
+    }
+
+    public long getHedgedCount() {
+        return hedged.sum();
+    }
+
+    /**
+     * Hedges that were due but skipped because the hedge budget was exhausted.
+     */
+    public long getSuppressedCount() {
+        return suppressed.sum();
+    }
+
+    public static class Builder {
+        private Duration delay = Duration.ofMillis(50);
+        private double percentile = 0;
+        private Duration minDelay = Duration.ofMillis(5);
+        private Duration maxDelay = Duration.ofSeconds(1);
+        private double maxHedgeRatio = 0.05;
+        private int budgetCapacity = 50;
+
+        private Builder() {
+        }
+
+        public Builder delay(Duration delay) {
+            this.delay = delay;
+            this.percentile = 0;
+            return this;
+        }
+
+        /**
+         * Hedge after the host's observed {@code percentile} latency (e.g. {@code 0.95}); {@code maxDelay}
+         * is used until enough samples have been recorded.
+         */
+        public Builder adaptiveDelay(double percentile, Duration minDelay, Duration maxDelay) {
+            if (percentile <= 0 || percentile >= 1) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 1 but was " + percentile);
+            }
+            this.percentile = percentile;
+            this.minDelay = minDelay;
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        public Builder maxHedgeRatio(double maxHedgeRatio, int burstCapacity) {
+            this.maxHedgeRatio = maxHedgeRatio;
+            this.budgetCapacity = burstCapacity;
+            return this;
+        }
+
+        public HedgePolicy build() {
+            return new HedgePolicy(this);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.sagarv.webclient.resilience;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A ring of the most recent latency samples with a cached percentile that is recomputed every
+ * {@code RECOMPUTE_INTERVAL} samples, so reading it on the request path is a volatile read.
+ */
+class LatencyWindow {
+
+    private static final int SIZE = 256;
+    private static final int RECOMPUTE_INTERVAL = 32;
+
+    private final double percentile;
+    private final AtomicLongArray samples = new AtomicLongArray(SIZE);
+    private final AtomicLong count = new AtomicLong();
+    private volatile long percentileNanos = -1;
+
+    LatencyWindow(double percentile) {
+        this.percentile = percentile;
+    }
+
+    void record(long nanos) {
+        long n = count.getAndIncrement();
+        samples.set((int) (n & (SIZE - 1)), nanos);
+        if ((n + 1) % RECOMPUTE_INTERVAL == 0) {
+            recompute(Math.min(n + 1, SIZE));
+        }
+    }
+
+    /**
+     * The cached percentile in nanoseconds, or {@code -1} until enough samples have been seen.
+     */
+    long percentileNanos() {
+        return percentileNanos;
+    }
+
+    private void recompute(long filled) {
+        long[] sorted = new long[(int) filled];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        percentileNanos = sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,20 @@
+package com.sagarv.webclient.resilience;
+
+/**
+ * Computes the concurrency limit of one upstream from completed requests. An instance belongs to a
+ * single {@link AdaptiveConcurrencyLimiter}, which serializes calls, so implementations need no
+ * synchronization.
+ */
+public interface LimitAlgorithm {
+
+    int getLimit();
+
+    /**
+     * @param rttNanos the round-trip time of the completed request
+     * @param inFlight requests in flight when it completed, including itself
+     * @param dropped  whether it failed in a way that indicates overload (timeout, connection error,
+     *                 429 or 5xx)
+     * @return the new limit
+     */
+    int onSample(long rttNanos, int inFlight, boolean dropped);
+}
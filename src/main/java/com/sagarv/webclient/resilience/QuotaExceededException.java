@@ -0,0 +1,26 @@
+package com.sagarv.webclient.resilience;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a {@link QuotaLimiter} rejects a request because it could not be sent within the
+ * quota before its maximum wait, or its deadline, expired.
+ */
+public class QuotaExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    public QuotaExceededException(String message, Duration retryAfter) {
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * How long until the quota would have admitted the request.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
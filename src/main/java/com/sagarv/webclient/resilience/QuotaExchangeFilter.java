@@ -0,0 +1,162 @@
+package com.sagarv.webclient.resilience;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Holds every request to a {@link QuotaLimiter} before it is sent and feeds each response's rate
+ * limit headers back to it. Requests are keyed by URL authority by default, or by
+ * {@link #CREDENTIAL} or any other function of the request, e.g. a {@link ResilienceRegistry}'s
+ * {@code keyFor} to share its routes. As a filter it paces every attempt, so retries of a 429 wait
+ * for the quota instead of adding to it. A request never waits past its {@link Deadline}.
+ * <p>
+ * Once there are more than {@code maxKeys} limiters, idle ones, which hold no state that would
+ * affect a new request, are dropped, so keys such as rotated tokens do not accumulate.
+ */
+public class QuotaExchangeFilter implements ExchangeFilterFunction {
+
+    /**
+     * Keys requests by a {@link #fingerprint} of their {@code Authorization} header, so each API key or
+     * token gets its own quota without the secret appearing in keys, errors or logs; requests without
+     * one fall back to their authority.
+     */
+    public static final Function<ClientRequest, String> CREDENTIAL = request -> {
+        String authorization = request.headers().getFirst(HttpHeaders.AUTHORIZATION);
+        return authorization != null ? fingerprint(authorization) : ResilienceRegistry.authorityOf(request.url().toString());
+    };
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final QuotaLimiter.Config config;
+    private final Map<String, QuotaLimiter.Config> overrides;
+    private final Function<ClientRequest, String> keyFunction;
+    private final int maxKeys;
+    private final Map<String, QuotaLimiter> limiters = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    private QuotaExchangeFilter(Builder builder) {
+        this.config = builder.config;
+        this.overrides = new HashMap<>(builder.overrides);
+        this.keyFunction = builder.keyFunction;
+        this.maxKeys = builder.maxKeys;
+    }
+
+    public static Builder builder(QuotaLimiter.Config config) {
+        return new Builder(config);
+    }
+
+    /**
+     * The key {@link #CREDENTIAL} uses for a credential, e.g. to {@link Builder#override} its quota:
+     * {@code credential:} and the first 8 bytes of its SHA-256 digest in hex.
+     */
+    public static String fingerprint(String credential) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(credential.getBytes(StandardCharsets.UTF_8));
+            return "credential:" + HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public QuotaLimiter limiter(String key) {
+        QuotaLimiter limiter = limiters.get(key);
+        if (limiter != null) {
+            return limiter;
+        }
+        if (limiters.size() >= maxKeys) {
+            evictIdle(System.nanoTime());
+        }
+        return limiters.computeIfAbsent(key, k -> new QuotaLimiter(k, overrides.getOrDefault(k, config)));
+    }
+
+    /**
+     * The limiter for {@code request}'s key, for clients that pace requests outside the filter chain.
+     */
+    public QuotaLimiter limiter(ClientRequest request) {
+        return limiter(keyFunction.apply(request));
+    }
+
+    private void evictIdle(long now) {
+        long last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL_NANOS || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        limiters.forEach((key, limiter) -> {
+            if (limiter.isIdle(now)) {
+                limiters.remove(key, limiter);
+            }
+        });
+    }
+
+    public Collection<QuotaLimiter> getLimiters() {
+        return Collections.unmodifiableCollection(limiters.values());
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            QuotaLimiter limiter = limiter(request);
+            Deadline deadline = Deadline.current(context);
+            long wait = deadline == null
+                    ? limiter.acquire(System.nanoTime())
+                    : limiter.acquire(System.nanoTime(), Math.max(0, deadline.remainingNanos()));
+            Mono<ClientResponse> exchange = next.exchange(request)
+                    .doOnNext(response -> limiter.update(response.headers().asHttpHeaders(), System.nanoTime()));
+            return wait == 0 ? exchange : Mono.delay(Duration.ofNanos(wait)).then(exchange);
+        });
+    }
+
+    public static class Builder {
+        private final QuotaLimiter.Config config;
+        private final Map<String, QuotaLimiter.Config> overrides = new HashMap<>();
+        private Function<ClientRequest, String> keyFunction = request -> ResilienceRegistry.authorityOf(request.url().toString());
+        private int maxKeys = 10_000;
+
+        private Builder(QuotaLimiter.Config config) {
+            this.config = config;
+        }
+
+        public Builder keyBy(Function<ClientRequest, String> keyFunction) {
+            this.keyFunction = keyFunction;
+            return this;
+        }
+
+        /**
+         * Limiters kept before idle ones are dropped; 10,000 by default.
+         */
+        public Builder maxKeys(int maxKeys) {
+            this.maxKeys = maxKeys;
+            return this;
+        }
+
+        /**
+         * Gives one key its own quota instead of the default.
+         */
+        public Builder override(String key, QuotaLimiter.Config config) {
+            this.overrides.put(key, config);
+            return this;
+        }
+
+        public QuotaExchangeFilter build() {
+            return new QuotaExchangeFilter(this);
+        }
+    }
+}
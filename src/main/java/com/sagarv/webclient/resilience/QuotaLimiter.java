@@ -0,0 +1,249 @@
+package com.sagarv.webclient.resilience;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A client-side request quota for one host, route or credential, enforced with the generic cell
+ * rate algorithm (GCRA): a single theoretical arrival time advanced by one emission interval per
+ * request, updated with a compare-and-set, so admission takes no lock. A request that would exceed
+ * the quota is told how long to wait; requests that would wait longer than {@code maxWait} are
+ * rejected instead.
+ * <p>
+ * When adaptive, the limiter follows the quota the upstream reports: {@code X-RateLimit-Remaining}
+ * and {@code X-RateLimit-Reset} (or the unprefixed {@code RateLimit-*} names) spread the remaining
+ * requests evenly over the rest of the window, and {@code Retry-After} or an exhausted quota hold
+ * every request until the window resets. An adjusted pace lasts until the reported reset, after
+ * which the configured quota applies again.
+ */
+public class QuotaLimiter {
+
+    // Reset values above this are epoch seconds rather than seconds until the reset.
+    private static final long EPOCH_SECONDS_THRESHOLD = 1_000_000_000L;
+
+    private final String key;
+    private final long configuredIntervalNanos;
+    private final int burst;
+    private final long maxWaitNanos;
+    private final boolean adaptive;
+    private final double headroom;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong blockedUntil = new AtomicLong(Long.MIN_VALUE);
+    private final LongAdder rejected = new LongAdder();
+    private volatile Pacing adjusted;
+
+    public QuotaLimiter(String key, Config config) {
+        this.key = key;
+        this.configuredIntervalNanos = config.period.toNanos() / config.limitForPeriod;
+        this.burst = config.burst;
+        this.maxWaitNanos = config.maxWait.toNanos();
+        this.adaptive = config.adaptive;
+        this.headroom = config.headroom;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * The current time between requests, as configured or as adjusted from the upstream for the rest
+     * of its window.
+     */
+    public Duration getInterval() {
+        return Duration.ofNanos(intervalNanos(System.nanoTime()));
+    }
+
+    /**
+     * Whether the limiter holds no state that affects requests from {@code now} on, so dropping it and
+     * creating a fresh one later changes nothing.
+     */
+    public boolean isIdle(long now) {
+        Pacing pacing = adjusted;
+        return theoreticalArrival.get() <= now && blockedUntil.get() <= now && (pacing == null || pacing.untilNanos <= now);
+    }
+
+    private long intervalNanos(long now) {
+        Pacing pacing = adjusted;
+        return pacing != null && now < pacing.untilNanos ? pacing.intervalNanos : configuredIntervalNanos;
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Reserves a slot for one request and returns how long to wait before sending it, at most
+     * {@code maxWait}; throws {@link QuotaExceededException} without reserving when the wait would be
+     * longer.
+     */
+    public long acquire(long now) {
+        return acquire(now, Long.MAX_VALUE);
+    }
+
+    /**
+     * Like {@link #acquire(long)}, but also rejects when the wait would exceed {@code remainingNanos},
+     * e.g. the time left before a deadline.
+     */
+    public long acquire(long now, long remainingNanos) {
+        long maxWait = Math.min(maxWaitNanos, remainingNanos);
+        long interval = intervalNanos(now);
+        long tolerance = interval * (burst - 1);
+        long blocked = blockedUntil.get();
+        while (true) {
+            long current = theoreticalArrival.get();
+            long base = Math.max(current, now);
+            long wait = Math.max(0, Math.max(base - tolerance, blocked) - now);
+            if (wait > maxWait) {
+                rejected.increment();
+                throw new QuotaExceededException("Quota exhausted for " + key + ": next slot in "
+                        + Duration.ofNanos(wait).toMillis() + "ms", Duration.ofNanos(wait));
+            }
+            if (theoreticalArrival.compareAndSet(current, Math.max(base, now + wait) + interval)) {
+                return wait;
+            }
+        }
+    }
+
+    /**
+     * Adjusts the quota from a response's rate limit headers; does nothing unless adaptive.
+     */
+    public void update(HttpHeaders headers, long now) {
+        if (!adaptive) {
+            return;
+        }
+        Duration retryAfter = RetryPolicy.retryAfter(headers);
+        if (retryAfter != null) {
+            blockUntil(now + retryAfter.toNanos());
+        }
+        long remaining = header(headers, "X-RateLimit-Remaining", "RateLimit-Remaining");
+        long reset = header(headers, "X-RateLimit-Reset", "RateLimit-Reset");
+        if (remaining < 0 || reset < 0) {
+            return;
+        }
+        long resetNanos = reset > EPOCH_SECONDS_THRESHOLD
+                ? Math.max(0, reset * 1000 - System.currentTimeMillis()) * 1_000_000
+                : reset * 1_000_000_000;
+        if (remaining == 0) {
+            blockUntil(now + resetNanos);
+            return;
+        }
+        long allowed = Math.max(1, (long) (remaining * headroom));
+        adjusted = new Pacing(Math.max(1, resetNanos / allowed), now + resetNanos);
+    }
+
+    private void blockUntil(long until) {
+        blockedUntil.accumulateAndGet(until, Math::max);
+    }
+
+    private static long header(HttpHeaders headers, String name, String alternative) {
+        String value = headers.getFirst(name);
+        if (value == null) {
+            value = headers.getFirst(alternative);
+        }
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static final class Pacing {
+        final long intervalNanos;
+        final long untilNanos;
+
+        Pacing(long intervalNanos, long untilNanos) {
+            this.intervalNanos = intervalNanos;
+            this.untilNanos = untilNanos;
+        }
+    }
+
+    public static class Config {
+        private final int limitForPeriod;
+        private final Duration period;
+        private final int burst;
+        private final Duration maxWait;
+        private final boolean adaptive;
+        private final double headroom;
+
+        private Config(Builder builder) {
+            if (builder.limitForPeriod <= 0 || builder.period == null || builder.period.isZero() || builder.period.isNegative()) {
+                throw new IllegalArgumentException("A quota needs a positive limit and period");
+            }
+            this.limitForPeriod = builder.limitForPeriod;
+            this.period = builder.period;
+            this.burst = Math.max(1, builder.burst);
+            this.maxWait = builder.maxWait;
+            this.adaptive = builder.adaptive;
+            this.headroom = builder.headroom;
+        }
+
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        public static class Builder {
+            private int limitForPeriod;
+            private Duration period;
+            private int burst = 1;
+            private Duration maxWait = Duration.ofSeconds(1);
+            private boolean adaptive = true;
+            private double headroom = 0.9;
+
+            private Builder() {
+            }
+
+            /**
+             * The starting quota, e.g. {@code limit(100, Duration.ofSeconds(1))}.
+             */
+            public Builder limit(int limitForPeriod, Duration period) {
+                this.limitForPeriod = limitForPeriod;
+                this.period = period;
+                return this;
+            }
+
+            /**
+             * Requests that may be sent back to back after an idle spell; 1 (the default) spaces every
+             * request evenly.
+             */
+            public Builder burst(int burst) {
+                this.burst = burst;
+                return this;
+            }
+
+            /**
+             * How long a request may wait for a slot; {@code Duration.ZERO} rejects immediately.
+             */
+            public Builder maxWait(Duration maxWait) {
+                this.maxWait = maxWait;
+                return this;
+            }
+
+            /**
+             * Whether rate limit response headers adjust the quota; on by default.
+             */
+            public Builder adaptive(boolean adaptive) {
+                this.adaptive = adaptive;
+                return this;
+            }
+
+            /**
+             * Share of the upstream's remaining quota to use, leaving room for requests already in
+             * flight when the headers were sent; 0.9 by default.
+             */
+            public Builder headroom(double headroom) {
+                this.headroom = headroom;
+                return this;
+            }
+
+            public Config build() {
+                return new Config(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.sagarv.webclient.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.ratelimiter.operator.RateLimiterOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.Callable;
+
+/**
+ * The circuit breaker, optional adaptive concurrency limiter, bulkhead and optional rate limiter
+ * guarding one host or named route. The reactor operators are created once and shared by every
+ * request to the key.
+ */
+public class ResiliencePolicies {
+
+    private final String key;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final RateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final CircuitBreakerOperator<Object> circuitBreakerOperator;
+    private final BulkheadOperator<Object> bulkheadOperator;
+    private final RateLimiterOperator<Object> rateLimiterOperator;
+
+    public ResiliencePolicies(String key, CircuitBreaker circuitBreaker, Bulkhead bulkhead, RateLimiter rateLimiter) {
+        this(key, circuitBreaker, bulkhead, rateLimiter, null);
+    }
+
+    public ResiliencePolicies(String key, CircuitBreaker circuitBreaker, Bulkhead bulkhead, RateLimiter rateLimiter,
+                              AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.key = key;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.circuitBreakerOperator = circuitBreaker == null ? null : CircuitBreakerOperator.of(circuitBreaker);
+        this.bulkheadOperator = bulkhead == null ? null : BulkheadOperator.of(bulkhead);
+        this.rateLimiterOperator = rateLimiter == null ? null : RateLimiterOperator.of(rateLimiter);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    /**
+     * Applies the circuit breaker innermost, then the concurrency limiter, then the bulkhead, then the
+     * rate limiter, so requests shed locally never count as failures of the upstream, and the limiter
+     * measures the upstream rather than time spent queued behind the outer policies.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <R> Mono<R> decorate(Mono<R> request) {
+        Mono mono = request;
+        if (circuitBreakerOperator != null) {
+            mono = (Mono) circuitBreakerOperator.apply(mono);
+        }
+        if (concurrencyLimiter != null) {
+            mono = concurrencyLimiter.decorate(mono);
+        }
+        if (bulkheadOperator != null) {
+            mono = (Mono) bulkheadOperator.apply(mono);
+        }
+        if (rateLimiterOperator != null) {
+            mono = (Mono) rateLimiterOperator.apply(mono);
+        }
+        return mono;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <R> Flux<R> decorate(Flux<R> request) {
+        Flux flux = request;
+        if (circuitBreakerOperator != null) {
+            flux = (Flux) circuitBreakerOperator.apply(flux);
+        }
+        if (concurrencyLimiter != null) {
+            flux = concurrencyLimiter.decorate(flux);
+        }
+        if (bulkheadOperator != null) {
+            flux = (Flux) bulkheadOperator.apply(flux);
+        }
+        if (rateLimiterOperator != null) {
+            flux = (Flux) rateLimiterOperator.apply(flux);
+        }
+        return flux;
+    }
+
+    /**
+     * Blocking counterpart of {@link #decorate(Mono)} with the same ordering, for callers that run the
+     * request on their own thread.
+     */
+    public <R> R call(Callable<R> request) throws Exception {
+        Callable<R> callable = request;
+        if (circuitBreaker != null) {
+            callable = CircuitBreaker.decorateCallable(circuitBreaker, callable);
+        }
+        if (concurrencyLimiter != null) {
+            Callable<R> limited = callable;
+            callable = () -> concurrencyLimiter.call(limited);
+        }
+        if (bulkhead != null) {
+            callable = Bulkhead.decorateCallable(bulkhead, callable);
+        }
+        if (rateLimiter != null) {
+            callable = RateLimiter.decorateCallable(rateLimiter, callable);
+        }
+        return callable.call();
+    }
+}
@@ -0,0 +1,250 @@
+package com.sagarv.webclient.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Creates and caches a {@link ResiliencePolicies} (circuit breaker, semaphore bulkhead and optional
+ * rate limiter) per upstream, so a failing or slow dependency sheds load in isolation. Requests are
+ * keyed by the first named route whose URL prefix matches, otherwise by the URL authority
+ * ({@code host[:port]}); relative URLs share the {@value #DEFAULT_KEY} key. Lookups of existing keys
+ * are a lock-free map read.
+ */
+public class ResilienceRegistry {
+
+    public static final String DEFAULT_KEY = "default";
+
+    private final CircuitBreakerConfig circuitBreakerConfig;
+    private final BulkheadConfig bulkheadConfig;
+    private final RateLimiterConfig rateLimiterConfig;
+    private final AdaptiveConcurrencyLimiter.Config concurrencyLimiterConfig;
+    private final Route[] routes;
+    private final Map<String, KeyOverride> overrides;
+    private final ResiliencePolicies shared;
+    private final Map<String, ResiliencePolicies> policies = new ConcurrentHashMap<>();
+    private final List<Consumer<ResiliencePolicies>> listeners = new CopyOnWriteArrayList<>();
+
+    private ResilienceRegistry(Builder builder) {
+        this.circuitBreakerConfig = builder.circuitBreakerConfig;
+        this.bulkheadConfig = builder.bulkheadConfig;
+        this.rateLimiterConfig = builder.rateLimiterConfig;
+        this.concurrencyLimiterConfig = builder.concurrencyLimiterConfig;
+        this.routes = builder.routes.toArray(new Route[0]);
+        this.overrides = new HashMap<>(builder.overrides);
+        this.shared = null;
+    }
+
+    private ResilienceRegistry(ResiliencePolicies shared) {
+        this.circuitBreakerConfig = null;
+        this.bulkheadConfig = null;
+        this.rateLimiterConfig = null;
+        this.concurrencyLimiterConfig = null;
+        this.routes = new Route[0];
+        this.overrides = Collections.emptyMap();
+        this.shared = shared;
+        this.policies.put(shared.getKey(), shared);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * A registry that guards every request with the same circuit breaker and no bulkhead, as the
+     * executors did before per-host isolation.
+     */
+    public static ResilienceRegistry shared(CircuitBreaker circuitBreaker) {
+        return new ResilienceRegistry(new ResiliencePolicies(circuitBreaker.getName(), circuitBreaker, null, null));
+    }
+
+    public ResiliencePolicies policiesFor(String url) {
+        if (shared != null) {
+            return shared;
+        }
+        return policies(keyFor(url));
+    }
+
+    public ResiliencePolicies policies(String key) {
+        ResiliencePolicies existing = policies.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        boolean[] created = new boolean[1];
+        ResiliencePolicies result = policies.computeIfAbsent(key, k -> {
+            created[0] = true;
+            return create(k);
+        });
+        if (created[0]) {
+            listeners.forEach(listener -> listener.accept(result));
+        }
+        return result;
+    }
+
+    public Collection<ResiliencePolicies> getPolicies() {
+        return Collections.unmodifiableCollection(policies.values());
+    }
+
+    /**
+     * Notifies the consumer of every existing and future policy set, e.g. to bind metrics.
+     */
+    public void onPoliciesCreated(Consumer<ResiliencePolicies> listener) {
+        listeners.add(listener);
+        policies.values().forEach(listener);
+    }
+
+    /**
+     * The upstream {@code url} belongs to: the first matching route name, otherwise its host and port.
+     */
+    public String keyFor(String url) {
+        for (Route route : routes) {
+            if (url.startsWith(route.urlPrefix)) {
+                return route.name;
+            }
+        }
+        return authorityOf(url);
+    }
+
+    static String authorityOf(String url) {
+        int schemeEnd = url.indexOf("://");
+        if (schemeEnd < 0) {
+            return DEFAULT_KEY;
+        }
+        int start = schemeEnd + 3;
+        int end = url.length();
+        for (int i = start; i < url.length(); i++) {
+            char c = url.charAt(i);
+            if (c == '/' || c == '?' || c == '#') {
+                end = i;
+                break;
+            }
+        }
+        int userInfo = url.lastIndexOf('@', end - 1);
+        if (userInfo >= start) {
+            start = userInfo + 1;
+        }
+        return url.substring(start, end);
+    }
+
+    private ResiliencePolicies create(String key) {
+        KeyOverride override = overrides.get(key);
+        CircuitBreakerConfig cbConfig = override != null && override.circuitBreakerConfig != null ? override.circuitBreakerConfig : circuitBreakerConfig;
+        BulkheadConfig bhConfig = override != null && override.bulkheadConfig != null ? override.bulkheadConfig : bulkheadConfig;
+        RateLimiterConfig rlConfig = override != null && override.rateLimiterConfig != null ? override.rateLimiterConfig : rateLimiterConfig;
+        return new ResiliencePolicies(key,
+                cbConfig == null ? null : CircuitBreaker.of(key, cbConfig),
+                bhConfig == null ? null : Bulkhead.of(key, bhConfig),
+                rlConfig == null ? null : RateLimiter.of(key, rlConfig),
+                concurrencyLimiterConfig == null ? null : new AdaptiveConcurrencyLimiter(key, concurrencyLimiterConfig));
+    }
+
+    private static final class Route {
+        final String name;
+        final String urlPrefix;
+
+        Route(String name, String urlPrefix) {
+            this.name = name;
+            this.urlPrefix = urlPrefix;
+        }
+    }
+
+    private static final class KeyOverride {
+        final CircuitBreakerConfig circuitBreakerConfig;
+        final BulkheadConfig bulkheadConfig;
+        final RateLimiterConfig rateLimiterConfig;
+
+        KeyOverride(CircuitBreakerConfig circuitBreakerConfig, BulkheadConfig bulkheadConfig, RateLimiterConfig rateLimiterConfig) {
+            this.circuitBreakerConfig = circuitBreakerConfig;
+            this.bulkheadConfig = bulkheadConfig;
+            this.rateLimiterConfig = rateLimiterConfig;
+        }
+    }
+
+    public static class Builder {
+        // Shed immediately rather than queue when an upstream is saturated; local rejections are not
+        // failures of the upstream, so they must not trip its breaker. Only overload failures (5xx,
+        // 429, transport errors and timeouts) count against it: a burst of one caller's 4xx must not
+        // open the breaker for the whole host.
+        private CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .recordException(AdaptiveConcurrencyLimiter::isDrop)
+                .ignoreExceptions(BulkheadFullException.class, RequestNotPermitted.class, ConcurrencyLimitExceededException.class,
+                        QuotaExceededException.class)
+                .build();
+        private BulkheadConfig bulkheadConfig = BulkheadConfig.custom()
+                .maxConcurrentCalls(500)
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+        private RateLimiterConfig rateLimiterConfig;
+        private AdaptiveConcurrencyLimiter.Config concurrencyLimiterConfig;
+        private final List<Route> routes = new ArrayList<>();
+        private final Map<String, KeyOverride> overrides = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder circuitBreakerConfig(CircuitBreakerConfig circuitBreakerConfig) {
+            this.circuitBreakerConfig = circuitBreakerConfig;
+            return this;
+        }
+
+        public Builder bulkheadConfig(BulkheadConfig bulkheadConfig) {
+            this.bulkheadConfig = bulkheadConfig;
+            return this;
+        }
+
+        /**
+         * Rate limiter applied to every key; {@code null} (the default) disables rate limiting.
+         */
+        public Builder rateLimiterConfig(RateLimiterConfig rateLimiterConfig) {
+            this.rateLimiterConfig = rateLimiterConfig;
+            return this;
+        }
+
+        /**
+         * Adaptive concurrency limit applied to every key, each with its own algorithm instance;
+         * {@code null} (the default) disables it.
+         */
+        public Builder concurrencyLimiterConfig(AdaptiveConcurrencyLimiter.Config concurrencyLimiterConfig) {
+            this.concurrencyLimiterConfig = concurrencyLimiterConfig;
+            return this;
+        }
+
+        /**
+         * Groups every URL starting with {@code urlPrefix} under one named key. Routes are matched in
+         * registration order.
+         */
+        public Builder route(String name, String urlPrefix) {
+            this.routes.add(new Route(name, urlPrefix));
+            return this;
+        }
+
+        /**
+         * Replaces the default configurations for one route name or authority; {@code null} keeps the
+         * default for that policy.
+         */
+        public Builder override(String key, CircuitBreakerConfig circuitBreakerConfig, BulkheadConfig bulkheadConfig, RateLimiterConfig rateLimiterConfig) {
+            this.overrides.put(key, new KeyOverride(circuitBreakerConfig, bulkheadConfig, rateLimiterConfig));
+            return this;
+        }
+
+        public ResilienceRegistry build() {
+            return new ResilienceRegistry(this);
+        }
+    }
+}
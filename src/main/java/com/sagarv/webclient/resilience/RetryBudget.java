@@ -0,0 +1,84 @@
+package com.sagarv.webclient.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket that caps retries to a fraction of traffic. Every request deposits {@code ratio}
+ * tokens, every retry withdraws one, and {@code minRetriesPerSecond} tokens are added over time so
+ * low-traffic upstreams can still retry. All updates are CAS loops on a single counter.
+ */
+public class RetryBudget {
+
+    private static final long UNIT = 1_000_000L;
+
+    private final long depositPerRequest;
+    private final long refillPerSecond;
+    private final long capacity;
+    private final AtomicLong balance;
+    private final AtomicLong lastRefillNanos = new AtomicLong(System.nanoTime());
+    private final LongAdder exhausted = new LongAdder();
+
+    public RetryBudget(double ratio, int minRetriesPerSecond, int capacity) {
+        if (ratio < 0 || ratio > 1) {
+            throw new IllegalArgumentException("Retry ratio must be between 0 and 1 but was " + ratio);
+        }
+        this.depositPerRequest = (long) (ratio * UNIT);
+        this.refillPerSecond = minRetriesPerSecond * UNIT;
+        this.capacity = capacity * UNIT;
+        this.balance = new AtomicLong(Math.min(this.capacity, this.refillPerSecond));
+    }
+
+    public void recordRequest() {
+        add(depositPerRequest);
+    }
+
+    public boolean tryAcquireRetry() {
+        refill();
+        while (true) {
+            long current = balance.get();
+            if (current < UNIT) {
+                exhausted.increment();
+                return false;
+            }
+            if (balance.compareAndSet(current, current - UNIT)) {
+                return true;
+            }
+        }
+    }
+
+    public double getAvailableRetries() {
+        refill();
+        return (double) balance.get() / UNIT;
+    }
+
+    public long getExhaustedCount() {
+        return exhausted.sum();
+    }
+
+    private void refill() {
+        if (refillPerSecond == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long last = lastRefillNanos.get();
+        long elapsed = now - last;
+        // Refill in 10ms steps so concurrent callers rarely contend on the timestamp.
+        if (elapsed >= 10_000_000L && lastRefillNanos.compareAndSet(last, now)) {
+            add((long) Math.min(capacity, (double) refillPerSecond * elapsed / 1_000_000_000L));
+        }
+    }
+
+    private void add(long amount) {
+        if (amount == 0) {
+            return;
+        }
+        while (true) {
+            long current = balance.get();
+            long next = Math.min(capacity, current + amount);
+            if (current == next || balance.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+}
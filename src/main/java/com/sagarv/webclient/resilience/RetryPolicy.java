@@ -0,0 +1,309 @@
+package com.sagarv.webclient.resilience;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Retries failed attempts with exponential backoff and full jitter. Only idempotent methods are
+ * retried unless enabled otherwise, only for the configured statuses and exception types, and only
+ * while the per-host {@link RetryBudget} has tokens. A {@code Retry-After} header on the failed
+ * response raises the delay to at least the requested value. Under a {@link Deadline} no retry is made
+ * once the backoff would reach it.
+ * <p>
+ * Copies made with {@code with*} methods share the retry budgets of the original policy.
+ */
+public class RetryPolicy {
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = Set.of(
+            HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE, HttpMethod.TRACE);
+
+    private static final RetryPolicy DEFAULT = builder().build();
+
+    private final int maxRetries;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final double multiplier;
+    private final boolean retryNonIdempotent;
+    private final boolean[] retryStatuses;
+    private final List<Class<? extends Throwable>> retryExceptions;
+    private final boolean honourRetryAfter;
+    private final Duration maxRetryAfter;
+    private final double budgetRatio;
+    private final int budgetMinRetriesPerSecond;
+    private final int budgetCapacity;
+    private final Map<String, RetryBudget> budgets;
+
+    private RetryPolicy(Builder builder, Map<String, RetryBudget> budgets) {
+        this.maxRetries = builder.maxRetries;
+        this.initialBackoff = builder.initialBackoff;
+        this.maxBackoff = builder.maxBackoff;
+        this.multiplier = builder.multiplier;
+        this.retryNonIdempotent = builder.retryNonIdempotent;
+        this.retryStatuses = new boolean[600];
+        for (int status : builder.retryStatuses) {
+            this.retryStatuses[status] = true;
+        }
+        this.retryExceptions = List.copyOf(builder.retryExceptions);
+        this.honourRetryAfter = builder.honourRetryAfter;
+        this.maxRetryAfter = builder.maxRetryAfter;
+        this.budgetRatio = builder.budgetRatio;
+        this.budgetMinRetriesPerSecond = builder.budgetMinRetriesPerSecond;
+        this.budgetCapacity = builder.budgetCapacity;
+        this.budgets = budgets;
+    }
+
+    private RetryPolicy(RetryPolicy source, int maxRetries) {
+        this.maxRetries = maxRetries;
+        this.initialBackoff = source.initialBackoff;
+        this.maxBackoff = source.maxBackoff;
+        this.multiplier = source.multiplier;
+        this.retryNonIdempotent = source.retryNonIdempotent;
+        this.retryStatuses = source.retryStatuses;
+        this.retryExceptions = source.retryExceptions;
+        this.honourRetryAfter = source.honourRetryAfter;
+        this.maxRetryAfter = source.maxRetryAfter;
+        this.budgetRatio = source.budgetRatio;
+        this.budgetMinRetriesPerSecond = source.budgetMinRetriesPerSecond;
+        this.budgetCapacity = source.budgetCapacity;
+        this.budgets = source.budgets;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The shared default policy; its budgets are used by {@code RequestBuilder.retry(int)}.
+     */
+    public static RetryPolicy defaults() {
+        return DEFAULT;
+    }
+
+    public RetryPolicy withMaxRetries(int maxRetries) {
+        return maxRetries == this.maxRetries ? this : new RetryPolicy(this, maxRetries);
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public boolean isRetryable(HttpMethod method) {
+        return maxRetries > 0 && (retryNonIdempotent || IDEMPOTENT_METHODS.contains(method));
+    }
+
+    public RetryBudget budgetFor(String url) {
+        return budgets.computeIfAbsent(ResilienceRegistry.authorityOf(url),
+                key -> new RetryBudget(budgetRatio, budgetMinRetriesPerSecond, budgetCapacity));
+    }
+
+    public <R> Mono<R> apply(Mono<R> attempt, HttpMethod method, String url) {
+        if (!isRetryable(method)) {
+            return attempt;
+        }
+        RetryBudget budget = budgetFor(url);
+        return attempt.retryWhen(retrySpec(budget, null)).doOnSubscribe(subscription -> budget.recordRequest());
+    }
+
+    /**
+     * Retries a stream only while it has emitted nothing: resubscribing after an element would replay
+     * the elements already delivered.
+     */
+    public <R> Flux<R> apply(Flux<R> attempt, HttpMethod method, String url) {
+        if (!isRetryable(method)) {
+            return attempt;
+        }
+        RetryBudget budget = budgetFor(url);
+        return Flux.defer(() -> {
+            boolean[] emitted = new boolean[1];
+            return attempt.doOnNext(element -> emitted[0] = true).retryWhen(retrySpec(budget, emitted));
+        }).doOnSubscribe(subscription -> budget.recordRequest());
+    }
+
+    private Retry retrySpec(RetryBudget budget, boolean[] emitted) {
+        return Retry.from(signals -> signals.concatMap(signal -> Mono.deferContextual(context -> {
+            Throwable failure = signal.failure();
+            if (signal.totalRetries() >= maxRetries || !isRetryable(failure) || (emitted != null && emitted[0])) {
+                return Mono.error(failure);
+            }
+            Duration delay = delayFor(signal.totalRetries(), failure);
+            Deadline deadline = Deadline.current(context);
+            // A retry that cannot start before the deadline would only be rejected.
+            if (deadline != null && deadline.remainingNanos() <= delay.toNanos()) {
+                return Mono.error(failure);
+            }
+            if (!budget.tryAcquireRetry()) {
+                return Mono.error(failure);
+            }
+            return Mono.delay(delay);
+        })));
+    }
+
+    /**
+     * For callers that retry on their own thread: the delay before the next attempt after
+     * {@code retries} retries have failed with {@code failure}, or {@code null} when the failure must be
+     * rethrown. A non-null result has already been charged to the host's budget. Call
+     * {@code budgetFor(url).recordRequest()} once per logical request.
+     */
+    public Duration retryDelay(String url, long retries, Throwable failure) {
+        if (retries >= maxRetries || !isRetryable(failure) || !budgetFor(url).tryAcquireRetry()) {
+            return null;
+        }
+        return delayFor(retries, failure);
+    }
+
+    boolean isRetryable(Throwable failure) {
+        if (failure instanceof DeadlineExceededException) {
+            return false;
+        }
+        if (failure instanceof WebClientResponseException) {
+            int status = ((WebClientResponseException) failure).getRawStatusCode();
+            if (status >= 0 && status < retryStatuses.length && retryStatuses[status]) {
+                return true;
+            }
+            // WebClient wraps a failure while reading the body, e.g. a connection reset, with the status.
+            Throwable cause = failure.getCause();
+            return cause != null && cause != failure && !(cause instanceof WebClientResponseException) && isRetryable(cause);
+        }
+        for (Class<? extends Throwable> type : retryExceptions) {
+            if (type.isInstance(failure)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    Duration delayFor(long retry, Throwable failure) {
+        double ceiling = Math.min(maxBackoff.toNanos(), initialBackoff.toNanos() * Math.pow(multiplier, retry));
+        long delayNanos = (long) (ThreadLocalRandom.current().nextDouble() * ceiling);
+        if (honourRetryAfter && failure instanceof WebClientResponseException) {
+            Duration retryAfter = retryAfter(((WebClientResponseException) failure).getHeaders());
+            if (retryAfter != null) {
+                delayNanos = Math.max(delayNanos, Math.min(retryAfter.toNanos(), maxRetryAfter.toNanos()));
+            }
+        }
+        return Duration.ofNanos(delayNanos);
+    }
+
+    static Duration retryAfter(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        value = value.trim();
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            try {
+                Duration until = Duration.between(ZonedDateTime.now(), ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME));
+                return until.isNegative() ? Duration.ZERO : until;
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    public static class Builder {
+        private int maxRetries = 3;
+        private Duration initialBackoff = Duration.ofMillis(100);
+        private Duration maxBackoff = Duration.ofSeconds(5);
+        private double multiplier = 2.0;
+        private boolean retryNonIdempotent = false;
+        private final Set<Integer> retryStatuses = new HashSet<>(Arrays.asList(429, 502, 503, 504));
+        private final List<Class<? extends Throwable>> retryExceptions = new ArrayList<>(List.of(
+                WebClientRequestException.class, TimeoutException.class, IOException.class));
+        private boolean honourRetryAfter = true;
+        private Duration maxRetryAfter = Duration.ofSeconds(30);
+        private double budgetRatio = 0.1;
+        private int budgetMinRetriesPerSecond = 10;
+        private int budgetCapacity = 100;
+
+        private Builder() {
+        }
+
+        public Builder maxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * Attempt {@code n} waits a random delay in {@code [0, min(maxBackoff, initialBackoff * multiplier^n))}.
+         */
+        public Builder backoff(Duration initialBackoff, Duration maxBackoff, double multiplier) {
+            this.initialBackoff = initialBackoff;
+            this.maxBackoff = maxBackoff;
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        public Builder retryNonIdempotent(boolean retryNonIdempotent) {
+            this.retryNonIdempotent = retryNonIdempotent;
+            return this;
+        }
+
+        public Builder retryOnStatus(int... statuses) {
+            for (int status : statuses) {
+                if (status < 100 || status > 599) {
+                    throw new IllegalArgumentException("Not an HTTP status: " + status);
+                }
+                this.retryStatuses.add(status);
+            }
+            return this;
+        }
+
+        public Builder noRetryOnStatus(int... statuses) {
+            for (int status : statuses) {
+                this.retryStatuses.remove(status);
+            }
+            return this;
+        }
+
+        @SafeVarargs
+        public final Builder retryOnException(Class<? extends Throwable>... exceptionTypes) {
+            for (Class<? extends Throwable> exceptionType : exceptionTypes) {
+                this.retryExceptions.add(exceptionType);
+            }
+            return this;
+        }
+
+        public Builder honourRetryAfter(boolean honourRetryAfter, Duration maxRetryAfter) {
+            this.honourRetryAfter = honourRetryAfter;
+            this.maxRetryAfter = maxRetryAfter;
+            return this;
+        }
+
+        /**
+         * Retries per host may not exceed {@code ratio} of requests, plus {@code minRetriesPerSecond},
+         * with at most {@code capacity} retries banked.
+         */
+        public Builder budget(double ratio, int minRetriesPerSecond, int capacity) {
+            this.budgetRatio = ratio;
+            this.budgetMinRetriesPerSecond = minRetriesPerSecond;
+            this.budgetCapacity = capacity;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            return new RetryPolicy(this, new ConcurrentHashMap<>());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.sagarv.webclient.resilience;
+
+/**
+ * TCP Vegas style limit that reacts to queueing before the upstream fails. The lowest RTT seen is the
+ * no-load latency, and {@code limit * (1 - rttNoLoad / rtt)} estimates how many requests are queued
+ * at the upstream. The limit grows while that estimate is below {@code alpha} (3 log10 limit) and
+ * shrinks once it exceeds {@code beta} (6 log10 limit). The no-load latency is re-probed every
+ * {@code probeInterval} samples so a permanently slower upstream is not mistaken for congestion.
+ */
+public class VegasLimit implements LimitAlgorithm {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int probeInterval;
+    private double limit;
+    private long rttNoLoad;
+    private int samplesSinceProbe;
+
+    public VegasLimit() {
+        this(20, 1, 1000, 1000);
+    }
+
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit, int probeInterval) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.probeInterval = probeInterval;
+        this.limit = initialLimit;
+    }
+
+    @Override
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    @Override
+    public int onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (++samplesSinceProbe >= probeInterval) {
+            samplesSinceProbe = 0;
+            rttNoLoad = 0;
+        }
+        if (rttNoLoad == 0 || rttNanos < rttNoLoad) {
+            rttNoLoad = Math.max(1, rttNanos);
+        }
+        double step = Math.max(1, Math.log10(limit));
+        if (dropped) {
+            limit = Math.max(minLimit, limit - step);
+        } else if (inFlight * 2 >= limit) {
+            // Only an upstream that is actually loaded tells us anything about its queue.
+            double queued = limit * (1 - (double) rttNoLoad / Math.max(rttNanos, rttNoLoad));
+            if (queued < 3 * step) {
+                limit = Math.min(maxLimit, limit + step);
+            } else if (queued > 6 * step) {
+                limit = Math.max(minLimit, limit - step);
+            }
+        }
+        return (int) limit;
+    }
+}
@@ -0,0 +1,87 @@
+package com.sagarv.webclient.stream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Feeds body chunks to Jackson's non-blocking parser and cuts the token stream into one
+ * {@link TokenBuffer} per element, so only the element being parsed is held in memory.
+ */
+final class JsonElementSplitter {
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final boolean unwrapRootArray;
+    private final long maxElementSize;
+    private boolean insideRootArray;
+    private TokenBuffer element;
+    private int elementDepth;
+    private long elementStart;
+
+    JsonElementSplitter(JsonFactory factory, boolean unwrapRootArray, long maxElementSize) throws IOException {
+        this.parser = factory.createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.unwrapRootArray = unwrapRootArray;
+        this.maxElementSize = maxElementSize;
+    }
+
+    List<TokenBuffer> feed(byte[] bytes) throws IOException {
+        feeder.feedInput(bytes, 0, bytes.length);
+        return drain();
+    }
+
+    List<TokenBuffer> finish() throws IOException {
+        feeder.endOfInput();
+        List<TokenBuffer> elements = drain();
+        if (element != null || insideRootArray) {
+            throw new IOException("Incomplete JSON: the response ended inside an element");
+        }
+        return elements;
+    }
+
+    private List<TokenBuffer> drain() throws IOException {
+        List<TokenBuffer> elements = null;
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (element == null) {
+                if (unwrapRootArray && !insideRootArray && token == JsonToken.START_ARRAY
+                        && parser.getParsingContext().getParent().inRoot()) {
+                    insideRootArray = true;
+                    continue;
+                }
+                if (insideRootArray && token == JsonToken.END_ARRAY && parser.getParsingContext().inRoot()) {
+                    insideRootArray = false;
+                    continue;
+                }
+                element = new TokenBuffer(parser);
+                elementDepth = 0;
+                elementStart = parser.currentTokenLocation().getByteOffset();
+            }
+            element.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                elementDepth++;
+            } else if (token.isStructEnd()) {
+                elementDepth--;
+            }
+            if (maxElementSize > 0 && parser.currentLocation().getByteOffset() - elementStart > maxElementSize) {
+                throw new DataBufferLimitException("Exceeded limit on max bytes per JSON element: " + maxElementSize);
+            }
+            if (elementDepth == 0) {
+                if (elements == null) {
+                    elements = new ArrayList<>(4);
+                }
+                elements.add(element);
+                element = null;
+            }
+        }
+        return elements == null ? List.of() : elements;
+    }
+}
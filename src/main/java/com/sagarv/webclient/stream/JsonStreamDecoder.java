@@ -0,0 +1,181 @@
+package com.sagarv.webclient.stream;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.sagarv.webclient.codec.Codecs;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incrementally decodes a streamed response body into elements as the bytes arrive. Top-level JSON
+ * and Smile arrays and NDJSON are tokenized with Jackson's non-blocking parser, server-sent events and
+ * text are split into lines. Body chunks are requested one at a time as elements are consumed and released
+ * once fed, so memory is bounded by one chunk plus the element being decoded, whatever the size of
+ * the whole payload. Elements larger than {@code maxElementSize} bytes fail the stream.
+ */
+public class JsonStreamDecoder {
+
+    private static final int DEFAULT_MAX_ELEMENT_SIZE = 1024 * 1024;
+
+    private final Codecs codecs;
+    private final long maxElementSize;
+
+    public JsonStreamDecoder() {
+        this(Codecs.defaults(), DEFAULT_MAX_ELEMENT_SIZE);
+    }
+
+    public JsonStreamDecoder(Codecs codecs) {
+        this(codecs, DEFAULT_MAX_ELEMENT_SIZE);
+    }
+
+    public JsonStreamDecoder(ObjectMapper objectMapper, long maxElementSize) {
+        this(Codecs.builder().objectMapper(objectMapper).build(), maxElementSize);
+    }
+
+    public JsonStreamDecoder(Codecs codecs, long maxElementSize) {
+        this.codecs = codecs;
+        this.maxElementSize = maxElementSize;
+    }
+
+    public <R> Flux<R> decode(Flux<DataBuffer> body, MediaType contentType, Type elementType) {
+        return decode(body, StreamFormat.of(contentType), elementType);
+    }
+
+    public <R> Flux<R> decode(Flux<DataBuffer> body, StreamFormat format, Type elementType) {
+        MediaType mediaType = format == StreamFormat.SMILE ? Codecs.SMILE : format == StreamFormat.CBOR ? Codecs.CBOR : null;
+        ObjectMapper mapper = codecs.mapperFor(mediaType);
+        if (mapper == null) {
+            return body.doOnNext(DataBufferUtils::release).thenMany(Flux.error(new DecodingException("No codec enabled for " + mediaType)));
+        }
+        ObjectReader reader = codecs.reader(mediaType, elementType);
+        if (format == StreamFormat.CBOR) {
+            return decodeBuffered(body, reader);
+        }
+        boolean text = reader.getValueType().getRawClass() == String.class;
+        return Flux.defer(() -> {
+            Splitter<R> splitter = format == StreamFormat.JSON_ARRAY || format == StreamFormat.NDJSON || format == StreamFormat.SMILE
+                    ? jsonSplitter(mapper, format != StreamFormat.NDJSON, reader)
+                    : lineSplitter(format == StreamFormat.SSE, text, reader);
+            return body
+                    .concatMapIterable(buffer -> {
+                        try {
+                            byte[] bytes = new byte[buffer.readableByteCount()];
+                            buffer.read(bytes);
+                            return splitter.feed(bytes);
+                        } catch (IOException e) {
+                            throw new DecodingException("JSON decoding error: " + e.getMessage(), e);
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    }, 1)
+                    .concatWith(Flux.defer(() -> {
+                        try {
+                            return Flux.fromIterable(splitter.finish());
+                        } catch (IOException e) {
+                            return Flux.error(new DecodingException("JSON decoding error: " + e.getMessage(), e));
+                        }
+                    }))
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+        });
+    }
+
+    private <R> Flux<R> decodeBuffered(Flux<DataBuffer> body, ObjectReader reader) {
+        return DataBufferUtils.join(body).flatMapIterable(buffer -> {
+            List<R> values = new ArrayList<>();
+            try (MappingIterator<R> iterator = reader.readValues(buffer.asInputStream())) {
+                while (iterator.hasNextValue()) {
+                    R value = iterator.nextValue();
+                    if (value != null) {
+                        values.add(value);
+                    }
+                }
+            } catch (IOException e) {
+                throw new DecodingException("CBOR decoding error: " + e.getMessage(), e);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+            return values;
+        });
+    }
+
+    private <R> Splitter<R> jsonSplitter(ObjectMapper mapper, boolean unwrapRootArray, ObjectReader reader) {
+        JsonElementSplitter splitter;
+        try {
+            splitter = new JsonElementSplitter(mapper.getFactory(), unwrapRootArray, maxElementSize);
+        } catch (IOException e) {
+            throw new DecodingException("Could not create JSON parser", e);
+        }
+        return new Splitter<>() {
+            @Override
+            public List<R> feed(byte[] bytes) throws IOException {
+                return read(splitter.feed(bytes));
+            }
+
+            @Override
+            public List<R> finish() throws IOException {
+                return read(splitter.finish());
+            }
+
+            private List<R> read(List<TokenBuffer> elements) throws IOException {
+                if (elements.isEmpty()) {
+                    return List.of();
+                }
+                List<R> values = new ArrayList<>(elements.size());
+                for (TokenBuffer element : elements) {
+                    R value = reader.readValue(element.asParser(mapper));
+                    // A Flux cannot carry nulls; a JSON null element is skipped.
+                    if (value != null) {
+                        values.add(value);
+                    }
+                }
+                return values;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> Splitter<R> lineSplitter(boolean serverSentEvents, boolean text, ObjectReader reader) {
+        LineSplitter splitter = new LineSplitter(serverSentEvents, maxElementSize);
+        return new Splitter<>() {
+            @Override
+            public List<R> feed(byte[] bytes) throws IOException {
+                return read(splitter.feed(bytes));
+            }
+
+            @Override
+            public List<R> finish() throws IOException {
+                return read(splitter.finish());
+            }
+
+            private List<R> read(List<String> elements) throws IOException {
+                if (text || elements.isEmpty()) {
+                    return (List<R>) elements;
+                }
+                List<R> values = new ArrayList<>(elements.size());
+                for (String element : elements) {
+                    R value = reader.readValue(element);
+                    if (value != null) {
+                        values.add(value);
+                    }
+                }
+                return values;
+            }
+        };
+    }
+
+    private interface Splitter<R> {
+        List<R> feed(byte[] bytes) throws IOException;
+
+        List<R> finish() throws IOException;
+    }
+}
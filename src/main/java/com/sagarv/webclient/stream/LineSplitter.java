@@ -0,0 +1,94 @@
+package com.sagarv.webclient.stream;
+
+import org.springframework.core.io.buffer.DataBufferLimitException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits body chunks into UTF-8 lines and, for server-sent events, joins the {@code data} lines of
+ * each event. Only the current line and event are buffered.
+ */
+final class LineSplitter {
+
+    private final boolean serverSentEvents;
+    private final long maxElementSize;
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+    private StringBuilder data;
+
+    LineSplitter(boolean serverSentEvents, long maxElementSize) {
+        this.serverSentEvents = serverSentEvents;
+        this.maxElementSize = maxElementSize;
+    }
+
+    List<String> feed(byte[] bytes) {
+        List<String> elements = null;
+        int start = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == '\n') {
+                line.write(bytes, start, i - start);
+                start = i + 1;
+                String element = endOfLine();
+                if (element != null) {
+                    if (elements == null) {
+                        elements = new ArrayList<>(4);
+                    }
+                    elements.add(element);
+                }
+            }
+        }
+        line.write(bytes, start, bytes.length - start);
+        checkLimit(line.size());
+        return elements == null ? List.of() : elements;
+    }
+
+    List<String> finish() {
+        List<String> elements = new ArrayList<>(2);
+        if (line.size() > 0) {
+            String element = endOfLine();
+            if (element != null) {
+                elements.add(element);
+            }
+        }
+        if (serverSentEvents && data != null) {
+            elements.add(data.toString());
+            data = null;
+        }
+        return elements;
+    }
+
+    private String endOfLine() {
+        byte[] bytes = line.toByteArray();
+        line.reset();
+        int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+        String text = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        if (!serverSentEvents) {
+            return text.isEmpty() ? null : text;
+        }
+        if (text.isEmpty()) {
+            String event = data == null ? null : data.toString();
+            data = null;
+            return event;
+        }
+        if (text.startsWith("data:")) {
+            String value = text.length() > 5 && text.charAt(5) == ' ' ? text.substring(6) : text.substring(5);
+            if (data == null) {
+                data = new StringBuilder(value.length());
+            } else {
+                data.append('\n');
+            }
+            data.append(value);
+            checkLimit(data.length());
+        }
+        // Comments (":") and the event, id and retry fields carry no element data.
+        return null;
+    }
+
+    private void checkLimit(long size) {
+        if (maxElementSize > 0 && size > maxElementSize) {
+            throw new DataBufferLimitException("Exceeded limit on max bytes per " + (serverSentEvents ? "event" : "line") + ": " + maxElementSize);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.sagarv.webclient.stream;
+
+import com.sagarv.webclient.codec.Codecs;
+import org.springframework.http.MediaType;
+
+/**
+ * How a streamed response body is split into elements.
+ */
+public enum StreamFormat {
+
+    /**
+     * A top-level JSON array whose elements are emitted one by one; any other root value is emitted
+     * as a single element.
+     */
+    JSON_ARRAY,
+
+    /**
+     * Newline-delimited (or otherwise whitespace-separated) root JSON values.
+     */
+    NDJSON,
+
+    /**
+     * {@code text/event-stream}; the {@code data} of every event is one element.
+     */
+    SSE,
+
+    /**
+     * Plain text split into lines.
+     */
+    TEXT_LINES,
+
+    /**
+     * Smile, with a top-level array unwrapped like {@link #JSON_ARRAY}.
+     */
+    SMILE,
+
+    /**
+     * CBOR, with a top-level array unwrapped like {@link #JSON_ARRAY}. Jackson has no non-blocking CBOR
+     * parser, so the body is buffered whole before decoding.
+     */
+    CBOR;
+
+    private static final MediaType NDJSON_TYPE = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType JSON_LINES_TYPE = MediaType.parseMediaType("application/jsonl");
+    private static final MediaType STREAM_JSON_TYPE = MediaType.parseMediaType("application/stream+json");
+
+    public static StreamFormat of(MediaType contentType) {
+        if (contentType == null) {
+            return JSON_ARRAY;
+        }
+        if (NDJSON_TYPE.isCompatibleWith(contentType) || JSON_LINES_TYPE.isCompatibleWith(contentType)
+                || STREAM_JSON_TYPE.isCompatibleWith(contentType)) {
+            return NDJSON;
+        }
+        if (Codecs.SMILE.isCompatibleWith(contentType)) {
+            return SMILE;
+        }
+        if (Codecs.CBOR.isCompatibleWith(contentType)) {
+            return CBOR;
+        }
+        if (MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType)) {
+            return SSE;
+        }
+        if ("text".equals(contentType.getType())) {
+            return TEXT_LINES;
+        }
+        return JSON_ARRAY;
+    }
+}
@@ -0,0 +1,130 @@
+package com.sagarv.webclient;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ErrorMapperTest {
+
+    private WireMockServer wireMockServer;
+    private WebClient webClient;
+
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        WireMock.configureFor("localhost", wireMockServer.port());
+        webClient = WebClient.create("http://localhost:" + wireMockServer.port());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void testExactStatusWinsOverRangeAndFirstRangeWins() {
+        ErrorMapper mapper = ErrorMapper.builder()
+                .series(HttpStatus.Series.CLIENT_ERROR, e -> new IllegalArgumentException("client"))
+                .range(400, 409, e -> new IllegalStateException("never, 4xx is already mapped"))
+                .status(404, e -> new ResourceNotFoundException("Resource not found", e))
+                .build();
+
+        assertInstanceOf(ResourceNotFoundException.class, mapper.mapException(error(404, "")));
+        assertEquals("client", mapper.mapException(error(409, "")).getMessage());
+        RuntimeException unmapped = mapper.mapException(error(503, "Unavailable"));
+        assertInstanceOf(RestClientException.class, unmapped);
+        assertEquals("Unexpected error: Unavailable", unmapped.getMessage());
+        assertEquals(503, ((RestClientException) unmapped).getRawStatusCode());
+    }
+
+    @Test
+    public void testDefaultMessageDecodesBodyUpToLimit() {
+        byte[] body = new byte[100];
+        Arrays.fill(body, (byte) 'x');
+        WebClientResponseException e = error(500, new String(body, StandardCharsets.UTF_8));
+
+        RuntimeException mapped = ErrorMapper.builder().maxBodyBytes(10).build().mapException(e);
+
+        assertSame(e, mapped.getCause());
+        assertEquals("Unexpected error: xxxxxxxxxx... (100 bytes)", mapped.getMessage());
+        assertSame(mapped.getMessage(), mapped.getMessage());
+    }
+
+    @Test
+    public void testTypedErrorBody() {
+        ErrorMapper mapper = ErrorMapper.builder()
+                .status(422, Problem.class, (e, problem) -> new IllegalArgumentException(problem == null ? "no detail" : problem.detail))
+                .maxBodyBytes(64)
+                .build();
+
+        assertEquals("name is required", mapper.mapException(error(422, "{\"detail\":\"name is required\"}")).getMessage());
+        assertEquals("no detail", mapper.mapException(error(422, "not json")).getMessage());
+        assertEquals("no detail", mapper.mapException(error(422, "{\"detail\":\"" + "y".repeat(64) + "\"}")).getMessage());
+    }
+
+    @Test
+    public void testDerivedMapperKeepsRules() {
+        ErrorMapper base = ErrorMapper.builder().status(404, e -> new ResourceNotFoundException("Resource not found", e)).build();
+        ErrorMapper derived = base.toBuilder().status(409, e -> new IllegalStateException("conflict")).build();
+
+        assertInstanceOf(ResourceNotFoundException.class, derived.mapException(error(404, "")));
+        assertInstanceOf(IllegalStateException.class, derived.mapException(error(409, "")));
+        assertInstanceOf(RestClientException.class, base.mapException(error(409, "")));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testDeprecatedMapStillConfiguresMapper() {
+        ErrorMapper legacy = new ErrorMapper().map(404, e -> new ResourceNotFoundException("Resource not found", e));
+
+        assertInstanceOf(ResourceNotFoundException.class, legacy.mapException(error(404, "")));
+        assertInstanceOf(RestClientException.class, legacy.mapException(error(500, "")));
+        assertInstanceOf(ResourceNotFoundException.class, legacy.toBuilder().build().mapException(error(404, "")));
+        assertThrows(UnsupportedOperationException.class, () -> ErrorMapper.defaults().map(404, e -> new IllegalStateException()));
+    }
+
+    @Test
+    public void testFluxErrorsAreMapped() {
+        stubFor(get(urlEqualTo("/items"))
+                .willReturn(aResponse()
+                        .withStatus(404)
+                        .withBody("Not Found")));
+        ErrorMapper mapper = ErrorMapper.builder().status(404, e -> new ResourceNotFoundException("Resource not found", e)).build();
+
+        StepVerifier.create(new RequestBuilder(webClient, HttpMethod.GET, "/items").errorMapper(mapper).executeReactiveAsFlux(String.class))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+
+        StepVerifier.create(RequestTemplate.builder(webClient, HttpMethod.GET, "/items").errorMapper(mapper).build()
+                        .newCall().executeReactiveAsFlux(String.class))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    private static WebClientResponseException error(int status, String body) {
+        return WebClientResponseException.create(status, "", new HttpHeaders(), body.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+    }
+
+    public static class Problem {
+        public String detail;
+    }
+}
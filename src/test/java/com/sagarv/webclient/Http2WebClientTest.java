@@ -0,0 +1,100 @@
+package com.sagarv.webclient;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class Http2WebClientTest {
+
+    private final AtomicInteger serverConnections = new AtomicInteger();
+    private DisposableServer server;
+    private ConnectionProvider connectionProvider;
+    private LoopResources loopResources;
+    private Http2Metrics metrics;
+
+    @AfterEach
+    public void tearDown() {
+        connectionProvider.dispose();
+        loopResources.dispose();
+        server.disposeNow();
+    }
+
+    @Test
+    public void testConcurrentRequestsShareOneH2cConnection() {
+        WebClient webClient = client(HttpClientProperties.Protocol.HTTP_2, 100, HttpProtocol.HTTP11, HttpProtocol.H2C);
+
+        // The first request performs the h2c upgrade; the rest are multiplexed on that connection.
+        StepVerifier.create(get(webClient)).expectNext("pong").verifyComplete();
+        StepVerifier.create(Flux.range(0, 50).flatMap(i -> get(webClient)).count())
+                .expectNext(50L)
+                .verifyComplete();
+
+        assertEquals(1, serverConnections.get());
+        assertEquals(51, metrics.getResponseCount(Http2Metrics.HTTP_2));
+        assertEquals(1, metrics.getConnectionCount());
+        assertEquals(50, metrics.getStreamCount());
+    }
+
+    @Test
+    public void testFallsBackToHttp11WhenServerDoesNotSupportHttp2() {
+        WebClient webClient = client(HttpClientProperties.Protocol.HTTP_2, 100, HttpProtocol.HTTP11);
+
+        StepVerifier.create(Flux.range(0, 10).flatMap(i -> get(webClient)).count())
+                .expectNext(10L)
+                .verifyComplete();
+
+        assertEquals(10, metrics.getResponseCount(Http2Metrics.HTTP_1_1));
+        assertEquals(0, metrics.getResponseCount(Http2Metrics.HTTP_2));
+        assertEquals(0, metrics.getConnectionCount());
+    }
+
+    @Test
+    public void testPriorKnowledgeH2cOpensAnotherConnectionAtStreamLimit() {
+        WebClient webClient = client(HttpClientProperties.Protocol.H2C_PRIOR_KNOWLEDGE, 4, HttpProtocol.H2C);
+
+        StepVerifier.create(Flux.range(0, 8).flatMap(i -> get(webClient)).count())
+                .expectNext(8L)
+                .verifyComplete();
+
+        assertEquals(8, metrics.getResponseCount(Http2Metrics.HTTP_2));
+        assertEquals(2, serverConnections.get());
+    }
+
+    private WebClient client(HttpClientProperties.Protocol protocol, int maxConcurrentStreams, HttpProtocol... serverProtocols) {
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .protocol(serverProtocols)
+                .doOnChannelInit((observer, channel, address) -> serverConnections.incrementAndGet())
+                .route(routes -> routes.get("/ping", (request, response) -> response.sendString(Mono.just("pong")
+                        .delayElement(Duration.ofMillis(50)))))
+                .bindNow();
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setProtocol(protocol);
+        properties.setMaxConnections(10);
+        properties.setMaxConcurrentStreams(maxConcurrentStreams);
+        metrics = new Http2Metrics();
+        connectionProvider = WebClientConfig.buildConnectionProvider(properties, new ConnectionPoolGauges());
+        loopResources = WebClientConfig.buildLoopResources(properties);
+        return WebClientConfig.buildWebClient(metrics.instrument(WebClientConfig.buildHttpClient(properties, connectionProvider, loopResources)), properties, null)
+                .mutate().baseUrl("http://127.0.0.1:" + server.port()).build();
+    }
+
+    private static Mono<String> get(WebClient webClient) {
+        return new RequestBuilder(webClient, HttpMethod.GET, "/ping").executeReactive(String.class);
+    }
+}
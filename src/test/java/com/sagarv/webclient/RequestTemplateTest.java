@@ -0,0 +1,151 @@
+package com.sagarv.webclient;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RequestTemplateTest {
+
+    private WireMockServer wireMockServer;
+    private WebClient webClient;
+    private String baseUrl;
+
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        WireMock.configureFor("localhost", wireMockServer.port());
+
+        baseUrl = "http://localhost:" + wireMockServer.port();
+        webClient = WebClient.create(baseUrl);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void testRelativeTemplateEncodesOnce() {
+        stubFor(get(urlEqualTo("/users/a%20b%2Fc?q=x%20y%26z&page=1"))
+                .willReturn(aResponse().withStatus(200).withBody("found")));
+
+        RequestTemplate template = RequestTemplate.builder(webClient, HttpMethod.GET, "/users/{id}").build();
+
+        StepVerifier.create(template.newCall()
+                        .pathVariables("a b/c")
+                        .queryParam("q", "x y&z")
+                        .queryParam("page", 1)
+                        .executeReactive(String.class))
+                .expectNext("found")
+                .verifyComplete();
+    }
+
+    @Test
+    public void testPathVariablesAndStaticHeaders() {
+        stubFor(get(urlEqualTo("/users/42/orders/a%20b"))
+                .withHeader("Accept", equalTo("application/json"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody("{\"name\":\"John Doe\",\"age\":30}")
+                        .withHeader("Content-Type", "application/json")));
+
+        RequestTemplate template = RequestTemplate.builder(webClient, HttpMethod.GET, "/users/{id}/orders/{order}")
+                .baseUrl(baseUrl)
+                .header("Accept", "application/json")
+                .build();
+
+        StepVerifier.create(template.executeReactive(Person.class, 42, "a b"))
+                .expectNextMatches(person -> person.getName().equals("John Doe") && person.getAge() == 30)
+                .verifyComplete();
+    }
+
+    @Test
+    public void testRelativeTemplateUsesWebClientBaseUrl() {
+        stubFor(get(urlEqualTo("/relative/7"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody("Relative")));
+
+        RequestTemplate template = RequestTemplate.builder(webClient, HttpMethod.GET, "/relative/{id}").build();
+
+        StepVerifier.create(template.executeReactive(String.class, 7))
+                .expectNext("Relative")
+                .verifyComplete();
+    }
+
+    @Test
+    public void testCallWithQueryParamsAndBody() {
+        stubFor(post(urlEqualTo("/search?q=a%26b&page=2"))
+                .withHeader("X-Request-Id", equalTo("r-1"))
+                .withRequestBody(equalTo("Post Body"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody("POST Success")));
+
+        RequestTemplate template = RequestTemplate.builder(webClient, HttpMethod.POST, baseUrl + "/search").build();
+
+        StepVerifier.create(template.newCall()
+                        .queryParam("q", "a&b")
+                        .queryParam("page", 2)
+                        .header("X-Request-Id", "r-1")
+                        .body("Post Body")
+                        .executeReactive(String.class))
+                .expectNext("POST Success")
+                .verifyComplete();
+    }
+
+    @Test
+    public void testExceptionMapping() {
+        stubFor(get(urlEqualTo("/missing/1"))
+                .willReturn(aResponse()
+                        .withStatus(404)
+                        .withBody("Not Found")));
+        stubFor(get(urlEqualTo("/missing/2"))
+                .willReturn(aResponse()
+                        .withStatus(500)
+                        .withBody("Internal Server Error")));
+
+        RequestTemplate template = RequestTemplate.builder(webClient, HttpMethod.GET, baseUrl + "/missing/{id}")
+                .exceptionMapping(404, e -> new ResourceNotFoundException("Resource not found", e))
+                .build();
+
+        StepVerifier.create(template.executeReactive(String.class, 1))
+                .expectErrorMatches(throwable -> throwable instanceof ResourceNotFoundException)
+                .verify();
+        StepVerifier.create(template.executeReactive(String.class, 2))
+                .expectErrorMatches(throwable -> throwable instanceof RestClientException &&
+                        throwable.getMessage().contains("Unexpected error: Internal Server Error"))
+                .verify();
+    }
+
+    @Test
+    public void testAbsoluteTemplateEscapesQueryVariables() {
+        stubFor(get(urlEqualTo("/search?q=a%26admin%3Dtrue&tag=c%2B%2B"))
+                .willReturn(aResponse().withStatus(200).withBody("found")));
+
+        RequestTemplate template = RequestTemplate.builder(webClient, HttpMethod.GET, baseUrl + "/search?q={term}&tag={tag}").build();
+
+        StepVerifier.create(template.executeReactive(String.class, "a&admin=true", "c++"))
+                .expectNext("found")
+                .verifyComplete();
+    }
+
+    @Test
+    public void testExpandRejectsWrongVariableCount() {
+        RequestTemplate template = RequestTemplate.builder(webClient, HttpMethod.GET, baseUrl + "/users/{id}").build();
+
+        assertEquals(baseUrl + "/users/1", template.expand(new Object[]{1}, null));
+        assertThrows(IllegalArgumentException.class, () -> template.expand(new Object[0], null));
+    }
+}
@@ -0,0 +1,104 @@
+package com.sagarv.webclient;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class WebClientConfigTest {
+
+    private WireMockServer wireMockServer;
+    private ConnectionPoolGauges gauges;
+    private ConnectionProvider connectionProvider;
+    private LoopResources loopResources;
+    private WebClient webClient;
+
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        WireMock.configureFor("localhost", wireMockServer.port());
+
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setMaxConnections(4);
+        properties.setResponseTimeout(Duration.ofMillis(500));
+        gauges = new ConnectionPoolGauges();
+        connectionProvider = WebClientConfig.buildConnectionProvider(properties, gauges);
+        loopResources = WebClientConfig.buildLoopResources(properties);
+        webClient = WebClientConfig.buildWebClient(properties, connectionProvider, loopResources)
+                .mutate().baseUrl("http://localhost:" + wireMockServer.port()).build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        connectionProvider.dispose();
+        loopResources.dispose();
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void testPoolGaugesRegisteredAfterRequest() {
+        stubFor(get(urlEqualTo("/pooled"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody("Pooled")));
+
+        StepVerifier.create(new RequestBuilder(webClient, HttpMethod.GET, "/pooled").executeReactive(String.class))
+                .expectNext("Pooled")
+                .verifyComplete();
+
+        assertFalse(gauges.snapshot().isEmpty());
+        assertEquals(0, gauges.active());
+        assertEquals(0, gauges.pending());
+        assertEquals(4, gauges.snapshot().values().iterator().next().getMaxAllocated());
+    }
+
+    @Test
+    public void testResponseTimeoutAppliedAtTransport() {
+        stubFor(get(urlEqualTo("/slow"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withFixedDelay(2000)
+                        .withBody("Slow")));
+
+        StepVerifier.create(new RequestBuilder(webClient, HttpMethod.GET, "/slow").executeReactive(String.class))
+                .expectError()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void testGzipResponsesAreNegotiatedAndDecompressed() throws IOException {
+        String text = "compressible ".repeat(1000);
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        stubFor(get(urlEqualTo("/gzipped"))
+                .withHeader("Accept-Encoding", containing("gzip"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Encoding", "gzip")
+                        .withBody(gzipped.toByteArray())));
+
+        StepVerifier.create(new RequestBuilder(webClient, HttpMethod.GET, "/gzipped").executeReactive(String.class))
+                .expectNext(text)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,126 @@
+package com.sagarv.webclient.cache;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.sagarv.webclient.common.ExecutorOptions;
+import com.sagarv.webclient.impl.AsyncRequestExecutorImpl;
+import com.sagarv.webclient.resilience.DeadlineExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class RequestCoalescerTest {
+
+    private WireMockServer wireMockServer;
+    private String baseUrl;
+    private RequestCoalescer coalescer;
+    private AsyncRequestExecutorImpl executor;
+
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        WireMock.configureFor("localhost", wireMockServer.port());
+
+        baseUrl = "http://localhost:" + wireMockServer.port();
+        coalescer = RequestCoalescer.builder().build();
+        executor = new AsyncRequestExecutorImpl(WebClient.create(), ExecutorOptions.defaults().requestCoalescer(coalescer));
+        stubFor(get(urlEqualTo("/popular")).willReturn(aResponse().withStatus(200).withFixedDelay(300).withBody("Popular")));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void testConcurrentIdenticalRequestsShareOneExchange() {
+        Flux<String> callers = Flux.range(0, 20)
+                .flatMap(i -> executor.execute(HttpMethod.GET, baseUrl + "/popular", Map.of(), String.class));
+
+        StepVerifier.create(callers)
+                .expectNextCount(20)
+                .verifyComplete();
+
+        verify(1, getRequestedFor(urlEqualTo("/popular")));
+        assertEquals(1, coalescer.getLeaderCount());
+        assertEquals(19, coalescer.getCoalescedCount());
+        assertEquals(0, coalescer.getInFlightCount());
+
+        StepVerifier.create(executor.execute(HttpMethod.GET, baseUrl + "/popular", Map.of(), String.class))
+                .expectNext("Popular")
+                .verifyComplete();
+        verify(2, getRequestedFor(urlEqualTo("/popular")));
+    }
+
+    @Test
+    public void testDifferentHeadersAreNotCoalesced() {
+        Mono<String> alice = executor.execute(HttpMethod.GET, baseUrl + "/popular", Map.of("Authorization", "Bearer alice"), String.class);
+        Mono<String> bob = executor.execute(HttpMethod.GET, baseUrl + "/popular", Map.of("Authorization", "Bearer bob"), String.class);
+
+        StepVerifier.create(Flux.merge(alice, bob))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        verify(2, getRequestedFor(urlEqualTo("/popular")));
+    }
+
+    @Test
+    public void testFollowerKeepsItsOwnDeadline() {
+        AsyncRequestExecutorImpl hurried = new AsyncRequestExecutorImpl(WebClient.create(),
+                ExecutorOptions.defaults().requestCoalescer(coalescer).deadline(Duration.ofMillis(100)));
+        AsyncRequestExecutorImpl patient = new AsyncRequestExecutorImpl(WebClient.create(),
+                ExecutorOptions.defaults().requestCoalescer(coalescer).deadline(Duration.ofSeconds(5)));
+
+        StepVerifier.create(hurried.execute(HttpMethod.GET, baseUrl + "/popular", Map.of(), String.class))
+                .then(() -> StepVerifier.create(patient.execute(HttpMethod.GET, baseUrl + "/popular", Map.of(), String.class))
+                        .expectNext("Popular")
+                        .verifyComplete())
+                .expectError(DeadlineExceededException.class)
+                .verify();
+
+        verify(1, getRequestedFor(urlEqualTo("/popular")));
+        assertEquals(1, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    public void testCancelledFlightIsRemoved() {
+        AtomicInteger upstreams = new AtomicInteger();
+        Disposable first = coalescer.execute(HttpMethod.GET, "/slow", Map.of(), String.class,
+                () -> Mono.<String>never().doOnSubscribe(s -> upstreams.incrementAndGet())).subscribe();
+        assertEquals(1, coalescer.getInFlightCount());
+
+        first.dispose();
+
+        assertEquals(0, coalescer.getInFlightCount());
+        StepVerifier.create(coalescer.execute(HttpMethod.GET, "/slow", Map.of(), String.class, () -> Mono.just("fresh")))
+                .expectNext("fresh")
+                .verifyComplete();
+        assertEquals(1, upstreams.get());
+    }
+
+    @Test
+    public void testKeyHeadersSelection() {
+        RequestCoalescer selective = RequestCoalescer.builder().keyHeaders("Authorization").build();
+
+        assertEquals(selective.key(HttpMethod.GET, "/x", Map.of("authorization", "a", "X-Trace-Id", "1"), String.class),
+                selective.key(HttpMethod.GET, "/x", Map.of("Authorization", "a", "X-Trace-Id", "2"), String.class));
+        assertNotEquals(selective.key(HttpMethod.GET, "/x", Map.of("Authorization", "a"), String.class),
+                selective.key(HttpMethod.GET, "/x", Map.of("Authorization", "b"), String.class));
+    }
+}
@@ -0,0 +1,163 @@
+package com.sagarv.webclient.cache;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.sagarv.webclient.common.ExecutorOptions;
+import com.sagarv.webclient.impl.SyncRequestExecutorImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ResponseCacheTest {
+
+    private WireMockServer wireMockServer;
+    private String baseUrl;
+    private ResponseCache cache;
+    private SyncRequestExecutorImpl executor;
+
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        WireMock.configureFor("localhost", wireMockServer.port());
+
+        baseUrl = "http://localhost:" + wireMockServer.port();
+        cache = ResponseCache.builder().maximumEntries(2).build();
+        executor = new SyncRequestExecutorImpl(WebClient.create(), ExecutorOptions.defaults().responseCache(cache));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void testFreshResponseServedFromCache() {
+        stubFor(get(urlEqualTo("/countries")).willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Cache-Control", "max-age=60")
+                .withBody("Countries")));
+
+        assertEquals("Countries", executor.execute(HttpMethod.GET, baseUrl + "/countries", Map.of(), String.class));
+        assertEquals("Countries", executor.execute(HttpMethod.GET, baseUrl + "/countries", Map.of(), String.class));
+
+        verify(1, getRequestedFor(urlEqualTo("/countries")));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testNotModifiedReusesCachedBody() {
+        stubFor(get(urlEqualTo("/currencies")).withHeader("If-None-Match", absent()).willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Cache-Control", "no-cache")
+                .withHeader("ETag", "\"v1\"")
+                .withBody("Currencies")));
+        stubFor(get(urlEqualTo("/currencies")).withHeader("If-None-Match", equalTo("\"v1\"")).willReturn(aResponse()
+                .withStatus(304)
+                .withHeader("ETag", "\"v1\"")));
+
+        assertEquals("Currencies", executor.execute(HttpMethod.GET, baseUrl + "/currencies", Map.of(), String.class));
+        assertEquals("Currencies", executor.execute(HttpMethod.GET, baseUrl + "/currencies", Map.of(), String.class));
+
+        verify(1, getRequestedFor(urlEqualTo("/currencies")).withHeader("If-None-Match", equalTo("\"v1\"")));
+        assertEquals(1, cache.getRevalidationCount());
+    }
+
+    @Test
+    public void testCredentialsDoNotShareResponses() {
+        stubFor(get(urlEqualTo("/account")).withHeader("Authorization", equalTo("Bearer alice")).willReturn(aResponse()
+                .withStatus(200).withHeader("Cache-Control", "max-age=60").withBody("Alice")));
+        stubFor(get(urlEqualTo("/account")).withHeader("Authorization", equalTo("Bearer bob")).willReturn(aResponse()
+                .withStatus(200).withHeader("Cache-Control", "max-age=60").withBody("Bob")));
+
+        assertEquals("Alice", executor.execute(HttpMethod.GET, baseUrl + "/account", Map.of("Authorization", "Bearer alice"), String.class));
+        assertEquals("Bob", executor.execute(HttpMethod.GET, baseUrl + "/account", Map.of("Authorization", "Bearer bob"), String.class));
+        assertEquals("Alice", executor.execute(HttpMethod.GET, baseUrl + "/account", Map.of("authorization", "Bearer alice"), String.class));
+
+        verify(2, getRequestedFor(urlEqualTo("/account")));
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testVaryHeaderSeparatesVariants() {
+        stubFor(get(urlEqualTo("/greeting")).withHeader("Accept-Language", equalTo("en")).willReturn(aResponse()
+                .withStatus(200).withHeader("Cache-Control", "max-age=60").withHeader("Vary", "Accept-Language").withBody("Hello")));
+        stubFor(get(urlEqualTo("/greeting")).withHeader("Accept-Language", equalTo("fr")).willReturn(aResponse()
+                .withStatus(200).withHeader("Cache-Control", "max-age=60").withHeader("Vary", "Accept-Language").withBody("Bonjour")));
+
+        assertEquals("Hello", executor.execute(HttpMethod.GET, baseUrl + "/greeting", Map.of("Accept-Language", "en"), String.class));
+        assertEquals("Bonjour", executor.execute(HttpMethod.GET, baseUrl + "/greeting", Map.of("Accept-Language", "fr"), String.class));
+
+        verify(2, getRequestedFor(urlEqualTo("/greeting")));
+    }
+
+    @Test
+    public void testUnsafeRequestInvalidatesAndLruEvicts() {
+        for (String path : new String[]{"/a", "/b", "/c"}) {
+            stubFor(get(urlEqualTo(path)).willReturn(aResponse().withStatus(200).withHeader("Cache-Control", "max-age=60").withBody(path)));
+        }
+        stubFor(put(urlEqualTo("/a")).willReturn(aResponse().withStatus(200).withBody("Updated")));
+
+        executor.execute(HttpMethod.GET, baseUrl + "/a", Map.of(), String.class);
+        executor.execute(HttpMethod.PUT, baseUrl + "/a", "new", Map.of(), String.class);
+        executor.execute(HttpMethod.GET, baseUrl + "/a", Map.of(), String.class);
+        verify(2, getRequestedFor(urlEqualTo("/a")));
+
+        executor.execute(HttpMethod.GET, baseUrl + "/b", Map.of(), String.class);
+        executor.execute(HttpMethod.GET, baseUrl + "/c", Map.of(), String.class);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        assertEquals(4, registry.get("http.client.cache.requests").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    public void testReadKeepsEntryAndInvalidationIsPerUrl() {
+        for (String path : new String[]{"/a", "/a/1", "/b"}) {
+            stubFor(get(urlEqualTo(path)).willReturn(aResponse().withStatus(200).withHeader("Cache-Control", "max-age=60").withBody(path)));
+        }
+
+        executor.execute(HttpMethod.GET, baseUrl + "/a", Map.of(), String.class);
+        executor.execute(HttpMethod.GET, baseUrl + "/a/1", Map.of(), String.class);
+        executor.execute(HttpMethod.GET, baseUrl + "/a", Map.of(), String.class);
+        executor.execute(HttpMethod.GET, baseUrl + "/b", Map.of(), String.class);
+        executor.execute(HttpMethod.GET, baseUrl + "/a", Map.of(), String.class);
+        verify(1, getRequestedFor(urlEqualTo("/a")));
+        assertEquals(1, cache.getEvictionCount());
+
+        cache.invalidate(baseUrl + "/a");
+        assertEquals(1, cache.size());
+        executor.execute(HttpMethod.GET, baseUrl + "/b", Map.of(), String.class);
+        verify(1, getRequestedFor(urlEqualTo("/b")));
+    }
+
+    @Test
+    public void testStaleWhileRevalidateServesStaleAndRefreshes() throws InterruptedException {
+        stubFor(get(urlEqualTo("/rates")).willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Cache-Control", "max-age=0, stale-while-revalidate=60")
+                .withHeader("ETag", "\"r1\"")
+                .withBody("Rates")));
+
+        assertEquals("Rates", executor.execute(HttpMethod.GET, baseUrl + "/rates", Map.of(), String.class));
+        assertEquals("Rates", executor.execute(HttpMethod.GET, baseUrl + "/rates", Map.of(), String.class));
+        assertEquals(1, cache.getStaleHitCount());
+
+        for (int i = 0; i < 50 && wireMockServer.countRequestsMatching(getRequestedFor(urlEqualTo("/rates")).build()).getCount() < 2; i++) {
+            Thread.sleep(20);
+        }
+        verify(2, getRequestedFor(urlEqualTo("/rates")));
+    }
+}
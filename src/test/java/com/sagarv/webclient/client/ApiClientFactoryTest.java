@@ -0,0 +1,150 @@
+package com.sagarv.webclient.client;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.sagarv.webclient.ErrorMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ApiClientFactoryTest {
+
+    private WireMockServer wireMockServer;
+    private ApiClientFactory factory;
+
+    @Headers("Accept: application/json")
+    interface UserApi {
+
+        @Get("/users/{id}/orders/{order}")
+        Mono<User> order(@Path("order") String order, @Path("id") long id, @Header("X-Trace") String trace);
+
+        @Get("/users")
+        Flux<User> search(@Query("name") String name, @Query("tag") List<String> tags);
+
+        @Get("/users")
+        List<User> all();
+
+        @Post("/users")
+        @Headers("Content-Type: application/json")
+        User create(@Body User user);
+
+        @Delete("/users/{id}")
+        void delete(@Path("id") long id);
+
+        default User first() {
+            return all().get(0);
+        }
+    }
+
+    interface UnboundApi {
+        @Get("/users/{id}")
+        Mono<User> get();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        WireMock.configureFor("localhost", wireMockServer.port());
+        factory = ApiClientFactory.builder(WebClient.create())
+                .baseUrl("http://localhost:" + wireMockServer.port())
+                .build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void testWebClientBaseUrlEncodesValuesOnce() {
+        stubFor(get(urlEqualTo("/users/42/orders/a%20b%2F1%25"))
+                .willReturn(okJson("{\"name\":\"Ann\"}")));
+        stubFor(get(urlEqualTo("/users?name=a%20%26%20b&tag=x%2Fy"))
+                .willReturn(okJson("[{\"name\":\"Bob\"}]")));
+        UserApi api = ApiClientFactory.builder(WebClient.create("http://localhost:" + wireMockServer.port()))
+                .build()
+                .create(UserApi.class);
+
+        StepVerifier.create(api.order("a b/1%", 42, "t-2"))
+                .expectNextMatches(user -> user.name.equals("Ann"))
+                .verifyComplete();
+        StepVerifier.create(api.search("a & b", List.of("x/y")))
+                .expectNextMatches(user -> user.name.equals("Bob"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testPathVariablesHeadersAndStaticHeaders() {
+        stubFor(get(urlEqualTo("/users/42/orders/a%20b"))
+                .withHeader("Accept", equalTo("application/json"))
+                .withHeader("X-Trace", equalTo("t-1"))
+                .willReturn(okJson("{\"name\":\"John\"}")));
+
+        StepVerifier.create(factory.create(UserApi.class).order("a b", 42, "t-1"))
+                .expectNextMatches(user -> user.name.equals("John"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testQueryParametersSkipNullsAndRepeatCollections() {
+        stubFor(get(urlEqualTo("/users?tag=a&tag=b"))
+                .willReturn(okJson("[{\"name\":\"A\"},{\"name\":\"B\"}]")));
+
+        StepVerifier.create(factory.create(UserApi.class).search(null, List.of("a", "b")).map(user -> user.name))
+                .expectNext("A", "B")
+                .verifyComplete();
+    }
+
+    @Test
+    public void testBlockingMethodsBodiesAndDefaultMethods() {
+        stubFor(get(urlEqualTo("/users")).willReturn(okJson("[{\"name\":\"A\"}]")));
+        stubFor(post(urlEqualTo("/users"))
+                .withRequestBody(equalToJson("{\"name\":\"New\"}"))
+                .willReturn(okJson("{\"name\":\"New\"}")));
+        stubFor(delete(urlEqualTo("/users/7")).willReturn(aResponse().withStatus(204)));
+        UserApi api = factory.create(UserApi.class);
+
+        User created = new User();
+        created.name = "New";
+        assertEquals("New", api.create(created).name);
+        assertEquals("A", api.first().name);
+        api.delete(7);
+        verify(deleteRequestedFor(urlEqualTo("/users/7")));
+        assertTrue(api.toString().startsWith("UserApi client"));
+    }
+
+    @Test
+    public void testErrorsGoThroughTheErrorMapper() {
+        stubFor(get(urlEqualTo("/users")).willReturn(aResponse().withStatus(404)));
+        UserApi api = ApiClientFactory.builder(WebClient.create())
+                .baseUrl("http://localhost:" + wireMockServer.port())
+                .errorMapper(ErrorMapper.builder().status(404, e -> new IllegalStateException("missing")).build())
+                .build()
+                .create(UserApi.class);
+
+        assertEquals("missing", assertThrows(IllegalStateException.class, api::all).getMessage());
+    }
+
+    @Test
+    public void testUnboundTemplateVariableFailsAtCreation() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> factory.create(UnboundApi.class));
+        assertEquals("UnboundApi.get does not bind {id} of /users/{id}", e.getMessage());
+    }
+
+    public static class User {
+        public String name;
+    }
+}
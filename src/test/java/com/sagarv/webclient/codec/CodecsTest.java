@@ -0,0 +1,163 @@
+package com.sagarv.webclient.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.sagarv.webclient.ObjectMapperConfig;
+import com.sagarv.webclient.common.ExecutorOptions;
+import com.sagarv.webclient.impl.AsyncRequestExecutorImpl;
+import com.sagarv.webclient.impl.SyncRequestExecutorImpl;
+import com.sagarv.webclient.stream.JsonStreamDecoder;
+import com.sagarv.webclient.stream.StreamFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class CodecsTest {
+
+    private static final List<Item> ITEMS = List.of(new Item("a", 1), new Item("b", 2), new Item("c", 3));
+
+    private WireMockServer wireMockServer;
+    private String baseUrl;
+
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        WireMock.configureFor("localhost", wireMockServer.port());
+        baseUrl = "http://localhost:" + wireMockServer.port();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void testAcceptHeaderListsBinaryFormatsFirst() {
+        assertNull(Codecs.defaults().getAcceptHeader());
+        assertEquals("application/x-jackson-smile, application/cbor;q=0.9, application/json;q=0.8",
+                Codecs.builder().smile().cbor().build().getAcceptHeader());
+    }
+
+    @Test
+    public void testReadersAreCachedPerFormatAndType() {
+        Codecs codecs = Codecs.builder().smile().build();
+
+        assertSame(codecs.reader(null, Item.class), codecs.reader(null, Item.class));
+        assertSame(codecs.reader(Codecs.SMILE, Item.class), codecs.reader(Codecs.SMILE, Item.class));
+        assertSame(codecs.writer(Item.class), codecs.writer(Item.class));
+    }
+
+    @Test
+    public void testSmileIsNegotiatedForRequestAndResponse() throws Exception {
+        ObjectMapper smile = ObjectMapperConfig.smileMapper();
+        stubFor(post(urlEqualTo("/items"))
+                .withHeader("Accept", containing("application/x-jackson-smile"))
+                .withHeader("Content-Type", equalTo("application/x-jackson-smile"))
+                .withRequestBody(binaryEqualTo(smile.writeValueAsBytes(ITEMS.get(0))))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/x-jackson-smile")
+                        .withBody(smile.writeValueAsBytes(ITEMS.get(1)))));
+        Codecs codecs = Codecs.builder().smile().requestContentType(Codecs.SMILE).build();
+        AsyncRequestExecutorImpl executor = new AsyncRequestExecutorImpl(WebClient.create(baseUrl), ExecutorOptions.defaults().codecs(codecs));
+
+        StepVerifier.create(executor.execute(HttpMethod.POST, baseUrl + "/items", ITEMS.get(0), Map.of(), Item.class))
+                .expectNext(ITEMS.get(1))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testJsonUpstreamStillWorksWhenBinaryIsPreferred() {
+        stubFor(get(urlEqualTo("/items")).willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("[{\"name\":\"a\",\"age\":1},{\"name\":\"b\",\"age\":2},{\"name\":\"c\",\"age\":3}]")));
+        Codecs codecs = Codecs.builder().smile().cbor().build();
+        SyncRequestExecutorImpl executor = new SyncRequestExecutorImpl(WebClient.create(baseUrl), ExecutorOptions.defaults().codecs(codecs));
+
+        assertEquals(ITEMS, executor.execute(HttpMethod.GET, baseUrl + "/items", Map.of(), new ParameterizedTypeReference<List<Item>>() {
+        }));
+    }
+
+    @Test
+    public void testStreamDecoderHandlesSmileAndCborArrays() throws Exception {
+        Codecs codecs = Codecs.builder().smile().cbor().build();
+        JsonStreamDecoder decoder = new JsonStreamDecoder(codecs);
+
+        StepVerifier.create(decoder.<Item>decode(chunks(ObjectMapperConfig.smileMapper().writeValueAsBytes(ITEMS)), StreamFormat.SMILE, Item.class))
+                .expectNextSequence(ITEMS)
+                .verifyComplete();
+        StepVerifier.create(decoder.<Item>decode(chunks(ObjectMapperConfig.cborMapper().writeValueAsBytes(ITEMS)), StreamFormat.CBOR, Item.class))
+                .expectNextSequence(ITEMS)
+                .verifyComplete();
+    }
+
+    private static Flux<DataBuffer> chunks(byte[] bytes) {
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += 5) {
+            int length = Math.min(5, bytes.length - i);
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(bytes, i, i + length)));
+        }
+        return Flux.fromIterable(buffers);
+    }
+
+    public static class Item {
+        private String name;
+        private int age;
+
+        public Item() {
+        }
+
+        public Item(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Item && ((Item) o).age == age && Objects.equals(((Item) o).name, name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, age);
+        }
+    }
+}
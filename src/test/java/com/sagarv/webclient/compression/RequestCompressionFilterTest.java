@@ -0,0 +1,135 @@
+package com.sagarv.webclient.compression;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.sagarv.webclient.RequestBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RequestCompressionFilterTest {
+
+    private WireMockServer wireMockServer;
+    private String baseUrl;
+
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        WireMock.configureFor("localhost", wireMockServer.port());
+        baseUrl = "http://localhost:" + wireMockServer.port();
+        stubFor(post(urlPathMatching("/.*")).willReturn(aResponse().withStatus(200).withBody("ok")));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void testLargeJsonBodyIsGzipped() {
+        RequestCompressionFilter filter = RequestCompressionFilter.builder().minSize(512).build();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+        Map<String, Object> body = largeBody();
+
+        StepVerifier.create(send(filter, "/orders", body)).expectNext("ok").verifyComplete();
+
+        // WireMock inflates gzip request bodies before matching.
+        verify(postRequestedFor(urlEqualTo("/orders"))
+                .withHeader("Content-Encoding", equalTo("gzip"))
+                .withRequestBody(matchingJsonPath("$.field99", equalTo("value ".repeat(20)))));
+
+        String authority = "localhost:" + wireMockServer.port();
+        String json = wireMockServer.getAllServeEvents().get(0).getRequest().getBodyAsString();
+        assertEquals(json.length(), filter.getOriginalBytes(authority));
+        assertTrue(filter.getCompressedBytes(authority) < json.length() / 5);
+        double ratio = registry.get(RequestCompressionFilter.RATIO_METRIC).tag("route", authority).summary().mean();
+        assertTrue(ratio > 5, "ratio " + ratio);
+    }
+
+    @Test
+    public void testSmallBodyIsSentUncompressed() {
+        RequestCompressionFilter filter = RequestCompressionFilter.defaults();
+
+        StepVerifier.create(send(filter, "/orders", Map.of("id", 1))).expectNext("ok").verifyComplete();
+
+        verify(postRequestedFor(urlEqualTo("/orders"))
+                .withoutHeader("Content-Encoding")
+                .withRequestBody(equalToJson("{\"id\":1}")));
+    }
+
+    @Test
+    public void testRoutesOverrideThresholdAndEncoding() throws IOException {
+        RequestCompressionFilter filter = RequestCompressionFilter.builder()
+                .encoding(ContentEncoding.DEFLATE)
+                .minSize(0)
+                .route("uploads", baseUrl + "/uploads", -1)
+                .build();
+
+        StepVerifier.create(send(filter, "/uploads", largeBody())).expectNext("ok").verifyComplete();
+        StepVerifier.create(send(filter, "/orders", Map.of("id", 1))).expectNext("ok").verifyComplete();
+
+        verify(postRequestedFor(urlEqualTo("/uploads")).withoutHeader("Content-Encoding"));
+        verify(postRequestedFor(urlEqualTo("/orders")).withHeader("Content-Encoding", equalTo("deflate")));
+        byte[] sent = wireMockServer.findAll(postRequestedFor(urlEqualTo("/orders"))).get(0).getBody();
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(sent))) {
+            assertEquals("{\"id\":1}", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testCompressedBufferRoundTrips() throws IOException {
+        RequestCompressionFilter filter = RequestCompressionFilter.defaults();
+        byte[] input = "x".repeat(10_000).getBytes(StandardCharsets.UTF_8);
+
+        for (int i = 0; i < 3; i++) {
+            DataBuffer compressed = filter.compress(DefaultDataBufferFactory.sharedInstance.wrap(input), DefaultDataBufferFactory.sharedInstance);
+            byte[] bytes = new byte[compressed.readableByteCount()];
+            compressed.read(bytes);
+            DataBufferUtils.release(compressed);
+            assertEquals(10_000, gunzip(bytes).length);
+        }
+    }
+
+    private Mono<String> send(RequestCompressionFilter filter, String path, Object body) {
+        WebClient webClient = WebClient.builder().filter(filter).build();
+        return new RequestBuilder(webClient, HttpMethod.POST, baseUrl + path).body(body).executeReactive(String.class);
+    }
+
+    private static Map<String, Object> largeBody() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            body.put("field" + i, "value ".repeat(20));
+        }
+        return body;
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+}
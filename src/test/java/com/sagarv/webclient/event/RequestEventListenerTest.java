@@ -0,0 +1,146 @@
+package com.sagarv.webclient.event;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.sagarv.webclient.RequestBuilder;
+import com.sagarv.webclient.RestClientException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RequestEventListenerTest {
+
+    private WireMockServer wireMockServer;
+    private WebClient webClient;
+    private RecordingListener recorder;
+
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        WireMock.configureFor("localhost", wireMockServer.port());
+
+        webClient = WebClient.create("http://localhost:" + wireMockServer.port());
+        recorder = new RecordingListener();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void testSuccessAndFailureEvents() {
+        stubFor(get(urlEqualTo("/ok")).willReturn(aResponse().withStatus(200).withBody("OK")));
+        stubFor(get(urlEqualTo("/fail")).willReturn(aResponse().withStatus(500).withBody("Boom")));
+
+        StepVerifier.create(new RequestBuilder(webClient, HttpMethod.GET, "/ok")
+                        .eventListener(recorder)
+                        .executeReactive(String.class))
+                .expectNext("OK")
+                .verifyComplete();
+        StepVerifier.create(new RequestBuilder(webClient, HttpMethod.GET, "/fail")
+                        .eventListener(recorder)
+                        .executeReactive(String.class))
+                .expectError(RestClientException.class)
+                .verify();
+
+        assertEquals(List.of("start GET /ok", "success GET /ok", "start GET /fail", "failure GET /fail"), recorder.signals);
+    }
+
+    @Test
+    public void testNoopListenerLeavesPublisherUntouched() {
+        Mono<String> request = Mono.just("value");
+
+        assertSame(request, RequestObservation.observe(request, RequestEventListener.NOOP, HttpMethod.GET, "/noop"));
+    }
+
+    @Test
+    public void testSamplingAlwaysReportsFailures() {
+        SamplingRequestEventListener sampler = new SamplingRequestEventListener(recorder, 0.0);
+
+        StepVerifier.create(RequestObservation.observe(Mono.just("value"), sampler, HttpMethod.GET, "/sampled"))
+                .expectNext("value")
+                .verifyComplete();
+        StepVerifier.create(RequestObservation.observe(Mono.error(new IllegalStateException()), sampler, HttpMethod.GET, "/sampled"))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertEquals(List.of("failure GET /sampled"), recorder.signals);
+    }
+
+    @Test
+    public void testRateLimitSuppressesExcessEvents() {
+        RateLimitedRequestEventListener limited = new RateLimitedRequestEventListener(recorder, 2);
+
+        for (int i = 0; i < 5; i++) {
+            limited.onRequestSuccess(new RequestEvent(HttpMethod.GET, "/limited"));
+        }
+
+        assertEquals(2, recorder.signals.size());
+        assertEquals(3, limited.getSuppressedCount());
+    }
+
+    @Test
+    public void testAsyncListenerDeliversOnWorkerThread() {
+        List<String> threads = new CopyOnWriteArrayList<>();
+        RequestEventListener threadRecorder = new RequestEventListener() {
+            @Override
+            public void onRequestSuccess(RequestEvent event) {
+                threads.add(Thread.currentThread().getName());
+            }
+        };
+
+        try (AsyncRequestEventListener async = new AsyncRequestEventListener(threadRecorder, 16)) {
+            StepVerifier.create(RequestObservation.observe(Mono.just("value"), async, HttpMethod.GET, "/async"))
+                    .expectNext("value")
+                    .verifyComplete();
+        }
+
+        assertEquals(List.of("rest-client-events"), threads);
+    }
+
+    @Test
+    public void testEventDurationIsFixedOnCompletion() {
+        StepVerifier.create(RequestObservation.observe(Mono.just("value"), recorder, HttpMethod.GET, "/duration"))
+                .expectNext("value")
+                .verifyComplete();
+
+        assertTrue(recorder.lastEvent.isCompleted());
+        assertEquals(recorder.lastEvent.getDurationNanos(), recorder.lastEvent.getDurationNanos());
+    }
+
+    private static class RecordingListener implements RequestEventListener {
+        private final List<String> signals = new CopyOnWriteArrayList<>();
+        private volatile RequestEvent lastEvent;
+
+        @Override
+        public void onRequestStart(RequestEvent event) {
+            signals.add("start " + event.getMethod() + " " + event.getUrl());
+        }
+
+        @Override
+        public void onRequestSuccess(RequestEvent event) {
+            lastEvent = event;
+            signals.add("success " + event.getMethod() + " " + event.getUrl());
+        }
+
+        @Override
+        public void onRequestFailure(RequestEvent event, Throwable error) {
+            signals.add("failure " + event.getMethod() + " " + event.getUrl());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.sagarv.webclient.event;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.sagarv.webclient.HttpClientProperties;
+import com.sagarv.webclient.RequestBuilder;
+import com.sagarv.webclient.RestClientException;
+import com.sagarv.webclient.WebClientConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TracingRequestEventListenerTest {
+
+    private WireMockServer wireMockServer;
+    private ConnectionProvider connectionProvider;
+    private WebClient webClient;
+    private String baseUrl;
+    private final List<ClientSpan> spans = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        WireMock.configureFor("localhost", wireMockServer.port());
+
+        baseUrl = "http://localhost:" + wireMockServer.port();
+        connectionProvider = ConnectionProvider.create("tracing-test", 4);
+        HttpClient httpClient = RequestPhaseRecorder.instrument(HttpClient.create(connectionProvider));
+        webClient = WebClientConfig.buildWebClient(httpClient, new HttpClientProperties(), null);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        connectionProvider.dispose();
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void testSpanContinuesParentTraceAndRecordsPhases() {
+        stubFor(get(urlEqualTo("/traced")).willReturn(aResponse().withStatus(200).withBody("OK")));
+        TraceContext parent = TraceContext.root(true);
+
+        StepVerifier.create(new RequestBuilder(webClient, HttpMethod.GET, baseUrl + "/traced")
+                        .eventListener(TracingRequestEventListener.builder(spans::add).build())
+                        .executeReactive(String.class)
+                        .contextWrite(context -> TraceContext.withParent(context, parent)))
+                .expectNext("OK")
+                .verifyComplete();
+
+        assertEquals(1, spans.size());
+        ClientSpan span = spans.get(0);
+        assertEquals(parent.getTraceId(), span.getContext().getTraceId());
+        assertEquals(parent.getSpanId(), span.getParentSpanId());
+        assertEquals(200, span.getAttributes().get("http.response.status_code"));
+        for (RequestPhase phase : List.of(RequestPhase.CONNECTION_ACQUIRE, RequestPhase.CONNECT, RequestPhase.REQUEST_SEND,
+                RequestPhase.TIME_TO_FIRST_BYTE, RequestPhase.BODY)) {
+            assertTrue(span.getAttributes().containsKey("http.client.phase." + phase.tag()), phase.tag());
+        }
+        verify(getRequestedFor(urlEqualTo("/traced"))
+                .withHeader(TraceContext.TRACEPARENT, equalTo(span.getContext().toTraceparent())));
+    }
+
+    @Test
+    public void testExemplarModeExportsOnlyFailedUnsampledRequests() {
+        stubFor(get(urlEqualTo("/ok")).willReturn(aResponse().withStatus(200).withBody("OK")));
+        stubFor(get(urlEqualTo("/fail")).willReturn(aResponse().withStatus(500).withBody("Boom")));
+        TracingRequestEventListener listener = TracingRequestEventListener.builder(spans::add)
+                .sampleRatio(0.0)
+                .exemplarThreshold(Duration.ofSeconds(5))
+                .build();
+
+        StepVerifier.create(new RequestBuilder(webClient, HttpMethod.GET, baseUrl + "/ok").eventListener(listener).executeReactive(String.class))
+                .expectNext("OK")
+                .verifyComplete();
+        StepVerifier.create(new RequestBuilder(webClient, HttpMethod.GET, baseUrl + "/fail").eventListener(listener).executeReactive(String.class))
+                .expectError(RestClientException.class)
+                .verify();
+
+        assertEquals(1, spans.size());
+        assertTrue(spans.get(0).isError());
+        assertEquals(500, spans.get(0).getAttributes().get("http.response.status_code"));
+        verify(getRequestedFor(urlEqualTo("/ok")).withHeader(TraceContext.TRACEPARENT, matching("00-[0-9a-f]{32}-[0-9a-f]{16}-00")));
+    }
+}
@@ -0,0 +1,116 @@
+package com.sagarv.webclient.impl;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.sagarv.webclient.RestClientException;
+import com.sagarv.webclient.batch.BatchOptions;
+import com.sagarv.webclient.batch.BatchRequest;
+import com.sagarv.webclient.batch.BatchResult;
+import com.sagarv.webclient.common.ExecutorOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchRequestExecutorImplTest {
+
+    private WireMockServer wireMockServer;
+    private String baseUrl;
+    private BatchRequestExecutorImpl executor;
+
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        WireMock.configureFor("localhost", wireMockServer.port());
+
+        baseUrl = "http://localhost:" + wireMockServer.port();
+        executor = new BatchRequestExecutorImpl(WebClient.create(baseUrl), ExecutorOptions.defaults());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void testOrderedResultsCollectFailuresPerItem() {
+        stubFor(get(urlEqualTo("/items/0")).willReturn(aResponse().withStatus(200).withBody("zero").withFixedDelay(300)));
+        stubFor(get(urlEqualTo("/items/1")).willReturn(aResponse().withStatus(500).withBody("boom")));
+        stubFor(get(urlEqualTo("/items/2")).willReturn(aResponse().withStatus(200).withBody("two")));
+
+        List<BatchResult<String>> results = executor.execute(requests(3), BatchOptions.defaults())
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(List.of(0L, 1L, 2L), results.stream().map(BatchResult::getIndex).collect(Collectors.toList()));
+        assertEquals("zero", results.get(0).getValue());
+        assertFalse(results.get(1).isSuccess());
+        assertInstanceOf(RestClientException.class, results.get(1).getError());
+        assertEquals("two", results.get(2).getValue());
+        assertEquals("/items/2", results.get(2).getRequest().getTag());
+    }
+
+    @Test
+    public void testUnorderedResultsArriveInCompletionOrder() {
+        stubFor(get(urlEqualTo("/items/0")).willReturn(aResponse().withStatus(200).withBody("slow").withFixedDelay(300)));
+        stubFor(get(urlEqualTo("/items/1")).willReturn(aResponse().withStatus(200).withBody("fast")));
+
+        List<BatchResult<String>> results = executor.execute(requests(2), BatchOptions.defaults().unordered())
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(List.of("fast", "slow"), results.stream().map(BatchResult::getValue).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testConcurrencyIsBoundedPerHost() {
+        stubFor(get(urlMatching("/items/.*")).willReturn(aResponse().withStatus(200).withBody("ok").withFixedDelay(200)));
+
+        long start = System.nanoTime();
+        List<BatchResult<String>> results = executor.execute(requests(6), BatchOptions.defaults().maxConcurrencyPerHost(2))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertEquals(6, results.size());
+        assertTrue(results.stream().allMatch(BatchResult::isSuccess));
+        // Three waves of two requests each.
+        assertTrue(elapsedMillis >= 600, "took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    public void testDeadlineFailsUnfinishedRequests() {
+        stubFor(get(urlEqualTo("/items/0")).willReturn(aResponse().withStatus(200).withBody("zero")));
+        stubFor(get(urlEqualTo("/items/1")).willReturn(aResponse().withStatus(200).withBody("late").withFixedDelay(4000)));
+        stubFor(get(urlEqualTo("/items/2")).willReturn(aResponse().withStatus(200).withBody("never")));
+
+        List<BatchResult<String>> results = executor.execute(requests(3),
+                        BatchOptions.defaults().maxConcurrencyPerHost(1).deadline(Duration.ofSeconds(1)))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals("zero", results.get(0).getValue());
+        assertInstanceOf(TimeoutException.class, results.get(1).getError());
+        assertInstanceOf(TimeoutException.class, results.get(2).getError());
+    }
+
+    private List<BatchRequest<String>> requests(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> BatchRequest.get(baseUrl + "/items/" + i, String.class).tag("/items/" + i))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,193 @@
+package com.sagarv.webclient.impl;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import com.sagarv.webclient.HttpClientProperties;
+import com.sagarv.webclient.RestClientException;
+import com.sagarv.webclient.common.ExecutorOptions;
+import com.sagarv.webclient.common.RestClientFacade;
+import com.sagarv.webclient.common.SyncTransport;
+import com.sagarv.webclient.compression.RequestCompressionFilter;
+import com.sagarv.webclient.event.ClientSpan;
+import com.sagarv.webclient.event.TraceContext;
+import com.sagarv.webclient.event.TracingRequestEventListener;
+import com.sagarv.webclient.loadbalance.ServiceRegistry;
+import com.sagarv.webclient.resilience.DeadlineExceededException;
+import com.sagarv.webclient.resilience.DeadlineExchangeFilter;
+import com.sagarv.webclient.resilience.QuotaExceededException;
+import com.sagarv.webclient.resilience.QuotaExchangeFilter;
+import com.sagarv.webclient.resilience.QuotaLimiter;
+import com.sagarv.webclient.resilience.RetryPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BlockingSyncRequestExecutorImplTest {
+
+    private WireMockServer wireMockServer;
+    private String baseUrl;
+    private BlockingSyncRequestExecutorImpl executor;
+
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        WireMock.configureFor("localhost", wireMockServer.port());
+
+        baseUrl = "http://localhost:" + wireMockServer.port();
+        executor = new BlockingSyncRequestExecutorImpl(ExecutorOptions.defaults()
+                .retryPolicy(RetryPolicy.builder().backoff(Duration.ofMillis(1), Duration.ofMillis(5), 2).build()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void testGetAndPostDecodeResponses() {
+        stubFor(get(urlEqualTo("/users")).willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("[{\"name\":\"John Doe\",\"age\":30}]")));
+        stubFor(post(urlEqualTo("/echo"))
+                .withHeader("Content-Type", containing("application/json"))
+                .withRequestBody(equalToJson("{\"name\":\"Jane\"}"))
+                .willReturn(aResponse().withStatus(200).withBody("Created")));
+
+        List<Map<String, Object>> users = executor.execute(HttpMethod.GET, baseUrl + "/users", Map.of(),
+                new ParameterizedTypeReference<List<Map<String, Object>>>() {});
+        assertEquals("John Doe", users.get(0).get("name"));
+        assertEquals("Created", executor.execute(HttpMethod.POST, baseUrl + "/echo", Map.of("name", "Jane"), Map.of(), String.class));
+    }
+
+    @Test
+    public void testErrorStatusMapsToRestClientException() {
+        stubFor(get(urlEqualTo("/missing")).willReturn(aResponse().withStatus(404).withBody("Not Found")));
+
+        RestClientException error = assertThrows(RestClientException.class,
+                () -> executor.execute(HttpMethod.GET, baseUrl + "/missing", Map.of(), String.class));
+        assertEquals("Unexpected error: Not Found", error.getMessage());
+        assertEquals(404, assertInstanceOf(WebClientResponseException.class, error.getCause()).getRawStatusCode());
+        verify(1, getRequestedFor(urlEqualTo("/missing")));
+    }
+
+    @Test
+    public void testDeadlineBoundsAttemptsAndRetries() {
+        stubFor(get(urlEqualTo("/slow")).willReturn(aResponse().withStatus(503).withFixedDelay(2000)));
+        BlockingSyncRequestExecutorImpl bounded = new BlockingSyncRequestExecutorImpl(ExecutorOptions.defaults()
+                .deadline(Duration.ofMillis(300))
+                .retryPolicy(RetryPolicy.builder().maxRetries(3).backoff(Duration.ofMillis(1), Duration.ofMillis(5), 2).build()));
+
+        long start = System.nanoTime();
+        RestClientException error = assertThrows(RestClientException.class,
+                () -> bounded.execute(HttpMethod.GET, baseUrl + "/slow", Map.of(), String.class));
+
+        assertInstanceOf(DeadlineExceededException.class, error.getCause());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+        verify(1, getRequestedFor(urlEqualTo("/slow")).withHeader(DeadlineExchangeFilter.DEFAULT_HEADER, matching("[1-3][0-9]{0,2}")));
+    }
+
+    @Test
+    public void testRetriesTransientFailures() {
+        stubFor(get(urlEqualTo("/flaky")).inScenario("flaky")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(503))
+                .willSetStateTo("recovered"));
+        stubFor(get(urlEqualTo("/flaky")).inScenario("flaky")
+                .whenScenarioStateIs("recovered")
+                .willReturn(aResponse().withStatus(200).withBody("Recovered")));
+
+        assertEquals("Recovered", executor.execute(HttpMethod.GET, baseUrl + "/flaky", Map.of(), String.class));
+        verify(2, getRequestedFor(urlEqualTo("/flaky")));
+    }
+
+    @Test
+    public void testRetryOfBalancedRequestGoesToAnotherEndpoint() {
+        stubFor(get(urlEqualTo("/users")).willReturn(aResponse().withStatus(200).withBody("Users")));
+        BlockingSyncRequestExecutorImpl balanced = new BlockingSyncRequestExecutorImpl(ExecutorOptions.defaults()
+                .serviceRegistry(ServiceRegistry.builder().service("users", "http://localhost:1", baseUrl).consecutiveFailures(100).build())
+                .retryPolicy(RetryPolicy.builder().maxRetries(1).backoff(Duration.ofMillis(1), Duration.ofMillis(5), 2).build()));
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Users", balanced.execute(HttpMethod.GET, "lb://users/users", Map.of(), String.class));
+        }
+    }
+
+    @Test
+    public void testUnreadableBodyIsNotRetried() {
+        stubFor(get(urlEqualTo("/garbled")).willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"name\":")));
+
+        assertThrows(DecodingException.class, () -> executor.execute(HttpMethod.GET, baseUrl + "/garbled", Map.of(),
+                new ParameterizedTypeReference<Map<String, Object>>() {}));
+        verify(1, getRequestedFor(urlEqualTo("/garbled")));
+    }
+
+    @Test
+    public void testAppliesQuotaCompressionAndTraceparent() {
+        stubFor(post(urlEqualTo("/orders")).willReturn(aResponse().withStatus(200).withBody("Accepted")));
+        List<ClientSpan> spans = new ArrayList<>();
+        QuotaExchangeFilter quotas = QuotaExchangeFilter.builder(QuotaLimiter.Config.builder()
+                        .limit(1, Duration.ofMinutes(1))
+                        .maxWait(Duration.ZERO)
+                        .build())
+                .build();
+        BlockingSyncRequestExecutorImpl configured = new BlockingSyncRequestExecutorImpl(new HttpClientProperties(),
+                ExecutorOptions.defaults().eventListener(TracingRequestEventListener.builder(spans::add).build()),
+                quotas, RequestCompressionFilter.builder().minSize(16).build());
+        Map<String, String> order = Map.of("note", "x".repeat(64));
+
+        assertEquals("Accepted", configured.execute(HttpMethod.POST, baseUrl + "/orders", order, Map.of(), String.class));
+        assertThrows(QuotaExceededException.class,
+                () -> configured.execute(HttpMethod.POST, baseUrl + "/orders", order, Map.of(), String.class));
+
+        verify(1, postRequestedFor(urlEqualTo("/orders"))
+                .withHeader("Content-Encoding", equalTo("gzip"))
+                .withHeader(TraceContext.TRACEPARENT, equalTo(spans.get(0).getContext().toTraceparent())));
+    }
+
+    @Test
+    public void testRejectsH2cPriorKnowledge() {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setProtocol(HttpClientProperties.Protocol.H2C_PRIOR_KNOWLEDGE);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new BlockingSyncRequestExecutorImpl(properties, ExecutorOptions.defaults(), null, null));
+    }
+
+    @Test
+    public void testRunsOnThreadsWhereBlockIsForbidden() {
+        stubFor(get(urlEqualTo("/test")).willReturn(aResponse().withStatus(200).withBody("Success")));
+        RestClientFacade facade = new RestClientFacade(WebClient.create(),
+                ExecutorOptions.defaults().syncTransport(SyncTransport.HTTP_CLIENT));
+
+        StepVerifier.create(Mono.fromCallable(() -> facade.getSyncExecutor().execute(HttpMethod.GET, baseUrl + "/test", Map.of(), String.class))
+                        .subscribeOn(Schedulers.parallel()))
+                .expectNext("Success")
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,189 @@
+package com.sagarv.webclient.impl;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.sagarv.webclient.RestClientException;
+import com.sagarv.webclient.api.TransferListener;
+import com.sagarv.webclient.common.ExecutorOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TransferRequestExecutorImplTest {
+
+    private static final byte[] PAYLOAD = payload(300_000);
+
+    @TempDir
+    Path tempDir;
+
+    private WireMockServer wireMockServer;
+    private String baseUrl;
+    private TransferRequestExecutorImpl executor;
+
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        WireMock.configureFor("localhost", wireMockServer.port());
+
+        baseUrl = "http://localhost:" + wireMockServer.port();
+        executor = new TransferRequestExecutorImpl(WebClient.create(baseUrl), ExecutorOptions.defaults());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void testDownloadToFileReportsProgress() throws IOException {
+        stubFor(get(urlEqualTo("/files/a")).willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/octet-stream")
+                .withBody(PAYLOAD)));
+        Path target = tempDir.resolve("a.bin");
+        AtomicLong lastProgress = new AtomicLong();
+
+        StepVerifier.create(executor.download(baseUrl + "/files/a", Map.of(), target, (transferred, total) -> lastProgress.set(transferred)))
+                .expectNext((long) PAYLOAD.length)
+                .verifyComplete();
+
+        assertArrayEquals(PAYLOAD, Files.readAllBytes(target));
+        assertEquals(PAYLOAD.length, lastProgress.get());
+    }
+
+    @Test
+    public void testDownloadToChannel() {
+        stubFor(get(urlEqualTo("/files/b")).willReturn(aResponse().withStatus(200).withBody(PAYLOAD)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        StepVerifier.create(executor.download(baseUrl + "/files/b", Map.of(), Channels.newChannel(out), TransferListener.NONE))
+                .expectNext((long) PAYLOAD.length)
+                .verifyComplete();
+
+        assertArrayEquals(PAYLOAD, out.toByteArray());
+    }
+
+    @Test
+    public void testResumeDownloadAppendsRemainingRange() throws IOException {
+        int existing = 100_000;
+        byte[] remainder = new byte[PAYLOAD.length - existing];
+        System.arraycopy(PAYLOAD, existing, remainder, 0, remainder.length);
+        stubFor(get(urlEqualTo("/files/c"))
+                .withHeader("Range", equalTo("bytes=" + existing + "-"))
+                .willReturn(aResponse()
+                        .withStatus(206)
+                        .withHeader("Content-Range", "bytes " + existing + "-" + (PAYLOAD.length - 1) + "/" + PAYLOAD.length)
+                        .withBody(remainder)));
+        Path target = tempDir.resolve("c.bin");
+        Files.write(target, Arrays.copyOf(PAYLOAD, existing));
+        AtomicLong lastProgress = new AtomicLong();
+        AtomicLong lastTotal = new AtomicLong();
+
+        StepVerifier.create(executor.resumeDownload(baseUrl + "/files/c", Map.of(), target, (transferred, total) -> {
+                    lastProgress.set(transferred);
+                    lastTotal.set(total);
+                }))
+                .expectNext((long) PAYLOAD.length)
+                .verifyComplete();
+
+        assertArrayEquals(PAYLOAD, Files.readAllBytes(target));
+        assertEquals(PAYLOAD.length, lastProgress.get());
+        assertEquals(PAYLOAD.length, lastTotal.get());
+    }
+
+    @Test
+    public void testResumeCompletedDownloadIsNoOp() throws IOException {
+        stubFor(get(urlEqualTo("/files/d")).willReturn(aResponse()
+                .withStatus(416)
+                .withHeader("Content-Range", "bytes */" + PAYLOAD.length)));
+        Path target = tempDir.resolve("d.bin");
+        Files.write(target, PAYLOAD);
+
+        StepVerifier.create(executor.resumeDownload(baseUrl + "/files/d", Map.of(), target, TransferListener.NONE))
+                .expectNext((long) PAYLOAD.length)
+                .verifyComplete();
+    }
+
+    @Test
+    public void testUploadWithAndWithoutProgress() throws IOException {
+        stubFor(put(urlEqualTo("/files/e"))
+                .withRequestBody(binaryEqualTo(PAYLOAD))
+                .willReturn(aResponse().withStatus(201).withBody("stored")));
+        Path source = tempDir.resolve("e.bin");
+        Files.write(source, PAYLOAD);
+        AtomicLong lastProgress = new AtomicLong();
+
+        StepVerifier.create(executor.upload(HttpMethod.PUT, baseUrl + "/files/e", Map.of(), source, String.class, TransferListener.NONE))
+                .expectNext("stored")
+                .verifyComplete();
+        StepVerifier.create(executor.upload(HttpMethod.PUT, baseUrl + "/files/e", Map.of(), source, String.class,
+                        (transferred, total) -> lastProgress.set(transferred)))
+                .expectNext("stored")
+                .verifyComplete();
+
+        assertEquals(PAYLOAD.length, lastProgress.get());
+        verify(2, putRequestedFor(urlEqualTo("/files/e")).withHeader("Content-Length", equalTo(String.valueOf(PAYLOAD.length))));
+    }
+
+    @Test
+    public void testContentRangeParsing() {
+        assertArrayEquals(new long[]{10, 100}, TransferRequestExecutorImpl.contentRange("bytes 10-99/100"));
+        assertArrayEquals(new long[]{-1, 100}, TransferRequestExecutorImpl.contentRange("bytes */100"));
+        assertArrayEquals(new long[]{0, -1}, TransferRequestExecutorImpl.contentRange("bytes 0-99/*"));
+        assertArrayEquals(new long[]{-1, -1}, TransferRequestExecutorImpl.contentRange(null));
+        for (String malformed : new String[]{"bytes *-99/100", "bytes 10-/100", "bytes 99-10/100", "bytes 0-100/100", "items 0-9/10",
+                "bytes 0-99999999999999999999/*"}) {
+            RestClientException e = assertThrows(RestClientException.class, () -> TransferRequestExecutorImpl.contentRange(malformed));
+            assertTrue(e.getMessage().contains(malformed), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testResumeRejectsMalformedContentRange() throws IOException {
+        stubFor(get(urlEqualTo("/files/f")).willReturn(aResponse()
+                .withStatus(206)
+                .withHeader("Content-Range", "bytes abc-99/100")
+                .withBody("partial")));
+        Path target = tempDir.resolve("f.bin");
+        Files.write(target, Arrays.copyOf(PAYLOAD, 10));
+
+        StepVerifier.create(executor.resumeDownload(baseUrl + "/files/f", Map.of(), target, TransferListener.NONE))
+                .expectErrorSatisfies(e -> {
+                    assertTrue(e instanceof RestClientException, e.toString());
+                    assertTrue(e.getMessage().contains("bytes abc-99/100"), e.getMessage());
+                })
+                .verify();
+        assertEquals(10, Files.size(target));
+    }
+
+    private static byte[] payload(int size) {
+        byte[] bytes = new byte[size];
+        byte[] pattern = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < size; i++) {
+            bytes[i] = pattern[i % pattern.length];
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,161 @@
+package com.sagarv.webclient.impl;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.sagarv.webclient.api.ResponseParser;
+import com.sagarv.webclient.common.ExecutorOptions;
+import com.sagarv.webclient.resilience.RetryPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TypedResponseTest {
+
+    private static final ParameterizedTypeReference<Page<Item>> ITEM_PAGE = new ParameterizedTypeReference<>() {
+    };
+    private static final ParameterizedTypeReference<Map<String, Item>> ITEMS_BY_ID = new ParameterizedTypeReference<>() {
+    };
+
+    private WireMockServer wireMockServer;
+    private WebClient webClient;
+    private String baseUrl;
+
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        WireMock.configureFor("localhost", wireMockServer.port());
+        baseUrl = "http://localhost:" + wireMockServer.port();
+        webClient = WebClient.create(baseUrl);
+        stubFor(get(urlEqualTo("/page"))
+                .willReturn(okJson("{\"total\":2,\"items\":[{\"name\":\"a\"},{\"name\":\"b\"}]}")));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void testGenericTypesWithEveryExecutor() {
+        stubFor(get(urlEqualTo("/map")).willReturn(okJson("{\"x\":{\"name\":\"a\"},\"y\":{\"name\":\"b\"}}")));
+        stubFor(get(urlEqualTo("/stream")).willReturn(okJson("[{\"x\":{\"name\":\"a\"}},{\"y\":{\"name\":\"b\"}}]")));
+        ExecutorOptions options = ExecutorOptions.defaults();
+
+        Page<Item> page = new SyncRequestExecutorImpl(webClient, options).execute(HttpMethod.GET, "/page", Map.of(), ITEM_PAGE);
+        assertEquals(2, page.total);
+        assertEquals("b", page.items.get(1).name);
+
+        StepVerifier.create(new AsyncRequestExecutorImpl(webClient, options).execute(HttpMethod.GET, "/map", Map.of(), ITEMS_BY_ID))
+                .expectNextMatches(items -> items.get("y").name.equals("b"))
+                .verifyComplete();
+
+        StepVerifier.create(new StreamingRequestExecutorImpl(webClient, options).execute(HttpMethod.GET, "/stream", Map.of(), ITEMS_BY_ID))
+                .expectNextMatches(items -> items.get("x").name.equals("a"))
+                .expectNextMatches(items -> items.get("y").name.equals("b"))
+                .verifyComplete();
+
+        Page<Item> blocking = new BlockingSyncRequestExecutorImpl(options).execute(HttpMethod.GET, baseUrl + "/page", Map.of(), ITEM_PAGE);
+        assertEquals("a", blocking.items.get(0).name);
+    }
+
+    @Test
+    public void testListTypesStillDecodeElementByElement() {
+        stubFor(get(urlEqualTo("/list")).willReturn(okJson("[{\"name\":\"a\"},{\"name\":\"b\"}]")));
+
+        List<Item> items = new SyncRequestExecutorImpl(webClient, ExecutorOptions.defaults())
+                .execute(HttpMethod.GET, "/list", Map.of(), new ParameterizedTypeReference<List<Item>>() {
+                });
+
+        assertEquals(2, items.size());
+        assertEquals("b", items.get(1).name);
+    }
+
+    @Test
+    public void testListIsRetriedWholeAfterPartialBody() throws Exception {
+        String body = "[{\"name\":\"a\"},{\"name\":\"b\"}]";
+        try (ServerSocket server = new ServerSocket(0)) {
+            Thread upstream = new Thread(() -> {
+                try {
+                    // The first response is cut off after one element, the second is complete.
+                    respond(server, "[{\"name\":\"a\"},", body.length());
+                    respond(server, body, body.length());
+                } catch (IOException ignored) {
+                }
+            });
+            upstream.start();
+            ExecutorOptions options = ExecutorOptions.defaults()
+                    .retryPolicy(RetryPolicy.builder().maxRetries(2).backoff(Duration.ofMillis(1), Duration.ofMillis(1), 1).build());
+
+            List<Item> items = new SyncRequestExecutorImpl(WebClient.create(), options)
+                    .execute(HttpMethod.GET, "http://localhost:" + server.getLocalPort() + "/list", Map.of(),
+                            new ParameterizedTypeReference<List<Item>>() {
+                            });
+
+            assertEquals(List.of("a", "b"), items.stream().map(item -> item.name).collect(Collectors.toList()));
+            upstream.join(5000);
+        }
+    }
+
+    private static void respond(ServerSocket server, String body, int contentLength) throws IOException {
+        try (Socket socket = server.accept()) {
+            BufferedReader request = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            String line;
+            while ((line = request.readLine()) != null && !line.isEmpty()) {
+                // Skip the request headers.
+            }
+            OutputStream out = socket.getOutputStream();
+            out.write(("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: " + contentLength
+                    + "\r\nConnection: close\r\n\r\n" + body).getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            socket.setSoLinger(true, 0);
+        }
+    }
+
+    @Test
+    public void testResponseParserReadsWithoutBinding() {
+        ResponseParser<Integer> total = parser -> {
+            while (parser.nextToken() != null) {
+                if (parser.currentToken() == JsonToken.FIELD_NAME && parser.currentName().equals("total")) {
+                    parser.nextToken();
+                    return parser.getIntValue();
+                }
+            }
+            return null;
+        };
+
+        StepVerifier.create(new AsyncRequestExecutorImpl(webClient, ExecutorOptions.defaults()).execute(HttpMethod.GET, "/page", Map.of(), total))
+                .expectNext(2)
+                .verifyComplete();
+    }
+
+    public static class Page<T> {
+        public int total;
+        public List<T> items;
+    }
+
+    public static class Item {
+        public String name;
+    }
+}
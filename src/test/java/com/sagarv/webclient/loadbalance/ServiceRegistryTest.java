@@ -0,0 +1,152 @@
+package com.sagarv.webclient.loadbalance;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.sagarv.webclient.common.ExecutorOptions;
+import com.sagarv.webclient.impl.AsyncRequestExecutorImpl;
+import com.sagarv.webclient.resilience.HedgePolicy;
+import com.sagarv.webclient.resilience.RetryPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ServiceRegistryTest {
+
+    private WireMockServer first;
+    private WireMockServer second;
+
+    @BeforeEach
+    public void setUp() {
+        first = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        second = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        first.start();
+        second.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        first.stop();
+        second.stop();
+    }
+
+    @Test
+    public void testRequestsAreSpreadAcrossEndpoints() {
+        first.stubFor(get(urlEqualTo("/users/1?full=true")).willReturn(aResponse().withStatus(200).withBody("first")));
+        second.stubFor(get(urlEqualTo("/users/1?full=true")).willReturn(aResponse().withStatus(200).withBody("second")));
+        AsyncRequestExecutorImpl executor = executor(ServiceRegistry.builder()
+                .service("users", first.baseUrl(), second.baseUrl() + "/")
+                .build());
+
+        for (int i = 0; i < 20; i++) {
+            executor.execute(HttpMethod.GET, ServiceRegistry.url("users", "/users/1?full=true"), Map.of(), String.class)
+                    .block(Duration.ofSeconds(5));
+        }
+
+        int firstCount = first.getAllServeEvents().size();
+        int secondCount = second.getAllServeEvents().size();
+        assertEquals(20, firstCount + secondCount);
+        assertTrue(firstCount > 0 && secondCount > 0, firstCount + "/" + secondCount);
+    }
+
+    @Test
+    public void testFailingEndpointIsEjected() {
+        first.stubFor(get(urlEqualTo("/test")).willReturn(aResponse().withStatus(503).withBody("Down")));
+        second.stubFor(get(urlEqualTo("/test")).willReturn(aResponse().withStatus(200).withBody("Up")));
+        ServiceRegistry registry = ServiceRegistry.builder()
+                .service("svc", first.baseUrl(), second.baseUrl())
+                .consecutiveFailures(2)
+                .build();
+        AsyncRequestExecutorImpl executor = executor(registry);
+
+        for (int i = 0; i < 30; i++) {
+            executor.execute(HttpMethod.GET, "lb://svc/test", Map.of(), String.class)
+                    .onErrorResume(e -> Mono.empty())
+                    .block(Duration.ofSeconds(5));
+        }
+
+        Endpoint failing = registry.loadBalancer("svc").getEndpoints().get(0);
+        assertTrue(failing.isEjected());
+        assertEquals(2, first.getAllServeEvents().size());
+        assertEquals(28, second.getAllServeEvents().size());
+    }
+
+    @Test
+    public void testRetriesAndHedgesGoToAnotherEndpoint() {
+        first.stubFor(get(urlEqualTo("/flaky")).willReturn(aResponse().withStatus(503).withBody("Down")));
+        second.stubFor(get(urlEqualTo("/flaky")).willReturn(aResponse().withStatus(200).withBody("Up")));
+        first.stubFor(get(urlEqualTo("/slow")).willReturn(aResponse().withStatus(200).withFixedDelay(2000).withBody("first")));
+        second.stubFor(get(urlEqualTo("/slow")).willReturn(aResponse().withStatus(200).withBody("second")));
+        ServiceRegistry registry = ServiceRegistry.builder()
+                .service("svc", first.baseUrl(), second.baseUrl())
+                .consecutiveFailures(100)
+                .build();
+        AsyncRequestExecutorImpl executor = new AsyncRequestExecutorImpl(WebClient.create(), ExecutorOptions.defaults()
+                .serviceRegistry(registry)
+                .retryPolicy(RetryPolicy.builder().maxRetries(1).backoff(Duration.ofMillis(1), Duration.ofMillis(5), 2).build())
+                .hedgePolicy(HedgePolicy.builder().delay(Duration.ofMillis(100)).maxHedgeRatio(1, 100).build()));
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Up", executor.execute(HttpMethod.GET, "lb://svc/flaky", Map.of(), String.class).block(Duration.ofSeconds(5)));
+            assertEquals("second", executor.execute(HttpMethod.GET, "lb://svc/slow", Map.of(), String.class).block(Duration.ofSeconds(1)));
+        }
+    }
+
+    @Test
+    public void testChooseAvoidsTriedEndpointsWhileOthersRemain() {
+        ServiceRegistry registry = ServiceRegistry.builder().service("svc", "http://a", "http://b").build();
+        LoadBalancer loadBalancer = registry.loadBalancer("svc");
+        Endpoint a = loadBalancer.getEndpoints().get(0);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(loadBalancer.choose(Set.of(a)) != a, "picked the tried endpoint");
+        }
+        assertTrue(loadBalancer.getEndpoints().contains(loadBalancer.choose(Set.copyOf(loadBalancer.getEndpoints()))));
+    }
+
+    @Test
+    public void testLeastLoadedOfTwoIsChosen() {
+        ServiceRegistry registry = ServiceRegistry.builder().service("svc", "http://a", "http://b").build();
+
+        ServiceRegistry.Selection busy = registry.select("lb://svc/x");
+        for (int i = 0; i < 10; i++) {
+            ServiceRegistry.Selection next = registry.select("lb://svc/x");
+            assertTrue(next.getEndpoint() != busy.getEndpoint(), "picked the busy endpoint");
+            next.cancel();
+        }
+        busy.complete(null);
+        assertEquals(0, busy.getEndpoint().getOutstanding());
+    }
+
+    @Test
+    public void testUpdateKeepsStatisticsOfRetainedEndpoints() {
+        ServiceRegistry registry = ServiceRegistry.builder().service("svc", "http://a", "http://b").build();
+        Endpoint a = registry.loadBalancer("svc").getEndpoints().get(0);
+
+        registry.update("svc", List.of(Endpoint.of("http://a"), Endpoint.of("http://c", 3)));
+
+        List<Endpoint> endpoints = registry.loadBalancer("svc").getEndpoints();
+        assertSame(a, endpoints.get(0));
+        assertEquals("http://c", endpoints.get(1).getBaseUrl());
+        String resolved = registry.select("lb://svc/items?q=1").getUrl();
+        assertTrue(resolved.equals("http://a/items?q=1") || resolved.equals("http://c/items?q=1"), resolved);
+        assertThrows(IllegalArgumentException.class, () -> registry.select("lb://unknown/x"));
+    }
+
+    private static AsyncRequestExecutorImpl executor(ServiceRegistry registry) {
+        return new AsyncRequestExecutorImpl(WebClient.create(), ExecutorOptions.defaults().serviceRegistry(registry));
+    }
+}
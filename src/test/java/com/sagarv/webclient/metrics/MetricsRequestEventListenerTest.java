@@ -0,0 +1,121 @@
+package com.sagarv.webclient.metrics;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.sagarv.webclient.RestClientException;
+import com.sagarv.webclient.event.RequestEventExchangeFilter;
+import com.sagarv.webclient.impl.AsyncRequestExecutorImpl;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class MetricsRequestEventListenerTest {
+
+    private WireMockServer wireMockServer;
+    private SimpleMeterRegistry registry;
+    private CircuitBreaker circuitBreaker;
+    private AsyncRequestExecutorImpl executor;
+    private String baseUrl;
+
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        WireMock.configureFor("localhost", wireMockServer.port());
+
+        baseUrl = "http://localhost:" + wireMockServer.port();
+        registry = new SimpleMeterRegistry();
+        circuitBreaker = CircuitBreaker.ofDefaults("metrics");
+        WebClient webClient = WebClient.builder().filter(new RequestEventExchangeFilter()).build();
+        executor = new AsyncRequestExecutorImpl(webClient, circuitBreaker, new MetricsRequestEventListener(registry));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void testTimerTaggedWithTemplateStatusAndOutcome() {
+        stubFor(get(urlEqualTo("/users/42?expand=true"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody("Success")));
+
+        StepVerifier.create(executor.execute(HttpMethod.GET, baseUrl + "/users/42?expand=true", Map.of(), String.class))
+                .expectNext("Success")
+                .verifyComplete();
+
+        Timer timer = registry.find(MetricsRequestEventListener.REQUESTS_METRIC)
+                .tags("method", "GET", "uri", "/users/{id}", "client", "localhost:" + wireMockServer.port(),
+                        "status", "200", "outcome", "SUCCESS")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+
+        DistributionSummary size = registry.find(MetricsRequestEventListener.RESPONSE_SIZE_METRIC).summary();
+        assertNotNull(size);
+        assertEquals(7, size.totalAmount());
+    }
+
+    @Test
+    public void testErrorStatusRecorded() {
+        stubFor(get(urlEqualTo("/users/7"))
+                .willReturn(aResponse()
+                        .withStatus(503)
+                        .withBody("Unavailable")));
+
+        StepVerifier.create(executor.execute(HttpMethod.GET, baseUrl + "/users/7", Map.of(), String.class))
+                .expectError(RestClientException.class)
+                .verify();
+
+        assertNotNull(registry.find(MetricsRequestEventListener.REQUESTS_METRIC)
+                .tags("status", "503", "outcome", "SERVER_ERROR")
+                .timer());
+    }
+
+    @Test
+    public void testCircuitBreakerTransitionsCounted() {
+        new CircuitBreakerMetrics(circuitBreaker).bindTo(registry);
+
+        circuitBreaker.transitionToOpenState();
+
+        assertEquals(1.0, registry.get(CircuitBreakerMetrics.STATE_METRIC).tag("name", "metrics").gauge().value());
+        assertEquals(1.0, registry.get(CircuitBreakerMetrics.TRANSITIONS_METRIC)
+                .tags("from", "CLOSED", "to", "OPEN")
+                .counter().count());
+
+        StepVerifier.create(executor.execute(HttpMethod.GET, baseUrl + "/users/1", Map.of(), String.class))
+                .expectError()
+                .verify();
+        assertNotNull(registry.find(MetricsRequestEventListener.REQUESTS_METRIC)
+                .tags("status", "NONE", "outcome", "CIRCUIT_OPEN")
+                .timer());
+    }
+
+    @Test
+    public void testUriNormalization() {
+        assertEquals("/users/{id}/orders/{id}", UriTagNormalizer.compute("https://api.example.com/users/42/orders/3f2a9c1e-0b7d-4e2f-9a6b-1c2d3e4f5a6b").getUri());
+        assertEquals("api.example.com", UriTagNormalizer.compute("https://api.example.com/users").getClient());
+        assertEquals("/users/{userId}", UriTagNormalizer.compute("http://host/users/{userId}?q=1").getUri());
+        assertEquals("/search", UriTagNormalizer.compute("/search?q=abc").getUri());
+        assertEquals("/", UriTagNormalizer.compute("http://host").getUri());
+        assertEquals("/blobs/{id}", UriTagNormalizer.compute("/blobs/9f86d081884c7d659a2feaa0c55ad015").getUri());
+        assertEquals("/oauth2-token/v2-accounts/sha256sum", UriTagNormalizer.compute("/oauth2-token/v2-accounts/sha256sum").getUri());
+        assertEquals("/api/v1/ipv6-address/deadbeef", UriTagNormalizer.compute("/api/v1/ipv6-address/deadbeef").getUri());
+    }
+}
@@ -0,0 +1,107 @@
+package com.sagarv.webclient.resilience;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    public void testQueuesThenRejectsExcessRequests() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("host", AdaptiveConcurrencyLimiter.Config.builder()
+                .algorithm(() -> new AimdLimit(1, 1, 10, 0.5))
+                .maxQueueSize(1)
+                .maxQueueWait(Duration.ofSeconds(5))
+                .build());
+        Sinks.One<String> first = Sinks.one();
+
+        Disposable running = limiter.decorate(first.asMono()).subscribe();
+        StepVerifier.Step<String> queued = StepVerifier.create(limiter.decorate(Mono.just("queued"))).expectSubscription();
+        assertEquals(1, limiter.getInFlight());
+
+        StepVerifier.create(limiter.decorate(Mono.just("rejected")))
+                .expectError(ConcurrencyLimitExceededException.class)
+                .verify();
+        assertEquals(1, limiter.getRejectedCount());
+
+        first.tryEmitValue("done");
+        queued.expectNext("queued").verifyComplete();
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(0, limiter.getQueueDepth());
+        running.dispose();
+    }
+
+    @Test
+    public void testQueueWaitExpires() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("host", AdaptiveConcurrencyLimiter.Config.builder()
+                .algorithm(() -> new AimdLimit(1, 1, 10, 0.5))
+                .maxQueueWait(Duration.ofMillis(50))
+                .build());
+
+        Disposable running = limiter.decorate(Mono.never()).subscribe();
+        StepVerifier.create(limiter.decorate(Mono.just("late")))
+                .expectError(ConcurrencyLimitExceededException.class)
+                .verify(Duration.ofSeconds(1));
+        assertEquals(0, limiter.getQueueDepth());
+
+        running.dispose();
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void testAimdShrinksOnOverloadAndGrowsWhenBusy() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("host", AdaptiveConcurrencyLimiter.Config.builder()
+                .algorithm(() -> new AimdLimit(2, 1, 10, 0.5))
+                .build());
+
+        StepVerifier.create(limiter.decorate(Mono.error(WebClientResponseException.create(503, "Unavailable", HttpHeaders.EMPTY, null, null))))
+                .expectError(WebClientResponseException.class)
+                .verify();
+        assertEquals(1, limiter.getLimit());
+
+        assertEquals("ok", limiter.call(() -> "ok"));
+        assertEquals(2, limiter.getLimit());
+
+        // Client errors are the caller's fault, not a sign of overload, so they count as successes.
+        StepVerifier.create(limiter.decorate(Mono.error(WebClientResponseException.create(404, "Not Found", HttpHeaders.EMPTY, null, null))))
+                .expectError(WebClientResponseException.class)
+                .verify();
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    public void testVegasBacksOffWhenLatencyRises() {
+        VegasLimit vegas = new VegasLimit(20, 1, 100, 1000);
+        long baseline = Duration.ofMillis(10).toNanos();
+
+        for (int i = 0; i < 10; i++) {
+            vegas.onSample(baseline, 20, false);
+        }
+        int grown = vegas.getLimit();
+        assertTrue(grown > 20, "limit " + grown);
+
+        for (int i = 0; i < 10; i++) {
+            vegas.onSample(baseline * 4, grown, false);
+        }
+        assertTrue(vegas.getLimit() < grown, "limit " + vegas.getLimit());
+    }
+
+    @Test
+    public void testDropClassification() {
+        assertTrue(AdaptiveConcurrencyLimiter.isDrop(new TimeoutException()));
+        assertTrue(AdaptiveConcurrencyLimiter.isDrop(new RuntimeException(WebClientResponseException.create(429, "Too Many", HttpHeaders.EMPTY, null, null))));
+        assertFalse(AdaptiveConcurrencyLimiter.isDrop(WebClientResponseException.create(400, "Bad", HttpHeaders.EMPTY, null, null)));
+        assertFalse(AdaptiveConcurrencyLimiter.isDrop(null));
+    }
+}
@@ -0,0 +1,113 @@
+package com.sagarv.webclient.resilience;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.sagarv.webclient.RequestBuilder;
+import com.sagarv.webclient.RestClientException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeadlineTest {
+
+    private WireMockServer wireMockServer;
+    private WebClient webClient;
+    private String baseUrl;
+
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        WireMock.configureFor("localhost", wireMockServer.port());
+        baseUrl = "http://localhost:" + wireMockServer.port();
+        webClient = WebClient.builder().filter(new DeadlineExchangeFilter()).build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void testDeadlineBoundsAttemptsAndRetries() {
+        stubFor(get(urlEqualTo("/slow")).willReturn(aResponse().withStatus(200).withFixedDelay(2000).withBody("late")));
+        RetryPolicy retryPolicy = RetryPolicy.builder().maxRetries(3).backoff(Duration.ofMillis(1), Duration.ofMillis(10), 2).build();
+
+        long start = System.nanoTime();
+        StepVerifier.create(new RequestBuilder(webClient, HttpMethod.GET, baseUrl + "/slow")
+                        .retryPolicy(retryPolicy)
+                        .deadline(Duration.ofMillis(500))
+                        .executeReactive(String.class))
+                .expectError(DeadlineExceededException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertTrue(System.nanoTime() - start < Duration.ofMillis(1500).toNanos());
+        verify(1, getRequestedFor(urlEqualTo("/slow")));
+    }
+
+    @Test
+    public void testRemainingBudgetIsSentUpstream() {
+        stubFor(get(urlEqualTo("/fast")).willReturn(aResponse().withStatus(200).withBody("ok")));
+
+        StepVerifier.create(new RequestBuilder(webClient, HttpMethod.GET, baseUrl + "/fast")
+                        .deadline(Duration.ofSeconds(2))
+                        .executeReactive(String.class))
+                .expectNext("ok")
+                .verifyComplete();
+
+        String sent = wireMockServer.getAllServeEvents().get(0).getRequest().getHeader(DeadlineExchangeFilter.DEFAULT_HEADER);
+        long millis = Long.parseLong(sent);
+        assertTrue(millis > 1000 && millis <= 2000, "sent " + millis);
+    }
+
+    @Test
+    public void testNestedCallKeepsEarlierDeadline() {
+        stubFor(get(urlEqualTo("/fast")).willReturn(aResponse().withStatus(200).withBody("ok")));
+        Mono<String> inner = new RequestBuilder(webClient, HttpMethod.GET, baseUrl + "/fast")
+                .deadline(Duration.ofSeconds(30))
+                .executeReactive(String.class);
+
+        StepVerifier.create(Deadline.within(inner, Duration.ofMillis(800)))
+                .expectNext("ok")
+                .verifyComplete();
+
+        long millis = Long.parseLong(wireMockServer.getAllServeEvents().get(0).getRequest().getHeader(DeadlineExchangeFilter.DEFAULT_HEADER));
+        assertTrue(millis <= 800, "sent " + millis);
+    }
+
+    @Test
+    public void testExpiredDeadlineIsRejectedBeforeSending() {
+        stubFor(get(urlEqualTo("/fast")).willReturn(aResponse().withStatus(200).withBody("ok")));
+        Mono<String> request = new RequestBuilder(webClient, HttpMethod.GET, baseUrl + "/fast").executeReactive(String.class);
+
+        StepVerifier.create(Deadline.within(Mono.delay(Duration.ofMillis(300)).then(request), Duration.ofMillis(100)))
+                .expectError(DeadlineExceededException.class)
+                .verify(Duration.ofSeconds(5));
+
+        verify(0, getRequestedFor(urlEqualTo("/fast")));
+    }
+
+    @Test
+    public void testNoRetryWhenBackoffWouldPassDeadline() {
+        stubFor(get(urlEqualTo("/unavailable")).willReturn(aResponse().withStatus(503).withHeader("Retry-After", "5")));
+
+        StepVerifier.create(new RequestBuilder(webClient, HttpMethod.GET, baseUrl + "/unavailable")
+                        .retry(3)
+                        .deadline(Duration.ofSeconds(1))
+                        .executeReactive(String.class))
+                .expectError(RestClientException.class)
+                .verify(Duration.ofSeconds(3));
+
+        verify(1, getRequestedFor(urlEqualTo("/unavailable")));
+    }
+}
@@ -0,0 +1,118 @@
+package com.sagarv.webclient.resilience;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import com.sagarv.webclient.RequestBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HedgePolicyTest {
+
+    private WireMockServer wireMockServer;
+    private WebClient webClient;
+    private String baseUrl;
+
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        WireMock.configureFor("localhost", wireMockServer.port());
+
+        baseUrl = "http://localhost:" + wireMockServer.port();
+        webClient = WebClient.create();
+
+        stubFor(get(urlEqualTo("/replica")).inScenario("replica")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(200).withFixedDelay(3000).withBody("Slow"))
+                .willSetStateTo("fast"));
+        stubFor(get(urlEqualTo("/replica")).inScenario("replica")
+                .whenScenarioStateIs("fast")
+                .willReturn(aResponse().withStatus(200).withBody("Fast")));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void testHedgeWinsOverSlowAttempt() {
+        HedgePolicy policy = HedgePolicy.builder()
+                .delay(Duration.ofMillis(100))
+                .maxHedgeRatio(1.0, 10)
+                .build();
+
+        StepVerifier.create(new RequestBuilder(webClient, HttpMethod.GET, baseUrl + "/replica")
+                        .hedgePolicy(policy)
+                        .executeReactive(String.class))
+                .expectNext("Fast")
+                .expectComplete()
+                .verify(Duration.ofMillis(2000));
+
+        verify(2, getRequestedFor(urlEqualTo("/replica")));
+        assertEquals(1, policy.getHedgedCount());
+    }
+
+    @Test
+    public void testExhaustedBudgetSuppressesHedge() {
+        HedgePolicy policy = HedgePolicy.builder()
+                .delay(Duration.ofMillis(100))
+                .maxHedgeRatio(0.0, 10)
+                .build();
+
+        StepVerifier.create(new RequestBuilder(webClient, HttpMethod.GET, baseUrl + "/replica")
+                        .hedgePolicy(policy)
+                        .executeReactive(String.class))
+                .expectNext("Slow")
+                .verifyComplete();
+
+        verify(1, getRequestedFor(urlEqualTo("/replica")));
+        assertEquals(0, policy.getHedgedCount());
+        assertEquals(1, policy.getSuppressedCount());
+    }
+
+    @Test
+    public void testNonIdempotentRequestsAreNotHedged() {
+        stubFor(post(urlEqualTo("/orders")).willReturn(aResponse().withStatus(200).withFixedDelay(300).withBody("Created")));
+        HedgePolicy policy = HedgePolicy.builder()
+                .delay(Duration.ofMillis(10))
+                .maxHedgeRatio(1.0, 10)
+                .build();
+
+        StepVerifier.create(new RequestBuilder(webClient, HttpMethod.POST, baseUrl + "/orders")
+                        .body("order")
+                        .hedgePolicy(policy)
+                        .executeReactive(String.class))
+                .expectNext("Created")
+                .verifyComplete();
+
+        verify(1, postRequestedFor(urlEqualTo("/orders")));
+    }
+
+    @Test
+    public void testAdaptiveDelayFollowsObservedPercentile() {
+        HedgePolicy policy = HedgePolicy.builder()
+                .adaptiveDelay(0.95, Duration.ofMillis(1), Duration.ofMillis(500))
+                .build();
+        LatencyWindow window = new LatencyWindow(0.95);
+        assertEquals(Duration.ofMillis(500), policy.delayFor(window));
+
+        for (int i = 1; i <= 128; i++) {
+            window.record(Duration.ofMillis(i).toNanos());
+        }
+        Duration delay = policy.delayFor(window);
+        assertTrue(delay.compareTo(Duration.ofMillis(115)) >= 0 && delay.compareTo(Duration.ofMillis(128)) <= 0, delay.toString());
+    }
+}
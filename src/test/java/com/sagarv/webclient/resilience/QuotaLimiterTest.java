@@ -0,0 +1,119 @@
+package com.sagarv.webclient.resilience;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.sagarv.webclient.RequestBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QuotaLimiterTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    public void testSpacesRequestsAfterBurstAndRejectsBeyondMaxWait() {
+        QuotaLimiter limiter = new QuotaLimiter("host", QuotaLimiter.Config.builder()
+                .limit(10, Duration.ofSeconds(1))
+                .burst(2)
+                .maxWait(Duration.ofMillis(150))
+                .build());
+        long now = System.nanoTime();
+
+        assertEquals(0, limiter.acquire(now));
+        assertEquals(0, limiter.acquire(now));
+        assertEquals(100 * MILLIS, limiter.acquire(now));
+        assertThrows(QuotaExceededException.class, () -> limiter.acquire(now));
+        assertEquals(1, limiter.getRejectedCount());
+        // A rejected request reserves nothing, and a shorter deadline rejects sooner.
+        assertThrows(QuotaExceededException.class, () -> limiter.acquire(now + 50 * MILLIS, 10 * MILLIS));
+        assertEquals(150 * MILLIS, limiter.acquire(now + 50 * MILLIS));
+    }
+
+    @Test
+    public void testFollowsRateLimitHeaders() {
+        QuotaLimiter limiter = new QuotaLimiter("host", QuotaLimiter.Config.builder()
+                .limit(1000, Duration.ofSeconds(1))
+                .maxWait(Duration.ofSeconds(1))
+                .build());
+        long now = System.nanoTime();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-RateLimit-Remaining", "20");
+        headers.set("X-RateLimit-Reset", "1");
+
+        limiter.update(headers, now);
+        assertEquals(Duration.ofMillis(55), limiter.getInterval().truncatedTo(ChronoUnit.MILLIS));
+
+        headers.set("X-RateLimit-Remaining", "0");
+        headers.set("X-RateLimit-Reset", "3");
+        limiter.update(headers, now);
+        QuotaExceededException rejected = assertThrows(QuotaExceededException.class, () -> limiter.acquire(now));
+        assertEquals(Duration.ofSeconds(3), rejected.getRetryAfter());
+    }
+
+    @Test
+    public void testAdjustedPaceEndsWithTheReportedWindow() {
+        QuotaLimiter limiter = new QuotaLimiter("host", QuotaLimiter.Config.builder()
+                .limit(1000, Duration.ofSeconds(1))
+                .maxWait(Duration.ofSeconds(1))
+                .build());
+        long now = System.nanoTime();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-RateLimit-Remaining", "1");
+        headers.set("X-RateLimit-Reset", "3600");
+
+        limiter.update(headers, now);
+        assertEquals(0, limiter.acquire(now));
+        assertThrows(QuotaExceededException.class, () -> limiter.acquire(now));
+        assertFalse(limiter.isIdle(now + 10 * MILLIS));
+
+        long afterReset = now + Duration.ofSeconds(3600).toNanos();
+        assertTrue(limiter.isIdle(afterReset));
+        assertEquals(0, limiter.acquire(afterReset));
+        assertEquals(MILLIS, limiter.acquire(afterReset));
+    }
+
+    @Test
+    public void testRetryAfterHoldsLaterRequests() {
+        WireMockServer server = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        server.start();
+        try {
+            server.stubFor(get(urlEqualTo("/limited")).willReturn(aResponse().withStatus(429).withHeader("Retry-After", "30")));
+            QuotaExchangeFilter quotas = QuotaExchangeFilter.builder(QuotaLimiter.Config.builder()
+                            .limit(100, Duration.ofSeconds(1))
+                            .maxWait(Duration.ZERO)
+                            .build())
+                    .keyBy(QuotaExchangeFilter.CREDENTIAL)
+                    .build();
+            WebClient webClient = WebClient.builder().filter(quotas).build();
+            String url = "http://localhost:" + server.port() + "/limited";
+
+            StepVerifier.create(new RequestBuilder(webClient, HttpMethod.GET, url).authenticate("key-1").executeReactive(String.class))
+                    .expectError()
+                    .verify();
+            StepVerifier.create(new RequestBuilder(webClient, HttpMethod.GET, url).authenticate("key-1").executeReactive(String.class))
+                    .expectErrorMatches(error -> error instanceof QuotaExceededException && !error.getMessage().contains("key-1"))
+                    .verify();
+            // Another credential has its own quota.
+            StepVerifier.create(new RequestBuilder(webClient, HttpMethod.GET, url).authenticate("key-2").executeReactive(String.class))
+                    .expectErrorMatches(error -> !(error instanceof QuotaExceededException))
+                    .verify();
+
+            assertEquals(2, server.countRequestsMatching(getRequestedFor(urlEqualTo("/limited")).build()).getCount());
+            assertEquals(1, quotas.limiter(QuotaExchangeFilter.fingerprint("Bearer key-1")).getRejectedCount());
+        } finally {
+            server.stop();
+        }
+    }
+}
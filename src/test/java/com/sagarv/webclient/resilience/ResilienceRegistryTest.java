@@ -0,0 +1,135 @@
+package com.sagarv.webclient.resilience;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.sagarv.webclient.RestClientException;
+import com.sagarv.webclient.common.ExecutorOptions;
+import com.sagarv.webclient.impl.AsyncRequestExecutorImpl;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ResilienceRegistryTest {
+
+    private WireMockServer failingServer;
+    private WireMockServer healthyServer;
+    private ResilienceRegistry registry;
+    private AsyncRequestExecutorImpl executor;
+
+    @BeforeEach
+    public void setUp() {
+        failingServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        healthyServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        failingServer.start();
+        healthyServer.start();
+        failingServer.stubFor(get(urlEqualTo("/test")).willReturn(aResponse().withStatus(500).withBody("Boom")));
+        healthyServer.stubFor(get(urlEqualTo("/test")).willReturn(aResponse().withStatus(200).withBody("Success")));
+        healthyServer.stubFor(get(urlEqualTo("/slow")).willReturn(aResponse().withStatus(200).withFixedDelay(500).withBody("Slow")));
+
+        registry = ResilienceRegistry.builder()
+                .circuitBreakerConfig(CircuitBreakerConfig.custom()
+                        .slidingWindowSize(2)
+                        .minimumNumberOfCalls(2)
+                        .failureRateThreshold(50)
+                        .ignoreExceptions(BulkheadFullException.class)
+                        .build())
+                .bulkheadConfig(BulkheadConfig.custom()
+                        .maxConcurrentCalls(1)
+                        .maxWaitDuration(Duration.ZERO)
+                        .build())
+                .build();
+        executor = new AsyncRequestExecutorImpl(WebClient.create(), ExecutorOptions.defaults().resilienceRegistry(registry));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        failingServer.stop();
+        healthyServer.stop();
+    }
+
+    @Test
+    public void testFailingHostTripsOnlyItsOwnBreaker() {
+        String failingUrl = failingServer.baseUrl() + "/test";
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(executor.execute(HttpMethod.GET, failingUrl, Map.of(), String.class))
+                    .expectError(RestClientException.class)
+                    .verify();
+        }
+
+        StepVerifier.create(executor.execute(HttpMethod.GET, failingUrl, Map.of(), String.class))
+                .expectError(CallNotPermittedException.class)
+                .verify();
+        StepVerifier.create(executor.execute(HttpMethod.GET, healthyServer.baseUrl() + "/test", Map.of(), String.class))
+                .expectNext("Success")
+                .verifyComplete();
+
+        assertEquals(CircuitBreaker.State.OPEN, registry.policiesFor(failingUrl).getCircuitBreaker().getState());
+        assertEquals(CircuitBreaker.State.CLOSED, registry.policiesFor(healthyServer.baseUrl()).getCircuitBreaker().getState());
+    }
+
+    @Test
+    public void testDefaultBreakerRecordsOnlyOverloadFailures() {
+        ResilienceRegistry defaults = ResilienceRegistry.builder().build();
+        ResiliencePolicies clientErrors = defaults.policiesFor("https://client-errors.example.com");
+        ResiliencePolicies serverErrors = defaults.policiesFor("https://server-errors.example.com");
+
+        for (int i = 0; i < 100; i++) {
+            clientErrors.decorate(Mono.error(new RestClientException(error(404), 64))).onErrorResume(e -> Mono.empty()).block();
+            clientErrors.decorate(Mono.error(error(400))).onErrorResume(e -> Mono.empty()).block();
+            serverErrors.decorate(Mono.error(new RestClientException(error(503), 64))).onErrorResume(e -> Mono.empty()).block();
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, clientErrors.getCircuitBreaker().getState());
+        assertEquals(0, clientErrors.getCircuitBreaker().getMetrics().getNumberOfFailedCalls());
+        assertEquals(CircuitBreaker.State.OPEN, serverErrors.getCircuitBreaker().getState());
+    }
+
+    private static WebClientResponseException error(int status) {
+        return WebClientResponseException.create(status, "", new HttpHeaders(), new byte[0], null);
+    }
+
+    @Test
+    public void testBulkheadShedsExcessConcurrentCalls() {
+        String slowUrl = healthyServer.baseUrl() + "/slow";
+
+        StepVerifier.create(Mono.zipDelayError(
+                        executor.execute(HttpMethod.GET, slowUrl, Map.of(), String.class),
+                        executor.execute(HttpMethod.GET, slowUrl, Map.of(), String.class)))
+                .expectError(BulkheadFullException.class)
+                .verify();
+        assertEquals(CircuitBreaker.State.CLOSED, registry.policiesFor(slowUrl).getCircuitBreaker().getState());
+    }
+
+    @Test
+    public void testKeysByRouteThenAuthority() {
+        ResilienceRegistry routed = ResilienceRegistry.builder()
+                .route("billing", "https://api.example.com/billing/")
+                .build();
+
+        assertEquals("billing", routed.keyFor("https://api.example.com/billing/invoices/1"));
+        assertEquals("api.example.com", routed.keyFor("https://api.example.com/users/1"));
+        assertEquals("api.example.com:8443", routed.keyFor("https://user:pw@api.example.com:8443?q=1"));
+        assertEquals(ResilienceRegistry.DEFAULT_KEY, routed.keyFor("/relative"));
+        assertSame(routed.policiesFor("https://a.example.com/x"), routed.policiesFor("https://a.example.com/y"));
+        assertNotSame(routed.policiesFor("https://a.example.com/x"), routed.policiesFor("https://b.example.com/x"));
+    }
+}
@@ -0,0 +1,169 @@
+package com.sagarv.webclient.resilience;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import com.sagarv.webclient.RequestBuilder;
+import com.sagarv.webclient.RestClientException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RetryPolicyTest {
+
+    private WireMockServer wireMockServer;
+    private WebClient webClient;
+    private String baseUrl;
+    private RetryPolicy policy;
+
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        WireMock.configureFor("localhost", wireMockServer.port());
+
+        baseUrl = "http://localhost:" + wireMockServer.port();
+        webClient = WebClient.create();
+        policy = RetryPolicy.builder()
+                .maxRetries(3)
+                .backoff(Duration.ofMillis(1), Duration.ofMillis(10), 2)
+                .build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void testRetriesTransientStatusUntilSuccess() {
+        stubFor(get(urlEqualTo("/flaky")).inScenario("flaky")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(503))
+                .willSetStateTo("recovered"));
+        stubFor(get(urlEqualTo("/flaky")).inScenario("flaky")
+                .whenScenarioStateIs("recovered")
+                .willReturn(aResponse().withStatus(200).withBody("Recovered")));
+
+        StepVerifier.create(new RequestBuilder(webClient, HttpMethod.GET, baseUrl + "/flaky")
+                        .retryPolicy(policy)
+                        .executeReactive(String.class))
+                .expectNext("Recovered")
+                .verifyComplete();
+        verify(2, getRequestedFor(urlEqualTo("/flaky")));
+    }
+
+    @Test
+    public void testDoesNotRetryClientErrorsOrNonIdempotentMethods() {
+        stubFor(get(urlEqualTo("/missing")).willReturn(aResponse().withStatus(404).withBody("Not Found")));
+        stubFor(post(urlEqualTo("/orders")).willReturn(aResponse().withStatus(503).withBody("Unavailable")));
+
+        StepVerifier.create(new RequestBuilder(webClient, HttpMethod.GET, baseUrl + "/missing")
+                        .retryPolicy(policy)
+                        .executeReactive(String.class))
+                .expectError(RestClientException.class)
+                .verify();
+        StepVerifier.create(new RequestBuilder(webClient, HttpMethod.POST, baseUrl + "/orders")
+                        .body("order")
+                        .retryPolicy(policy)
+                        .executeReactive(String.class))
+                .expectErrorMatches(throwable -> throwable instanceof RestClientException &&
+                        throwable.getMessage().contains("Unavailable"))
+                .verify();
+
+        verify(1, getRequestedFor(urlEqualTo("/missing")));
+        verify(1, postRequestedFor(urlEqualTo("/orders")));
+    }
+
+    @Test
+    public void testHonoursRetryAfter() {
+        stubFor(get(urlEqualTo("/throttled")).inScenario("throttled")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(429).withHeader("Retry-After", "1"))
+                .willSetStateTo("allowed"));
+        stubFor(get(urlEqualTo("/throttled")).inScenario("throttled")
+                .whenScenarioStateIs("allowed")
+                .willReturn(aResponse().withStatus(200).withBody("Allowed")));
+
+        long start = System.nanoTime();
+        StepVerifier.create(new RequestBuilder(webClient, HttpMethod.GET, baseUrl + "/throttled")
+                        .retryPolicy(policy)
+                        .executeReactive(String.class))
+                .expectNext("Allowed")
+                .verifyComplete();
+        assertTrue(System.nanoTime() - start >= Duration.ofSeconds(1).toNanos());
+    }
+
+    @Test
+    public void testBudgetStopsRetries() {
+        stubFor(get(urlEqualTo("/down")).willReturn(aResponse().withStatus(503)));
+
+        RetryPolicy budgeted = RetryPolicy.builder()
+                .maxRetries(3)
+                .backoff(Duration.ofMillis(1), Duration.ofMillis(1), 1)
+                .budget(0.0, 0, 1)
+                .build();
+
+        StepVerifier.create(new RequestBuilder(webClient, HttpMethod.GET, baseUrl + "/down")
+                        .retryPolicy(budgeted)
+                        .executeReactive(String.class))
+                .expectError(RestClientException.class)
+                .verify();
+
+        verify(1, getRequestedFor(urlEqualTo("/down")));
+        assertEquals(1, budgeted.budgetFor(baseUrl + "/down").getExhaustedCount());
+    }
+
+    @Test
+    public void testRetryAfterParsing() {
+        HttpHeaders headers = new HttpHeaders();
+        assertNull(RetryPolicy.retryAfter(headers));
+        headers.set(HttpHeaders.RETRY_AFTER, "120");
+        assertEquals(Duration.ofSeconds(120), RetryPolicy.retryAfter(headers));
+        headers.set(HttpHeaders.RETRY_AFTER, "Wed, 21 Oct 2015 07:28:00 GMT");
+        assertEquals(Duration.ZERO, RetryPolicy.retryAfter(headers));
+    }
+
+    @Test
+    public void testStreamIsNotRetriedAfterEmitting() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Flux<Integer> failsMidStream = Flux.defer(() -> {
+            subscriptions.incrementAndGet();
+            return Flux.concat(Flux.just(1, 2), Flux.error(new IOException("connection reset")));
+        });
+
+        StepVerifier.create(policy.apply(failsMidStream, HttpMethod.GET, baseUrl + "/stream"))
+                .expectNext(1, 2)
+                .expectError(IOException.class)
+                .verify();
+        assertEquals(1, subscriptions.get());
+    }
+
+    @Test
+    public void testStreamIsRetriedBeforeFirstElement() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Flux<Integer> failsFirst = Flux.defer(() -> subscriptions.incrementAndGet() == 1
+                ? Flux.error(new IOException("connection refused"))
+                : Flux.just(1, 2));
+
+        StepVerifier.create(policy.apply(failsFirst, HttpMethod.GET, baseUrl + "/stream"))
+                .expectNext(1, 2)
+                .verifyComplete();
+        assertEquals(2, subscriptions.get());
+    }
+}
@@ -0,0 +1,135 @@
+package com.sagarv.webclient.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.sagarv.webclient.common.ExecutorOptions;
+import com.sagarv.webclient.impl.StreamingRequestExecutorImpl;
+import com.sagarv.webclient.impl.SyncRequestExecutorImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JsonStreamDecoderTest {
+
+    private WireMockServer wireMockServer;
+    private String baseUrl;
+    private final JsonStreamDecoder decoder = new JsonStreamDecoder(new ObjectMapper(), 1024);
+
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        WireMock.configureFor("localhost", wireMockServer.port());
+        baseUrl = "http://localhost:" + wireMockServer.port();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void testArrayElementsSplitAcrossChunks() {
+        Flux<Map<String, Object>> elements = decoder.decode(chunks("[{\"id\":1,\"tags\":[\"a\",\"b\"]}, {\"id\":2}, null ,{\"id\":3}]", 3),
+                StreamFormat.JSON_ARRAY, Map.class);
+
+        StepVerifier.create(elements)
+                .expectNextMatches(element -> element.get("id").equals(1) && element.get("tags").equals(List.of("a", "b")))
+                .expectNextMatches(element -> element.get("id").equals(2))
+                .expectNextMatches(element -> element.get("id").equals(3))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testNdjsonSseAndTextLines() {
+        StepVerifier.create(decoder.<Integer>decode(chunks("1\n2\n 3\n", 2), StreamFormat.NDJSON, Integer.class))
+                .expectNext(1, 2, 3)
+                .verifyComplete();
+        StepVerifier.create(decoder.<Map<String, Object>>decode(chunks(": keep-alive\nevent: user\ndata: {\"id\":1}\n\ndata:{\"id\":\ndata: 2}\r\n\r\n", 5),
+                        StreamFormat.SSE, Map.class))
+                .expectNextMatches(event -> event.get("id").equals(1))
+                .expectNextMatches(event -> event.get("id").equals(2))
+                .verifyComplete();
+        StepVerifier.create(decoder.<String>decode(chunks("first\r\nsecond\nthird", 4), StreamFormat.TEXT_LINES, String.class))
+                .expectNext("first", "second", "third")
+                .verifyComplete();
+    }
+
+    @Test
+    public void testOversizedElementAndTruncatedBodyFail() {
+        String large = "[\"" + "x".repeat(2048) + "\"]";
+        StepVerifier.create(decoder.decode(chunks(large, 256), StreamFormat.JSON_ARRAY, String.class))
+                .expectError(DataBufferLimitException.class)
+                .verify();
+        StepVerifier.create(decoder.decode(chunks("[{\"id\":1},{\"id\"", 4), StreamFormat.JSON_ARRAY, Map.class))
+                .expectNextCount(1)
+                .expectError(DecodingException.class)
+                .verify();
+    }
+
+    @Test
+    public void testChunksAreRequestedOnDemand() {
+        AtomicLong requested = new AtomicLong();
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            json.append(i == 0 ? "" : ",").append(i);
+        }
+        Flux<DataBuffer> body = chunks(json.append(']').toString(), 8).doOnRequest(requested::addAndGet);
+
+        StepVerifier.create(decoder.decode(body, StreamFormat.JSON_ARRAY, Integer.class), 1)
+                .expectNext(0)
+                .thenCancel()
+                .verify();
+        assertTrue(requested.get() <= 4, "requested " + requested.get());
+    }
+
+    @Test
+    public void testExecutorsStreamBeyondInMemoryLimit() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 20_000; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"name\":\"user-").append(i).append("\",\"age\":").append(i % 90).append('}');
+        }
+        stubFor(get(urlEqualTo("/users")).willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody(json.append(']').toString())));
+        ExecutorOptions options = ExecutorOptions.defaults();
+        WebClient webClient = WebClient.create();
+
+        StepVerifier.create(new StreamingRequestExecutorImpl(webClient, options).execute(HttpMethod.GET, baseUrl + "/users", Map.of(), Map.class))
+                .expectNextCount(20_000)
+                .verifyComplete();
+        List<Map<String, Object>> users = new SyncRequestExecutorImpl(webClient, options)
+                .execute(HttpMethod.GET, baseUrl + "/users", Map.of(), new ParameterizedTypeReference<List<Map<String, Object>>>() {});
+        assertEquals(20_000, users.size());
+        assertEquals("user-19999", users.get(19_999).get("name"));
+    }
+
+    private static Flux<DataBuffer> chunks(String content, int chunkSize) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        return Flux.range(0, (bytes.length + chunkSize - 1) / chunkSize)
+                .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(
+                        Arrays.copyOfRange(bytes, i * chunkSize, Math.min(bytes.length, (i + 1) * chunkSize))));
+    }
+}
@@ -0,0 +1,87 @@
+package com.sagarv.webclient.stream;
+
+import com.sagarv.webclient.common.ExecutorOptions;
+import com.sagarv.webclient.impl.StreamingRequestExecutorImpl;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Streams a multi-gigabyte JSON array through {@link StreamingRequestExecutorImpl}. Runs in its own
+ * surefire execution with a 128 MB heap, so it only passes if memory stays bounded.
+ */
+@Tag("large-payload")
+public class LargePayloadStreamingTest {
+
+    private static final long PAYLOAD_BYTES = Long.getLong("largePayload.bytes", 2L * 1024 * 1024 * 1024);
+    private static final int ELEMENTS_PER_CHUNK = 256;
+
+    private DisposableServer server;
+    private byte[] chunk;
+    private long chunks;
+
+    @BeforeEach
+    public void setUp() {
+        StringBuilder elements = new StringBuilder();
+        for (int i = 0; i < ELEMENTS_PER_CHUNK; i++) {
+            elements.append(",{\"id\":").append(i).append(",\"name\":\"user-").append(i)
+                    .append("\",\"bio\":\"").append("x".repeat(200)).append("\"}");
+        }
+        chunk = elements.toString().getBytes(StandardCharsets.UTF_8);
+        chunks = PAYLOAD_BYTES / chunk.length;
+
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/huge", (request, response) -> response
+                        .header("Content-Type", "application/json")
+                        .send(body())))
+                .bindNow();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    public void testStreamsMultiGigabyteArrayWithBoundedHeap() {
+        StreamingRequestExecutorImpl executor = new StreamingRequestExecutorImpl(WebClient.create(), ExecutorOptions.defaults());
+        long maxHeap = Runtime.getRuntime().maxMemory();
+
+        Long count = executor.execute(HttpMethod.GET, "http://localhost:" + server.port() + "/huge", Map.of(), Map.class)
+                .count()
+                .block(Duration.ofMinutes(10));
+
+        assertEquals(chunks * ELEMENTS_PER_CHUNK + 1, count);
+        assertTrue(chunks * chunk.length > 4 * maxHeap, "payload must be much larger than the heap");
+    }
+
+    private Flux<ByteBuf> body() {
+        ByteBuf shared = Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(chunk));
+        return Flux.concat(
+                Flux.just(Unpooled.wrappedBuffer("[{\"id\":-1}".getBytes(StandardCharsets.UTF_8))),
+                Flux.<ByteBuf, Long>generate(() -> 0L, (sent, sink) -> {
+                    sink.next(shared.duplicate());
+                    if (sent + 1 == chunks) {
+                        sink.complete();
+                    }
+                    return sent + 1;
+                }),
+                Flux.just(Unpooled.wrappedBuffer("]".getBytes(StandardCharsets.UTF_8))));
+    }
+}